@@ -2,12 +2,20 @@
 drop table management_request_result;
 drop table management_request;
 drop table book_reviews;
+drop table rentals_archive;
 drop table rentals;
 drop table new_book_request_result;
 drop table new_book_request;
 drop table administrator;
 drop table book;
 drop table member;
+drop table statistics_rollups;
+drop table scheduled_job_runs;
+drop table book_status_history;
+drop table outbox_events;
+drop table redis_checkpoints;
+drop table due_reminders;
+drop table member_code_sequences;
 
 create table administrator (
                                administrator_id bigint not null auto_increment,
@@ -120,9 +128,121 @@ create table rentals (
                          primary key (loan_id)
 ) engine=InnoDB charset=utf8;
 
+create index idx_rentals_rental_status_last_modified_at
+    on rentals (rental_status, last_modified_at);
+
+create index idx_rentals_rental_end_date_member_id
+    on rentals (rental_end_date, member_id);
+
+create table rentals_archive (
+                                 loan_id bigint not null,
+                                 extend_status varchar(255),
+                                 rental_end_date date not null,
+                                 rental_start_date date not null,
+                                 rental_status varchar(255),
+                                 rented_at datetime(6),
+                                 returned_at datetime(6),
+                                 archived_at datetime(6) not null,
+                                 book_id bigint,
+                                 member_id bigint,
+                                 primary key (loan_id)
+) engine=InnoDB default charset=utf8;
+
+create table statistics_rollups (
+                                    statistics_rollup_id bigint not null auto_increment,
+                                    created_at datetime(6),
+                                    last_modified_at datetime(6),
+                                    granularity varchar(255) not null,
+                                    bucket_date date not null,
+                                    rental_count bigint not null,
+                                    return_count bigint not null,
+                                    review_count bigint not null,
+                                    unavailable_count bigint not null,
+                                    primary key (statistics_rollup_id)
+) engine=InnoDB default charset=utf8;
+
+create table scheduled_job_runs (
+                                    scheduled_job_run_id bigint not null auto_increment,
+                                    created_at datetime(6),
+                                    last_modified_at datetime(6),
+                                    job_name varchar(255) not null,
+                                    fencing_token bigint not null,
+                                    instance_id varchar(255) not null,
+                                    status varchar(255),
+                                    started_at datetime(6),
+                                    finished_at datetime(6),
+                                    error_message varchar(255),
+                                    primary key (scheduled_job_run_id)
+) engine=InnoDB default charset=utf8;
+
+create table book_status_history (
+                                     book_status_history_id bigint not null auto_increment,
+                                     book_id bigint not null,
+                                     old_status varchar(255),
+                                     new_status varchar(255) not null,
+                                     changed_at datetime(6) not null,
+                                     primary key (book_status_history_id)
+) engine=InnoDB default charset=utf8;
+
+create index idx_book_status_history_changed_at_new_status
+    on book_status_history (changed_at, new_status);
+
+create table outbox_events (
+                               outbox_event_id bigint not null auto_increment,
+                               event_type varchar(255) not null,
+                               payload varchar(1000) not null,
+                               occurred_at datetime(6) not null,
+                               published_at datetime(6),
+                               primary key (outbox_event_id)
+) engine=InnoDB default charset=utf8;
+
+create index idx_outbox_events_published_at
+    on outbox_events (published_at);
+
+create table redis_checkpoints (
+                                   redis_checkpoint_id bigint not null auto_increment,
+                                   redis_key varchar(100) not null,
+                                   field_name varchar(255) not null,
+                                   field_value varchar(255) not null,
+                                   checkpointed_at datetime(6) not null,
+                                   primary key (redis_checkpoint_id)
+) engine=InnoDB default charset=utf8;
+
+create table due_reminders (
+                               due_reminder_id bigint not null auto_increment,
+                               member_id bigint not null,
+                               member_code varchar(255) not null,
+                               due_date date not null,
+                               book_count integer not null,
+                               book_titles varchar(1000),
+                               created_at datetime(6) not null,
+                               primary key (due_reminder_id)
+) engine=InnoDB default charset=utf8;
+
+create table member_code_sequences (
+                                       sequence_name varchar(50) not null,
+                                       last_member_code bigint not null,
+                                       primary key (sequence_name)
+) engine=InnoDB default charset=utf8;
+
 alter table member
     add constraint UK_hr7uduf2w8ho5jymgu9brrjq4 unique (member_code);
 
+alter table book_reviews
+    add constraint uk_book_reviews_member_book unique (member_id, book_id);
+
+alter table statistics_rollups
+    add constraint uk_statistics_rollups_granularity_bucket unique (granularity, bucket_date);
+
+alter table scheduled_job_runs
+    add constraint uk_scheduled_job_runs_job_token unique (job_name, fencing_token);
+
+alter table redis_checkpoints
+    add constraint uk_redis_checkpoints_key_field unique (redis_key, field_name);
+
+alter table due_reminders
+    add constraint uk_due_reminders_member_due_date unique (member_id, due_date);
+
 alter table book_reviews
     add constraint FKql32utr9nxcui2rgpyiucbrb
         foreign key (book_id)
@@ -173,3 +293,13 @@ alter table rentals
     add constraint FKkg4yqpdh1l98sndvxsbcoyl2u
         foreign key (member_id)
             references member (member_id);
+
+alter table rentals_archive
+    add constraint fk_rentals_archive_book
+        foreign key (book_id)
+            references book (book_id);
+
+alter table rentals_archive
+    add constraint fk_rentals_archive_member
+        foreign key (member_id)
+            references member (member_id);
@@ -0,0 +1,24 @@
+package com.management.library.benchmark;
+
+import com.management.library.LibraryApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 서비스 빈이 필요한 벤치마크에서 사용할 애플리케이션 context 를 web 서버 없이 benchmark profile 로 띄운다. redis 를 사용하는 빈이
+ * 함께 뜨므로 로컬 redis 가 실행 중이어야 한다.
+ */
+final class BenchmarkApplication {
+
+  private static final String BENCHMARK_PROFILE = "--spring.profiles.active=benchmark";
+
+  private BenchmarkApplication() {
+  }
+
+  static ConfigurableApplicationContext start() {
+    return new SpringApplicationBuilder(LibraryApplication.class)
+        .web(WebApplicationType.NONE)
+        .run(BENCHMARK_PROFILE);
+  }
+}
@@ -0,0 +1,91 @@
+package com.management.library.benchmark;
+
+import com.management.library.controller.book.dto.BookSearchCond;
+import com.management.library.domain.book.Book;
+import com.management.library.domain.book.BookInfo;
+import com.management.library.domain.type.BookStatus;
+import com.management.library.repository.book.BookRepository;
+import com.management.library.service.book.dto.BookServiceCreateDto;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * BookRepositoryImpl.bookSearch 의 querydsl 쿼리 생성, 실행, Response DTO 생성까지의 비용을 측정한다. 메모리 H2 에 bookCount 권의
+ * 도서를 넣고 조건 없는 검색과 제목 검색을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookSearchBenchmark {
+
+  private static final Pageable PAGEABLE = PageRequest.of(0, 10);
+
+  @Param({"1000"})
+  private int bookCount;
+
+  private ConfigurableApplicationContext context;
+  private BookRepository bookRepository;
+  private BookSearchCond emptyCond;
+  private BookSearchCond titleCond;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkApplication.start();
+    bookRepository = context.getBean(BookRepository.class);
+
+    List<Book> books = IntStream.range(0, bookCount)
+        .mapToObj(this::createBook)
+        .collect(Collectors.toList());
+    bookRepository.saveAll(books);
+
+    emptyCond = new BookSearchCond();
+    titleCond = new BookSearchCond();
+    titleCond.setBookTitle("jpa-" + (bookCount / 2));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    bookRepository.deleteAllInBatch();
+    context.close();
+  }
+
+  @Benchmark
+  public Page<BookServiceCreateDto.Response> searchAll() {
+    return bookRepository.bookSearch(emptyCond, PAGEABLE);
+  }
+
+  @Benchmark
+  public Page<BookServiceCreateDto.Response> searchByTitle() {
+    return bookRepository.bookSearch(titleCond, PAGEABLE);
+  }
+
+  private Book createBook(int index) {
+    return Book.builder()
+        .bookInfo(BookInfo.builder()
+            .title("jpa-" + index)
+            .author("kim")
+            .publisher("publisher")
+            .location("location")
+            .publishedYear(2017)
+            .build())
+        .bookStatus(BookStatus.AVAILABLE)
+        .typeCode(130)
+        .build();
+  }
+}
@@ -0,0 +1,101 @@
+package com.management.library.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.management.library.domain.type.BookStatus;
+import com.management.library.domain.type.ExtendStatus;
+import com.management.library.domain.type.RentalStatus;
+import com.management.library.service.book.dto.BookServiceCreateDto;
+import com.management.library.service.rental.dto.RentalServiceResponseDto;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * 컨트롤러가 응답으로 돌려주는 Page 의 Jackson 직렬화 비용을 페이지 크기별로 측정한다. ObjectMapper 는 spring boot 의 기본 설정과 같이
+ * 날짜를 문자열로 쓰도록 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageSerializationBenchmark {
+
+  private static final long TOTAL_ELEMENTS = 1000L;
+
+  @Param({"10", "50"})
+  private int pageSize;
+
+  private ObjectMapper objectMapper;
+  private Page<BookServiceCreateDto.Response> bookPage;
+  private Page<RentalServiceResponseDto> rentalPage;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    PageRequest pageRequest = PageRequest.of(0, pageSize);
+    bookPage = new PageImpl<>(createList(this::createBook), pageRequest, TOTAL_ELEMENTS);
+    rentalPage = new PageImpl<>(createList(this::createRental), pageRequest, TOTAL_ELEMENTS);
+  }
+
+  @Benchmark
+  public byte[] writeBookPage() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(bookPage);
+  }
+
+  @Benchmark
+  public byte[] writeRentalPage() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(rentalPage);
+  }
+
+  private <T> List<T> createList(IntFunction<T> factory) {
+    return IntStream.range(0, pageSize)
+        .mapToObj(factory)
+        .collect(Collectors.toList());
+  }
+
+  private BookServiceCreateDto.Response createBook(int index) {
+    return BookServiceCreateDto.Response.builder()
+        .id((long) index)
+        .title("jpa-" + index)
+        .author("kim")
+        .publisher("publisher")
+        .publishedYear(2017)
+        .location("location")
+        .typeCode(130)
+        .status(BookStatus.AVAILABLE)
+        .build();
+  }
+
+  private RentalServiceResponseDto createRental(int index) {
+    LocalDate rentalStartDate = LocalDate.of(2023, 7, 1);
+
+    return RentalServiceResponseDto.builder()
+        .id((long) index)
+        .bookName("jpa-" + index)
+        .memberCode("100000001")
+        .rentalStartDate(rentalStartDate)
+        .rentalEndDate(rentalStartDate.plusDays(14))
+        .extendStatus(ExtendStatus.AVAILABLE)
+        .rentalStatus(RentalStatus.PROCEEDING)
+        .build();
+  }
+}
@@ -0,0 +1,88 @@
+package com.management.library.benchmark;
+
+import static com.management.library.service.redis.MemberQuotaKey.RENTAL_COUNT;
+
+import com.management.library.service.book.recommend.BookTypeBand;
+import com.management.library.service.rental.RentalRedisService;
+import com.management.library.service.redis.MemberPenaltyKey;
+import com.management.library.service.redis.RedisCheckpointTarget;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 대여 시 호출하는 RentalRedisService 의 redis 연산 비용을 측정한다. 로컬 redis 에 연결하며, 측정에 사용한 회원과 도서의 key 는 측정이
+ * 끝나면 지운다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RentalRedisServiceBenchmark {
+
+  private static final String MEMBER_CODE = "999999999";
+  private static final String BOOK_TITLE = "benchmark-book";
+  private static final int TYPE_CODE = 130;
+  private static final String BOOK_RENTED_COUNT = "book-rented-count";
+  private static final String EVENT_KEY_PREFIX = "benchmark:";
+
+  private ConfigurableApplicationContext context;
+  private RentalRedisService rentalRedisService;
+  // redisTemplate 은 값을 json 으로 직렬화하므로, 평문으로 저장된 zset, set 의 member 를 지우도록 문자열 template 을 사용한다.
+  private StringRedisTemplate redisTemplate;
+  private final AtomicLong eventSequence = new AtomicLong();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkApplication.start();
+    rentalRedisService = context.getBean(RentalRedisService.class);
+    redisTemplate = context.getBean("stringRedisTemplate", StringRedisTemplate.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    redisTemplate.opsForHash().delete(RENTAL_COUNT.getKey(MEMBER_CODE), MEMBER_CODE);
+    redisTemplate.delete(MemberPenaltyKey.getKey(MEMBER_CODE));
+    redisTemplate.opsForZSet().remove(BOOK_RENTED_COUNT, BOOK_TITLE);
+    redisTemplate.opsForZSet().remove(
+        BookTypeBand.getRentedCountKey(BookTypeBand.of(TYPE_CODE)), BOOK_TITLE);
+    redisTemplate.opsForSet().remove(RedisCheckpointTarget.BOOK_RENTED_COUNT.getDirtyKey(),
+        BOOK_TITLE);
+    redisTemplate.delete(redisTemplate.keys("*:applied:" + EVENT_KEY_PREFIX + "*"));
+
+    context.close();
+  }
+
+  @Benchmark
+  public String getMemberRemainRentalCount() {
+    return rentalRedisService.getMemberRemainRentalCount(MEMBER_CODE);
+  }
+
+  @Benchmark
+  public boolean checkMemberRentalPenalty() {
+    return rentalRedisService.checkMemberRentalPenalty(MEMBER_CODE);
+  }
+
+  // 대여 이벤트마다 반영 기록을 남기므로 호출마다 다른 event key 를 사용한다.
+  @Benchmark
+  public void addBookRentedCount() {
+    rentalRedisService.addBookRentedCount(BOOK_TITLE, TYPE_CODE,
+        EVENT_KEY_PREFIX + eventSequence.incrementAndGet());
+  }
+
+  // 대여 가능 권수를 차감한 뒤 반납으로 되돌리므로 반복해도 대여 가능 권수는 바뀌지 않는다.
+  @Benchmark
+  public void rentAndReturnCount() {
+    rentalRedisService.checkMemberRentalBookCount(MEMBER_CODE);
+    rentalRedisService.addMemberRentalBookCount(MEMBER_CODE);
+  }
+}
@@ -0,0 +1,54 @@
+package com.management.library.benchmark;
+
+import com.management.library.domain.type.Authority;
+import com.management.library.security.TokenProvider;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 요청마다 수행하는 TokenProvider 의 토큰 생성, 파싱, 검증 비용을 측정한다. 회원, 관리자 조회는 사용하지 않으므로 context 없이 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenProviderBenchmark {
+
+  private static final String SECRET_KEY =
+      "emVyb2Jhc2Utc3ByaW5nLWJvb3QtYXNzaWdubWVudC1kYXRhLXdpdGgtand0LXNlY3JldC1rZXk=";
+  private static final String MEMBER_CODE = "100000001";
+
+  private TokenProvider tokenProvider;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    tokenProvider = new TokenProvider(null, null);
+    Field secretKey = ReflectionUtils.findField(TokenProvider.class, "secretKey");
+    ReflectionUtils.makeAccessible(secretKey);
+    ReflectionUtils.setField(secretKey, tokenProvider, SECRET_KEY);
+    token = tokenProvider.generateToken(MEMBER_CODE, Authority.ROLE_MEMBER);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return tokenProvider.generateToken(MEMBER_CODE, Authority.ROLE_MEMBER);
+  }
+
+  @Benchmark
+  public String getUserName() {
+    return tokenProvider.getUserName(token);
+  }
+
+  @Benchmark
+  public boolean validateToken() {
+    return tokenProvider.validateToken(token);
+  }
+}
@@ -1,5 +1,9 @@
 package com.management.library.batch;
 
+import static com.management.library.config.SchedulerConfiguration.SCHEDULE_ZONE;
+
+import com.management.library.service.scheduled.ScheduledLease;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
@@ -7,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobParameter;
 import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.JobParametersInvalidException;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
@@ -20,8 +25,16 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class BatchScheduler {
 
+  // 배치 작업은 기본 lease 유지 시간보다 오래 걸릴 수 있다.
+  private static final long BATCH_LEASE_SECONDS = 3600L;
+
   private final JobLauncher jobLauncher;
   private final Job myBatchJob;
+  private final Job reviewRateRepairJob;
+  private final Job bookCoOccurrenceJob;
+  private final Job statisticsRollupJob;
+  private final Job rentalArchiveJob;
+  private final Job dueReminderJob;
 
   @Scheduled(cron = "0 1 0 * * *")
   public void runBatchJob()
@@ -32,4 +45,73 @@ public class BatchScheduler {
 
     jobLauncher.run(myBatchJob, parameters);
   }
+
+  // 도서 평점 통계 복구 - 매주 월요일 03시 00분 수행
+  @Scheduled(cron = "0 0 3 * * MON", zone = "Asia/Seoul")
+  @ScheduledLease(leaseSeconds = BATCH_LEASE_SECONDS)
+  public void runReviewRateRepairJob()
+      throws JobInstanceAlreadyCompleteException, JobExecutionAlreadyRunningException, JobParametersInvalidException, JobRestartException {
+
+    JobParameters parameters = new JobParametersBuilder()
+        .addLong("requestTime", System.currentTimeMillis())
+        .toJobParameters();
+
+    jobLauncher.run(reviewRateRepairJob, parameters);
+  }
+
+  // 함께 대여된 도서 집계 - 매일 04시 00분 수행
+  @Scheduled(cron = "0 0 4 * * *", zone = "Asia/Seoul")
+  @ScheduledLease(leaseSeconds = BATCH_LEASE_SECONDS)
+  public void runBookCoOccurrenceJob()
+      throws JobInstanceAlreadyCompleteException, JobExecutionAlreadyRunningException, JobParametersInvalidException, JobRestartException {
+
+    JobParameters parameters = new JobParametersBuilder()
+        .addLong("requestTime", System.currentTimeMillis())
+        .toJobParameters();
+
+    jobLauncher.run(bookCoOccurrenceJob, parameters);
+  }
+
+  // 전날 통계 집계 - 매일 00시 30분 수행, 실패 시 같은 날짜로 다시 실행하면 이어서 수행된다.
+  @Scheduled(cron = "0 30 0 * * *", zone = "Asia/Seoul")
+  @ScheduledLease(leaseSeconds = BATCH_LEASE_SECONDS)
+  public void runStatisticsRollupJob()
+      throws JobInstanceAlreadyCompleteException, JobExecutionAlreadyRunningException, JobParametersInvalidException, JobRestartException {
+
+    String yesterday = LocalDate.now(SCHEDULE_ZONE).minusDays(1).toString();
+
+    JobParameters parameters = new JobParametersBuilder()
+        .addString(StatisticsRollupJobConfiguration.START_DATE, yesterday)
+        .addString(StatisticsRollupJobConfiguration.END_DATE, yesterday)
+        .toJobParameters();
+
+    jobLauncher.run(statisticsRollupJob, parameters);
+  }
+
+  // 오래된 반납 기록 보관 - 매주 일요일 05시 00분 수행
+  @Scheduled(cron = "0 0 5 * * SUN", zone = "Asia/Seoul")
+  @ScheduledLease(leaseSeconds = BATCH_LEASE_SECONDS)
+  public void runRentalArchiveJob()
+      throws JobInstanceAlreadyCompleteException, JobExecutionAlreadyRunningException, JobParametersInvalidException, JobRestartException {
+
+    JobParameters parameters = new JobParametersBuilder()
+        .addLong("requestTime", System.currentTimeMillis())
+        .toJobParameters();
+
+    jobLauncher.run(rentalArchiveJob, parameters);
+  }
+
+  // 반납 예정 알림 기록 - 매일 01시 00분 수행, 같은 날짜로 다시 실행하면 기록하지 못한 회원부터 이어서 수행된다.
+  @Scheduled(cron = "0 0 1 * * *", zone = "Asia/Seoul")
+  @ScheduledLease(leaseSeconds = BATCH_LEASE_SECONDS)
+  public void runDueReminderJob()
+      throws JobInstanceAlreadyCompleteException, JobExecutionAlreadyRunningException, JobParametersInvalidException, JobRestartException {
+
+    JobParameters parameters = new JobParametersBuilder()
+        .addString(DueReminderJobConfiguration.REMINDER_DATE,
+            LocalDate.now(SCHEDULE_ZONE).toString())
+        .toJobParameters();
+
+    jobLauncher.run(dueReminderJob, parameters);
+  }
 }
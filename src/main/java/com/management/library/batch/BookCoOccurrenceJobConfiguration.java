@@ -0,0 +1,87 @@
+package com.management.library.batch;
+
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.service.book.recommend.BookCoOccurrenceCounter;
+import com.management.library.service.book.recommend.BookSimilarRedisService;
+import com.management.library.service.book.recommend.dto.RentalHistoryDto;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * "이 도서를 대여한 회원이 함께 대여한 도서" 목록을 만든다. 마지막으로 집계한 대여 id(watermark) 이후의 대여 기록만 CHUNK_SIZE 개씩 읽고,
+ * 해당 회원들의 이전 대여 기록과 함께 집계하여 redis 의 도서별 sorted set 에 더한다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BookCoOccurrenceJobConfiguration {
+
+  private static final int CHUNK_SIZE = 1000;
+
+  private final JobBuilderFactory jobBuilderFactory;
+  private final StepBuilderFactory stepBuilderFactory;
+  private final BookRentalRepository bookRentalRepository;
+  private final BookSimilarRedisService bookSimilarRedisService;
+
+  @Bean
+  public Job bookCoOccurrenceJob() {
+    return jobBuilderFactory.get("bookCoOccurrenceJob")
+        .start(bookCoOccurrenceStep())
+        .build();
+  }
+
+  @Bean
+  public Step bookCoOccurrenceStep() {
+    return stepBuilderFactory.get("bookCoOccurrenceStep")
+        .tasklet(bookCoOccurrenceTasklet())
+        .build();
+  }
+
+  /**
+   * 한 번 실행될 때마다 watermark 이후의 대여 기록 CHUNK_SIZE 개를 집계한다. 새 watermark 는 집계 결과를 모두 반영한 뒤 기록되므로
+   * 실패하더라도 다음 실행에서 같은 범위를 다시 집계하며, 이미 반영한 도서는 건너뛴다.
+   */
+  @Bean
+  public Tasklet bookCoOccurrenceTasklet() {
+    return (contribution, chunkContext) -> {
+      long watermark = bookSimilarRedisService.getWatermark();
+
+      List<RentalHistoryDto> newRentals = bookRentalRepository.findRentalHistoryAfter(watermark,
+          CHUNK_SIZE);
+
+      if (newRentals.isEmpty()) {
+        return RepeatStatus.FINISHED;
+      }
+
+      long lastRentalId = newRentals.get(newRentals.size() - 1).getRentalId();
+      List<Long> memberIds = newRentals.stream()
+          .map(RentalHistoryDto::getMemberId)
+          .distinct()
+          .collect(Collectors.toList());
+
+      Map<Long, List<RentalHistoryDto>> memberRentals = bookRentalRepository
+          .findRentalHistoryByMemberIds(memberIds, lastRentalId).stream()
+          .collect(Collectors.groupingBy(RentalHistoryDto::getMemberId));
+
+      BookCoOccurrenceCounter counter = new BookCoOccurrenceCounter();
+      memberRentals.values()
+          .forEach(rentals -> counter.addMemberRentals(rentals, watermark));
+
+      bookSimilarRedisService.addCoOccurrenceCounts(counter.getCounts(), lastRentalId);
+
+      contribution.incrementReadCount();
+      contribution.incrementWriteCount(counter.getCounts().size());
+
+      return newRentals.size() < CHUNK_SIZE ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    };
+  }
+}
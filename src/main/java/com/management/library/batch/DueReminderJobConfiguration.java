@@ -0,0 +1,127 @@
+package com.management.library.batch;
+
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.service.reminder.DueReminderSink;
+import com.management.library.service.reminder.DueReminderWriter;
+import com.management.library.service.reminder.dto.DueRentalDto;
+import com.management.library.service.reminder.dto.DueReminderDto;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * reminderDate 로부터 DAYS_BEFORE_DUE 일 뒤가 반납 기한인 대여를 회원별로 묶어 반납 예정 알림을 기록한다. 대여는 (rental_end_date,
+ * member_id) 인덱스 범위를 회원 id 순으로 chunkSize 개씩 읽고, 알림은 DueReminderWriter 의 큐를 거쳐 별도 스레드에서 sink 로 기록한다.
+ * <p>
+ * sink 가 기록을 마친 마지막 회원 id 를 step execution context 에 저장하므로, 실패한 작업을 같은 reminderDate 로 다시 실행하면 그 다음
+ * 회원부터 이어서 수행한다. 기록을 마치기 전의 알림은 다시 전달되지만 sink 가 같은 회원과 반납 기한의 알림을 한 번만 기록한다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class DueReminderJobConfiguration {
+
+  public static final String REMINDER_DATE = "reminderDate";
+  public static final String WRITTEN_MEMBER_ID = "writtenMemberId";
+
+  private static final long DAYS_BEFORE_DUE = 2L;
+  private static final int QUEUE_CAPACITY = 8;
+
+  private final JobBuilderFactory jobBuilderFactory;
+  private final StepBuilderFactory stepBuilderFactory;
+  private final BookRentalRepository bookRentalRepository;
+  private final DueReminderSink dueReminderSink;
+
+  // 한 번에 읽을 대여 수. 한 회원의 대여 한도보다 커야 한다.
+  @Value("${due-reminder.chunk-size:1000}")
+  private int chunkSize;
+
+  @Bean
+  public Job dueReminderJob() {
+    return jobBuilderFactory.get("dueReminderJob")
+        .start(dueReminderStep())
+        .build();
+  }
+
+  @Bean
+  public Step dueReminderStep() {
+    return stepBuilderFactory.get("dueReminderStep")
+        .tasklet(dueReminderTasklet(null, null))
+        .build();
+  }
+
+  @Bean
+  @StepScope
+  public Tasklet dueReminderTasklet(
+      @Value("#{jobParameters['" + REMINDER_DATE + "']}") String reminderDate,
+      @Value("#{stepExecutionContext['" + WRITTEN_MEMBER_ID + "']}") Long writtenMemberId) {
+    LocalDate dueDate = LocalDate.parse(reminderDate).plusDays(DAYS_BEFORE_DUE);
+    long startMemberId = writtenMemberId == null ? 0L : writtenMemberId;
+
+    DueReminderWriter writer = new DueReminderWriter(dueReminderSink, QUEUE_CAPACITY,
+        startMemberId);
+    AtomicLong readMemberId = new AtomicLong(startMemberId);
+
+    return (contribution, chunkContext) -> {
+      ExecutionContext context = chunkContext.getStepContext().getStepExecution()
+          .getExecutionContext();
+
+      try {
+        List<DueRentalDto> rentals = bookRentalRepository.findDueRentals(dueDate,
+            readMemberId.get(), chunkSize);
+        boolean lastChunk = rentals.size() < chunkSize;
+
+        List<DueReminderDto> reminders = groupByMember(rentals, dueDate, lastChunk);
+        if (!reminders.isEmpty()) {
+          long lastMemberId = reminders.get(reminders.size() - 1).getMemberId();
+          writer.submit(reminders, lastMemberId);
+          readMemberId.set(lastMemberId);
+
+          contribution.incrementWriteCount(reminders.size());
+        }
+
+        if (lastChunk) {
+          writer.awaitCompletion();
+        }
+        context.putLong(WRITTEN_MEMBER_ID, writer.getWrittenMemberId());
+
+        return lastChunk ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+      } catch (Exception e) {
+        writer.close();
+        throw e;
+      }
+    };
+  }
+
+  // 마지막 범위가 아니라면 마지막 회원의 대여가 다음 범위로 이어질 수 있으므로 마지막 회원은 다음 범위에서 다시 읽는다.
+  // 한 회원의 대여 수는 대여 한도로 제한되므로 한 범위가 한 회원의 대여로만 채워지지 않는다.
+  private List<DueReminderDto> groupByMember(List<DueRentalDto> rentals, LocalDate dueDate,
+      boolean lastChunk) {
+    List<List<DueRentalDto>> rentalsByMember = new ArrayList<>(rentals.stream()
+        .collect(Collectors.groupingBy(DueRentalDto::getMemberId, LinkedHashMap::new,
+            Collectors.toList()))
+        .values());
+
+    if (!lastChunk && rentalsByMember.size() > 1) {
+      rentalsByMember.remove(rentalsByMember.size() - 1);
+    }
+
+    return rentalsByMember.stream()
+        .map(memberRentals -> DueReminderDto.of(memberRentals, dueDate))
+        .collect(Collectors.toList());
+  }
+}
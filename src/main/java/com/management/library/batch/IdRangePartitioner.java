@@ -0,0 +1,50 @@
+package com.management.library.batch;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * [minId, maxId] 범위를 gridSize 개의 연속된 id 범위로 나눈다. 각 파티션의 범위는 step execution context 의
+ * minId, maxId 로 전달된다.
+ */
+public class IdRangePartitioner implements Partitioner {
+
+  public static final String MIN_ID = "minId";
+  public static final String MAX_ID = "maxId";
+
+  private final long minId;
+  private final long maxId;
+
+  public IdRangePartitioner(long minId, long maxId) {
+    this.minId = minId;
+    this.maxId = maxId;
+  }
+
+  @Override
+  public Map<String, ExecutionContext> partition(int gridSize) {
+    Map<String, ExecutionContext> result = new HashMap<>();
+
+    if (maxId < minId) {
+      return result;
+    }
+
+    long targetSize = (maxId - minId) / gridSize + 1;
+    long start = minId;
+    int number = 0;
+
+    while (start <= maxId) {
+      ExecutionContext context = new ExecutionContext();
+      context.putLong(MIN_ID, start);
+      context.putLong(MAX_ID, Math.min(start + targetSize - 1, maxId));
+
+      result.put("partition" + number, context);
+
+      start += targetSize;
+      number++;
+    }
+
+    return result;
+  }
+}
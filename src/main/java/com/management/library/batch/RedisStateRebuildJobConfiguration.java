@@ -0,0 +1,167 @@
+package com.management.library.batch;
+
+import com.management.library.repository.management.ManagementRequestRepository;
+import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.newbook.NewBookRequestRepository;
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.repository.review.BookReviewRepository;
+import com.management.library.service.redis.RedisStateRebuildService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * redis 를 잃었거나 비어 있는 복제본으로 전환된 뒤 redis 에만 저장되는 상태를 DB 로 다시 만든다. 회원, 도서, 신규 도서 요청, 운영 개선 요청
+ * id 범위를 각각 파티션으로 나누어 병렬로 처리하며, 각 파티션은 CHUNK_SIZE 개의 id 단위로 DB 를 집계하여 redis 값과 비교한다.
+ * <p>
+ * dryRun 파라미터의 기본값은 true 로, 다른 값의 수만 step execution context 의 mismatchCount 와 로그로 남기고 redis 에 쓰지
+ * 않는다. --spring.batch.job.names=redisStateRebuildJob dryRun=false 옵션으로 실행하면 다른 값을 고친다.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class RedisStateRebuildJobConfiguration {
+
+  public static final String DRY_RUN = "dryRun";
+  public static final String MISMATCH_COUNT = "mismatchCount";
+
+  private static final int GRID_SIZE = 4;
+  private static final long CHUNK_SIZE = 1000L;
+  private static final String CURRENT_ID = "currentId";
+
+  private final JobBuilderFactory jobBuilderFactory;
+  private final StepBuilderFactory stepBuilderFactory;
+  private final MemberRepository memberRepository;
+  private final BookRentalRepository bookRentalRepository;
+  private final BookReviewRepository bookReviewRepository;
+  private final NewBookRequestRepository newBookRequestRepository;
+  private final ManagementRequestRepository managementRequestRepository;
+  private final RedisStateRebuildService redisStateRebuildService;
+
+  @Bean
+  public Job redisStateRebuildJob() {
+    return jobBuilderFactory.get("redisStateRebuildJob")
+        .start(memberStateRebuildStep(null))
+        .next(bookStateRebuildStep(null))
+        .next(newBookRequestStateRebuildStep(null))
+        .next(managementRequestStateRebuildStep(null))
+        .build();
+  }
+
+  @Bean
+  @JobScope
+  public Step memberStateRebuildStep(
+      @Value("#{jobParameters['" + DRY_RUN + "']}") String dryRun) {
+    return partitionedStep("memberStateRebuildStep", memberRepository.findMaxMemberId(),
+        redisStateRebuildService::rebuildMemberStates, isDryRun(dryRun));
+  }
+
+  @Bean
+  @JobScope
+  public Step bookStateRebuildStep(
+      @Value("#{jobParameters['" + DRY_RUN + "']}") String dryRun) {
+    Long maxRentedBookId = bookRentalRepository.findMaxRentedBookId();
+    Long maxReviewedBookId = bookReviewRepository.findMaxReviewedBookId();
+
+    return partitionedStep("bookStateRebuildStep", max(maxRentedBookId, maxReviewedBookId),
+        redisStateRebuildService::rebuildBookStates, isDryRun(dryRun));
+  }
+
+  @Bean
+  @JobScope
+  public Step newBookRequestStateRebuildStep(
+      @Value("#{jobParameters['" + DRY_RUN + "']}") String dryRun) {
+    return partitionedStep("newBookRequestStateRebuildStep",
+        newBookRequestRepository.findMaxRequestId(),
+        redisStateRebuildService::rebuildNewBookRequestStates, isDryRun(dryRun));
+  }
+
+  @Bean
+  @JobScope
+  public Step managementRequestStateRebuildStep(
+      @Value("#{jobParameters['" + DRY_RUN + "']}") String dryRun) {
+    return partitionedStep("managementRequestStateRebuildStep",
+        managementRequestRepository.findMaxRequestId(),
+        redisStateRebuildService::rebuildManagementRequestStates, isDryRun(dryRun));
+  }
+
+  // [1, maxId] 범위를 GRID_SIZE 개의 파티션으로 나누어 병렬로 재구축한다.
+  private Step partitionedStep(String stepName, Long maxId, RangeRebuilder rebuilder,
+      boolean dryRun) {
+    IdRangePartitioner partitioner = new IdRangePartitioner(1L, maxId == null ? 0L : maxId);
+
+    SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor(stepName + "-");
+    taskExecutor.setConcurrencyLimit(GRID_SIZE);
+
+    Step workerStep = stepBuilderFactory.get(stepName + "Worker")
+        .tasklet(rebuildTasklet(rebuilder, dryRun))
+        .build();
+
+    return stepBuilderFactory.get(stepName)
+        .partitioner(workerStep.getName(), partitioner)
+        .step(workerStep)
+        .gridSize(GRID_SIZE)
+        .taskExecutor(taskExecutor)
+        .build();
+  }
+
+  /**
+   * 파티션 범위를 CHUNK_SIZE 단위로 나누어 처리한다. 처리한 위치와 다른 값의 수는 step execution context 에 저장되므로 실패 시
+   * 이어서 재시작할 수 있다.
+   */
+  private Tasklet rebuildTasklet(RangeRebuilder rebuilder, boolean dryRun) {
+    return (contribution, chunkContext) -> {
+      ExecutionContext context = chunkContext.getStepContext().getStepExecution()
+          .getExecutionContext();
+
+      long maxId = context.getLong(IdRangePartitioner.MAX_ID);
+      long startId = context.getLong(CURRENT_ID, context.getLong(IdRangePartitioner.MIN_ID));
+      long endId = Math.min(startId + CHUNK_SIZE - 1, maxId);
+
+      long mismatchCount = rebuilder.rebuild(startId, endId, dryRun);
+
+      if (!dryRun) {
+        contribution.incrementWriteCount((int) mismatchCount);
+      }
+      context.putLong(MISMATCH_COUNT, context.getLong(MISMATCH_COUNT, 0L) + mismatchCount);
+      context.putLong(CURRENT_ID, endId + 1);
+
+      if (endId < maxId) {
+        return RepeatStatus.CONTINUABLE;
+      }
+
+      log.info("redis state rebuild finished : step = {}, mismatchCount = {}, dryRun = {}",
+          chunkContext.getStepContext().getStepName(), context.getLong(MISMATCH_COUNT), dryRun);
+      return RepeatStatus.FINISHED;
+    };
+  }
+
+  private boolean isDryRun(String dryRun) {
+    return dryRun == null || Boolean.parseBoolean(dryRun);
+  }
+
+  private Long max(Long first, Long second) {
+    if (first == null) {
+      return second;
+    }
+
+    return second == null ? first : Math.max(first, second);
+  }
+
+  @FunctionalInterface
+  private interface RangeRebuilder {
+
+    long rebuild(long startId, long endId, boolean dryRun);
+  }
+}
@@ -0,0 +1,79 @@
+package com.management.library.batch;
+
+import com.management.library.service.rental.RentalArchiveService;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 반납된 지 retentionDays 일이 지난 대여 기록을 CHUNK_SIZE 개씩 rentals_archive 로 옮긴다. 옮긴 기록은 rentals 에서 삭제되므로 실패한
+ * 작업을 다시 실행하면 남은 기록부터 이어서 옮긴다.
+ * <p>
+ * 연도별 대여 순위, 연체 패널티, 일별 통계 집계는 rentals 의 최근 기록만 읽으므로 보관 기간은 1년보다 길게 둔다. 보관 기간보다 오래된 기간의
+ * 일별 통계는 다시 집계하지 않는다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class RentalArchiveJobConfiguration {
+
+  public static final String RETENTION_DAYS = "retentionDays";
+
+  private static final long DEFAULT_RETENTION_DAYS = 400L;
+  private static final int CHUNK_SIZE = 1000;
+
+  private final JobBuilderFactory jobBuilderFactory;
+  private final StepBuilderFactory stepBuilderFactory;
+  private final RentalArchiveService rentalArchiveService;
+
+  @Bean
+  public Job rentalArchiveJob() {
+    return jobBuilderFactory.get("rentalArchiveJob")
+        .start(rentalArchiveStep())
+        .build();
+  }
+
+  @Bean
+  public Step rentalArchiveStep() {
+    return stepBuilderFactory.get("rentalArchiveStep")
+        .tasklet(rentalArchiveTasklet(null, null))
+        .build();
+  }
+
+  /**
+   * 반납 기준 시각은 작업 요청 시각으로 고정하여 작업 도중 반납된 기록이 대상에 새로 들어오지 않도록 한다.
+   */
+  @Bean
+  @StepScope
+  public Tasklet rentalArchiveTasklet(
+      @Value("#{jobParameters['requestTime']}") Long requestTime,
+      @Value("#{jobParameters['" + RETENTION_DAYS + "']}") Long retentionDays) {
+    LocalDateTime returnedBefore = toLocalDateTime(requestTime)
+        .minusDays(retentionDays == null ? DEFAULT_RETENTION_DAYS : retentionDays);
+
+    return (contribution, chunkContext) -> {
+      int archivedCount = rentalArchiveService.archiveReturnedRentals(returnedBefore, CHUNK_SIZE);
+
+      contribution.incrementWriteCount(archivedCount);
+
+      return archivedCount < CHUNK_SIZE ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    };
+  }
+
+  private LocalDateTime toLocalDateTime(Long requestTime) {
+    if (requestTime == null) {
+      return LocalDateTime.now();
+    }
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(requestTime), ZoneId.systemDefault());
+  }
+}
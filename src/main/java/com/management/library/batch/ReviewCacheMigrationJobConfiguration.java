@@ -0,0 +1,88 @@
+package com.management.library.batch;
+
+import com.management.library.repository.review.BookReviewRepository;
+import com.management.library.service.review.BookReviewRedisService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 리뷰 중복 확인을 redis 의 review-member:{memberCode} hash 에서 book_reviews 의 (member_id, book_id) 유니크 인덱스로
+ * 옮기기 위한 1회성 작업.
+ * <p>
+ * 1. 유니크 제약 조건을 추가할 수 있도록 같은 회원이 같은 도서에 남긴 중복 리뷰 중 가장 먼저 등록된 리뷰만 남기고 삭제한다.
+ * 2. 더 이상 사용하지 않는 review-member:* 키를 SCAN, UNLINK 로 삭제한다.
+ * <p>
+ * 작업이 끝나면 DDL.sql 의 uk_book_reviews_member_book 제약 조건을 적용하고, 삭제된 리뷰가 반영되도록 reviewRateRepairJob 을
+ * 수행한다. --spring.batch.job.enabled=true --spring.batch.job.names=reviewCacheMigrationJob 옵션으로 실행한다.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class ReviewCacheMigrationJobConfiguration {
+
+  private static final int SCAN_BATCH_SIZE = 1000;
+
+  private final JobBuilderFactory jobBuilderFactory;
+  private final StepBuilderFactory stepBuilderFactory;
+  private final BookReviewRepository bookReviewRepository;
+  private final BookReviewRedisService bookReviewRedisService;
+
+  @Bean
+  public Job reviewCacheMigrationJob() {
+    return jobBuilderFactory.get("reviewCacheMigrationJob")
+        .start(duplicateReviewCleanupStep())
+        .next(legacyReviewCacheCleanupStep())
+        .build();
+  }
+
+  @Bean
+  public Step duplicateReviewCleanupStep() {
+    return stepBuilderFactory.get("duplicateReviewCleanupStep")
+        .tasklet(duplicateReviewCleanupTasklet())
+        .build();
+  }
+
+  @Bean
+  public Step legacyReviewCacheCleanupStep() {
+    return stepBuilderFactory.get("legacyReviewCacheCleanupStep")
+        .tasklet(legacyReviewCacheCleanupTasklet())
+        .build();
+  }
+
+  @Bean
+  public Tasklet duplicateReviewCleanupTasklet() {
+    return (contribution, chunkContext) -> {
+      List<Long> duplicateReviewIds = bookReviewRepository.findDuplicateReviewIds();
+
+      if (!duplicateReviewIds.isEmpty()) {
+        bookReviewRepository.deleteAllByIdInBatch(duplicateReviewIds);
+      }
+
+      log.info("deleted duplicate reviews : {}", duplicateReviewIds.size());
+      contribution.incrementWriteCount(duplicateReviewIds.size());
+
+      return RepeatStatus.FINISHED;
+    };
+  }
+
+  @Bean
+  public Tasklet legacyReviewCacheCleanupTasklet() {
+    return (contribution, chunkContext) -> {
+      long deletedCount = bookReviewRedisService.deleteLegacyReviewCaches(SCAN_BATCH_SIZE);
+
+      log.info("deleted legacy review cache keys : {}", deletedCount);
+      contribution.incrementWriteCount((int) deletedCount);
+
+      return RepeatStatus.FINISHED;
+    };
+  }
+}
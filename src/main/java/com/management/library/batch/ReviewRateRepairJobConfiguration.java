@@ -0,0 +1,106 @@
+package com.management.library.batch;
+
+import com.management.library.repository.review.BookReviewRepository;
+import com.management.library.service.review.BookReviewRedisService;
+import com.management.library.service.review.dto.BookReviewRateCountDto;
+import com.management.library.service.review.dto.BookReviewRateDto;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * book_reviews 테이블을 기준으로 redis 의 도서 평점 통계(합계, 리뷰 수, 평점별 리뷰 수, 평점 순위)를 다시 만든다. 도서 id 범위로
+ * 파티션을 나누어 병렬로 수행하고, 각 파티션은 CHUNK_SIZE 개의 도서 id 단위로 집계하여 pipeline 으로 기록한다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ReviewRateRepairJobConfiguration {
+
+  private static final int GRID_SIZE = 4;
+  private static final long CHUNK_SIZE = 500L;
+  private static final String CURRENT_ID = "currentId";
+
+  private final JobBuilderFactory jobBuilderFactory;
+  private final StepBuilderFactory stepBuilderFactory;
+  private final BookReviewRepository bookReviewRepository;
+  private final BookReviewRedisService bookReviewRedisService;
+
+  @Bean
+  public Job reviewRateRepairJob() {
+    return jobBuilderFactory.get("reviewRateRepairJob")
+        .start(reviewRateRepairManagerStep())
+        .build();
+  }
+
+  @Bean
+  @JobScope
+  public Step reviewRateRepairManagerStep() {
+    Long maxBookId = bookReviewRepository.findMaxReviewedBookId();
+    IdRangePartitioner partitioner = new IdRangePartitioner(1L,
+        maxBookId == null ? 0L : maxBookId);
+
+    SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("review-rate-repair-");
+    taskExecutor.setConcurrencyLimit(GRID_SIZE);
+
+    return stepBuilderFactory.get("reviewRateRepairManagerStep")
+        .partitioner("reviewRateRepairStep", partitioner)
+        .step(reviewRateRepairStep())
+        .gridSize(GRID_SIZE)
+        .taskExecutor(taskExecutor)
+        .build();
+  }
+
+  @Bean
+  public Step reviewRateRepairStep() {
+    return stepBuilderFactory.get("reviewRateRepairStep")
+        .tasklet(reviewRateRepairTasklet(null, null))
+        .build();
+  }
+
+  /**
+   * 파티션 범위를 CHUNK_SIZE 단위로 나누어 처리한다. 처리한 위치는 step execution context 에 저장되므로 실패 시 이어서 재시작할 수
+   * 있다.
+   */
+  @Bean
+  @StepScope
+  public Tasklet reviewRateRepairTasklet(
+      @Value("#{stepExecutionContext['" + IdRangePartitioner.MIN_ID + "']}") Long minId,
+      @Value("#{stepExecutionContext['" + IdRangePartitioner.MAX_ID + "']}") Long maxId) {
+    return (contribution, chunkContext) -> {
+      ExecutionContext context = chunkContext.getStepContext().getStepExecution()
+          .getExecutionContext();
+
+      long startId = context.getLong(CURRENT_ID, minId);
+      long endId = Math.min(startId + CHUNK_SIZE - 1, maxId);
+
+      List<BookReviewRateDto> reviewRates = bookReviewRepository
+          .findRateCountByBookIdBetween(startId, endId).stream()
+          .collect(Collectors.groupingBy(BookReviewRateCountDto::getBookId, LinkedHashMap::new,
+              Collectors.toList()))
+          .values().stream()
+          .map(BookReviewRateDto::of)
+          .collect(Collectors.toList());
+
+      bookReviewRedisService.rebuildReviewRates(reviewRates);
+
+      contribution.incrementWriteCount(reviewRates.size());
+      context.putLong(CURRENT_ID, endId + 1);
+
+      return endId >= maxId ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    };
+  }
+}
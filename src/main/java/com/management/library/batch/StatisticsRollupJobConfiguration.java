@@ -0,0 +1,121 @@
+package com.management.library.batch;
+
+import com.management.library.service.statistics.StatisticsRollupService;
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * rentals, book_reviews, book_status_history 테이블로 [startDate, endDate] 기간의 일별 통계를 다시 집계하고, 기간이 걸쳐 있는 달과 연도의 통계를 일별
+ * 통계의 합으로 갱신한다. 기간은 날짜(epoch day) 범위로 파티션을 나누어 병렬로 집계하며, 각 파티션은 CHUNK_DAYS 일 단위로 처리한
+ * 위치를 step execution context 에 기록하므로 실패한 작업을 같은 파라미터로 다시 실행하면 완료되지 않은 파티션만 이어서 수행한다.
+ * <p>
+ * --spring.batch.job.names=statisticsRollupJob startDate=2023-01-01 endDate=2023-12-31 옵션으로 지난 기간을 채울 수
+ * 있다. 이미 완료된 기간을 다시 집계하려면 runId 파라미터를 새 값으로 함께 넘겨 새로운 작업으로 실행한다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class StatisticsRollupJobConfiguration {
+
+  public static final String START_DATE = "startDate";
+  public static final String END_DATE = "endDate";
+  public static final String RUN_ID = "runId";
+
+  private static final int GRID_SIZE = 4;
+  private static final long CHUNK_DAYS = 7L;
+  private static final String CURRENT_DAY = "currentDay";
+
+  private final JobBuilderFactory jobBuilderFactory;
+  private final StepBuilderFactory stepBuilderFactory;
+  private final StatisticsRollupService statisticsRollupService;
+
+  @Bean
+  public Job statisticsRollupJob() {
+    return jobBuilderFactory.get("statisticsRollupJob")
+        .start(dailyRollupManagerStep(null, null))
+        .next(periodRollupStep())
+        .build();
+  }
+
+  @Bean
+  @JobScope
+  public Step dailyRollupManagerStep(
+      @Value("#{jobParameters['" + START_DATE + "']}") String startDate,
+      @Value("#{jobParameters['" + END_DATE + "']}") String endDate) {
+    IdRangePartitioner partitioner = new IdRangePartitioner(
+        LocalDate.parse(startDate).toEpochDay(), LocalDate.parse(endDate).toEpochDay());
+
+    SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("statistics-rollup-");
+    taskExecutor.setConcurrencyLimit(GRID_SIZE);
+
+    return stepBuilderFactory.get("dailyRollupManagerStep")
+        .partitioner("dailyRollupStep", partitioner)
+        .step(dailyRollupStep())
+        .gridSize(GRID_SIZE)
+        .taskExecutor(taskExecutor)
+        .build();
+  }
+
+  @Bean
+  public Step dailyRollupStep() {
+    return stepBuilderFactory.get("dailyRollupStep")
+        .tasklet(dailyRollupTasklet(null, null))
+        .build();
+  }
+
+  @Bean
+  public Step periodRollupStep() {
+    return stepBuilderFactory.get("periodRollupStep")
+        .tasklet(periodRollupTasklet(null, null))
+        .build();
+  }
+
+  /**
+   * 파티션의 날짜 범위를 CHUNK_DAYS 일 단위로 나누어 일별 통계를 집계한다.
+   */
+  @Bean
+  @StepScope
+  public Tasklet dailyRollupTasklet(
+      @Value("#{stepExecutionContext['" + IdRangePartitioner.MIN_ID + "']}") Long minDay,
+      @Value("#{stepExecutionContext['" + IdRangePartitioner.MAX_ID + "']}") Long maxDay) {
+    return (contribution, chunkContext) -> {
+      ExecutionContext context = chunkContext.getStepContext().getStepExecution()
+          .getExecutionContext();
+
+      long startDay = context.getLong(CURRENT_DAY, minDay);
+      long endDay = Math.min(startDay + CHUNK_DAYS - 1, maxDay);
+
+      int rollupCount = statisticsRollupService.rollupDaily(LocalDate.ofEpochDay(startDay),
+          LocalDate.ofEpochDay(endDay));
+
+      contribution.incrementWriteCount(rollupCount);
+      context.putLong(CURRENT_DAY, endDay + 1);
+
+      return endDay >= maxDay ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    };
+  }
+
+  @Bean
+  @StepScope
+  public Tasklet periodRollupTasklet(
+      @Value("#{jobParameters['" + START_DATE + "']}") String startDate,
+      @Value("#{jobParameters['" + END_DATE + "']}") String endDate) {
+    return (contribution, chunkContext) -> {
+      statisticsRollupService.rollupPeriods(LocalDate.parse(startDate), LocalDate.parse(endDate));
+
+      return RepeatStatus.FINISHED;
+    };
+  }
+}
@@ -0,0 +1,83 @@
+package com.management.library.config;
+
+import com.management.library.service.scheduled.ScheduledLease;
+import com.management.library.service.scheduled.ScheduledLeaseService;
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.concurrent.ScheduledFuture;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+/**
+ * @Scheduled 메서드를 ScheduledLeaseService 로 감싸서 여러 인스턴스 중 lease 를 얻은 인스턴스 하나만 수행하도록 한다. 스케줄러를
+ * 거치지 않고 메서드를 직접 호출하는 경우(테스트, 관리자 수동 실행)에는 lease 를 사용하지 않는다.
+ * <p>
+ * lease 이름은 "클래스명.메서드명" 이며, 메서드에 @ScheduledLease 가 없다면 기본 유지 시간을 사용한다.
+ */
+public class LeasedTaskScheduler extends ThreadPoolTaskScheduler {
+
+  private final ScheduledLeaseService scheduledLeaseService;
+
+  public LeasedTaskScheduler(ScheduledLeaseService scheduledLeaseService) {
+    this.scheduledLeaseService = scheduledLeaseService;
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+    return super.schedule(leased(task), trigger);
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+    return super.schedule(leased(task), startTime);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+    return super.scheduleAtFixedRate(leased(task), startTime, period);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+    return super.scheduleAtFixedRate(leased(task), period);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+    return super.scheduleWithFixedDelay(leased(task), startTime, delay);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+    return super.scheduleWithFixedDelay(leased(task), delay);
+  }
+
+  private Runnable leased(Runnable task) {
+    if (!(task instanceof ScheduledMethodRunnable)) {
+      return task;
+    }
+
+    ScheduledMethodRunnable scheduledTask = (ScheduledMethodRunnable) task;
+    Method method = scheduledTask.getMethod();
+    String jobName = AopUtils.getTargetClass(scheduledTask.getTarget()).getSimpleName() + "."
+        + method.getName();
+
+    ScheduledLease lease = AnnotatedElementUtils.findMergedAnnotation(method,
+        ScheduledLease.class);
+    if (lease != null && !lease.exclusive()) {
+      return task;
+    }
+
+    long leaseSeconds = lease == null ? ScheduledLeaseService.DEFAULT_LEASE_SECONDS
+        : lease.leaseSeconds();
+    long minHoldSeconds = lease == null ? ScheduledLeaseService.DEFAULT_MIN_HOLD_SECONDS
+        : lease.minHoldSeconds();
+    boolean recordRun = lease == null || lease.recordRun();
+
+    return () -> scheduledLeaseService.runExclusively(jobName, leaseSeconds, minHoldSeconds,
+        recordRun, task);
+  }
+}
@@ -1,44 +1,93 @@
 package com.management.library.config;
 
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
 import org.redisson.config.Config;
+import org.redisson.config.ReadMode;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisNode;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.StringUtils;
 
+/**
+ * redis 연결 설정. redis-topology.mode 로 연결 방식을 고른다.
+ * <ul>
+ *   <li>standalone : spring.redis.host, port 의 단일 노드에 연결한다.</li>
+ *   <li>cluster : redis-topology.nodes 의 노드로 cluster 구성을 찾아 연결한다.</li>
+ *   <li>replica : spring.redis.host, port 를 master 로, redis-topology.nodes 를 replica 로 연결한다.</li>
+ * </ul>
+ * lettuce 와 redisson 은 같은 노드 목록을 사용한다. 쓰기와 쓰기 직후의 읽기는 master 로 보내고, 조금 늦게 반영되어도 되는 통계, 추천 조회는
+ * replicaPreferredRedisTemplate 으로 replica 에서 읽는다.
+ * <p>
+ * cluster 에서는 lua script, RENAME 처럼 여러 키를 함께 다루는 명령의 키가 같은 slot 에 있어야 하므로, 함께 쓰이는 키만 같은 hash
+ * tag({...}) 를 사용한다. 상수 hash tag 는 모든 키를 하나의 slot 에 모으므로 도서 id, 날짜처럼 키마다 다른 값을 hash tag 로 사용한다.
+ * 예) book-review-stat:{17} 와 book-review-stat:{17}:applied:{이벤트 key}, checkpoint-dirty:{book-review-rate}
+ */
 @Configuration
 @RequiredArgsConstructor
 public class RedisConfiguration {
 
+  public static final String REPLICA_PREFERRED_REDIS_TEMPLATE = "replicaPreferredRedisTemplate";
+
   @Value("${spring.redis.host}")
   private String host;
 
   @Value("${spring.redis.port}")
   private int port;
 
+  @Value("${spring.redis.password:dev}")
+  private String password;
+
+  // redis 가 응답하지 않을 때 요청이 오래 붙잡히지 않도록 명령 timeout 을 짧게 둔다.
+  @Value("${spring.redis.timeout:1s}")
+  private Duration timeout;
+
+  @Value("${redis-topology.mode:standalone}")
+  private String topologyMode;
+
+  // host:port 목록
+  @Value("${redis-topology.nodes:}")
+  private String topologyNodes;
+
   private static final String REDISSON_HOST_PREFIX = "redis://";
+  private static final int CLUSTER_MAX_REDIRECTS = 3;
+  private static final Duration CLUSTER_TOPOLOGY_REFRESH_PERIOD = Duration.ofSeconds(30);
 
   @Bean
+  @Primary
   public RedisConnectionFactory redisConnectionFactory() {
-    RedisStandaloneConfiguration conf = new RedisStandaloneConfiguration();
-    conf.setHostName(host);
-    conf.setPort(port);
-    conf.setPassword("dev");
+    return createConnectionFactory(ReadFrom.UPSTREAM);
+  }
 
-    return new LettuceConnectionFactory(conf);
+  @Bean
+  public RedisConnectionFactory replicaPreferredRedisConnectionFactory() {
+    return createConnectionFactory(ReadFrom.REPLICA_PREFERRED);
   }
 
   @Bean
@@ -71,14 +120,124 @@ public class RedisConfiguration {
     return redisTemplate;
   }
 
+  // RedisTemplate<String, String> 을 주입받는 곳은 master 로 연결된 이 template 을 사용한다.
+  @Bean
+  @Primary
+  public StringRedisTemplate stringRedisTemplate() {
+    return new StringRedisTemplate(redisConnectionFactory());
+  }
+
+  @Bean(REPLICA_PREFERRED_REDIS_TEMPLATE)
+  public StringRedisTemplate replicaPreferredRedisTemplate() {
+    return new StringRedisTemplate(replicaPreferredRedisConnectionFactory());
+  }
+
   @Bean
   public RedissonClient redissonClient(){
-    RedissonClient redisson = null;
     Config config = new Config();
-    config.useSingleServer()
-        .setAddress(REDISSON_HOST_PREFIX + host + ":" + port)
-        .setPassword("dev");
+
+    // 분산 락은 master 에서만 읽고 써야 한다.
+    switch (getTopologyMode()) {
+      case CLUSTER:
+        config.useClusterServers()
+            .addNodeAddress(toRedissonAddresses(getTopologyNodes()))
+            .setReadMode(ReadMode.MASTER)
+            .setPassword(password);
+        break;
+      case REPLICA:
+        config.useMasterSlaveServers()
+            .setMasterAddress(REDISSON_HOST_PREFIX + host + ":" + port)
+            .addSlaveAddress(toRedissonAddresses(getTopologyNodes()))
+            .setReadMode(ReadMode.MASTER)
+            .setPassword(password);
+        break;
+      default:
+        config.useSingleServer()
+            .setAddress(REDISSON_HOST_PREFIX + host + ":" + port)
+            .setPassword(password);
+    }
 
     return Redisson.create(config);
   }
+
+  private LettuceConnectionFactory createConnectionFactory(ReadFrom readFrom) {
+    TopologyMode mode = getTopologyMode();
+
+    if (mode == TopologyMode.CLUSTER) {
+      RedisClusterConfiguration conf = new RedisClusterConfiguration();
+      conf.setClusterNodes(getTopologyNodes());
+      conf.setMaxRedirects(CLUSTER_MAX_REDIRECTS);
+      conf.setPassword(password);
+
+      // failover, resharding 뒤에도 바뀐 slot 배치를 따라가도록 topology 를 갱신한다.
+      ClusterTopologyRefreshOptions refreshOptions = ClusterTopologyRefreshOptions.builder()
+          .enablePeriodicRefresh(CLUSTER_TOPOLOGY_REFRESH_PERIOD)
+          .enableAllAdaptiveRefreshTriggers()
+          .build();
+
+      LettuceClientConfiguration clientConf = LettuceClientConfiguration.builder()
+          .commandTimeout(timeout)
+          .readFrom(readFrom)
+          .clientOptions(ClusterClientOptions.builder()
+              .topologyRefreshOptions(refreshOptions)
+              .build())
+          .build();
+
+      return new LettuceConnectionFactory(conf, clientConf);
+    }
+
+    if (mode == TopologyMode.REPLICA) {
+      RedisStaticMasterReplicaConfiguration conf = new RedisStaticMasterReplicaConfiguration(
+          host, port);
+      getTopologyNodes().forEach(node -> conf.addNode(node.getHost(), node.getPort()));
+      conf.setPassword(password);
+
+      LettuceClientConfiguration clientConf = LettuceClientConfiguration.builder()
+          .commandTimeout(timeout)
+          .readFrom(readFrom)
+          .build();
+
+      return new LettuceConnectionFactory(conf, clientConf);
+    }
+
+    RedisStandaloneConfiguration conf = new RedisStandaloneConfiguration();
+    conf.setHostName(host);
+    conf.setPort(port);
+    conf.setPassword(password);
+
+    LettuceClientConfiguration clientConf = LettuceClientConfiguration.builder()
+        .commandTimeout(timeout)
+        .build();
+
+    return new LettuceConnectionFactory(conf, clientConf);
+  }
+
+  private TopologyMode getTopologyMode() {
+    return TopologyMode.valueOf(topologyMode.trim().toUpperCase(Locale.ROOT));
+  }
+
+  private List<RedisNode> getTopologyNodes() {
+    List<RedisNode> nodes = Arrays.stream(topologyNodes.split(","))
+        .map(String::trim)
+        .filter(StringUtils::hasText)
+        .map(RedisNode::fromString)
+        .collect(Collectors.toList());
+
+    if (nodes.isEmpty()) {
+      throw new IllegalStateException(
+          "redis-topology.nodes is required for " + topologyMode + " mode");
+    }
+
+    return nodes;
+  }
+
+  private String[] toRedissonAddresses(List<RedisNode> nodes) {
+    return nodes.stream()
+        .map(node -> REDISSON_HOST_PREFIX + node.getHost() + ":" + node.getPort())
+        .toArray(String[]::new);
+  }
+
+  private enum TopologyMode {
+    STANDALONE, CLUSTER, REPLICA
+  }
 }
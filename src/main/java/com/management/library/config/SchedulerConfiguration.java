@@ -1,18 +1,28 @@
 package com.management.library.config;
 
+import com.management.library.service.scheduled.ScheduledLeaseService;
+import java.time.ZoneId;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
 @Configuration
+@RequiredArgsConstructor
 public class SchedulerConfiguration implements SchedulingConfigurer {
 
+  // @Scheduled cron 이 사용하는 시간대. 작업의 기준일과 작업이 집계하는 대여일도 서버 시간대 대신 이 시간대로 정한다.
+  public static final ZoneId SCHEDULE_ZONE = ZoneId.of("Asia/Seoul");
+
   private static final int THREAD_POOL_SIZE = 10;
 
+  private final ScheduledLeaseService scheduledLeaseService;
+
   @Override
   public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
-    final ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+    // 모든 @Scheduled 작업은 lease 를 얻은 인스턴스 하나에서만 수행된다.
+    final ThreadPoolTaskScheduler taskScheduler = new LeasedTaskScheduler(scheduledLeaseService);
     taskScheduler.setPoolSize(THREAD_POOL_SIZE);
     taskScheduler.setThreadNamePrefix("scheduled-task-pool-");
     taskScheduler.initialize();
@@ -35,6 +35,9 @@ public class SecurityConfiguration {
             "/swagger-ui.html", "/webjars/**", "/swagger/**", "/swagger-resources/**",
             "/swagger-ui/**"
         ).permitAll()
+        // 로드 밸런서, k8s probe 는 인증 없이 health 를 확인하고, 나머지 actuator 지표는 관리자만 조회한다.
+        .antMatchers("/actuator/health", "/actuator/health/**").permitAll()
+        .antMatchers("/actuator/**").hasRole("ADMIN")
         .and()
         .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
@@ -0,0 +1,147 @@
+package com.management.library.config.datasource;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 쓰기 트랜잭션으로 데이터가 바뀐 회원을 stickyDuration 동안 redis 에 기록한다. 그동안 해당 회원의 읽기 전용 트랜잭션은 replica 가 아닌
+ * primary 로 보내어, 방금 대여, 반납, 요청한 내용이 replica 에 아직 반영되지 않아 보이지 않는 일이 없도록 한다.
+ * <p>
+ * 요청한 사용자뿐 아니라 서비스가 markWritten 으로 알린 회원도 기록하므로, 관리자가 대신 처리한 대여, 반납도 해당 회원의 읽기에 적용된다. 기록은
+ * redis 에 남으므로 다음 요청이 다른 인스턴스로 가도 적용된다.
+ * <p>
+ * replica-datasource.enabled 가 false 라면 아무것도 기록하지 않는다.
+ */
+@Slf4j
+@Component
+public class ReadYourWritesTracker {
+
+  private static final String STICKY_KEY_PREFIX = "read-your-writes:";
+  private static final RedisSerializer<String> SERIALIZER = RedisSerializer.string();
+  private static final byte[] STICKY_VALUE = SERIALIZER.serialize("1");
+
+  private final RedisTemplate<String, String> redisTemplate;
+  private final boolean enabled;
+  private final Duration stickyDuration;
+
+  public ReadYourWritesTracker(RedisTemplate<String, String> redisTemplate,
+      @Value("${replica-datasource.enabled:false}") boolean enabled,
+      @Value("${replica-datasource.sticky-duration:10s}") Duration stickyDuration) {
+    this.redisTemplate = redisTemplate;
+    this.enabled = enabled;
+    this.stickyDuration = stickyDuration;
+  }
+
+  /**
+   * 현재 쓰기 트랜잭션이 커밋되면 요청한 사용자를 기록하도록 등록한다.
+   */
+  public void registerWrite() {
+    markWritten(getCurrentName());
+  }
+
+  /**
+   * 현재 트랜잭션이 커밋되면 데이터가 바뀐 회원을 기록하도록 등록한다. 트랜잭션 밖에서 호출하면 바로 기록한다.
+   *
+   * @param memberCode 데이터가 바뀐 회원의 회원 번호
+   */
+  @SuppressWarnings("unchecked")
+  public void markWritten(String memberCode) {
+    if (!enabled || memberCode == null) {
+      return;
+    }
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      setSticky(Set.of(memberCode));
+      return;
+    }
+
+    Set<String> memberCodes = (Set<String>) TransactionSynchronizationManager.getResource(this);
+    if (memberCodes == null) {
+      memberCodes = new HashSet<>();
+      registerSynchronization(memberCodes);
+    }
+
+    memberCodes.add(memberCode);
+  }
+
+  /**
+   * redis 에 연결할 수 없다면 기록을 확인할 수 없으므로 primary 로 보내도록 true 를 반환한다.
+   *
+   * @return 현재 회원의 데이터가 stickyDuration 안에 바뀌었다면 true
+   */
+  public boolean isRecentWriter() {
+    String name = getCurrentName();
+    if (!enabled || name == null) {
+      return false;
+    }
+
+    try {
+      return Boolean.TRUE.equals(redisTemplate.hasKey(getKey(name)));
+    } catch (DataAccessException e) {
+      log.warn("read-your-writes check failed : name = {}, message = {}", name, e.getMessage());
+      return true;
+    }
+  }
+
+  private void registerSynchronization(Set<String> memberCodes) {
+    TransactionSynchronizationManager.bindResource(this, memberCodes);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        setSticky(memberCodes);
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesTracker.this);
+      }
+    });
+  }
+
+  // 이미 커밋된 트랜잭션의 결과를 바꾸지 않도록 기록에 실패해도 예외를 던지지 않는다.
+  private void setSticky(Set<String> memberCodes) {
+    Expiration expiration = Expiration.from(stickyDuration.toMillis(), TimeUnit.MILLISECONDS);
+
+    try {
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        for (String memberCode : memberCodes) {
+          connection.stringCommands().set(SERIALIZER.serialize(getKey(memberCode)), STICKY_VALUE,
+              expiration, SetOption.upsert());
+        }
+        return null;
+      });
+    } catch (DataAccessException e) {
+      log.warn("read-your-writes mark failed : memberCodes = {}, message = {}", memberCodes,
+          e.getMessage());
+    }
+  }
+
+  private String getKey(String name) {
+    return STICKY_KEY_PREFIX + name;
+  }
+
+  private String getCurrentName() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+      return null;
+    }
+
+    return authentication.getName();
+  }
+}
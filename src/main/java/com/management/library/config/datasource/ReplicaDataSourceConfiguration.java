@@ -0,0 +1,101 @@
+package com.management.library.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+/**
+ * replica-datasource.enabled 가 true 일 때 spring.datasource 를 primary 로, replica-datasource.urls 를 replica 로 하는 라우팅
+ * DataSource 를 만든다. replica 는 primary 와 같은 계정으로 연결한다.
+ * <ul>
+ *   <li>@Transactional(readOnly = true) 트랜잭션은 복제 지연이 max-lag 이하인 replica 로 보낸다.</li>
+ *   <li>쓰기 트랜잭션으로 데이터가 바뀐 회원의 읽기는 sticky-duration 동안 primary 로 보낸다.</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "replica-datasource", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+
+  private static final String REPLICA_KEY_PREFIX = "replica-";
+
+  // jdbc url 목록
+  @Value("${replica-datasource.urls}")
+  private String urls;
+
+  @Value("${replica-datasource.max-lag:5s}")
+  private Duration maxLag;
+
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicationRoutingDataSource replicationRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(replicationRoutingDataSource);
+  }
+
+  @Bean
+  public ReplicationRoutingDataSource replicationRoutingDataSource(
+      DataSourceProperties dataSourceProperties, ReadYourWritesTracker readYourWritesTracker) {
+    Map<String, DataSource> replicas = replicaDataSources(dataSourceProperties);
+
+    Map<Object, Object> targetDataSources = new HashMap<>(replicas);
+    DataSource primary = createDataSource(dataSourceProperties, dataSourceProperties.getUrl(),
+        ReplicationRoutingDataSource.PRIMARY, false);
+    targetDataSources.put(ReplicationRoutingDataSource.PRIMARY, primary);
+
+    ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource(
+        List.copyOf(replicas.keySet()), readYourWritesTracker);
+    routingDataSource.setTargetDataSources(targetDataSources);
+    routingDataSource.setDefaultTargetDataSource(primary);
+    return routingDataSource;
+  }
+
+  @Bean
+  public ReplicaHealthChecker replicaHealthChecker(
+      ReplicationRoutingDataSource replicationRoutingDataSource) {
+    Map<String, DataSource> replicas = replicationRoutingDataSource.getResolvedDataSources()
+        .entrySet().stream()
+        .filter(entry -> !ReplicationRoutingDataSource.PRIMARY.equals(entry.getKey()))
+        .collect(Collectors.toMap(entry -> (String) entry.getKey(), Map.Entry::getValue));
+
+    return new ReplicaHealthChecker(replicas, replicationRoutingDataSource, maxLag);
+  }
+
+  private Map<String, DataSource> replicaDataSources(DataSourceProperties dataSourceProperties) {
+    List<String> replicaUrls = Arrays.stream(urls.split(","))
+        .map(String::trim)
+        .filter(StringUtils::hasText)
+        .collect(Collectors.toList());
+
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    for (int i = 0; i < replicaUrls.size(); i++) {
+      String key = REPLICA_KEY_PREFIX + i;
+      replicas.put(key, createDataSource(dataSourceProperties, replicaUrls.get(i), key, true));
+    }
+
+    return replicas;
+  }
+
+  private DataSource createDataSource(DataSourceProperties dataSourceProperties, String url,
+      String poolName, boolean readOnly) {
+    HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .url(url)
+        .build();
+    dataSource.setPoolName(poolName);
+    dataSource.setReadOnly(readOnly);
+    return dataSource;
+  }
+}
@@ -0,0 +1,66 @@
+package com.management.library.config.datasource;
+
+import com.management.library.service.scheduled.ScheduledLease;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * replica 마다 복제 지연(Seconds_Behind_Master)을 확인하여 maxLag 를 넘거나 복제가 멈춘 replica 는 읽기 대상에서 뺀다. 지연이 다시 maxLag
+ * 이하로 내려오면 읽기 대상에 다시 넣는다.
+ * <p>
+ * 각 인스턴스가 자신의 라우팅 상태를 가지므로 lease 없이 모든 인스턴스에서 수행한다.
+ */
+@Slf4j
+public class ReplicaHealthChecker {
+
+  private static final String REPLICA_STATUS_QUERY = "SHOW SLAVE STATUS";
+  private static final String LAG_COLUMN = "Seconds_Behind_Master";
+
+  private final Map<String, DataSource> replicas;
+  private final ReplicationRoutingDataSource routingDataSource;
+  private final Duration maxLag;
+
+  public ReplicaHealthChecker(Map<String, DataSource> replicas,
+      ReplicationRoutingDataSource routingDataSource, Duration maxLag) {
+    this.replicas = replicas;
+    this.routingDataSource = routingDataSource;
+    this.maxLag = maxLag;
+  }
+
+  @Scheduled(fixedDelay = 5000L)
+  @ScheduledLease(exclusive = false)
+  public void checkReplicas() {
+    replicas.forEach((key, dataSource) -> {
+      Long lagSeconds = getLagSeconds(key, dataSource);
+      boolean healthy = lagSeconds != null && lagSeconds <= maxLag.getSeconds();
+
+      if (routingDataSource.setHealthy(key, healthy)) {
+        log.warn("replica routing changed : replica = {}, healthy = {}, lagSeconds = {}", key,
+            healthy, lagSeconds);
+      }
+    });
+  }
+
+  // 복제가 멈췄거나 연결할 수 없다면 null 을 반환한다.
+  private Long getLagSeconds(String key, DataSource dataSource) {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(REPLICA_STATUS_QUERY)) {
+      if (!resultSet.next()) {
+        return null;
+      }
+
+      long lagSeconds = resultSet.getLong(LAG_COLUMN);
+      return resultSet.wasNull() ? null : lagSeconds;
+    } catch (Exception e) {
+      log.warn("replica health check failed : replica = {}, message = {}", key, e.getMessage());
+      return null;
+    }
+  }
+}
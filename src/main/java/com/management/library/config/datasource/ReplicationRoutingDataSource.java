@@ -0,0 +1,71 @@
+package com.management.library.config.datasource;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기 전용 트랜잭션은 정상 상태의 replica 에 돌아가며 보내고, 나머지는 primary 로 보낸다. 정상 replica 가 없거나 현재 회원의 데이터가 방금
+ * 바뀌었다면 읽기 전용 트랜잭션도 primary 로 보낸다.
+ * <p>
+ * 트랜잭션의 readOnly 여부는 트랜잭션이 시작된 뒤에 정해지므로, LazyConnectionDataSourceProxy 로 감싸서 첫 쿼리를 실행할 때 connection 을
+ * 고르도록 해야 한다.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+  public static final String PRIMARY = "primary";
+
+  private final List<String> replicaKeys;
+  private final ReadYourWritesTracker readYourWritesTracker;
+  private final Set<String> unhealthyReplicas = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger sequence = new AtomicInteger();
+
+  public ReplicationRoutingDataSource(List<String> replicaKeys,
+      ReadYourWritesTracker readYourWritesTracker) {
+    this.replicaKeys = List.copyOf(replicaKeys);
+    this.readYourWritesTracker = readYourWritesTracker;
+
+    // 복제 지연을 확인하기 전까지는 replica 로 보내지 않는다.
+    this.unhealthyReplicas.addAll(this.replicaKeys);
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      readYourWritesTracker.registerWrite();
+      return PRIMARY;
+    }
+
+    // 정상 replica 가 없다면 redis 의 기록을 확인하지 않는다.
+    List<String> healthyReplicas = getHealthyReplicas();
+    if (healthyReplicas.isEmpty() || readYourWritesTracker.isRecentWriter()) {
+      return PRIMARY;
+    }
+
+    return healthyReplicas.get(
+        Math.floorMod(sequence.getAndIncrement(), healthyReplicas.size()));
+  }
+
+  public List<String> getReplicaKeys() {
+    return replicaKeys;
+  }
+
+  public List<String> getHealthyReplicas() {
+    return replicaKeys.stream()
+        .filter(key -> !unhealthyReplicas.contains(key))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * replica 의 상태를 바꾼다.
+   *
+   * @return 상태가 바뀌었다면 true
+   */
+  public boolean setHealthy(String replicaKey, boolean healthy) {
+    return healthy ? unhealthyReplicas.remove(replicaKey) : unhealthyReplicas.add(replicaKey);
+  }
+}
@@ -3,6 +3,7 @@ package com.management.library.controller.admin;
 import com.management.library.controller.book.dto.BookControllerCreateDto;
 import com.management.library.controller.book.dto.BookControllerCreateDto.BookCreateResponse;
 import com.management.library.controller.book.dto.BookControllerUpdateDto;
+import com.management.library.controller.book.dto.BookControllerUpdateDto.BookStatusUpdateRequest;
 import com.management.library.controller.book.dto.BookControllerUpdateDto.BookUpdateResponse;
 import com.management.library.controller.book.dto.BookInfoResponseDto;
 import com.management.library.controller.book.dto.BookOverviewDto;
@@ -31,6 +32,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -119,6 +121,23 @@ public class AdminBookController {
     return BookUpdateResponse.of(response);
   }
 
+  // 도서 상태 변경
+  @PreAuthorize("hasRole('ADMIN')")
+  @PatchMapping("/{bookId}/status")
+  @ApiOperation(value = "도서 상태 변경", notes = "도서를 손/망실 처리하거나 대여 가능 상태로 되돌릴 수 있다.")
+  @ApiImplicitParams({
+      @ApiImplicitParam(name = "bookId", value = "도서 id"),
+  })
+  public BookUpdateResponse updateBookStatus(
+      @PathVariable("bookId") Long bookId,
+      @RequestBody @Valid BookStatusUpdateRequest bookStatusUpdateRequest
+  ) {
+    BookServiceUpdateDto.Response response = bookService.changeBookStatus(bookId,
+        bookStatusUpdateRequest.getBookStatus());
+
+    return BookUpdateResponse.of(response);
+  }
+
   // 도서 삭제
   @PreAuthorize("hasRole('ADMIN')")
   @DeleteMapping("/{bookId}")
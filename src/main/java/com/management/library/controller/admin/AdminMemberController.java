@@ -11,6 +11,7 @@ import com.management.library.service.member.dto.MemberServiceCreateDto;
 import com.management.library.service.member.dto.MemberServiceReadDto;
 import com.management.library.service.query.MemberTotalInfoService;
 import com.management.library.service.query.dto.MemberTotalInfoDto;
+import com.management.library.service.redis.dto.MemberRedisStateDto;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
@@ -18,6 +19,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -73,8 +75,10 @@ public class AdminMemberController {
     PageInfo pageInfo = new PageInfo(pageable.getPageNumber(), pageable.getPageSize(),
         (int) resultPage.getTotalElements(), resultPage.getTotalPages());
 
+    Map<String, MemberRedisStateDto> memberStates = memberTotalInfoService.getMemberStates(
+        resultPage.getContent());
     List<MemberOverviewDto> result = resultPage.getContent().stream()
-        .map(MemberOverviewDto::of)
+        .map(data -> MemberOverviewDto.of(data, memberStates.get(data.getMemberCode())))
         .collect(Collectors.toList());
 
     return new ResponseEntity<>(
@@ -1,5 +1,7 @@
 package com.management.library.controller.admin;
 
+import static com.management.library.config.SchedulerConfiguration.SCHEDULE_ZONE;
+
 import com.management.library.controller.admin.dto.RentalRequestDto;
 import com.management.library.controller.admin.dto.RentalResponseDto;
 import com.management.library.controller.admin.dto.ReturnBookDataDto;
@@ -55,7 +57,7 @@ public class AdminRentalController {
       @RequestBody @Valid RentalRequestDto request
   ) {
     RentalServiceResponseDto bookRental = rentalService.createBookRental(request.getMemberCode(),
-        RentalBookInfoDto.of(request), LocalDate.now());
+        RentalBookInfoDto.of(request), LocalDate.now(SCHEDULE_ZONE));
 
     return RentalResponseDto.of(bookRental);
   }
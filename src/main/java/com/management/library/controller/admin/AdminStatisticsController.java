@@ -2,8 +2,13 @@ package com.management.library.controller.admin;
 
 import com.management.library.controller.admin.dto.AdminControllerMonthlyResultDto;
 import com.management.library.controller.admin.dto.AdminControllerYearlyResultDto;
+import com.management.library.controller.dto.ArrayResponseWrapper;
+import com.management.library.domain.type.StatisticsGranularity;
 import com.management.library.service.statistics.StatisticsService;
+import com.management.library.service.statistics.dto.LiveStatisticsResultDto;
 import com.management.library.service.statistics.dto.MonthlyResultDto;
+import com.management.library.service.statistics.dto.StatisticsDashboardDto;
+import com.management.library.service.statistics.dto.StatisticsRollupDto;
 import com.management.library.service.statistics.dto.YearResultDto;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
@@ -11,12 +16,18 @@ import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import java.time.LocalDate;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Api(tags = {"관리자 전용 통계 기능 api"})
 @ApiResponses({
@@ -116,4 +127,64 @@ public class AdminStatisticsController {
 
     return AdminControllerYearlyResultDto.of(yearlyRentalData);
   }
+
+  @PreAuthorize("hasRole('ADMIN')")
+  @GetMapping("/live")
+  @ApiOperation(value = "실시간 월간 통계 조회", notes = "월말 정산 전인 이번 달의 대여, 반납, 리뷰 수와 대여 회원 수를 조회할 수 있다.")
+  @ApiImplicitParams({
+      @ApiImplicitParam(name = "year", value = "조회할 연도"),
+      @ApiImplicitParam(name = "month", value = "조회할 달 수")
+  })
+  public LiveStatisticsResultDto getLiveMonthlyStatistics(
+      @RequestParam("year") int year,
+      @RequestParam("month") int month
+  ) {
+    return statisticsService.getLiveMonthlyStatistics(year, month);
+  }
+
+  @PreAuthorize("hasRole('ADMIN')")
+  @GetMapping("/range")
+  @ApiOperation(value = "기간별 통계 조회", notes = "기간 안의 대여, 반납, 리뷰 수를 일별, 월별, 연도별로 조회할 수 있다.")
+  @ApiImplicitParams({
+      @ApiImplicitParam(name = "from", value = "조회 시작일(yyyy-MM-dd)"),
+      @ApiImplicitParam(name = "to", value = "조회 종료일(yyyy-MM-dd)"),
+      @ApiImplicitParam(name = "granularity", value = "집계 단위(DAILY, MONTHLY, YEARLY)")
+  })
+  public ArrayResponseWrapper<List<StatisticsRollupDto>> getRangeStatistics(
+      @RequestParam("from") @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+      @RequestParam("to") @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+      @RequestParam(value = "granularity", defaultValue = "DAILY") StatisticsGranularity granularity
+  ) {
+    List<StatisticsRollupDto> result = statisticsService.getRangeStatistics(granularity, from, to);
+
+    ArrayResponseWrapper<List<StatisticsRollupDto>> response = new ArrayResponseWrapper<>();
+    response.setCount((long) result.size());
+    response.setData(result);
+
+    return response;
+  }
+
+  @PreAuthorize("hasRole('ADMIN')")
+  @GetMapping("/dashboard")
+  @ApiOperation(value = "통계 대시보드 조회", notes = "연도 범위의 연간, 월간 대여, 리뷰, 도서 손/망실 통계를 한 번에 조회할 수 있다. 정산되지 않은 값은 null 로 반환된다.")
+  @ApiImplicitParams({
+      @ApiImplicitParam(name = "startYear", value = "조회 시작 연도"),
+      @ApiImplicitParam(name = "endYear", value = "조회 종료 연도")
+  })
+  public ResponseEntity<StatisticsDashboardDto> getDashboard(
+      @RequestParam("startYear") int startYear,
+      @RequestParam("endYear") int endYear,
+      WebRequest webRequest
+  ) {
+    StatisticsDashboardDto dashboard = statisticsService.getDashboard(startYear, endYear);
+
+    // 클라이언트가 가진 ETag 와 같다면 본문 없이 304 응답
+    if (webRequest.checkNotModified(dashboard.getVersion())) {
+      return null;
+    }
+
+    return ResponseEntity.ok()
+        .eTag(dashboard.getVersion())
+        .body(dashboard);
+  }
 }
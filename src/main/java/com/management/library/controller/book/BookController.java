@@ -10,8 +10,11 @@ import com.management.library.service.book.BookService;
 import com.management.library.service.book.dto.BookServiceCreateDto.Response;
 import com.management.library.service.book.dto.BookServiceResponseDto;
 import com.management.library.service.book.recommend.BookRecommendService;
+import com.management.library.service.book.recommend.TrendingWindow;
 import com.management.library.service.book.recommend.dto.BookRecommendResponseDto.RentedCount;
 import com.management.library.service.book.recommend.dto.BookRecommendResponseDto.ReviewRate;
+import com.management.library.service.book.recommend.dto.BookRecommendResponseDto.SimilarBook;
+import com.management.library.service.book.recommend.dto.BookRecommendResponseDto.TrendingRank;
 import com.management.library.service.review.BookReviewService;
 import com.management.library.service.review.dto.BookReviewDetailDto;
 import com.management.library.service.review.dto.BookReviewOverviewDto;
@@ -31,6 +34,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Api(tags = {"도서 조회 api"})
@@ -121,6 +125,25 @@ public class BookController {
     return response;
   }
 
+  // 추천 도서 조회 - 분류 번호 범위 내 대여 횟수 기준
+  @GetMapping("/recommend-books/by-type")
+  @ApiOperation(value = "추천 도서 조회 - 분류별 대여 횟수", notes = "분류 번호 범위 내에서 대여 횟수를 통한 추천 도서 기능")
+  @ApiImplicitParams({
+      @ApiImplicitParam(name = "start", value = "시작 분류 번호"),
+      @ApiImplicitParam(name = "end", value = "끝 분류 번호")
+  })
+  public ArrayResponseWrapper<List<RentedCount>> getRecommendBookWithTypeCode(
+      @RequestParam("start") int start,
+      @RequestParam("end") int end) {
+    List<RentedCount> result = bookRecommendService.getRecommendBookListByTypeCode(start, end);
+
+    ArrayResponseWrapper<List<RentedCount>> response = new ArrayResponseWrapper<>();
+    response.setCount((long) result.size());
+    response.setData(result);
+
+    return response;
+  }
+
   // 추천 도서 조회 - 도서 평점 기준
   @GetMapping("/recommend-books/book-review-rate")
   @ApiOperation(value = "추천 도서 조회 - 도서 평점", notes = "도서 평점을 통한 추천 도서 기능")
@@ -133,4 +156,45 @@ public class BookController {
 
     return response;
   }
+
+  // 인기 도서 순위 조회 - 최근 7일, 30일 대여 기준
+  @GetMapping("/recommend-books/trending")
+  @ApiOperation(value = "인기 도서 순위 조회", notes = "최근 대여에 가중치를 둔 기간별 인기 도서 순위를 페이지 단위로 조회할 수 있다.")
+  @ApiImplicitParams({
+      @ApiImplicitParam(name = "window", value = "집계 구간(WEEKLY, MONTHLY)")
+  })
+  public Page<TrendingRank> getTrendingBooks(
+      @RequestParam(value = "window", defaultValue = "WEEKLY") TrendingWindow window,
+      Pageable pageable) {
+    return bookRecommendService.getTrendingBookList(window, pageable);
+  }
+
+  // 특정 도서의 인기 순위 조회
+  @GetMapping("/{bookId}/trending-rank")
+  @ApiOperation(value = "도서 인기 순위 조회", notes = "특정 도서의 기간별 인기 순위를 조회할 수 있다.")
+  @ApiImplicitParams({
+      @ApiImplicitParam(name = "bookId", value = "도서 id"),
+      @ApiImplicitParam(name = "window", value = "집계 구간(WEEKLY, MONTHLY)")
+  })
+  public TrendingRank getTrendingBookRank(@PathVariable("bookId") Long bookId,
+      @RequestParam(value = "window", defaultValue = "WEEKLY") TrendingWindow window) {
+    return bookRecommendService.getTrendingBookRank(window, bookId);
+  }
+
+  // 함께 대여된 도서 조회
+  @GetMapping("/{bookId}/similar")
+  @ApiOperation(value = "함께 대여된 도서 조회", notes = "해당 도서를 대여한 회원들이 함께 대여한 도서를 조회할 수 있다.")
+  @ApiImplicitParams({
+      @ApiImplicitParam(name = "bookId", value = "도서 id")
+  })
+  public ArrayResponseWrapper<List<SimilarBook>> getSimilarBooks(
+      @PathVariable("bookId") Long bookId) {
+    List<SimilarBook> result = bookRecommendService.getSimilarBookList(bookId);
+
+    ArrayResponseWrapper<List<SimilarBook>> response = new ArrayResponseWrapper<>();
+    response.setCount((long) result.size());
+    response.setData(result);
+
+    return response;
+  }
 }
@@ -6,6 +6,7 @@ import io.swagger.annotations.ApiModelProperty;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import lombok.Builder;
 import lombok.Getter;
@@ -52,6 +53,21 @@ public class BookControllerUpdateDto {
     }
   }
 
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  public static class BookStatusUpdateRequest {
+
+    @ApiModelProperty(example = "UNAVAILABLE")
+    @NotNull(message = "해당 부분은 비어있으면 안됩니다.")
+    private BookStatus bookStatus;
+
+    @Builder
+    private BookStatusUpdateRequest(BookStatus bookStatus) {
+      this.bookStatus = bookStatus;
+    }
+  }
+
   @Getter
   @Setter
   @NoArgsConstructor
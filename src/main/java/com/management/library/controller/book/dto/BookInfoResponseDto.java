@@ -2,6 +2,7 @@ package com.management.library.controller.book.dto;
 
 import com.management.library.domain.type.BookStatus;
 import com.management.library.service.book.dto.BookServiceResponseDto;
+import com.management.library.service.review.dto.BookReviewSummaryDto;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Builder;
 import lombok.Getter;
@@ -27,10 +28,11 @@ public class BookInfoResponseDto {
   private int typeCode;
   @ApiModelProperty(example = "AVAILABLE")
   private BookStatus status;
+  private BookReviewSummaryDto reviewSummary;
 
   @Builder
   private BookInfoResponseDto(String title, String author, String publisher, int publishedYear,
-      String location, int typeCode, BookStatus status) {
+      String location, int typeCode, BookStatus status, BookReviewSummaryDto reviewSummary) {
     this.title = title;
     this.author = author;
     this.publisher = publisher;
@@ -38,6 +40,7 @@ public class BookInfoResponseDto {
     this.location = location;
     this.typeCode = typeCode;
     this.status = status;
+    this.reviewSummary = reviewSummary;
   }
 
   public static BookInfoResponseDto of(BookServiceResponseDto response) {
@@ -49,6 +52,7 @@ public class BookInfoResponseDto {
         .location(response.getLocation())
         .typeCode(response.getTypeCode())
         .status(response.getStatus())
+        .reviewSummary(response.getReviewSummary())
         .build();
   }
 }
@@ -1,6 +1,7 @@
 package com.management.library.controller.member.dto;
 
 import com.management.library.service.member.dto.MemberServiceReadDto;
+import com.management.library.service.redis.dto.MemberRedisStateDto;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Getter;
 import lombok.Setter;
@@ -13,13 +14,32 @@ public class MemberOverviewDto {
   private Long id;
   @ApiModelProperty(example = "sehunkim")
   private String name;
+  @ApiModelProperty(example = "100000001")
+  private String memberCode;
+  @ApiModelProperty(example = "5")
+  private String remainManagementRequestCount;
+  @ApiModelProperty(example = "5")
+  private String remainNewBookRequestCount;
+  @ApiModelProperty(example = "2")
+  private String remainRentalCount;
+  @ApiModelProperty(example = "available")
+  private String rentalStatus;
 
-  private MemberOverviewDto(Long id, String name) {
+  private MemberOverviewDto(Long id, String name, String memberCode,
+      String remainManagementRequestCount, String remainNewBookRequestCount,
+      String remainRentalCount, String rentalStatus) {
     this.id = id;
     this.name = name;
+    this.memberCode = memberCode;
+    this.remainManagementRequestCount = remainManagementRequestCount;
+    this.remainNewBookRequestCount = remainNewBookRequestCount;
+    this.remainRentalCount = remainRentalCount;
+    this.rentalStatus = rentalStatus;
   }
 
-  public static MemberOverviewDto of(MemberServiceReadDto data){
-    return new MemberOverviewDto(data.getId(), data.getName());
+  public static MemberOverviewDto of(MemberServiceReadDto data, MemberRedisStateDto state) {
+    return new MemberOverviewDto(data.getId(), data.getName(), data.getMemberCode(),
+        state.getRemainManagementRequestCount(), state.getRemainNewBookRequestCount(),
+        state.getRemainRentalCount(), state.getRentalStatus());
   }
 }
@@ -0,0 +1,70 @@
+package com.management.library.domain.book;
+
+import com.management.library.domain.type.BookStatus;
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 도서 상태 변경 이력. 추가만 하고 수정하지 않으며, 도서가 삭제되어도 통계를 위해 이력은 남겨둔다.
+ * <p>
+ * 기간별 통계는 changed_at 범위와 new_status 로 조회하므로 (changed_at, new_status) 인덱스를 사용한다.
+ */
+@Entity
+@Table(name = "book_status_history",
+    indexes = @Index(name = "idx_book_status_history_changed_at_new_status",
+        columnList = "changed_at, new_status"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class BookStatusHistory {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "book_status_history_id")
+  private Long id;
+
+  @Column(name = "book_id", nullable = false)
+  private Long bookId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "old_status")
+  private BookStatus oldStatus;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "new_status", nullable = false)
+  private BookStatus newStatus;
+
+  @Column(name = "changed_at", nullable = false)
+  private LocalDateTime changedAt;
+
+  @Builder
+  private BookStatusHistory(Long id, Long bookId, BookStatus oldStatus, BookStatus newStatus,
+      LocalDateTime changedAt) {
+    this.id = id;
+    this.bookId = bookId;
+    this.oldStatus = oldStatus;
+    this.newStatus = newStatus;
+    this.changedAt = changedAt;
+  }
+
+  public static BookStatusHistory of(Long bookId, BookStatus oldStatus, BookStatus newStatus,
+      LocalDateTime changedAt) {
+    return BookStatusHistory.builder()
+        .bookId(bookId)
+        .oldStatus(oldStatus)
+        .newStatus(newStatus)
+        .changedAt(changedAt)
+        .build();
+  }
+}
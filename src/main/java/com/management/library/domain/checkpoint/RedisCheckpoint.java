@@ -0,0 +1,55 @@
+package com.management.library.domain.checkpoint;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * redis 에만 저장되는 통계, 순위 값의 체크포인트. hash 는 field 와 값을, sorted set 은 member 와 점수를 한 행으로 저장하므로
+ * (redis_key, field_name) 은 유일하다.
+ */
+@Entity
+@Table(name = "redis_checkpoints", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_redis_checkpoints_key_field",
+        columnNames = {"redis_key", "field_name"})
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RedisCheckpoint {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "redis_checkpoint_id")
+  private Long id;
+
+  @Column(name = "redis_key", nullable = false, length = 100)
+  private String redisKey;
+
+  @Column(name = "field_name", nullable = false)
+  private String fieldName;
+
+  @Column(name = "field_value", nullable = false)
+  private String fieldValue;
+
+  @Column(name = "checkpointed_at", nullable = false)
+  private LocalDateTime checkpointedAt;
+
+  @Builder
+  private RedisCheckpoint(Long id, String redisKey, String fieldName, String fieldValue,
+      LocalDateTime checkpointedAt) {
+    this.id = id;
+    this.redisKey = redisKey;
+    this.fieldName = fieldName;
+    this.fieldValue = fieldValue;
+    this.checkpointedAt = checkpointedAt;
+  }
+}
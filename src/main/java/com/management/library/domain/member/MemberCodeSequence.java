@@ -0,0 +1,47 @@
+package com.management.library.domain.member;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * redis 를 사용할 수 없는 동안 DB 로 발급한 마지막 회원 번호. 여러 인스턴스가 같은 행을 잠근 뒤 번호를 발급하므로 같은 번호가 두 번 발급되지
+ * 않는다.
+ */
+@Entity
+@Table(name = "member_code_sequences")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MemberCodeSequence {
+
+  public static final String MEMBER_CODE = "member_code";
+
+  @Id
+  @Column(name = "sequence_name", length = 50)
+  private String name;
+
+  @Column(name = "last_member_code", nullable = false)
+  private long lastMemberCode;
+
+  @Builder
+  private MemberCodeSequence(String name, long lastMemberCode) {
+    this.name = name;
+    this.lastMemberCode = lastMemberCode;
+  }
+
+  /**
+   * 마지막으로 발급한 번호와 가입한 회원의 마지막 번호 중 큰 값의 다음 번호를 발급한다.
+   *
+   * @param lastJoinedMemberCode 가입한 회원의 마지막 번호
+   * @return 발급한 회원 번호
+   */
+  public long issueNext(long lastJoinedMemberCode) {
+    this.lastMemberCode = Math.max(this.lastMemberCode, lastJoinedMemberCode) + 1;
+    return this.lastMemberCode;
+  }
+}
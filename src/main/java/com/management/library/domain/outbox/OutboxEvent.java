@@ -0,0 +1,65 @@
+package com.management.library.domain.outbox;
+
+import com.management.library.domain.type.OutboxEventType;
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 도메인 이벤트 outbox. 이벤트를 발생시킨 트랜잭션 안에서 저장되고, relay 가 Redis Stream 으로 발행한 뒤 publishedAt 을 기록한다.
+ */
+@Entity
+@Table(name = "outbox_events",
+    indexes = @Index(name = "idx_outbox_events_published_at", columnList = "published_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxEvent {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "outbox_event_id")
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "event_type", nullable = false)
+  private OutboxEventType eventType;
+
+  @Column(nullable = false, length = 1000)
+  private String payload;
+
+  @Column(name = "occurred_at", nullable = false)
+  private LocalDateTime occurredAt;
+
+  @Column(name = "published_at")
+  private LocalDateTime publishedAt;
+
+  @Builder
+  private OutboxEvent(Long id, OutboxEventType eventType, String payload,
+      LocalDateTime occurredAt, LocalDateTime publishedAt) {
+    this.id = id;
+    this.eventType = eventType;
+    this.payload = payload;
+    this.occurredAt = occurredAt;
+    this.publishedAt = publishedAt;
+  }
+
+  public static OutboxEvent of(OutboxEventType eventType, String payload,
+      LocalDateTime occurredAt) {
+    return OutboxEvent.builder()
+        .eventType(eventType)
+        .payload(payload)
+        .occurredAt(occurredAt)
+        .build();
+  }
+}
@@ -0,0 +1,63 @@
+package com.management.library.domain.reminder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 반납 기한이 다가온 회원에게 보낼 알림. 알림 작업이 회원, 반납 기한마다 하나씩 추가하며, 알림 발송은 이 테이블을 읽어서 수행한다.
+ */
+@Entity
+@Table(name = "due_reminders", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_due_reminders_member_due_date",
+        columnNames = {"member_id", "due_date"})
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DueReminder {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "due_reminder_id")
+  private Long id;
+
+  @Column(name = "member_id", nullable = false)
+  private Long memberId;
+
+  @Column(name = "member_code", nullable = false)
+  private String memberCode;
+
+  @Column(name = "due_date", nullable = false)
+  private LocalDate dueDate;
+
+  @Column(name = "book_count", nullable = false)
+  private int bookCount;
+
+  @Column(name = "book_titles", length = 1000)
+  private String bookTitles;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Builder
+  private DueReminder(Long id, Long memberId, String memberCode, LocalDate dueDate, int bookCount,
+      String bookTitles, LocalDateTime createdAt) {
+    this.id = id;
+    this.memberId = memberId;
+    this.memberCode = memberCode;
+    this.dueDate = dueDate;
+    this.bookCount = bookCount;
+    this.bookTitles = bookTitles;
+    this.createdAt = createdAt;
+  }
+}
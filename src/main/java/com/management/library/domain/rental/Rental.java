@@ -18,6 +18,7 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToOne;
@@ -30,7 +31,13 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
 @Getter
-@Table(name = "rentals")
+@Table(name = "rentals",
+    indexes = {
+        @Index(name = "idx_rentals_rental_status_last_modified_at",
+            columnList = "rentalStatus, lastModifiedAt"),
+        @Index(name = "idx_rentals_rental_end_date_member_id",
+            columnList = "rental_end_date, member_id")
+    })
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
 public class Rental extends BaseEntity {
@@ -50,7 +57,8 @@ public class Rental extends BaseEntity {
 
   @Column(nullable = false)
   private LocalDate rentalStartDate;
-  @Column(nullable = false)
+  // 인덱스의 columnList 는 @Column 에 적은 이름으로 컬럼을 찾으므로 컬럼 이름을 명시한다.
+  @Column(name = "rental_end_date", nullable = false)
   private LocalDate rentalEndDate;
 
   @Enumerated(EnumType.STRING)
@@ -0,0 +1,63 @@
+package com.management.library.domain.rental;
+
+import com.management.library.domain.book.Book;
+import com.management.library.domain.member.Member;
+import com.management.library.domain.type.ExtendStatus;
+import com.management.library.domain.type.RentalStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 반납된 지 오래된 대여 기록. 대여 중인 도서를 조회하는 쿼리가 작은 rentals 테이블만 읽도록 보관 작업이 rentals 에서 옮겨 온다. 옮긴 뒤에는
+ * 수정하지 않으며, 대여 id 는 rentals 의 id 를 그대로 사용한다.
+ * <p>
+ * rentals 의 created_at, last_modified_at 은 각각 대여 시각, 반납 시각으로 옮긴다.
+ */
+@Entity
+@Getter
+@Table(name = "rentals_archive")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RentalArchive {
+
+  @Id
+  @Column(name = "loan_id")
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "member_id")
+  private Member member;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "book_id")
+  private Book book;
+
+  @Column(nullable = false)
+  private LocalDate rentalStartDate;
+  @Column(nullable = false)
+  private LocalDate rentalEndDate;
+
+  @Enumerated(EnumType.STRING)
+  private ExtendStatus extendStatus;
+
+  @Enumerated(EnumType.STRING)
+  private RentalStatus rentalStatus;
+
+  private LocalDateTime rentedAt;
+
+  private LocalDateTime returnedAt;
+
+  @Column(nullable = false)
+  private LocalDateTime archivedAt;
+}
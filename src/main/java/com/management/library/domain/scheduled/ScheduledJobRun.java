@@ -0,0 +1,95 @@
+package com.management.library.domain.scheduled;
+
+import com.management.library.domain.BaseEntity;
+import com.management.library.domain.type.ScheduledJobRunStatus;
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * 스케줄 작업 실행 기록. 작업마다 lease 를 얻을 때 발급된 번호(fencing_token)는 한 번만 사용되므로 (job_name, fencing_token) 은
+ * 유일하다. 이 번호는 실행을 구분하는 데에만 사용하며 작업의 쓰기를 막지는 않는다.
+ */
+@Entity
+@Table(name = "scheduled_job_runs", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_scheduled_job_runs_job_token",
+        columnNames = {"job_name", "fencing_token"})
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EntityListeners(AuditingEntityListener.class)
+public class ScheduledJobRun extends BaseEntity {
+
+  private static final int MAX_ERROR_MESSAGE_LENGTH = 255;
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "scheduled_job_run_id")
+  private Long id;
+
+  @Column(name = "job_name", nullable = false)
+  private String jobName;
+
+  @Column(name = "fencing_token", nullable = false)
+  private long fencingToken;
+
+  @Column(nullable = false)
+  private String instanceId;
+
+  @Enumerated(EnumType.STRING)
+  private ScheduledJobRunStatus status;
+
+  private LocalDateTime startedAt;
+  private LocalDateTime finishedAt;
+  private String errorMessage;
+
+  @Builder
+  private ScheduledJobRun(Long id, String jobName, long fencingToken, String instanceId,
+      ScheduledJobRunStatus status, LocalDateTime startedAt, LocalDateTime finishedAt,
+      String errorMessage) {
+    this.id = id;
+    this.jobName = jobName;
+    this.fencingToken = fencingToken;
+    this.instanceId = instanceId;
+    this.status = status;
+    this.startedAt = startedAt;
+    this.finishedAt = finishedAt;
+    this.errorMessage = errorMessage;
+  }
+
+  public static ScheduledJobRun start(String jobName, long fencingToken, String instanceId) {
+    return ScheduledJobRun.builder()
+        .jobName(jobName)
+        .fencingToken(fencingToken)
+        .instanceId(instanceId)
+        .status(ScheduledJobRunStatus.RUNNING)
+        .startedAt(LocalDateTime.now())
+        .build();
+  }
+
+  /**
+   * 작업 종료 상태를 기록한다.
+   *
+   * @param status       종료 상태
+   * @param errorMessage 실패한 경우 예외 메시지, 성공한 경우 null
+   */
+  public void finish(ScheduledJobRunStatus status, String errorMessage) {
+    this.status = status;
+    this.finishedAt = LocalDateTime.now();
+    this.errorMessage = errorMessage != null && errorMessage.length() > MAX_ERROR_MESSAGE_LENGTH
+        ? errorMessage.substring(0, MAX_ERROR_MESSAGE_LENGTH) : errorMessage;
+  }
+}
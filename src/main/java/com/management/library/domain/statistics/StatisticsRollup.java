@@ -0,0 +1,81 @@
+package com.management.library.domain.statistics;
+
+import com.management.library.domain.BaseEntity;
+import com.management.library.domain.type.StatisticsGranularity;
+import java.time.LocalDate;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * 일별, 월별, 연도별 통계 집계 결과. bucketDate 는 집계 구간의 첫 날이다(월별은 1일, 연도별은 1월 1일).
+ */
+@Entity
+@Table(name = "statistics_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_statistics_rollups_granularity_bucket",
+        columnNames = {"granularity", "bucket_date"})
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EntityListeners(AuditingEntityListener.class)
+public class StatisticsRollup extends BaseEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "statistics_rollup_id")
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private StatisticsGranularity granularity;
+
+  @Column(name = "bucket_date", nullable = false)
+  private LocalDate bucketDate;
+
+  private long rentalCount;
+  private long returnCount;
+  private long reviewCount;
+  private long unavailableCount;
+
+  @Builder
+  private StatisticsRollup(Long id, StatisticsGranularity granularity, LocalDate bucketDate,
+      long rentalCount, long returnCount, long reviewCount, long unavailableCount) {
+    this.id = id;
+    this.granularity = granularity;
+    this.bucketDate = bucketDate;
+    this.rentalCount = rentalCount;
+    this.returnCount = returnCount;
+    this.reviewCount = reviewCount;
+    this.unavailableCount = unavailableCount;
+  }
+
+  public static StatisticsRollup of(StatisticsGranularity granularity, LocalDate bucketDate) {
+    return StatisticsRollup.builder()
+        .granularity(granularity)
+        .bucketDate(bucketDate)
+        .build();
+  }
+
+  /**
+   * 다시 집계한 값으로 교체한다. 같은 구간을 여러 번 집계해도 결과가 같도록 증가시키지 않고 교체한다.
+   */
+  public void changeCounts(long rentalCount, long returnCount, long reviewCount,
+      long unavailableCount) {
+    this.rentalCount = rentalCount;
+    this.returnCount = returnCount;
+    this.reviewCount = reviewCount;
+    this.unavailableCount = unavailableCount;
+  }
+}
@@ -0,0 +1,19 @@
+package com.management.library.domain.type;
+
+import com.management.library.service.event.dto.BookRentedEvent;
+import com.management.library.service.event.dto.BookReturnedEvent;
+import com.management.library.service.event.dto.ReviewCreatedEvent;
+import lombok.Getter;
+
+@Getter
+public enum OutboxEventType {
+  BOOK_RENTED(BookRentedEvent.class),
+  BOOK_RETURNED(BookReturnedEvent.class),
+  REVIEW_CREATED(ReviewCreatedEvent.class);
+
+  private final Class<?> payloadType;
+
+  OutboxEventType(Class<?> payloadType) {
+    this.payloadType = payloadType;
+  }
+}
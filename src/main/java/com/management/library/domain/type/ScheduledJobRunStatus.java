@@ -0,0 +1,5 @@
+package com.management.library.domain.type;
+
+public enum ScheduledJobRunStatus {
+  RUNNING, SUCCEEDED, FAILED, LEASE_LOST
+}
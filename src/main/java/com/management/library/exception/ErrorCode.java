@@ -19,6 +19,7 @@ public enum ErrorCode {
   NEW_BOOK_REQUEST_COUNT_EXCEEDED("신간 요청 등록은 1달에 최대 5회까지 가능합니다."),
   REQUEST_NOT_EXISTS("해당 요청이 존재하지 않습니다."),
   REPLY_ALREADY_EXISTS("해당 요청의 답변이 이미 등록되어 있습니다."),
+  BOOK_STATUS_NOT_CHANGEABLE("대여 중인 도서의 상태를 변경하거나 도서를 대여 상태로 변경할 수 없습니다."),
   UNABLE_TO_BOOK_RENTAL("현재 도서 대여가 불가능합니다."),
   BOOK_RENTAL_COUNT_EXCEED("도서는 최대 2개까지 대여가 가능합니다."),
   RENTAL_NOT_EXISTS("해당 대여 기록이 존재하지 않습니다,"),
@@ -33,7 +34,9 @@ public enum ErrorCode {
   REVIEW_NOT_EXISTS("리뷰가 존재하지 않습니다."),
   RETURNED_RENTAL_NOT_EXISTS("조건에 맞는 반납된 대여가 존재하지 않습니다."),
   VALIDATION_FAILED("입력값 검증에 실패하였습니다."),
-  DATA_NOT_EXISTS("데이터가 존재하지 않습니다.");
+  DATA_NOT_EXISTS("데이터가 존재하지 않습니다."),
+  RANKING_NOT_EXISTS("해당 도서의 순위 정보가 존재하지 않습니다."),
+  INVALID_DATE_RANGE("잘못된 기간입니다.");
 
   private final String description;
 }
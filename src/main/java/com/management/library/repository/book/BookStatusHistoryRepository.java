@@ -0,0 +1,11 @@
+package com.management.library.repository.book;
+
+import com.management.library.domain.book.BookStatusHistory;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BookStatusHistoryRepository extends JpaRepository<BookStatusHistory, Long>,
+    BookStatusHistoryRepositoryCustom {
+
+  List<BookStatusHistory> findAllByBookIdOrderByIdAsc(Long bookId);
+}
@@ -0,0 +1,15 @@
+package com.management.library.repository.book;
+
+import com.management.library.domain.type.BookStatus;
+import com.management.library.service.statistics.dto.DailyCountDto;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookStatusHistoryRepositoryCustom {
+
+  long countByNewStatusBetween(BookStatus newStatus, LocalDateTime startTime,
+      LocalDateTime endTime);
+
+  List<DailyCountDto> countStatusChangesByDay(BookStatus oldStatus, BookStatus newStatus,
+      LocalDateTime startTime, LocalDateTime endTime);
+}
@@ -0,0 +1,79 @@
+package com.management.library.repository.book;
+
+import static com.management.library.domain.book.QBookStatusHistory.bookStatusHistory;
+import static com.querydsl.core.types.Projections.constructor;
+
+import com.management.library.domain.type.BookStatus;
+import com.management.library.service.statistics.dto.DailyCountDto;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DateExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import javax.persistence.EntityManager;
+
+public class BookStatusHistoryRepositoryImpl implements BookStatusHistoryRepositoryCustom {
+
+  private final JPAQueryFactory queryFactory;
+
+  public BookStatusHistoryRepositoryImpl(EntityManager entityManager) {
+    this.queryFactory = new JPAQueryFactory(entityManager);
+  }
+
+  /**
+   * [startTime, endTime) 기간 동안 newStatus 로 바뀐 횟수를 조회한다. (changed_at, new_status) 인덱스 범위 조회로 처리된다.
+   *
+   * @param newStatus 변경된 상태
+   * @param startTime 조회 시작 시각
+   * @param endTime   조회 종료 시각(미포함)
+   * @return 상태 변경 횟수
+   */
+  @Override
+  public long countByNewStatusBetween(BookStatus newStatus, LocalDateTime startTime,
+      LocalDateTime endTime) {
+    Long count = queryFactory.select(bookStatusHistory.count())
+        .from(bookStatusHistory)
+        .where(
+            bookStatusHistory.changedAt.goe(startTime),
+            bookStatusHistory.changedAt.lt(endTime),
+            bookStatusHistory.newStatus.eq(newStatus)
+        )
+        .fetchOne();
+
+    return count == null ? 0L : count;
+  }
+
+  /**
+   * [startTime, endTime) 기간 동안 oldStatus 에서 newStatus 로 바뀐 횟수를 변경일별로 집계한다. oldStatus 가 null 이면 이전 상태와
+   * 관계없이 집계한다.
+   *
+   * @param oldStatus 변경 전 상태
+   * @param newStatus 변경된 상태
+   * @param startTime 조회 시작 시각
+   * @param endTime   조회 종료 시각(미포함)
+   * @return 상태 변경이 있는 날짜별 변경 횟수
+   */
+  @Override
+  public List<DailyCountDto> countStatusChangesByDay(BookStatus oldStatus, BookStatus newStatus,
+      LocalDateTime startTime, LocalDateTime endTime) {
+    DateExpression<java.sql.Date> changedDate = Expressions.dateTemplate(java.sql.Date.class,
+        "cast({0} as date)", bookStatusHistory.changedAt);
+
+    return queryFactory.select(constructor(DailyCountDto.class, changedDate,
+            bookStatusHistory.count()))
+        .from(bookStatusHistory)
+        .where(
+            bookStatusHistory.changedAt.goe(startTime),
+            bookStatusHistory.changedAt.lt(endTime),
+            bookStatusHistory.newStatus.eq(newStatus),
+            oldStatusEq(oldStatus)
+        )
+        .groupBy(changedDate)
+        .fetch();
+  }
+
+  private BooleanExpression oldStatusEq(BookStatus oldStatus) {
+    return oldStatus != null ? bookStatusHistory.oldStatus.eq(oldStatus) : null;
+  }
+}
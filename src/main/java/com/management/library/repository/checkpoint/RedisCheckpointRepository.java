@@ -0,0 +1,25 @@
+package com.management.library.repository.checkpoint;
+
+import com.management.library.domain.checkpoint.RedisCheckpoint;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RedisCheckpointRepository extends JpaRepository<RedisCheckpoint, Long> {
+
+  List<RedisCheckpoint> findAllByRedisKeyAndIdGreaterThanOrderByIdAsc(String redisKey, Long id,
+      Pageable pageable);
+
+  @Modifying
+  @Query("delete from RedisCheckpoint c where c.redisKey = :redisKey and c.fieldName in :fieldNames")
+  int deleteByRedisKeyAndFieldNames(@Param("redisKey") String redisKey,
+      @Param("fieldNames") Collection<String> fieldNames);
+
+  @Modifying
+  @Query("delete from RedisCheckpoint c where c.redisKey = :redisKey")
+  int deleteByRedisKey(@Param("redisKey") String redisKey);
+}
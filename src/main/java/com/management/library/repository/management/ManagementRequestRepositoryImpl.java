@@ -2,16 +2,19 @@ package com.management.library.repository.management;
 
 import static com.management.library.domain.management.QManagementRequest.managementRequest;
 import static com.management.library.domain.member.QMember.member;
+import static com.querydsl.core.types.Projections.constructor;
+import static com.querydsl.core.types.Projections.fields;
 
-import com.management.library.domain.management.ManagementRequest;
 import com.management.library.domain.type.RequestStatus;
 import com.management.library.controller.dto.RequestSearchCond;
 import com.management.library.service.request.management.dto.ManagementRequestServiceDto.Response;
+import com.management.library.service.redis.dto.MemberCountDto;
+import com.querydsl.core.types.QBean;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -27,17 +30,14 @@ public class ManagementRequestRepositoryImpl implements ManagementRequestReposit
 
   @Override
   public Page<Response> findByMemberCode(String memberCode, Pageable pageable) {
-    List<ManagementRequest> requests = queryFactory.selectFrom(managementRequest)
-        .join(managementRequest.member, member).fetchJoin()
+    List<Response> request = queryFactory.select(requestResponse())
+        .from(managementRequest)
+        .join(managementRequest.member, member)
         .where(member.memberCode.eq(memberCode))
         .offset(pageable.getOffset())
         .limit(pageable.getPageSize())
         .fetch();
 
-    List<Response> request = requests.stream()
-        .map(Response::of)
-        .collect(Collectors.toList());
-
     JPAQuery<Long> countQuery = queryFactory.select(managementRequest.count())
         .from(managementRequest)
         .join(managementRequest.member, member)
@@ -48,17 +48,14 @@ public class ManagementRequestRepositoryImpl implements ManagementRequestReposit
 
   @Override
   public Page<Response> findAll(RequestSearchCond cond, Pageable pageable) {
-    List<ManagementRequest> requests = queryFactory.selectFrom(managementRequest)
-        .join(managementRequest.member, member).fetchJoin()
+    List<Response> request = queryFactory.select(requestResponse())
+        .from(managementRequest)
+        .join(managementRequest.member, member)
         .where(requestStatusEq(cond.getRequestStatus()))
         .offset(pageable.getOffset())
         .limit(pageable.getPageSize())
         .fetch();
 
-    List<Response> request = requests.stream()
-        .map(Response::of)
-        .collect(Collectors.toList());
-
     JPAQuery<Long> countQuery = queryFactory.select(managementRequest.count())
         .from(managementRequest)
         .where(requestStatusEq(cond.getRequestStatus()));
@@ -66,7 +63,73 @@ public class ManagementRequestRepositoryImpl implements ManagementRequestReposit
     return PageableExecutionUtils.getPage(request, pageable, countQuery::fetchOne);
   }
 
+  /**
+   * 회원 id 범위 안의 회원별로 startTime 이후에 등록한 요청 수를 집계한다.
+   */
+  @Override
+  public List<MemberCountDto> countRequestsByMemberIdBetween(Long startMemberId,
+      Long endMemberId, LocalDateTime startTime) {
+    return queryFactory.select(constructor(MemberCountDto.class, member.memberCode,
+            managementRequest.count()))
+        .from(managementRequest)
+        .join(managementRequest.member, member)
+        .where(
+            member.id.between(startMemberId, endMemberId),
+            managementRequest.createdAt.goe(startTime)
+        )
+        .groupBy(member.memberCode)
+        .fetch();
+  }
+
+  /**
+   * 회원 번호 목록의 회원별로 startTime 이후에 등록한 요청 수를 집계한다.
+   */
+  @Override
+  public List<MemberCountDto> countRequestsByMemberCodes(List<String> memberCodes,
+      LocalDateTime startTime) {
+    return queryFactory.select(constructor(MemberCountDto.class, member.memberCode,
+            managementRequest.count()))
+        .from(managementRequest)
+        .join(managementRequest.member, member)
+        .where(
+            member.memberCode.in(memberCodes),
+            managementRequest.createdAt.goe(startTime)
+        )
+        .groupBy(member.memberCode)
+        .fetch();
+  }
+
+  // 아직 답변이 등록되지 않은 요청 id
+  @Override
+  public List<Long> findAwaitRequestIdsBetween(Long startId, Long endId) {
+    return queryFactory.select(managementRequest.id)
+        .from(managementRequest)
+        .where(
+            managementRequest.id.between(startId, endId),
+            managementRequest.requestStatus.eq(RequestStatus.AWAIT)
+        )
+        .fetch();
+  }
+
+  @Override
+  public Long findMaxRequestId() {
+    return queryFactory.select(managementRequest.id.max())
+        .from(managementRequest)
+        .fetchOne();
+  }
+
   private BooleanExpression requestStatusEq(RequestStatus requestStatus){
     return requestStatus != null ? managementRequest.requestStatus.eq(requestStatus) : null;
   }
+
+  // 요청한 회원은 이름만 보여주므로 member 를 fetch join 하지 않고 join 한 쿼리에서 이름만 꺼낸다.
+  private QBean<Response> requestResponse() {
+    return fields(Response.class,
+        managementRequest.id,
+        managementRequest.title,
+        managementRequest.content,
+        member.name.as("memberName"),
+        managementRequest.requestStatus
+    );
+  }
 }
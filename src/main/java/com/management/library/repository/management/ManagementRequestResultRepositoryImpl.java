@@ -4,13 +4,14 @@ import static com.management.library.domain.admin.QAdministrator.administrator;
 import static com.management.library.domain.management.QManagementRequest.managementRequest;
 import static com.management.library.domain.management.QManagementRequestResult.managementRequestResult;
 import static com.management.library.service.result.management.dto.ManagementResultCreateDto.Response;
+import static com.querydsl.core.types.Projections.fields;
 
 import com.management.library.domain.management.ManagementRequestResult;
+import com.querydsl.core.types.QBean;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +30,7 @@ public class ManagementRequestResultRepositoryImpl implements
   public Optional<ManagementRequestResult> findByRequestId(Long requestId) {
     ManagementRequestResult result = queryFactory.selectFrom(managementRequestResult)
         .join(managementRequestResult.managementRequest, managementRequest).fetchJoin()
+        .join(managementRequestResult.administrator, administrator).fetchJoin()
         .where(managementRequest.id.eq(requestId))
         .fetchOne();
 
@@ -37,17 +39,15 @@ public class ManagementRequestResultRepositoryImpl implements
 
   @Override
   public Page<Response> findByAdminEmail(String adminEmail, Pageable pageable) {
-    List<ManagementRequestResult> results = queryFactory.selectFrom(managementRequestResult)
-        .join(managementRequestResult.administrator, administrator).fetchJoin()
+    List<Response> content = queryFactory.select(resultResponse())
+        .from(managementRequestResult)
+        .join(managementRequestResult.managementRequest, managementRequest)
+        .join(managementRequestResult.administrator, administrator)
         .where(administrator.email.eq(adminEmail))
         .offset(pageable.getOffset())
         .limit(pageable.getPageSize())
         .fetch();
 
-    List<Response> content = results.stream()
-        .map(Response::of)
-        .collect(Collectors.toList());
-
     JPAQuery<Long> countQuery = queryFactory.select(managementRequestResult.count())
         .from(managementRequestResult)
         .join(managementRequestResult.administrator, administrator)
@@ -55,4 +55,16 @@ public class ManagementRequestResultRepositoryImpl implements
 
     return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
   }
+
+  // 원 요청의 제목과 답변한 관리자의 이름을 함께 보여주므로 managementRequest, administrator 를 join 해야 한다.
+  private QBean<Response> resultResponse() {
+    return fields(Response.class,
+        managementRequestResult.id,
+        managementRequest.title.as("managementRequestTitle"),
+        administrator.name.as("adminName"),
+        managementRequestResult.resultPostTitle,
+        managementRequestResult.resultPostContent,
+        managementRequestResult.result.as("resultStatus")
+    );
+  }
 }
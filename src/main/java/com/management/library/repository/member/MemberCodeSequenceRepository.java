@@ -0,0 +1,23 @@
+package com.management.library.repository.member;
+
+import com.management.library.domain.member.MemberCodeSequence;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MemberCodeSequenceRepository extends JpaRepository<MemberCodeSequence, String> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select s from MemberCodeSequence s where s.name = :name")
+  Optional<MemberCodeSequence> findByNameForUpdate(@Param("name") String name);
+
+  // save 는 id 가 있는 엔티티를 merge 하므로 다른 인스턴스가 먼저 저장한 행을 덮어쓴다. 행이 이미 있다면 유니크 제약 조건으로 실패하도록 insert 한다.
+  @Modifying
+  @Query(value = "insert into member_code_sequences (sequence_name, last_member_code) "
+      + "values (:name, :lastMemberCode)", nativeQuery = true)
+  int insert(@Param("name") String name, @Param("lastMemberCode") long lastMemberCode);
+}
@@ -3,6 +3,7 @@ package com.management.library.repository.member;
 import com.management.library.controller.admin.dto.MemberSearchCond;
 import com.management.library.domain.member.Member;
 import com.management.library.service.member.dto.MemberServiceReadDto;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,4 +14,8 @@ public interface MemberRepositoryCustom {
       String street);
 
   Page<MemberServiceReadDto> findAll(MemberSearchCond cond, Pageable pageable);
+
+  List<String> findMemberCodesByIdBetween(Long startId, Long endId);
+
+  Long findMaxMemberId();
 }
@@ -1,7 +1,7 @@
 package com.management.library.repository.member;
 
 import static com.management.library.domain.member.QMember.member;
-import static com.querydsl.core.types.Projections.constructor;
+import static com.querydsl.core.types.Projections.fields;
 
 import com.management.library.controller.admin.dto.MemberSearchCond;
 import com.management.library.domain.member.Member;
@@ -42,8 +42,9 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
   @Override
   public Page<MemberServiceReadDto> findAll(MemberSearchCond cond, Pageable pageable) {
-    List<MemberServiceReadDto> result = queryFactory.select(constructor(
+    List<MemberServiceReadDto> result = queryFactory.select(fields(
                 MemberServiceReadDto.class,
+                member.id,
                 member.name,
                 member.memberCode,
                 member.birthdayCode,
@@ -71,6 +72,21 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
     return PageableExecutionUtils.getPage(result, pageable, countQuery::fetchOne);
   }
 
+  @Override
+  public List<String> findMemberCodesByIdBetween(Long startId, Long endId) {
+    return queryFactory.select(member.memberCode)
+        .from(member)
+        .where(member.id.between(startId, endId))
+        .fetch();
+  }
+
+  @Override
+  public Long findMaxMemberId() {
+    return queryFactory.select(member.id.max())
+        .from(member)
+        .fetchOne();
+  }
+
   private BooleanExpression memberCodeEq(String memberCode) {
     return memberCode != null ? member.memberCode.contains(memberCode) : null;
   }
@@ -3,6 +3,9 @@ package com.management.library.repository.newbook;
 import static com.management.library.service.request.newbook.dto.NewBookRequestServiceDto.Response;
 
 import com.management.library.controller.dto.RequestSearchCond;
+import com.management.library.service.redis.dto.MemberCountDto;
+import java.time.LocalDateTime;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -11,4 +14,14 @@ public interface NewBookRequestRepositoryCustom {
   Page<Response> findByMemberCode(String memberCode, Pageable pageable);
 
   Page<Response> findAll(RequestSearchCond cond, Pageable pageable);
+
+  List<MemberCountDto> countRequestsByMemberIdBetween(Long startMemberId, Long endMemberId,
+      LocalDateTime startTime);
+
+  List<MemberCountDto> countRequestsByMemberCodes(List<String> memberCodes,
+      LocalDateTime startTime);
+
+  List<Long> findAwaitRequestIdsBetween(Long startId, Long endId);
+
+  Long findMaxRequestId();
 }
@@ -3,15 +3,18 @@ package com.management.library.repository.newbook;
 import static com.management.library.domain.member.QMember.member;
 import static com.management.library.domain.newbook.QNewBookRequest.newBookRequest;
 import static com.management.library.service.request.newbook.dto.NewBookRequestServiceDto.Response;
+import static com.querydsl.core.types.Projections.constructor;
+import static com.querydsl.core.types.Projections.fields;
 
-import com.management.library.domain.newbook.NewBookRequest;
 import com.management.library.domain.type.RequestStatus;
 import com.management.library.controller.dto.RequestSearchCond;
+import com.management.library.service.redis.dto.MemberCountDto;
+import com.querydsl.core.types.QBean;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -27,17 +30,14 @@ public class NewBookRequestRepositoryImpl implements NewBookRequestRepositoryCus
 
   @Override
   public Page<Response> findByMemberCode(String memberCode, Pageable pageable) {
-    List<NewBookRequest> result = queryFactory.selectFrom(newBookRequest)
-        .join(newBookRequest.member, member).fetchJoin()
+    List<Response> content = queryFactory.select(requestResponse())
+        .from(newBookRequest)
+        .join(newBookRequest.member, member)
         .where(member.memberCode.eq(memberCode))
         .offset(pageable.getOffset())
         .limit(pageable.getPageSize())
         .fetch();
 
-    List<Response> content = result.stream()
-        .map(Response::of)
-        .collect(Collectors.toList());
-
     JPAQuery<Long> countQuery = queryFactory.select(newBookRequest.count())
         .from(newBookRequest)
         .join(newBookRequest.member, member)
@@ -48,17 +48,14 @@ public class NewBookRequestRepositoryImpl implements NewBookRequestRepositoryCus
 
   @Override
   public Page<Response> findAll(RequestSearchCond cond, Pageable pageable) {
-    List<NewBookRequest> result = queryFactory.selectFrom(newBookRequest)
-        .join(newBookRequest.member, member).fetchJoin()
+    List<Response> content = queryFactory.select(requestResponse())
+        .from(newBookRequest)
+        .join(newBookRequest.member, member)
         .where(requestStatusEq(cond.getRequestStatus()))
         .offset(pageable.getOffset())
         .limit(pageable.getPageSize())
         .fetch();
 
-    List<Response> content = result.stream()
-        .map(Response::of)
-        .collect(Collectors.toList());
-
     JPAQuery<Long> countQuery = queryFactory.select(newBookRequest.count())
         .from(newBookRequest)
         .where(requestStatusEq(cond.getRequestStatus()));
@@ -66,7 +63,73 @@ public class NewBookRequestRepositoryImpl implements NewBookRequestRepositoryCus
     return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
   }
 
+  /**
+   * 회원 id 범위 안의 회원별로 startTime 이후에 등록한 요청 수를 집계한다.
+   */
+  @Override
+  public List<MemberCountDto> countRequestsByMemberIdBetween(Long startMemberId,
+      Long endMemberId, LocalDateTime startTime) {
+    return queryFactory.select(constructor(MemberCountDto.class, member.memberCode,
+            newBookRequest.count()))
+        .from(newBookRequest)
+        .join(newBookRequest.member, member)
+        .where(
+            member.id.between(startMemberId, endMemberId),
+            newBookRequest.createdAt.goe(startTime)
+        )
+        .groupBy(member.memberCode)
+        .fetch();
+  }
+
+  /**
+   * 회원 번호 목록의 회원별로 startTime 이후에 등록한 요청 수를 집계한다.
+   */
+  @Override
+  public List<MemberCountDto> countRequestsByMemberCodes(List<String> memberCodes,
+      LocalDateTime startTime) {
+    return queryFactory.select(constructor(MemberCountDto.class, member.memberCode,
+            newBookRequest.count()))
+        .from(newBookRequest)
+        .join(newBookRequest.member, member)
+        .where(
+            member.memberCode.in(memberCodes),
+            newBookRequest.createdAt.goe(startTime)
+        )
+        .groupBy(member.memberCode)
+        .fetch();
+  }
+
+  // 아직 답변이 등록되지 않은 요청 id
+  @Override
+  public List<Long> findAwaitRequestIdsBetween(Long startId, Long endId) {
+    return queryFactory.select(newBookRequest.id)
+        .from(newBookRequest)
+        .where(
+            newBookRequest.id.between(startId, endId),
+            newBookRequest.requestStatus.eq(RequestStatus.AWAIT)
+        )
+        .fetch();
+  }
+
+  @Override
+  public Long findMaxRequestId() {
+    return queryFactory.select(newBookRequest.id.max())
+        .from(newBookRequest)
+        .fetchOne();
+  }
+
   private BooleanExpression requestStatusEq(RequestStatus requestStatus) {
     return requestStatus != null ? newBookRequest.requestStatus.eq(requestStatus) : null;
   }
+
+  // 목록에는 요청 도서 제목과 요청 내용, 요청한 회원의 이름만 보여준다.
+  private QBean<Response> requestResponse() {
+    return fields(Response.class,
+        newBookRequest.id,
+        member.name.as("memberName"),
+        newBookRequest.requestBookTitle,
+        newBookRequest.requestContent,
+        newBookRequest.requestStatus
+    );
+  }
 }
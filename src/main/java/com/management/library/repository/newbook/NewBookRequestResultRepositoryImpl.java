@@ -4,13 +4,14 @@ import static com.management.library.domain.admin.QAdministrator.administrator;
 import static com.management.library.domain.newbook.QNewBookRequest.newBookRequest;
 import static com.management.library.domain.newbook.QNewBookRequestResult.newBookRequestResult;
 import static com.management.library.service.result.newbook.dto.NewBookResultCreateDto.Response;
+import static com.querydsl.core.types.Projections.fields;
 
 import com.management.library.domain.newbook.NewBookRequestResult;
+import com.querydsl.core.types.QBean;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -28,7 +29,8 @@ public class NewBookRequestResultRepositoryImpl implements NewBookRequestResultR
   @Override
   public Optional<NewBookRequestResult> findByRequestId(Long requestId) {
     NewBookRequestResult result = queryFactory.selectFrom(newBookRequestResult)
-        .join(newBookRequestResult.newBookRequest, newBookRequest)
+        .join(newBookRequestResult.newBookRequest, newBookRequest).fetchJoin()
+        .join(newBookRequestResult.administrator, administrator).fetchJoin()
         .where(newBookRequest.id.eq(requestId))
         .fetchOne();
 
@@ -37,17 +39,15 @@ public class NewBookRequestResultRepositoryImpl implements NewBookRequestResultR
 
   @Override
   public Page<Response> findByAdminId(String adminEmail, Pageable pageable) {
-    List<NewBookRequestResult> result = queryFactory.selectFrom(newBookRequestResult)
-        .join(newBookRequestResult.administrator, administrator).fetchJoin()
+    List<Response> content = queryFactory.select(resultResponse())
+        .from(newBookRequestResult)
+        .join(newBookRequestResult.newBookRequest, newBookRequest)
+        .join(newBookRequestResult.administrator, administrator)
         .where(administrator.email.eq(adminEmail))
         .offset(pageable.getOffset())
         .limit(pageable.getPageSize())
         .fetch();
 
-    List<Response> content = result.stream()
-        .map(Response::of)
-        .collect(Collectors.toList());
-
     JPAQuery<Long> countQuery = queryFactory.select(newBookRequestResult.count())
         .from(newBookRequestResult)
         .join(newBookRequestResult.administrator, administrator)
@@ -55,4 +55,16 @@ public class NewBookRequestResultRepositoryImpl implements NewBookRequestResultR
 
     return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
   }
+
+  // 요청 도서 제목을 답변의 요청 제목으로, result 를 resultStatus 로 매핑한다.
+  private QBean<Response> resultResponse() {
+    return fields(Response.class,
+        newBookRequestResult.id,
+        newBookRequest.requestBookTitle.as("newBookRequestTitle"),
+        administrator.name.as("adminName"),
+        newBookRequestResult.resultPostTitle,
+        newBookRequestResult.resultPostContent,
+        newBookRequestResult.result.as("resultStatus")
+    );
+  }
 }
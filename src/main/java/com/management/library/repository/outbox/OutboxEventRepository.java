@@ -0,0 +1,23 @@
+package com.management.library.repository.outbox;
+
+import com.management.library.domain.outbox.OutboxEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+  List<OutboxEvent> findAllByPublishedAtIsNullOrderByIdAsc(Pageable pageable);
+
+  @Modifying
+  @Query("update OutboxEvent e set e.publishedAt = :publishedAt where e.id in :ids")
+  int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+  @Modifying
+  @Query("delete from OutboxEvent e where e.publishedAt < :publishedAt")
+  int deletePublishedBefore(@Param("publishedAt") LocalDateTime publishedAt);
+}
@@ -0,0 +1,11 @@
+package com.management.library.repository.reminder;
+
+import com.management.library.domain.reminder.DueReminder;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DueReminderRepository extends JpaRepository<DueReminder, Long> {
+
+  List<DueReminder> findByDueDateOrderByMemberIdAsc(LocalDate dueDate);
+}
@@ -1,9 +1,17 @@
 package com.management.library.repository.rental;
 
 import com.management.library.controller.dto.BookRentalSearchCond;
+import com.management.library.domain.book.Book;
 import com.management.library.domain.rental.Rental;
+import com.management.library.service.book.recommend.dto.RentalHistoryDto;
+import com.management.library.service.redis.dto.BookRentedCountDto;
+import com.management.library.service.redis.dto.MemberCountDto;
+import com.management.library.service.redis.dto.OverdueReturnDto;
+import com.management.library.service.reminder.dto.DueRentalDto;
 import com.management.library.service.rental.dto.RentalServiceResponseDto;
+import com.management.library.service.statistics.dto.DailyCountDto;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -24,5 +32,32 @@ public interface BookRentalRepositoryCustom {
 
   Optional<Rental> findByMemberCodeAndBookTitle(String memberCode, String bookTitle);
 
-  Long countByRentalByDate(LocalDate startDate, LocalDate endDate);
+  Optional<Book> findArchivedRentalBook(String memberCode, String bookTitle);
+
+  List<Long> findArchivableRentalIds(LocalDateTime returnedBefore, int limit);
+
+  // [startTime, endTime) 기간에 생성된 수를 조회한다.
+  Long countByRentalByDate(LocalDateTime startTime, LocalDateTime endTime);
+
+  List<RentalHistoryDto> findRentalHistoryAfter(Long lastRentalId, int limit);
+
+  List<RentalHistoryDto> findRentalHistoryByMemberIds(List<Long> memberIds, Long maxRentalId);
+
+  List<DailyCountDto> countRentalsByDay(LocalDateTime startTime, LocalDateTime endTime);
+
+  List<MemberCountDto> countActiveRentalsByMemberIdBetween(Long startMemberId, Long endMemberId);
+
+  List<OverdueReturnDto> findOverdueReturnsByMemberIdBetween(Long startMemberId,
+      Long endMemberId);
+
+  List<MemberCountDto> countActiveRentalsByMemberCodes(List<String> memberCodes);
+
+  List<OverdueReturnDto> findOverdueReturnsByMemberCodes(List<String> memberCodes);
+
+  List<BookRentedCountDto> countRentalsByTitlesOfBookIdBetween(Long startBookId, Long endBookId,
+      LocalDateTime yearStartTime);
+
+  Long findMaxRentedBookId();
+
+  List<DueRentalDto> findDueRentals(LocalDate dueDate, Long afterMemberId, int limit);
 }
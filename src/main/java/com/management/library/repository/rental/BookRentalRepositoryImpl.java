@@ -3,23 +3,39 @@ package com.management.library.repository.rental;
 import static com.management.library.domain.book.QBook.book;
 import static com.management.library.domain.member.QMember.member;
 import static com.management.library.domain.rental.QRental.rental;
+import static com.management.library.domain.rental.QRentalArchive.rentalArchive;
 import static com.management.library.domain.type.RentalStatus.OVERDUE;
 import static com.management.library.domain.type.RentalStatus.PROCEEDING;
 import static com.management.library.domain.type.RentalStatus.RETURNED;
+import static com.querydsl.core.types.Projections.constructor;
+import static com.querydsl.core.types.Projections.fields;
 
 import com.management.library.controller.dto.BookRentalSearchCond;
+import com.management.library.domain.book.Book;
+import com.management.library.domain.book.QBook;
 import com.management.library.domain.rental.Rental;
 import com.management.library.domain.type.RentalStatus;
+import com.management.library.service.book.recommend.dto.RentalHistoryDto;
+import com.management.library.service.redis.dto.BookRentedCountDto;
+import com.management.library.service.redis.dto.MemberCountDto;
+import com.management.library.service.redis.dto.OverdueReturnDto;
+import com.management.library.service.reminder.dto.DueRentalDto;
 import com.management.library.service.rental.dto.RentalServiceResponseDto;
+import com.management.library.service.statistics.dto.DailyCountDto;
+import com.querydsl.core.types.QBean;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.core.types.dsl.DateExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -33,66 +49,110 @@ public class BookRentalRepositoryImpl implements BookRentalRepositoryCustom {
     this.queryFactory = new JPAQueryFactory(entityManager);
   }
 
+  /**
+   * 회원의 대여 기록을 대여 순으로 조회한다. rentals_archive 로 옮겨진 기록은 rentals 에 남은 기록보다 오래되었으므로 rentals_archive 로
+   * 페이지를 먼저 채우고, 남은 자리를 rentals 에서 이어서 채운다. 옮겨진 기록은 모두 반납된 기록이다.
+   */
   @Override
   public Page<RentalServiceResponseDto> findRentalPageByMemberCode(BookRentalSearchCond cond,
       String memberCode, Pageable pageable) {
 
-    // projections cannot use to direct dto query
-    List<Rental> rentals = queryFactory.selectFrom(rental)
-        .join(rental.member, member).fetchJoin()
-        .join(rental.book, book).fetchJoin()
+    JPAQuery<Long> countQuery = queryFactory.select(rental.count())
+        .from(rental)
+        .join(rental.member, member)
         .where(
             rentalStatusEq(cond.getRentalStatus()),
             member.memberCode.eq(memberCode)
-        )
-        .offset(pageable.getOffset())
-        .limit(pageable.getPageSize())
-        .fetch();
+        );
 
-    // convert entity to dto
-    List<RentalServiceResponseDto> result = rentals.stream()
-        .map(RentalServiceResponseDto::of)
-        .collect(Collectors.toList());
+    if (!isArchivedStatus(cond.getRentalStatus())) {
+      List<RentalServiceResponseDto> result = findMemberRentals(cond, memberCode,
+          pageable.getOffset(), pageable.getPageSize());
 
-    JPAQuery<Long> countQuery = queryFactory.select(rental.count())
+      return PageableExecutionUtils.getPage(result, pageable, countQuery::fetchOne);
+    }
+
+    List<RentalServiceResponseDto> result = new ArrayList<>(
+        queryFactory.select(archivedRentalResponse())
+            .from(rentalArchive)
+            .join(rentalArchive.member, member)
+            .join(rentalArchive.book, book)
+            .where(member.memberCode.eq(memberCode))
+            .orderBy(rentalArchive.id.asc())
+            .offset(pageable.getOffset())
+            .limit(pageable.getPageSize())
+            .fetch());
+
+    JPAQuery<Long> archiveCountQuery = queryFactory.select(rentalArchive.count())
+        .from(rentalArchive)
+        .join(rentalArchive.member, member)
+        .where(member.memberCode.eq(memberCode));
+
+    if (result.size() == pageable.getPageSize()) {
+      return PageableExecutionUtils.getPage(result, pageable,
+          () -> archiveCountQuery.fetchOne() + countQuery.fetchOne());
+    }
+
+    // rentals_archive 의 기록을 모두 읽었으므로 rentals_archive 의 기록 수만큼 당겨서 rentals 를 읽는다.
+    long archiveCount = result.isEmpty() ? archiveCountQuery.fetchOne()
+        : pageable.getOffset() + result.size();
+
+    result.addAll(findMemberRentals(cond, memberCode,
+        Math.max(pageable.getOffset() - archiveCount, 0L),
+        pageable.getPageSize() - result.size()));
+
+    return PageableExecutionUtils.getPage(result, pageable,
+        () -> archiveCount + countQuery.fetchOne());
+  }
+
+  private List<RentalServiceResponseDto> findMemberRentals(BookRentalSearchCond cond,
+      String memberCode, long offset, long limit) {
+    return queryFactory.select(rentalResponse())
         .from(rental)
         .join(rental.member, member)
         .join(rental.book, book)
         .where(
             rentalStatusEq(cond.getRentalStatus()),
             member.memberCode.eq(memberCode)
-        );
-
-    return PageableExecutionUtils.getPage(result, pageable, countQuery::fetchOne);
+        )
+        .orderBy(rental.id.asc())
+        .offset(offset)
+        .limit(limit)
+        .fetch();
   }
 
   @Override
   public List<RentalServiceResponseDto> findRentalListByMemberCode(String memberCode) {
-    List<Rental> result = queryFactory.selectFrom(rental)
-        .join(rental.member, member).fetchJoin()
+    List<RentalServiceResponseDto> result = new ArrayList<>(
+        queryFactory.select(archivedRentalResponse())
+            .from(rentalArchive)
+            .join(rentalArchive.member, member)
+            .join(rentalArchive.book, book)
+            .where(member.memberCode.eq(memberCode))
+            .fetch());
+
+    result.addAll(queryFactory.select(rentalResponse())
+        .from(rental)
+        .join(rental.member, member)
+        .join(rental.book, book)
         .where(member.memberCode.eq(memberCode))
-        .fetch();
+        .fetch());
 
-    return result.stream()
-        .map(RentalServiceResponseDto::of)
-        .collect(Collectors.toList());
+    return result;
   }
 
   @Override
   public Page<RentalServiceResponseDto> findAllWithPage(BookRentalSearchCond cond,
       Pageable pageable) {
-    List<Rental> result = queryFactory.selectFrom(rental)
-        .join(rental.book, book).fetchJoin()
-        .join(rental.member, member).fetchJoin()
+    List<RentalServiceResponseDto> content = queryFactory.select(rentalResponse())
+        .from(rental)
+        .join(rental.book, book)
+        .join(rental.member, member)
         .where(rentalStatusEq(cond.getRentalStatus()))
         .offset(pageable.getOffset())
         .limit(pageable.getPageSize())
         .fetch();
 
-    List<RentalServiceResponseDto> content = result.stream()
-        .map(RentalServiceResponseDto::of)
-        .collect(Collectors.toList());
-
     JPAQuery<Long> countQuery = queryFactory.select(rental.count())
         .from(rental)
         .where(rentalStatusEq(cond.getRentalStatus()));
@@ -145,19 +205,349 @@ public class BookRentalRepositoryImpl implements BookRentalRepositoryCustom {
     return Optional.ofNullable(result);
   }
 
+  /**
+   * rentals_archive 로 옮겨진 반납 기록 중 회원이 대여했던 도서를 조회한다. rentals 에 반납 기록이 없을 때 리뷰 작성 자격을 확인하는 용도로
+   * 사용된다.
+   */
   @Override
-  public Long countByRentalByDate(LocalDate startDate, LocalDate endDate) {
+  public Optional<Book> findArchivedRentalBook(String memberCode, String bookTitle) {
+    Book result = queryFactory.select(book)
+        .from(rentalArchive)
+        .join(rentalArchive.book, book)
+        .join(rentalArchive.member, member)
+        .where(
+            member.memberCode.eq(memberCode),
+            book.bookInfo.title.eq(bookTitle)
+        )
+        .fetchFirst();
+
+    return Optional.ofNullable(result);
+  }
+
+  /**
+   * returnedBefore 이전에 반납된 대여 id 를 오래된 순으로 조회한다. 보관 작업이 rentals_archive 로 옮길 대상을 고를 때 사용된다.
+   *
+   * @param returnedBefore 반납 시각 기준
+   * @param limit          조회할 대여 수
+   * @return 대여 id 순으로 정렬된 대여 id 목록
+   */
+  @Override
+  public List<Long> findArchivableRentalIds(LocalDateTime returnedBefore, int limit) {
+    return queryFactory.select(rental.id)
+        .from(rental)
+        .where(
+            rental.rentalStatus.eq(RETURNED),
+            rental.lastModifiedAt.lt(returnedBefore)
+        )
+        .orderBy(rental.id.asc())
+        .limit(limit)
+        .fetch();
+  }
+
+  @Override
+  public Long countByRentalByDate(LocalDateTime startTime, LocalDateTime endTime) {
     return queryFactory.select(rental.count())
         .from(rental)
         .where(
-            rental.createdAt.after(LocalDateTime.of(startDate, LocalTime.MAX)),
-            rental.createdAt.before(LocalDateTime.of(endDate, LocalTime.MIN))
+            rental.createdAt.goe(startTime),
+            rental.createdAt.lt(endTime)
         )
         .fetchOne();
   }
 
+  /**
+   * watermark 이후의 대여 기록을 대여 id 순으로 조회한다. 함께 대여된 도서 집계 작업에서 새 대여 기록을 읽을 때 사용된다.
+   *
+   * @param lastRentalId 마지막으로 집계한 대여 id
+   * @param limit        조회할 대여 기록 수
+   * @return 대여 id 순으로 정렬된 대여 기록
+   */
+  @Override
+  public List<RentalHistoryDto> findRentalHistoryAfter(Long lastRentalId, int limit) {
+    return queryFactory.select(
+            constructor(RentalHistoryDto.class,
+                rental.id,
+                rental.member.id,
+                rental.book.id
+            )
+        )
+        .from(rental)
+        .where(rental.id.gt(lastRentalId))
+        .orderBy(rental.id.asc())
+        .limit(limit)
+        .fetch();
+  }
+
+  /**
+   * 회원들의 maxRentalId 까지의 대여 기록을 rentals, rentals_archive 에서 함께 읽어 대여 id 순으로 조회한다.
+   *
+   * @param memberIds   회원 id 목록
+   * @param maxRentalId 조회할 마지막 대여 id
+   * @return 대여 id 순으로 정렬된 대여 기록
+   */
+  @Override
+  public List<RentalHistoryDto> findRentalHistoryByMemberIds(List<Long> memberIds,
+      Long maxRentalId) {
+    List<RentalHistoryDto> result = new ArrayList<>(queryFactory.select(
+            constructor(RentalHistoryDto.class,
+                rental.id,
+                rental.member.id,
+                rental.book.id
+            )
+        )
+        .from(rental)
+        .where(
+            rental.member.id.in(memberIds),
+            rental.id.loe(maxRentalId)
+        )
+        .fetch());
+
+    result.addAll(queryFactory.select(
+            constructor(RentalHistoryDto.class,
+                rentalArchive.id,
+                rentalArchive.member.id,
+                rentalArchive.book.id
+            )
+        )
+        .from(rentalArchive)
+        .where(
+            rentalArchive.member.id.in(memberIds),
+            rentalArchive.id.loe(maxRentalId)
+        )
+        .fetch());
+
+    result.sort(Comparator.comparing(RentalHistoryDto::getRentalId));
+    return result;
+  }
+
+  /**
+   * [startTime, endTime) 구간의 대여 수를 대여일별로 집계한다. 통계 집계 작업에서 파티션 단위로 호출된다.
+   *
+   * @param startTime 집계 시작 시각
+   * @param endTime   집계 종료 시각(미포함)
+   * @return 대여가 있는 날짜별 대여 수
+   */
+  @Override
+  public List<DailyCountDto> countRentalsByDay(LocalDateTime startTime, LocalDateTime endTime) {
+    DateExpression<java.sql.Date> rentalDate = Expressions.dateTemplate(java.sql.Date.class,
+        "cast({0} as date)", rental.createdAt);
+
+    return queryFactory.select(constructor(DailyCountDto.class, rentalDate, rental.count()))
+        .from(rental)
+        .where(
+            rental.createdAt.goe(startTime),
+            rental.createdAt.lt(endTime)
+        )
+        .groupBy(rentalDate)
+        .fetch();
+  }
+
+  /**
+   * 회원 id 범위 안의 회원별로 대여 중이거나 연체 중인 대여 수를 집계한다. 대여 중인 도서가 없는 회원은 결과에 포함되지 않는다.
+   */
+  @Override
+  public List<MemberCountDto> countActiveRentalsByMemberIdBetween(Long startMemberId,
+      Long endMemberId) {
+    return queryFactory.select(constructor(MemberCountDto.class, member.memberCode, rental.count()))
+        .from(rental)
+        .join(rental.member, member)
+        .where(
+            member.id.between(startMemberId, endMemberId),
+            rental.rentalStatus.in(PROCEEDING, OVERDUE)
+        )
+        .groupBy(member.memberCode)
+        .fetch();
+  }
+
+  /**
+   * 회원 id 범위 안에서 반납일이 반납 기한 이후인 반납을 회원, 반납 순서로 조회한다.
+   */
+  @Override
+  public List<OverdueReturnDto> findOverdueReturnsByMemberIdBetween(Long startMemberId,
+      Long endMemberId) {
+    DateExpression<LocalDate> returnDate = Expressions.dateTemplate(LocalDate.class,
+        "cast({0} as date)", rental.lastModifiedAt);
+
+    return queryFactory.select(constructor(OverdueReturnDto.class,
+            member.memberCode,
+            rental.rentalEndDate,
+            rental.lastModifiedAt
+        ))
+        .from(rental)
+        .join(rental.member, member)
+        .where(
+            member.id.between(startMemberId, endMemberId),
+            rental.rentalStatus.eq(RETURNED),
+            returnDate.gt(rental.rentalEndDate)
+        )
+        .orderBy(member.id.asc(), rental.lastModifiedAt.asc())
+        .fetch();
+  }
+
+  /**
+   * 회원 번호 목록의 회원별로 대여 중이거나 연체 중인 대여 수를 집계한다. 조회한 페이지의 회원처럼 id 가 흩어진 회원을 한 번에 집계할 때 사용한다.
+   */
+  @Override
+  public List<MemberCountDto> countActiveRentalsByMemberCodes(List<String> memberCodes) {
+    return queryFactory.select(constructor(MemberCountDto.class, member.memberCode, rental.count()))
+        .from(rental)
+        .join(rental.member, member)
+        .where(
+            member.memberCode.in(memberCodes),
+            rental.rentalStatus.in(PROCEEDING, OVERDUE)
+        )
+        .groupBy(member.memberCode)
+        .fetch();
+  }
+
+  /**
+   * 회원 번호 목록의 연체 반납을 회원, 반납 순서로 조회한다. OverdueReturnDto.toPenaltyEndDates 가 반납 순서대로 연체 기간을 쌓는다.
+   */
+  @Override
+  public List<OverdueReturnDto> findOverdueReturnsByMemberCodes(List<String> memberCodes) {
+    DateExpression<LocalDate> returnDate = Expressions.dateTemplate(LocalDate.class,
+        "cast({0} as date)", rental.lastModifiedAt);
+
+    return queryFactory.select(constructor(OverdueReturnDto.class,
+            member.memberCode,
+            rental.rentalEndDate,
+            rental.lastModifiedAt
+        ))
+        .from(rental)
+        .join(rental.member, member)
+        .where(
+            member.memberCode.in(memberCodes),
+            rental.rentalStatus.eq(RETURNED),
+            returnDate.gt(rental.rentalEndDate)
+        )
+        .orderBy(member.id.asc(), rental.lastModifiedAt.asc())
+        .fetch();
+  }
+
+  /**
+   * 도서 id 범위 안의 도서와 제목이 같은 모든 도서의 제목, 분류 코드별 전체 대여 횟수와 yearStartTime 이후의 대여 횟수를 집계한다. 대여
+   * 순위는 제목으로 저장되므로 범위 밖에 있는 같은 제목의 도서도 함께 집계한다. rentals, rentals_archive 를 따로 집계하므로 같은 제목이 두 번
+   * 포함될 수 있으며, 호출하는 쪽에서 합산한다.
+   */
+  @Override
+  public List<BookRentedCountDto> countRentalsByTitlesOfBookIdBetween(Long startBookId,
+      Long endBookId, LocalDateTime yearStartTime) {
+    QBook rangeBook = new QBook("rangeBook");
+    BooleanExpression titleInRange = book.bookInfo.title.in(
+        JPAExpressions.select(rangeBook.bookInfo.title)
+            .from(rangeBook)
+            .where(rangeBook.id.between(startBookId, endBookId)));
+
+    List<BookRentedCountDto> result = new ArrayList<>(queryFactory.select(
+        constructor(BookRentedCountDto.class,
+            book.bookInfo.title,
+            book.typeCode,
+            rental.count(),
+            new CaseBuilder()
+                .when(rental.createdAt.goe(yearStartTime)).then(1L)
+                .otherwise(0L)
+                .sum()
+        ))
+        .from(rental)
+        .join(rental.book, book)
+        .where(titleInRange)
+        .groupBy(book.bookInfo.title, book.typeCode)
+        .fetch());
+
+    result.addAll(queryFactory.select(constructor(BookRentedCountDto.class,
+            book.bookInfo.title,
+            book.typeCode,
+            rentalArchive.count(),
+            new CaseBuilder()
+                .when(rentalArchive.rentedAt.goe(yearStartTime)).then(1L)
+                .otherwise(0L)
+                .sum()
+        ))
+        .from(rentalArchive)
+        .join(rentalArchive.book, book)
+        .where(titleInRange)
+        .groupBy(book.bookInfo.title, book.typeCode)
+        .fetch());
+
+    return result;
+  }
+
+  @Override
+  public Long findMaxRentedBookId() {
+    Long hotMaxBookId = queryFactory.select(rental.book.id.max())
+        .from(rental)
+        .fetchOne();
+    Long archivedMaxBookId = queryFactory.select(rentalArchive.book.id.max())
+        .from(rentalArchive)
+        .fetchOne();
+
+    if (hotMaxBookId == null || archivedMaxBookId == null) {
+      return hotMaxBookId != null ? hotMaxBookId : archivedMaxBookId;
+    }
+    return Math.max(hotMaxBookId, archivedMaxBookId);
+  }
+
+  /**
+   * 반납 기한이 dueDate 인 대여 중인 대여를 afterMemberId 다음 회원부터 회원, 대여 순으로 조회한다. (rental_end_date, member_id) 인덱스의
+   * 범위를 회원 id 순으로 이어서 읽으므로 대여 기록이 많아도 앞의 행을 다시 건너뛰지 않는다.
+   *
+   * @param dueDate       반납 기한
+   * @param afterMemberId 이전에 읽은 마지막 회원 id
+   * @param limit         조회할 대여 수
+   * @return 회원 id, 대여 id 순으로 정렬된 대여 목록
+   */
+  @Override
+  public List<DueRentalDto> findDueRentals(LocalDate dueDate, Long afterMemberId, int limit) {
+    return queryFactory.select(constructor(DueRentalDto.class,
+            member.id,
+            member.memberCode,
+            book.bookInfo.title
+        ))
+        .from(rental)
+        .join(rental.member, member)
+        .join(rental.book, book)
+        .where(
+            rental.rentalEndDate.eq(dueDate),
+            rental.member.id.gt(afterMemberId),
+            rental.rentalStatus.eq(PROCEEDING)
+        )
+        .orderBy(rental.member.id.asc(), rental.id.asc())
+        .limit(limit)
+        .fetch();
+  }
+
   private BooleanExpression rentalStatusEq(RentalStatus rentalStatus) {
     return rentalStatus != null ? rental.rentalStatus.eq(rentalStatus) : null;
   }
 
+  // rentals_archive 에는 반납된 기록만 있으므로 상태 조건이 없거나 반납일 때만 rentals_archive 를 조회한다.
+  private boolean isArchivedStatus(RentalStatus rentalStatus) {
+    return rentalStatus == null || rentalStatus == RETURNED;
+  }
+
+  // 도서는 제목만, 회원은 회원 번호만 필요하므로 book, member 를 fetch join 하지 않는다.
+  private QBean<RentalServiceResponseDto> rentalResponse() {
+    return fields(RentalServiceResponseDto.class,
+        rental.id,
+        book.bookInfo.title.as("bookName"),
+        member.memberCode,
+        rental.rentalStartDate,
+        rental.rentalEndDate,
+        rental.extendStatus,
+        rental.rentalStatus
+    );
+  }
+
+  // rentalResponse 와 같은 필드를 rentals_archive 에서 조회한다.
+  private QBean<RentalServiceResponseDto> archivedRentalResponse() {
+    return fields(RentalServiceResponseDto.class,
+        rentalArchive.id,
+        book.bookInfo.title.as("bookName"),
+        member.memberCode,
+        rentalArchive.rentalStartDate,
+        rentalArchive.rentalEndDate,
+        rentalArchive.extendStatus,
+        rentalArchive.rentalStatus
+    );
+  }
 }
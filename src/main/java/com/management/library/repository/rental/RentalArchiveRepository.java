@@ -0,0 +1,21 @@
+package com.management.library.repository.rental;
+
+import com.management.library.domain.rental.RentalArchive;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RentalArchiveRepository extends JpaRepository<RentalArchive, Long> {
+
+  // 엔티티를 읽지 않고 하나의 insert ... select 문으로 대여 기록을 복사한다.
+  @Modifying
+  @Query(value = "insert into rentals_archive (loan_id, member_id, book_id, rental_start_date, "
+      + "rental_end_date, extend_status, rental_status, rented_at, returned_at, archived_at) "
+      + "select loan_id, member_id, book_id, rental_start_date, rental_end_date, extend_status, "
+      + "rental_status, created_at, last_modified_at, :archivedAt "
+      + "from rentals where loan_id in (:ids)", nativeQuery = true)
+  int copyRentals(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
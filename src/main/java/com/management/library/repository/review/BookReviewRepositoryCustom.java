@@ -2,7 +2,10 @@ package com.management.library.repository.review;
 
 import com.management.library.domain.book.BookReview;
 import com.management.library.service.review.dto.BookReviewOverviewDto;
-import java.time.LocalDate;
+import com.management.library.service.review.dto.BookReviewRateCountDto;
+import com.management.library.service.statistics.dto.DailyCountDto;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,5 +18,18 @@ public interface BookReviewRepositoryCustom {
 
   Page<BookReviewOverviewDto> findReviewByBookTitle(Long bookId, Pageable pageable);
 
-  Long countByReviewDate(LocalDate startDate, LocalDate endDate);
+  // [startTime, endTime) 기간에 생성된 수를 조회한다.
+  Long countByReviewDate(LocalDateTime startTime, LocalDateTime endTime);
+
+  List<BookReviewRateCountDto> findRateCountByBookIdBetween(Long startBookId, Long endBookId);
+
+  Long findMaxReviewedBookId();
+
+  List<BookReviewOverviewDto> findRecentReviewsByBookId(Long bookId, int limit);
+
+  boolean existsByMemberIdAndBookId(Long memberId, Long bookId);
+
+  List<Long> findDuplicateReviewIds();
+
+  List<DailyCountDto> countReviewsByDay(LocalDateTime startTime, LocalDateTime endTime);
 }
@@ -3,17 +3,23 @@ package com.management.library.repository.review;
 import static com.management.library.domain.book.QBook.book;
 import static com.management.library.domain.book.QBookReview.bookReview;
 import static com.management.library.domain.member.QMember.member;
+import static com.querydsl.core.types.Projections.constructor;
+import static com.querydsl.core.types.Projections.fields;
 
 import com.management.library.domain.book.BookReview;
+import com.management.library.domain.book.QBookReview;
 import com.management.library.service.review.dto.BookReviewOverviewDto;
+import com.management.library.service.review.dto.BookReviewRateCountDto;
+import com.management.library.service.statistics.dto.DailyCountDto;
+import com.querydsl.core.types.QBean;
+import com.querydsl.core.types.dsl.DateExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -29,21 +35,18 @@ public class BookReviewRepositoryImpl implements BookReviewRepositoryCustom{
 
   @Override
   public Page<BookReviewOverviewDto> findByMemberCode(String memberCode, Pageable pageable) {
-    List<BookReview> contents = queryFactory.selectFrom(bookReview)
-        .join(bookReview.book, book).fetchJoin()
-        .join(bookReview.member, member).fetchJoin()
+    List<BookReviewOverviewDto> result = queryFactory.select(reviewOverview())
+        .from(bookReview)
+        .join(bookReview.book, book)
+        .join(bookReview.member, member)
         .where(member.memberCode.eq(memberCode))
         .offset(pageable.getOffset())
         .limit(pageable.getPageSize())
         .fetch();
 
-    List<BookReviewOverviewDto> result = contents.stream()
-        .map(BookReviewOverviewDto::of)
-        .collect(Collectors.toList());
-
     JPAQuery<Long> countQuery = queryFactory.select(bookReview.count())
         .from(bookReview)
-        .join(bookReview.member, member).fetchJoin()
+        .join(bookReview.member, member)
         .where(member.memberCode.eq(memberCode));
 
     return PageableExecutionUtils.getPage(result, pageable, countQuery::fetchOne);
@@ -61,17 +64,14 @@ public class BookReviewRepositoryImpl implements BookReviewRepositoryCustom{
 
   @Override
   public Page<BookReviewOverviewDto> findReviewByBookTitle(Long bookId, Pageable pageable) {
-    List<BookReview> contents = queryFactory.selectFrom(bookReview)
-        .join(bookReview.book, book).fetchJoin()
+    List<BookReviewOverviewDto> result = queryFactory.select(reviewOverview())
+        .from(bookReview)
+        .join(bookReview.book, book)
         .where(bookReview.book.id.eq(bookId))
         .offset(pageable.getOffset())
         .limit(pageable.getPageSize())
         .fetch();
 
-    List<BookReviewOverviewDto> result = contents.stream()
-        .map(BookReviewOverviewDto::of)
-        .collect(Collectors.toList());
-
     JPAQuery<Long> countQuery = queryFactory.select(bookReview.count())
         .from(bookReview)
         .join(bookReview.book, book)
@@ -81,13 +81,141 @@ public class BookReviewRepositoryImpl implements BookReviewRepositoryCustom{
   }
 
   @Override
-  public Long countByReviewDate(LocalDate startDate, LocalDate endDate) {
+  public Long countByReviewDate(LocalDateTime startTime, LocalDateTime endTime) {
     return queryFactory.select(bookReview.count())
         .from(bookReview)
         .where(
-            bookReview.createdAt.after(LocalDateTime.of(startDate, LocalTime.MAX)),
-            bookReview.createdAt.before(LocalDateTime.of(endDate, LocalTime.MIN))
+            bookReview.createdAt.goe(startTime),
+            bookReview.createdAt.lt(endTime)
+        )
+        .fetchOne();
+  }
+
+  /**
+   * 도서 id 범위 안의 리뷰를 도서별, 평점별로 집계한다. 평점 통계 복구 작업에서 파티션 단위로 호출된다.
+   *
+   * @param startBookId 시작 도서 id
+   * @param endBookId   끝 도서 id
+   * @return 도서 id 순으로 정렬된 도서별, 평점별 리뷰 수
+   */
+  @Override
+  public List<BookReviewRateCountDto> findRateCountByBookIdBetween(Long startBookId,
+      Long endBookId) {
+    return queryFactory.select(
+            constructor(BookReviewRateCountDto.class,
+                book.id,
+                book.bookInfo.title,
+                bookReview.rate,
+                bookReview.count()
+            )
         )
+        .from(bookReview)
+        .join(bookReview.book, book)
+        .where(book.id.between(startBookId, endBookId))
+        .groupBy(book.id, book.bookInfo.title, bookReview.rate)
+        .orderBy(book.id.asc())
+        .fetch();
+  }
+
+  @Override
+  public Long findMaxReviewedBookId() {
+    return queryFactory.select(bookReview.book.id.max())
+        .from(bookReview)
         .fetchOne();
   }
+
+  /**
+   * 도서의 최근 리뷰를 최신순으로 조회한다. 도서 상세 조회의 리뷰 요약 정보를 만들 때 사용된다.
+   *
+   * @param bookId 도서 id
+   * @param limit  조회할 리뷰 수
+   * @return 최신순으로 정렬된 리뷰 목록
+   */
+  @Override
+  public List<BookReviewOverviewDto> findRecentReviewsByBookId(Long bookId, int limit) {
+    return queryFactory.select(reviewOverview())
+        .from(bookReview)
+        .join(bookReview.book, book)
+        .where(book.id.eq(bookId))
+        .orderBy(bookReview.id.desc())
+        .limit(limit)
+        .fetch();
+  }
+
+  /**
+   * (member_id, book_id) 유니크 인덱스만으로 판단할 수 있도록 id 만 비교하여 리뷰 존재 여부를 확인한다.
+   *
+   * @param memberId 회원 id
+   * @param bookId   도서 id
+   * @return 리뷰 존재 여부
+   */
+  @Override
+  public boolean existsByMemberIdAndBookId(Long memberId, Long bookId) {
+    Integer result = queryFactory.selectOne()
+        .from(bookReview)
+        .where(
+            bookReview.member.id.eq(memberId),
+            bookReview.book.id.eq(bookId)
+        )
+        .fetchFirst();
+
+    return result != null;
+  }
+
+  /**
+   * 같은 회원이 같은 도서에 남긴 리뷰 중 가장 먼저 등록된 리뷰를 제외한 나머지 리뷰의 id 를 조회한다. 유니크 제약 조건을 추가하기 전에
+   * 중복 리뷰를 정리하는 용도로 사용된다.
+   *
+   * @return 중복 리뷰 id 목록
+   */
+  @Override
+  public List<Long> findDuplicateReviewIds() {
+    QBookReview earlierReview = new QBookReview("earlierReview");
+
+    return queryFactory.select(bookReview.id)
+        .from(bookReview)
+        .where(
+            JPAExpressions.selectOne()
+                .from(earlierReview)
+                .where(
+                    earlierReview.member.id.eq(bookReview.member.id),
+                    earlierReview.book.id.eq(bookReview.book.id),
+                    earlierReview.id.lt(bookReview.id)
+                )
+                .exists()
+        )
+        .fetch();
+  }
+
+  /**
+   * [startTime, endTime) 구간의 리뷰 수를 등록일별로 집계한다. 통계 집계 작업에서 파티션 단위로 호출된다.
+   *
+   * @param startTime 집계 시작 시각
+   * @param endTime   집계 종료 시각(미포함)
+   * @return 리뷰가 있는 날짜별 리뷰 수
+   */
+  @Override
+  public List<DailyCountDto> countReviewsByDay(LocalDateTime startTime, LocalDateTime endTime) {
+    DateExpression<java.sql.Date> reviewDate = Expressions.dateTemplate(java.sql.Date.class,
+        "cast({0} as date)", bookReview.createdAt);
+
+    return queryFactory.select(constructor(DailyCountDto.class, reviewDate, bookReview.count()))
+        .from(bookReview)
+        .where(
+            bookReview.createdAt.goe(startTime),
+            bookReview.createdAt.lt(endTime)
+        )
+        .groupBy(reviewDate)
+        .fetch();
+  }
+
+  // 목록에는 리뷰 내용 없이 도서 제목, 리뷰 제목, 평점만 보여준다.
+  private QBean<BookReviewOverviewDto> reviewOverview() {
+    return fields(BookReviewOverviewDto.class,
+        bookReview.id,
+        book.bookInfo.title.as("bookTitle"),
+        bookReview.reviewTitle,
+        bookReview.rate
+    );
+  }
 }
@@ -0,0 +1,10 @@
+package com.management.library.repository.scheduled;
+
+import com.management.library.domain.scheduled.ScheduledJobRun;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ScheduledJobRunRepository extends JpaRepository<ScheduledJobRun, Long> {
+
+  List<ScheduledJobRun> findAllByJobNameOrderByFencingTokenAsc(String jobName);
+}
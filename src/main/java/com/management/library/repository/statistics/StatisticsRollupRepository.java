@@ -0,0 +1,17 @@
+package com.management.library.repository.statistics;
+
+import com.management.library.domain.statistics.StatisticsRollup;
+import com.management.library.domain.type.StatisticsGranularity;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StatisticsRollupRepository extends JpaRepository<StatisticsRollup, Long> {
+
+  Optional<StatisticsRollup> findByGranularityAndBucketDate(StatisticsGranularity granularity,
+      LocalDate bucketDate);
+
+  List<StatisticsRollup> findAllByGranularityAndBucketDateBetweenOrderByBucketDate(
+      StatisticsGranularity granularity, LocalDate startDate, LocalDate endDate);
+}
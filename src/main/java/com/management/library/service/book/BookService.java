@@ -2,21 +2,24 @@ package com.management.library.service.book;
 
 import static com.management.library.exception.ErrorCode.BOOK_ALREADY_EXISTS;
 import static com.management.library.exception.ErrorCode.BOOK_NOT_EXISTS;
+import static com.management.library.exception.ErrorCode.BOOK_STATUS_NOT_CHANGEABLE;
 import static com.management.library.exception.ErrorCode.INVALID_RANGE;
 
 import com.management.library.domain.book.Book;
 import com.management.library.controller.book.dto.BookSearchCond;
+import com.management.library.domain.type.BookStatus;
 import com.management.library.exception.DuplicateException;
 import com.management.library.exception.InvalidArgumentException;
 import com.management.library.exception.NoSuchElementExistsException;
 import com.management.library.repository.book.BookRepository;
+import com.management.library.repository.review.BookReviewRepository;
 import com.management.library.service.book.dto.BookServiceCreateDto;
 import com.management.library.service.book.dto.BookServiceCreateDto.Response;
 import com.management.library.service.book.dto.BookServiceResponseDto;
 import com.management.library.service.book.dto.BookServiceUpdateDto;
+import com.management.library.service.review.dto.BookReviewSummaryDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +32,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class BookService {
 
   private final BookRepository bookRepository;
+  private final BookReviewRepository bookReviewRepository;
+  private final BookStatusHistoryService bookStatusHistoryService;
   private static final String SUCCESS = "success";
 
   /**
@@ -69,19 +74,21 @@ public class BookService {
   public Page<Response> searchBookByTypeCode(int startCode, int endCode,
       Pageable pageable) {
 
-    if (isValidRange(startCode, endCode)) {
+    if (isInvalidTypeCodeRange(startCode, endCode)) {
       throw new InvalidArgumentException(INVALID_RANGE);
     }
 
     return bookRepository.findAllByBookTypeCode(startCode, endCode, pageable);
   }
 
-  private boolean isValidRange(int startCode, int endCode) {
+  // 분류 번호 범위로 조회하는 기능에서 함께 사용한다.
+  public static boolean isInvalidTypeCodeRange(int startCode, int endCode) {
     return startCode > endCode || startCode < 1 || startCode > 999 || endCode > 999;
   }
 
   /**
-   * 도서 조회 기능
+   * 도서 조회 기능. 리뷰 요약 정보(리뷰 수, 평균 평점, 평점별 리뷰 수, 최근 리뷰)를 함께 캐싱하며, 캐싱된 도서 정보는 리뷰 등록, 수정 시
+   * BookReviewSummaryCacheService 에서 삭제된다.
    *
    * @param bookId 조회할 도서 id
    * @return 도서 정보 DTO
@@ -91,7 +98,12 @@ public class BookService {
     Book book = bookRepository.findById(bookId)
         .orElseThrow(() -> new NoSuchElementExistsException(BOOK_NOT_EXISTS));
 
-    return BookServiceResponseDto.of(book);
+    BookReviewSummaryDto reviewSummary = BookReviewSummaryDto.of(
+        bookReviewRepository.findRateCountByBookIdBetween(bookId, bookId),
+        bookReviewRepository.findRecentReviewsByBookId(bookId, BookReviewSummaryDto.RECENT_REVIEW_SIZE)
+    );
+
+    return BookServiceResponseDto.of(book, reviewSummary);
   }
 
   /**
@@ -101,7 +113,7 @@ public class BookService {
    * @param request 수정 정보 DTO
    * @return 수정된 도서 정보 DTO
    */
-  @CachePut(key = "#bookId", value = "book")
+  @CacheEvict(key = "#bookId", value = "book")
   @Transactional
   public BookServiceUpdateDto.Response updateBookData(Long bookId, BookServiceUpdateDto.Request request) {
     Book book = bookRepository.findById(bookId)
@@ -112,6 +124,29 @@ public class BookService {
     return BookServiceUpdateDto.Response.of(book);
   }
 
+  /**
+   * 도서 상태 변경 기능. 도서를 손/망실(UNAVAILABLE) 처리하거나 다시 대여 가능(AVAILABLE) 상태로 되돌린다. 대여 상태는 대여/반납으로만
+   * 바뀌므로 대여 중인 도서나 대여 상태로의 변경은 허용하지 않는다. 변경 이력은 월간 손/망실 정산에 사용된다.
+   *
+   * @param bookId     수정할 도서 id
+   * @param bookStatus 변경할 상태
+   * @return 수정된 도서 정보 DTO
+   */
+  @CacheEvict(key = "#bookId", value = "book")
+  @Transactional
+  public BookServiceUpdateDto.Response changeBookStatus(Long bookId, BookStatus bookStatus) {
+    Book book = bookRepository.findById(bookId)
+        .orElseThrow(() -> new NoSuchElementExistsException(BOOK_NOT_EXISTS));
+
+    if (book.getBookStatus() == BookStatus.RENTAL || bookStatus == BookStatus.RENTAL) {
+      throw new InvalidArgumentException(BOOK_STATUS_NOT_CHANGEABLE);
+    }
+
+    bookStatusHistoryService.changeBookStatus(book, bookStatus);
+
+    return BookServiceUpdateDto.Response.of(book);
+  }
+
   @CacheEvict(key = "#bookId", value = "book")
   @Transactional
   public String deleteBookData(Long bookId) {
@@ -0,0 +1,49 @@
+package com.management.library.service.book;
+
+import com.management.library.domain.book.Book;
+import com.management.library.domain.book.BookStatusHistory;
+import com.management.library.domain.type.BookStatus;
+import com.management.library.repository.book.BookStatusHistoryRepository;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 도서 상태를 변경하고 변경 이력을 book_status_history 테이블에 남긴다.
+ * <p>
+ * 이력은 상태를 바꾸는 트랜잭션 안에서 저장하므로 상태 변경과 함께 커밋되거나 롤백된다. 월별 정산과 통계 rollup 이 이 이력으로 반납, 손상, 분실
+ * 건수를 세므로 이력 저장이 실패하면 상태 변경도 실패해야 한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookStatusHistoryService {
+
+  private final BookStatusHistoryRepository bookStatusHistoryRepository;
+
+  /**
+   * 도서 상태를 변경한다. 상태가 실제로 바뀐 경우에만 이력을 남긴다.
+   *
+   * @param book      상태를 변경할 도서
+   * @param newStatus 변경할 상태
+   */
+  public void changeBookStatus(Book book, BookStatus newStatus) {
+    BookStatus oldStatus = book.getBookStatus();
+    book.changeBookStatus(newStatus);
+
+    if (oldStatus == newStatus) {
+      return;
+    }
+
+    bookStatusHistoryRepository.save(BookStatusHistory.of(book.getId(), oldStatus, newStatus,
+        LocalDateTime.now()));
+  }
+
+  /**
+   * [startTime, endTime) 기간 동안 newStatus 로 바뀐 횟수를 조회한다. 변경 시각은 대여, 리뷰의 생성 시각과 같은 서버 시간대로 기록되므로,
+   * SCHEDULE_ZONE 기준의 기간은 서버 시간대로 바꾸어 넘겨야 한다.
+   */
+  public long countStatusChanges(BookStatus newStatus, LocalDateTime startTime,
+      LocalDateTime endTime) {
+    return bookStatusHistoryRepository.countByNewStatusBetween(newStatus, startTime, endTime);
+  }
+}
@@ -2,6 +2,7 @@ package com.management.library.service.book.dto;
 
 import com.management.library.domain.book.Book;
 import com.management.library.domain.type.BookStatus;
+import com.management.library.service.review.dto.BookReviewSummaryDto;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -20,10 +21,11 @@ public class BookServiceResponseDto {
   private String location;
   private int typeCode;
   private BookStatus status;
+  private BookReviewSummaryDto reviewSummary;
 
   @Builder
   public BookServiceResponseDto(Long id, String title, String author, String publisher, int publishedYear,
-      String location, int typeCode, BookStatus status) {
+      String location, int typeCode, BookStatus status, BookReviewSummaryDto reviewSummary) {
     this.id = id;
     this.title = title;
     this.author = author;
@@ -32,6 +34,7 @@ public class BookServiceResponseDto {
     this.location = location;
     this.typeCode = typeCode;
     this.status = status;
+    this.reviewSummary = reviewSummary;
   }
 
   public static BookServiceResponseDto of(Book book){
@@ -46,4 +49,11 @@ public class BookServiceResponseDto {
         .typeCode(book.getTypeCode())
         .build();
   }
+
+  public static BookServiceResponseDto of(Book book, BookReviewSummaryDto reviewSummary) {
+    BookServiceResponseDto response = of(book);
+    response.setReviewSummary(reviewSummary);
+
+    return response;
+  }
 }
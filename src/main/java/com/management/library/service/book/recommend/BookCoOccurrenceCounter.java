@@ -0,0 +1,54 @@
+package com.management.library.service.book.recommend;
+
+import com.management.library.service.book.recommend.dto.RentalHistoryDto;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 회원별 대여 기록으로 두 도서를 함께 대여한 회원 수를 센다. 도서 쌍은 한 회원당 한 번만 세며, 두 도서 중 나중에 처음 대여된 기록이
+ * watermark 이후일 때만 세므로 이미 집계한 대여 기록을 다시 읽어도 중복으로 세지 않는다.
+ */
+public class BookCoOccurrenceCounter {
+
+  // 도서 id -> (함께 대여된 도서 id -> 함께 대여한 회원 수), 실제로 함께 대여된 쌍만 보관
+  private final Map<Long, Map<Long, Long>> counts = new HashMap<>();
+
+  /**
+   * 한 회원의 대여 기록을 집계한다.
+   *
+   * @param memberRentals 대여 id 순으로 정렬된 한 회원의 대여 기록
+   * @param watermark     이전까지 집계한 마지막 대여 id
+   */
+  public void addMemberRentals(List<RentalHistoryDto> memberRentals, long watermark) {
+    Set<Long> rentedBookIds = new LinkedHashSet<>();
+
+    for (RentalHistoryDto rental : memberRentals) {
+      Long bookId = rental.getBookId();
+
+      if (rentedBookIds.contains(bookId)) {
+        continue;
+      }
+
+      if (rental.getRentalId() > watermark) {
+        for (Long rentedBookId : rentedBookIds) {
+          increment(bookId, rentedBookId);
+          increment(rentedBookId, bookId);
+        }
+      }
+
+      rentedBookIds.add(bookId);
+    }
+  }
+
+  public Map<Long, Map<Long, Long>> getCounts() {
+    return counts;
+  }
+
+  private void increment(Long bookId, Long otherBookId) {
+    counts.computeIfAbsent(bookId, key -> new HashMap<>())
+        .merge(otherBookId, 1L, Long::sum);
+  }
+}
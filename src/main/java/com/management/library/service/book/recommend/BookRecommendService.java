@@ -1,15 +1,38 @@
 package com.management.library.service.book.recommend;
 
+import static com.management.library.config.RedisConfiguration.REPLICA_PREFERRED_REDIS_TEMPLATE;
+import static com.management.library.exception.ErrorCode.BOOK_NOT_EXISTS;
+import static com.management.library.exception.ErrorCode.INVALID_RANGE;
+import static com.management.library.exception.ErrorCode.RANKING_NOT_EXISTS;
 import static com.management.library.service.book.recommend.dto.BookRecommendResponseDto.ReviewRate;
 
+import com.management.library.domain.book.Book;
+import com.management.library.exception.InvalidArgumentException;
+import com.management.library.exception.NoSuchElementExistsException;
+import com.management.library.repository.book.BookRepository;
+import com.management.library.service.book.BookService;
 import com.management.library.service.book.recommend.dto.BookRecommendResponseDto.RentedCount;
+import com.management.library.service.book.recommend.dto.BookRecommendResponseDto.SimilarBook;
+import com.management.library.service.book.recommend.dto.BookRecommendResponseDto.TrendingRank;
+import com.management.library.service.review.BookReviewRedisService;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.DefaultTuple;
+import org.springframework.data.redis.connection.RedisZSetCommands.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -17,11 +40,22 @@ import org.springframework.stereotype.Service;
 public class BookRecommendService {
 
   private final RedisTemplate<String, String> redisTemplate;
+  // 대여 순위, 평점 순위 조회는 조금 늦게 반영되어도 되므로 replica 에서 읽는다.
+  @Qualifier(REPLICA_PREFERRED_REDIS_TEMPLATE)
+  private final RedisTemplate<String, String> replicaRedisTemplate;
+  private final BookReviewRedisService bookReviewRedisService;
+  private final BookTrendingRedisService bookTrendingRedisService;
+  private final BookSimilarRedisService bookSimilarRedisService;
+  private final BookRepository bookRepository;
   private static final String BOOK_RENTED_COUNT = "book-rented-count";
   private static final String BOOK_REVIEW_RATE = "book-review-rate";
+  private static final RedisSerializer<String> SERIALIZER = RedisSerializer.string();
+  private static final int SIMILAR_BOOK_SIZE = 10;
+  private static final int RECOMMEND_SIZE = 10;
+  private static final long TYPE_RENTED_COUNT_MERGED_TTL_SECONDS = 60L;
 
   public List<RentedCount> getRecommendBookListByRentalCount() {
-    Set<TypedTuple<String>> typedTuples = redisTemplate.opsForZSet()
+    Set<TypedTuple<String>> typedTuples = replicaRedisTemplate.opsForZSet()
         .reverseRangeWithScores(BOOK_RENTED_COUNT, 0, 9);
 
     if (typedTuples == null) {
@@ -33,17 +67,187 @@ public class BookRecommendService {
         .collect(Collectors.toList());
   }
 
+  /**
+   * 분류 번호 범위에 걸친 분류 구간별 대여 횟수 sorted set 에서 구간마다 상위 10개 도서를 하나의 pipeline 으로 가져온 뒤, 합쳐서 대여 횟수
+   * 상위 10개 도서를 고른다. 도서는 하나의 구간에만 속하므로 구간별 상위 10개만 합쳐도 범위 전체의 상위 10개와 같다. 범위의 양 끝은 분류 구간
+   * 단위로 확장된다.
+   * <p>
+   * 합친 상위 10개는 구간 범위별 sorted set 에 짧은 시간 동안 캐싱한다. 캐시 키는 단일 키 명령으로만 다루며, 구간 범위를 hash tag 로
+   * 사용해 redis cluster 에서 범위마다 다른 slot 에 놓인다.
+   *
+   * @param startCode 시작 분류 번호
+   * @param endCode   끝 분류 번호
+   * @return 대여 횟수 상위 10개 도서
+   */
+  public List<RentedCount> getRecommendBookListByTypeCode(int startCode, int endCode) {
+    if (BookService.isInvalidTypeCodeRange(startCode, endCode)) {
+      throw new InvalidArgumentException(INVALID_RANGE);
+    }
+
+    int startBand = BookTypeBand.of(startCode);
+    int endBand = BookTypeBand.of(endCode);
+    String mergedKey = BookTypeBand.getMergedRentedCountKey(startBand, endBand);
+
+    Set<TypedTuple<String>> cachedTuples = replicaRedisTemplate.opsForZSet()
+        .reverseRangeWithScores(mergedKey, 0, RECOMMEND_SIZE - 1);
+
+    if (cachedTuples != null && !cachedTuples.isEmpty()) {
+      return cachedTuples.stream()
+          .map(RentedCount::of)
+          .collect(Collectors.toList());
+    }
+
+    List<TypedTuple<String>> mergedTuples = mergeTypeRentedCount(startBand, endBand);
+    cacheTypeRentedCount(mergedKey, mergedTuples);
+
+    return mergedTuples.stream()
+        .map(RentedCount::of)
+        .collect(Collectors.toList());
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<TypedTuple<String>> mergeTypeRentedCount(int startBand, int endBand) {
+    List<Object> results = replicaRedisTemplate.executePipelined(
+        (RedisCallback<Object>) connection -> {
+          for (int band = startBand; band <= endBand; band++) {
+            connection.zSetCommands().zRevRangeWithScores(
+                SERIALIZER.serialize(BookTypeBand.getRentedCountKey(band)), 0,
+                RECOMMEND_SIZE - 1);
+          }
+          return null;
+        }, SERIALIZER);
+
+    return results.stream()
+        .flatMap(bandTuples -> ((Set<TypedTuple<String>>) bandTuples).stream())
+        // ZREVRANGE 와 같이 점수가 같다면 member 의 역순으로 정렬한다.
+        .sorted(Comparator.comparing(TypedTuple<String>::getScore)
+            .thenComparing(TypedTuple::getValue)
+            .reversed())
+        .limit(RECOMMEND_SIZE)
+        .collect(Collectors.toList());
+  }
+
+  // 다른 요청이 캐싱한 결과와 섞이지 않도록 키를 지운 뒤 합친 결과를 쓴다.
+  private void cacheTypeRentedCount(String mergedKey, List<TypedTuple<String>> mergedTuples) {
+    if (mergedTuples.isEmpty()) {
+      return;
+    }
+
+    byte[] rawKey = SERIALIZER.serialize(mergedKey);
+    Set<Tuple> tuples = mergedTuples.stream()
+        .map(tuple -> new DefaultTuple(SERIALIZER.serialize(tuple.getValue()), tuple.getScore()))
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      connection.keyCommands().del(rawKey);
+      connection.zSetCommands().zAdd(rawKey, tuples);
+      connection.keyCommands().expire(rawKey, TYPE_RENTED_COUNT_MERGED_TTL_SECONDS);
+      return null;
+    });
+  }
+
+  /**
+   * 평점 순위 sorted set 에서 상위 10개 도서 id 를 가져온 뒤, 평균 평점은 도서별 평점 합계와 리뷰 수로 계산한다.
+   */
   public List<ReviewRate> getRecommendBookListByReviewRate() {
-    Set<TypedTuple<String>> typedTuples = redisTemplate.opsForZSet()
-        .reverseRangeWithScores(BOOK_REVIEW_RATE, 0, 9);
+    Set<String> bookIds = replicaRedisTemplate.opsForZSet().reverseRange(BOOK_REVIEW_RATE, 0, 9);
 
-    if (typedTuples == null) {
+    if (bookIds == null || bookIds.isEmpty()) {
       return new ArrayList<>();
     }
 
-    return typedTuples.stream()
+    List<Long> ids = bookIds.stream()
+        .map(Long::valueOf)
+        .collect(Collectors.toList());
+
+    return bookReviewRedisService.getReviewRates(ids).stream()
         .map(ReviewRate::of)
         .collect(Collectors.toList());
   }
 
+  /**
+   * 미리 합산된 기간별 인기 도서 sorted set 에서 요청한 페이지의 순위를 가져온다.
+   *
+   * @param window   집계 구간
+   * @param pageable 페이징 설정
+   * @return 인기 도서 순위 페이지
+   */
+  public Page<TrendingRank> getTrendingBookList(TrendingWindow window, Pageable pageable) {
+    long start = pageable.getOffset();
+    long end = start + pageable.getPageSize() - 1;
+
+    Set<TypedTuple<String>> typedTuples = bookTrendingRedisService.getTrendingRanks(window, start,
+        end);
+
+    List<TrendingRank> content = new ArrayList<>();
+
+    if (typedTuples != null && !typedTuples.isEmpty()) {
+      Map<Long, String> bookTitles = getBookTitles(typedTuples.stream()
+          .map(tuple -> Long.valueOf(tuple.getValue()))
+          .collect(Collectors.toList()));
+
+      long rank = start;
+      for (TypedTuple<String> tuple : typedTuples) {
+        Long bookId = Long.valueOf(tuple.getValue());
+
+        TrendingRank trendingRank = TrendingRank.of(++rank, bookId, tuple.getScore());
+        trendingRank.setBookTitle(bookTitles.get(bookId));
+        content.add(trendingRank);
+      }
+    }
+
+    return PageableExecutionUtils.getPage(content, pageable,
+        () -> bookTrendingRedisService.getTrendingSize(window));
+  }
+
+  /**
+   * 특정 도서의 기간별 인기 순위를 조회한다.
+   *
+   * @param window 집계 구간
+   * @param bookId 도서 id
+   * @return 도서의 인기 순위
+   */
+  public TrendingRank getTrendingBookRank(TrendingWindow window, Long bookId) {
+    Book book = bookRepository.findById(bookId)
+        .orElseThrow(() -> new NoSuchElementExistsException(BOOK_NOT_EXISTS));
+
+    TrendingRank trendingRank = bookTrendingRedisService.getTrendingRank(window, bookId);
+
+    if (trendingRank == null) {
+      throw new NoSuchElementExistsException(RANKING_NOT_EXISTS);
+    }
+
+    trendingRank.setBookTitle(book.getBookInfo().getTitle());
+
+    return trendingRank;
+  }
+
+  /**
+   * 해당 도서를 대여한 회원들이 함께 대여한 도서 목록을 함께 대여한 회원 수 순으로 가져온다. 목록은 bookCoOccurrenceJob 이 미리 집계한
+   * 도서별 sorted set 에서 읽는다.
+   *
+   * @param bookId 도서 id
+   * @return 함께 대여된 도서 목록
+   */
+  public List<SimilarBook> getSimilarBookList(Long bookId) {
+    Set<TypedTuple<String>> typedTuples = bookSimilarRedisService.getSimilarBooks(bookId,
+        SIMILAR_BOOK_SIZE);
+
+    if (typedTuples == null || typedTuples.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    Map<Long, String> bookTitles = getBookTitles(typedTuples.stream()
+        .map(tuple -> Long.valueOf(tuple.getValue()))
+        .collect(Collectors.toList()));
+
+    return typedTuples.stream()
+        .map(tuple -> SimilarBook.of(tuple, bookTitles.get(Long.valueOf(tuple.getValue()))))
+        .collect(Collectors.toList());
+  }
+
+  private Map<Long, String> getBookTitles(List<Long> bookIds) {
+    return bookRepository.findAllById(bookIds).stream()
+        .collect(Collectors.toMap(Book::getId, book -> book.getBookInfo().getTitle()));
+  }
 }
@@ -0,0 +1,95 @@
+package com.management.library.service.book.recommend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+/**
+ * 함께 대여된 도서 목록을 도서별 sorted set(book-similar:{bookId}) 으로 관리한다. score 는 두 도서를 함께 대여한 회원 수이며 도서별로
+ * 상위 TOP_K 개만 유지한다.
+ * <p>
+ * 도서별로 마지막으로 반영한 대여 id 를 {book-similar:{bookId}}:applied 에 함께 기록한다. hash tag 가 sorted set 의 키 전체이므로 두
+ * 키는 redis cluster 에서도 같은 slot 에 놓인다.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookSimilarRedisService {
+
+  private final RedisTemplate<String, String> redisTemplate;
+
+  private static final String BOOK_SIMILAR_PREFIX = "book-similar:";
+  private static final String APPLIED_SUFFIX = ":applied";
+  private static final String WATERMARK_KEY = "book-similar-watermark";
+  private static final int TOP_K = 50;
+  private static final RedisScript<Long> ADD_CO_OCCURRENCE_COUNTS_SCRIPT = RedisScript.of(
+      new ClassPathResource("scripts/add-co-occurrence-counts.lua"), Long.class);
+
+  /**
+   * 마지막으로 집계한 대여 id 를 조회한다.
+   *
+   * @return 마지막으로 집계한 대여 id, 집계한 적이 없다면 0
+   */
+  public long getWatermark() {
+    RedisSerializer<String> serializer = RedisSerializer.string();
+
+    String watermark = redisTemplate.execute((RedisCallback<String>) connection ->
+        serializer.deserialize(
+            connection.stringCommands().get(serializer.serialize(WATERMARK_KEY))));
+
+    return watermark == null ? 0L : Long.parseLong(watermark);
+  }
+
+  /**
+   * 함께 대여한 회원 수를 도서별 sorted set 에 더하고 상위 TOP_K 개만 남긴 뒤, 집계한 마지막 대여 id 를 기록한다.
+   * <p>
+   * 도서별 반영은 lua script 하나로 수행하며 도서별로 반영한 대여 id 가 watermark 이상이면 건너뛴다. 모든 도서에 반영한 뒤에 전체
+   * watermark 를 기록하므로, 일부 도서만 반영된 채 실패하더라도 같은 범위를 다시 집계할 때 이미 반영한 도서는 중복으로 더해지지 않는다.
+   *
+   * @param counts    도서 id -> (함께 대여된 도서 id -> 증가시킬 회원 수)
+   * @param watermark 이번에 집계한 마지막 대여 id
+   */
+  public void addCoOccurrenceCounts(Map<Long, Map<Long, Long>> counts, long watermark) {
+    RedisSerializer<String> serializer = RedisSerializer.string();
+    byte[] script = serializer.serialize(ADD_CO_OCCURRENCE_COUNTS_SCRIPT.getScriptAsString());
+
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      for (Entry<Long, Map<Long, Long>> entry : counts.entrySet()) {
+        String key = BOOK_SIMILAR_PREFIX + entry.getKey();
+
+        List<String> keysAndArgs = new ArrayList<>();
+        keysAndArgs.add(key);
+        keysAndArgs.add("{" + key + "}" + APPLIED_SUFFIX);
+        keysAndArgs.add(String.valueOf(watermark));
+        keysAndArgs.add(String.valueOf(TOP_K));
+
+        for (Entry<Long, Long> count : entry.getValue().entrySet()) {
+          keysAndArgs.add(String.valueOf(count.getKey()));
+          keysAndArgs.add(String.valueOf(count.getValue()));
+        }
+
+        connection.scriptingCommands().eval(script, ReturnType.INTEGER, 2,
+            keysAndArgs.stream().map(serializer::serialize).toArray(byte[][]::new));
+      }
+      return null;
+    });
+
+    redisTemplate.execute((RedisCallback<Object>) connection -> connection.stringCommands()
+        .set(serializer.serialize(WATERMARK_KEY), serializer.serialize(String.valueOf(watermark))));
+  }
+
+  public Set<TypedTuple<String>> getSimilarBooks(Long bookId, int size) {
+    return redisTemplate.opsForZSet()
+        .reverseRangeWithScores(BOOK_SIMILAR_PREFIX + bookId, 0, size - 1);
+  }
+}
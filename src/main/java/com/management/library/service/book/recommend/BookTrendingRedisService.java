@@ -0,0 +1,154 @@
+package com.management.library.service.book.recommend;
+
+import static com.management.library.config.SchedulerConfiguration.SCHEDULE_ZONE;
+
+import com.management.library.service.book.recommend.dto.BookRecommendResponseDto.TrendingRank;
+import com.management.library.service.redis.RedisIncrementOnce;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.DefaultTuple;
+import org.springframework.data.redis.connection.RedisZSetCommands.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+/**
+ * 기간별 인기 도서 순위를 관리한다. 대여가 발생하면 일별 대여 수 sorted set 에 반영하고, 일정 주기로 일별 sorted set 들을 읽어 감쇠 가중치와
+ * 함께 합산한 7일, 30일 인기 도서 sorted set 을 만든다. 조회는 합쳐진 sorted set 만 사용한다.
+ * <p>
+ * 일별 키는 날짜를, 인기 도서 키는 구간 이름을 hash tag 로 사용하여 redis cluster 에서 여러 slot 에 나뉘어 놓인다. 일별 키는 서버에서
+ * 합치지 않고 애플리케이션에서 합산하므로, 여러 키를 함께 다루는 명령은 같은 구간의 임시 키와 인기 도서 키를 교체하는 RENAME 뿐이다.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookTrendingRedisService {
+
+  private final RedisTemplate<String, String> redisTemplate;
+
+  private static final String DAILY_RENTED_COUNT_PREFIX = "book-rented-count:daily:";
+  private static final String MERGE_TEMP_SUFFIX = ":tmp";
+  private static final int MERGE_WRITE_BATCH_SIZE = 1000;
+  // 가장 긴 집계 구간(30일) 보다 하루 더 보관
+  private static final int DAILY_RETENTION_DAYS = 31;
+
+  /**
+   * 대여일의 일별 대여 수 sorted set 에 도서 대여 수를 1 증가시킨다. 대여 수는 대여 이벤트마다 한 번만 더해지며, 일별 sorted set 은
+   * 대여일로부터 DAILY_RETENTION_DAYS 일 후 만료된다.
+   *
+   * @param bookId     대여한 도서 id
+   * @param rentalDate 대여일
+   * @param eventKey   소비자 그룹 안에서 대여 이벤트를 구분하는 key
+   */
+  public void addDailyRentedCount(Long bookId, LocalDate rentalDate, String eventKey) {
+    String dailyKey = getDailyKey(rentalDate);
+    byte[] key = RedisSerializer.string().serialize(dailyKey);
+    long expireAt = rentalDate.plusDays(DAILY_RETENTION_DAYS).atStartOfDay(SCHEDULE_ZONE)
+        .toEpochSecond();
+
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      RedisIncrementOnce.zIncrBy(connection, dailyKey, String.valueOf(bookId), 1, eventKey);
+      connection.keyCommands().expireAt(key, expireAt);
+      return null;
+    });
+  }
+
+  /**
+   * 기준일부터 집계 구간만큼의 일별 대여 수를 하나의 pipeline 으로 읽어 감쇠 가중치와 함께 합산하고, 인기 도서 sorted set 을 다시 만든다.
+   * 임시 키에 합산 결과를 쓴 뒤 RENAME 으로 교체하므로 조회 중에 비어있는 순위가 보이지 않는다.
+   *
+   * @param window 집계 구간
+   * @param today  기준일
+   */
+  @SuppressWarnings("unchecked")
+  public void mergeTrendingRanking(TrendingWindow window, LocalDate today) {
+    RedisSerializer<String> serializer = RedisSerializer.string();
+    byte[] destKey = serializer.serialize(window.getKey());
+    byte[] tempKey = serializer.serialize(window.getKey() + MERGE_TEMP_SUFFIX);
+
+    List<Object> dailyCounts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      for (int i = 0; i < window.getDays(); i++) {
+        connection.zSetCommands().zRangeWithScores(
+            serializer.serialize(getDailyKey(today.minusDays(i))), 0, -1);
+      }
+      return null;
+    }, serializer);
+
+    Map<String, Double> scores = new HashMap<>();
+    for (int i = 0; i < dailyCounts.size(); i++) {
+      double weight = window.getWeight(i);
+      for (TypedTuple<String> dailyCount : (Set<TypedTuple<String>>) dailyCounts.get(i)) {
+        scores.merge(dailyCount.getValue(), dailyCount.getScore() * weight, Double::sum);
+      }
+    }
+
+    if (scores.isEmpty()) {
+      redisTemplate.delete(window.getKey());
+      return;
+    }
+
+    List<Tuple> tuples = scores.entrySet().stream()
+        .map(entry -> new DefaultTuple(serializer.serialize(entry.getKey()), entry.getValue()))
+        .collect(Collectors.toList());
+
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      connection.keyCommands().del(tempKey);
+      for (int from = 0; from < tuples.size(); from += MERGE_WRITE_BATCH_SIZE) {
+        int to = Math.min(from + MERGE_WRITE_BATCH_SIZE, tuples.size());
+        connection.zSetCommands().zAdd(tempKey, new LinkedHashSet<>(tuples.subList(from, to)));
+      }
+      connection.keyCommands().rename(tempKey, destKey);
+      return null;
+    });
+  }
+
+  public Set<TypedTuple<String>> getTrendingRanks(TrendingWindow window, long start, long end) {
+    return redisTemplate.opsForZSet().reverseRangeWithScores(window.getKey(), start, end);
+  }
+
+  public long getTrendingSize(TrendingWindow window) {
+    Long size = redisTemplate.opsForZSet().zCard(window.getKey());
+
+    return size == null ? 0L : size;
+  }
+
+  /**
+   * 도서의 인기 순위와 점수를 하나의 pipeline 으로 조회한다.
+   *
+   * @param window 집계 구간
+   * @param bookId 도서 id
+   * @return 1부터 시작하는 순위 정보, 순위에 없는 도서라면 null
+   */
+  public TrendingRank getTrendingRank(TrendingWindow window, Long bookId) {
+    RedisSerializer<String> serializer = RedisSerializer.string();
+    byte[] key = serializer.serialize(window.getKey());
+    byte[] member = serializer.serialize(String.valueOf(bookId));
+
+    List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      connection.zSetCommands().zRevRank(key, member);
+      connection.zSetCommands().zScore(key, member);
+      return null;
+    });
+
+    Long rank = (Long) results.get(0);
+    Double score = (Double) results.get(1);
+
+    if (rank == null || score == null) {
+      return null;
+    }
+
+    return TrendingRank.of(rank + 1, bookId, score);
+  }
+
+  private String getDailyKey(LocalDate date) {
+    return DAILY_RENTED_COUNT_PREFIX + "{" + date.format(DateTimeFormatter.ISO_DATE) + "}";
+  }
+}
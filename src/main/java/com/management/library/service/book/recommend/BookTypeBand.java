@@ -0,0 +1,29 @@
+package com.management.library.service.book.recommend;
+
+/**
+ * 도서 분류 번호를 BAND_SIZE 단위 구간으로 묶는다. 분류 구간마다 대여 횟수 sorted set(book-rented-count:type:{band}) 을 따로
+ * 유지하고, 분류 번호 범위로 조회할 때는 범위에 걸친 구간들의 상위 도서를 합친다. 도서는 하나의 구간에만 속하므로 구간 키를 서버에서 합칠
+ * 필요가 없으며, 구간 번호를 hash tag 로 사용해 redis cluster 에서 구간 키들이 여러 slot 에 나뉘어 놓인다. 합친 결과는 구간 범위를 hash
+ * tag 로 사용하는 키(book-rented-count:type:merged:{startBand-endBand}) 에 짧은 시간 동안 캐싱한다.
+ */
+public final class BookTypeBand {
+
+  public static final int BAND_SIZE = 10;
+  private static final String TYPE_RENTED_COUNT_PREFIX = "book-rented-count:type:";
+  private static final String TYPE_RENTED_COUNT_MERGED_PREFIX = "book-rented-count:type:merged:";
+
+  private BookTypeBand() {
+  }
+
+  public static int of(int typeCode) {
+    return typeCode / BAND_SIZE;
+  }
+
+  public static String getRentedCountKey(int band) {
+    return TYPE_RENTED_COUNT_PREFIX + "{" + band + "}";
+  }
+
+  public static String getMergedRentedCountKey(int startBand, int endBand) {
+    return TYPE_RENTED_COUNT_MERGED_PREFIX + "{" + startBand + "-" + endBand + "}";
+  }
+}
@@ -0,0 +1,24 @@
+package com.management.library.service.book.recommend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 인기 도서 순위 집계 구간. 일별 대여 수에 0.5^(경과 일수 / 반감기) 가중치를 곱해 합산하므로 최근 대여일수록 큰 비중을 가진다. 구간 키는
+ * 합산 중의 임시 키와 RENAME 으로 교체되므로 구간 이름을 hash tag 로 사용해 임시 키와 같은 slot 에 놓는다.
+ */
+@Getter
+@AllArgsConstructor
+public enum TrendingWindow {
+  WEEKLY("book-trending:{7d}", 7, 2),
+  MONTHLY("book-trending:{30d}", 30, 7);
+
+  private final String key;
+  private final int days;
+  private final int halfLifeDays;
+
+  // elapsedDays 일 전 대여 수에 곱할 가중치
+  public double getWeight(int elapsedDays) {
+    return Math.pow(0.5, (double) elapsedDays / halfLifeDays);
+  }
+}
@@ -1,5 +1,6 @@
 package com.management.library.service.book.recommend.dto;
 
+import com.management.library.service.review.dto.BookReviewRateDto;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -36,19 +37,76 @@ public class BookRecommendResponseDto {
   @Setter
   @NoArgsConstructor
   public static class ReviewRate{
+    private Long bookId;
     private String bookTitle;
     private String reviewRate;
+    private String reviewCount;
 
     @Builder
-    private ReviewRate(String bookTitle, String reviewRate) {
+    private ReviewRate(Long bookId, String bookTitle, String reviewRate, String reviewCount) {
+      this.bookId = bookId;
       this.bookTitle = bookTitle;
       this.reviewRate = reviewRate;
+      this.reviewCount = reviewCount;
     }
 
-    public static ReviewRate of(TypedTuple<String> tuple){
+    public static ReviewRate of(BookReviewRateDto reviewRate){
       return ReviewRate.builder()
-          .bookTitle(tuple.getValue())
-          .reviewRate(String.valueOf(tuple.getScore()))
+          .bookId(reviewRate.getBookId())
+          .bookTitle(reviewRate.getBookTitle())
+          .reviewRate(String.valueOf(reviewRate.calculateAverageRate()))
+          .reviewCount(String.valueOf(reviewRate.getReviewCount()))
+          .build();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  public static class TrendingRank{
+    private long rank;
+    private Long bookId;
+    private String bookTitle;
+    private String score;
+
+    @Builder
+    private TrendingRank(long rank, Long bookId, String bookTitle, String score) {
+      this.rank = rank;
+      this.bookId = bookId;
+      this.bookTitle = bookTitle;
+      this.score = score;
+    }
+
+    // 점수는 소수점 둘째 자리까지 반올림
+    public static TrendingRank of(long rank, Long bookId, double score){
+      return TrendingRank.builder()
+          .rank(rank)
+          .bookId(bookId)
+          .score(String.valueOf(Math.round(score * 100) / 100.0))
+          .build();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  public static class SimilarBook{
+    private Long bookId;
+    private String bookTitle;
+    private String coRentedCount;
+
+    @Builder
+    private SimilarBook(Long bookId, String bookTitle, String coRentedCount) {
+      this.bookId = bookId;
+      this.bookTitle = bookTitle;
+      this.coRentedCount = coRentedCount;
+    }
+
+    public static SimilarBook of(TypedTuple<String> tuple, String bookTitle){
+      return SimilarBook.builder()
+          .bookId(Long.valueOf(tuple.getValue()))
+          .bookTitle(bookTitle)
+          .coRentedCount(String.valueOf(tuple.getScore().longValue()))
           .build();
     }
   }
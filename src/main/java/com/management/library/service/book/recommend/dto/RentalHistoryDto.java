@@ -0,0 +1,24 @@
+package com.management.library.service.book.recommend.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 함께 대여된 도서 집계에 사용하는 대여 기록. 대여 id, 회원 id, 도서 id 만 조회한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class RentalHistoryDto {
+
+  private Long rentalId;
+  private Long memberId;
+  private Long bookId;
+
+  public RentalHistoryDto(Long rentalId, Long memberId, Long bookId) {
+    this.rentalId = rentalId;
+    this.memberId = memberId;
+    this.bookId = bookId;
+  }
+}
@@ -0,0 +1,58 @@
+package com.management.library.service.event;
+
+import com.management.library.service.scheduled.ScheduledLease;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * outbox relay 와 Stream 소비자를 주기적으로 수행한다. relay 는 이벤트 순서를 유지하도록 lease 를 얻은 인스턴스 하나에서만 수행하고,
+ * 소비자는 모든 인스턴스에서 수행하여 소비자 그룹 안에서 이벤트를 나누어 처리한다.
+ * <p>
+ * event-stream.scheduling.enabled=false 로 끌 수 있으며, 테스트에서는 relay 와 소비를 직접 호출한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "event-stream.scheduling.enabled", havingValue = "true",
+    matchIfMissing = true)
+public class EventStreamScheduler {
+
+  private static final int OUTBOX_RETENTION_DAYS = 7;
+
+  private final OutboxRelayService outboxRelayService;
+  private final LibraryEventConsumer libraryEventConsumer;
+
+  @Scheduled(fixedDelay = 1000L)
+  @ScheduledLease(leaseSeconds = 60L, minHoldSeconds = 0L, recordRun = false)
+  public void relay() {
+    int count;
+    do {
+      count = outboxRelayService.relay();
+    } while (count > 0);
+  }
+
+  @Scheduled(fixedDelay = 1000L)
+  @ScheduledLease(exclusive = false)
+  public void consume() {
+    libraryEventConsumer.consumeAll();
+  }
+
+  // 모든 소비자 그룹이 ack 한 이벤트를 Stream 에서 삭제 - 1분마다 수행
+  @Scheduled(fixedDelay = 60_000L)
+  @ScheduledLease(leaseSeconds = 60L, minHoldSeconds = 0L, recordRun = false)
+  public void trimAcknowledged() {
+    libraryEventConsumer.trimAcknowledged();
+  }
+
+  // 발행된 지 7일이 지난 outbox 이벤트 삭제 - 매일 05시 00분 수행
+  @Scheduled(cron = "0 0 5 * * *", zone = "Asia/Seoul")
+  public void purgePublishedEvents() {
+    int count = outboxRelayService.purgePublished(
+        LocalDateTime.now().minusDays(OUTBOX_RETENTION_DAYS));
+    log.info("published outbox events purged : count = {}", count);
+  }
+}
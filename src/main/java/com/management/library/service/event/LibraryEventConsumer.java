@@ -0,0 +1,309 @@
+package com.management.library.service.event;
+
+import static com.management.library.service.event.OutboxRelayService.EVENT_ID_FIELD;
+import static com.management.library.service.event.OutboxRelayService.EVENT_STREAM_KEY;
+import static com.management.library.service.event.OutboxRelayService.EVENT_TYPE_FIELD;
+import static com.management.library.service.event.OutboxRelayService.PAYLOAD_FIELD;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.library.domain.type.OutboxEventType;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoGroup;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+/**
+ * 소비자 그룹별로 Redis Stream 의 이벤트를 읽어 handler 로 처리하고 ack 한다.
+ * <p>
+ * relay 는 같은 이벤트를 두 번 발행할 수 있고 ack 전에 실패한 이벤트는 다시 전달되므로, handler 는 모든 쓰기를 다시 실행해도 결과가 같도록
+ * 만들고 증가 명령은 그룹과 이벤트 id 로 만든 event key 로 한 번만 반영한다.
+ * <p>
+ * ack 되지 않은 이벤트는 claimMinIdle 이상 다시 전달되지 않았다면 어느 소비자의 것이든 XCLAIM 으로 가져와 다시 처리하므로, 재시작하거나 죽은
+ * 인스턴스의 이벤트도 처리된다. MAX_DELIVERY_COUNT 번 전달되어도 처리하지 못한 이벤트는 dead letter Stream 으로 옮기고 ack 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LibraryEventConsumer {
+
+  public static final String DEAD_LETTER_STREAM_KEY = "library-events-dead-letter";
+  public static final String GROUP_FIELD = "group";
+  public static final String SOURCE_ID_FIELD = "source-id";
+
+  private static final String CONSUMER_NAME = ManagementFactory.getRuntimeMXBean().getName();
+  private static final long READ_COUNT = 100L;
+  private static final long MAX_DELIVERY_COUNT = 5L;
+  private static final String STREAM_START_OFFSET = "0";
+
+  private final List<LibraryEventHandler> handlers;
+  private final RedisTemplate<String, String> redisTemplate;
+  private final ObjectMapper objectMapper;
+
+  // 처리 중인 이벤트를 다른 인스턴스가 가져가지 않도록 이벤트 하나를 처리하는 시간보다 충분히 길게 둔다.
+  @Value("${event-stream.claim-min-idle:1m}")
+  private Duration claimMinIdle;
+
+  /**
+   * 모든 소비자 그룹에서 더 이상 읽을 이벤트가 없을 때까지 이벤트를 처리한다.
+   *
+   * @return 처리한 이벤트 수
+   */
+  public int consumeAll() {
+    int totalCount = 0;
+
+    for (LibraryEventHandler handler : handlers) {
+      int count;
+      do {
+        count = consume(handler);
+        totalCount += count;
+      } while (count > 0);
+    }
+
+    return totalCount;
+  }
+
+  /**
+   * 소비자 그룹의 이벤트를 한 묶음 처리한다. 오래 ack 되지 않은 이전 이벤트를 먼저 가져와 다시 처리하고, 새 이벤트를 읽는다.
+   *
+   * @param handler 소비자 그룹의 handler
+   * @return 처리한 이벤트 수
+   */
+  public int consume(LibraryEventHandler handler) {
+    List<ByteRecord> records = new ArrayList<>(claimPending(handler.getGroup()));
+    records.addAll(read(handler.getGroup()));
+
+    List<RecordId> acknowledged = new ArrayList<>();
+    for (ByteRecord record : records) {
+      if (process(handler, record)) {
+        acknowledged.add(record.getId());
+      }
+    }
+
+    acknowledge(handler.getGroup(), acknowledged);
+
+    return acknowledged.size();
+  }
+
+  /**
+   * 모든 소비자 그룹이 ack 한 이벤트를 Stream 에서 지운다. 그룹마다 ack 되지 않은 가장 오래된 이벤트, 없다면 마지막으로 전달한 이벤트의 다음 id 를
+   * 구하고 그 중 가장 오래된 id 이전의 이벤트만 XTRIM MINID 로 지우므로, 늦게 처리하는 그룹의 이벤트가 유실되지 않는다. 아직 Stream 을 읽지 않은
+   * 그룹이 있다면 지우지 않는다.
+   *
+   * @return 지운 이벤트 수
+   */
+  public long trimAcknowledged() {
+    byte[] streamKey = RedisSerializer.string().serialize(EVENT_STREAM_KEY);
+
+    Long trimmed = redisTemplate.execute((RedisCallback<Long>) connection -> {
+      if (!Boolean.TRUE.equals(connection.keyCommands().exists(streamKey))) {
+        return 0L;
+      }
+
+      Map<String, XInfoGroup> groups = new HashMap<>();
+      connection.streamCommands().xInfoGroups(streamKey)
+          .forEach(group -> groups.put(group.groupName(), group));
+
+      RecordId minId = null;
+      for (LibraryEventHandler handler : handlers) {
+        XInfoGroup group = groups.get(handler.getGroup());
+        if (group == null) {
+          return 0L;
+        }
+
+        // ack 되지 않은 이벤트가 없다면 마지막으로 전달한 이벤트까지 지운다.
+        RecordId lastDeliveredId = RecordId.of(group.lastDeliveredId());
+        RecordId groupMinId = RecordId.of(lastDeliveredId.getTimestamp(),
+            lastDeliveredId.getSequence() + 1);
+        if (group.pendingCount() > 0) {
+          groupMinId = connection.streamCommands().xPending(streamKey, handler.getGroup())
+              .minRecordId();
+        }
+
+        if (minId == null || compare(groupMinId, minId) < 0) {
+          minId = groupMinId;
+        }
+      }
+
+      if (minId == null) {
+        return 0L;
+      }
+
+      // spring data redis 가 XTRIM 의 MINID 옵션을 지원하지 않아 명령을 직접 실행한다.
+      return (Long) connection.execute("XTRIM", streamKey,
+          RedisSerializer.string().serialize("MINID"),
+          RedisSerializer.string().serialize(minId.getValue()));
+    });
+
+    return trimmed == null ? 0L : trimmed;
+  }
+
+  // claimMinIdle 이상 다시 전달되지 않은 이벤트를 이 소비자로 가져온다. 전달 횟수를 넘긴 이벤트는 가져온 뒤 dead letter Stream 으로 옮긴다.
+  private List<ByteRecord> claimPending(String group) {
+    byte[] streamKey = RedisSerializer.string().serialize(EVENT_STREAM_KEY);
+
+    RedisCallback<List<ByteRecord>> claimCallback = connection -> {
+      if (!Boolean.TRUE.equals(connection.keyCommands().exists(streamKey))) {
+        return List.of();
+      }
+
+      PendingMessages pendingMessages;
+      try {
+        pendingMessages = connection.streamCommands()
+            .xPending(streamKey, group, Range.unbounded(), READ_COUNT);
+      } catch (RedisSystemException e) {
+        if (!isNoGroupError(e)) {
+          throw e;
+        }
+        return List.of();
+      }
+
+      Map<RecordId, Long> deliveryCounts = new HashMap<>();
+      for (PendingMessage pendingMessage : pendingMessages) {
+        if (pendingMessage.getElapsedTimeSinceLastDelivery().compareTo(claimMinIdle) >= 0) {
+          deliveryCounts.put(pendingMessage.getId(), pendingMessage.getTotalDeliveryCount());
+        }
+      }
+
+      if (deliveryCounts.isEmpty()) {
+        return List.of();
+      }
+
+      // 다른 인스턴스가 먼저 가져간 이벤트는 idle 시간이 초기화되어 가져오지 않는다.
+      List<ByteRecord> records = connection.streamCommands().xClaim(streamKey, group,
+          CONSUMER_NAME, claimMinIdle, deliveryCounts.keySet().toArray(new RecordId[0]));
+
+      List<ByteRecord> retryRecords = new ArrayList<>();
+      for (ByteRecord record : records) {
+        if (deliveryCounts.get(record.getId()) >= MAX_DELIVERY_COUNT) {
+          moveToDeadLetter(connection, group, record);
+        } else {
+          retryRecords.add(record);
+        }
+      }
+      return retryRecords;
+    };
+
+    List<ByteRecord> claimed = redisTemplate.execute(claimCallback);
+    return claimed == null ? List.of() : claimed;
+  }
+
+  private void moveToDeadLetter(RedisConnection connection, String group, ByteRecord record) {
+    RedisSerializer<String> serializer = RedisSerializer.string();
+    byte[] streamKey = serializer.serialize(EVENT_STREAM_KEY);
+
+    Map<byte[], byte[]> fields = new HashMap<>(record.getValue());
+    fields.put(serializer.serialize(GROUP_FIELD), serializer.serialize(group));
+    fields.put(serializer.serialize(SOURCE_ID_FIELD),
+        serializer.serialize(record.getId().getValue()));
+
+    connection.streamCommands().xAdd(StreamRecords.rawBytes(fields)
+        .withStreamKey(serializer.serialize(DEAD_LETTER_STREAM_KEY)));
+    connection.streamCommands().xAck(streamKey, group, record.getId());
+
+    log.error("library event moved to dead letter : group = {}, eventId = {}", group,
+        toStringMap(record).get(EVENT_ID_FIELD));
+  }
+
+  private List<ByteRecord> read(String group) {
+    byte[] streamKey = RedisSerializer.string().serialize(EVENT_STREAM_KEY);
+    // 하나의 StreamOffset 을 가변 인자로 넘기며 생기는 제네릭 배열 경고를 막는다.
+    @SuppressWarnings("unchecked")
+    RedisCallback<List<ByteRecord>> readCallback = connection -> connection.streamCommands()
+        .xReadGroup(Consumer.from(group, CONSUMER_NAME), StreamReadOptions.empty().count(READ_COUNT),
+            StreamOffset.create(streamKey, ReadOffset.lastConsumed()));
+
+    try {
+      List<ByteRecord> records = redisTemplate.execute(readCallback);
+      return records == null ? List.of() : records;
+    } catch (RedisSystemException e) {
+      if (!isNoGroupError(e)) {
+        throw e;
+      }
+
+      // Stream 이나 소비자 그룹이 없다면 Stream 의 처음부터 읽는 그룹을 만든다.
+      createGroup(streamKey, group);
+      List<ByteRecord> records = redisTemplate.execute(readCallback);
+      return records == null ? List.of() : records;
+    }
+  }
+
+  private boolean process(LibraryEventHandler handler, ByteRecord record) {
+    Map<String, String> fields = toStringMap(record);
+    String eventId = fields.get(EVENT_ID_FIELD);
+
+    try {
+      OutboxEventType eventType = OutboxEventType.valueOf(fields.get(EVENT_TYPE_FIELD));
+      Object payload = objectMapper.readValue(fields.get(PAYLOAD_FIELD),
+          eventType.getPayloadType());
+
+      handler.handle(eventType, payload, handler.getGroup() + ":" + eventId);
+      return true;
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.error("library event handle failed : group = {}, eventId = {}", handler.getGroup(),
+          eventId, e);
+      return false;
+    }
+  }
+
+  private void acknowledge(String group, List<RecordId> recordIds) {
+    if (recordIds.isEmpty()) {
+      return;
+    }
+
+    redisTemplate.execute((RedisCallback<Long>) connection -> connection.streamCommands()
+        .xAck(RedisSerializer.string().serialize(EVENT_STREAM_KEY), group,
+            recordIds.toArray(new RecordId[0])));
+  }
+
+  private void createGroup(byte[] streamKey, String group) {
+    try {
+      redisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands()
+          .xGroupCreate(streamKey, group, ReadOffset.from(STREAM_START_OFFSET), true));
+    } catch (RedisSystemException e) {
+      // 다른 인스턴스가 먼저 그룹을 만든 경우
+      if (!String.valueOf(e.getMostSpecificCause().getMessage()).contains("BUSYGROUP")) {
+        throw e;
+      }
+    }
+  }
+
+  private boolean isNoGroupError(RedisSystemException e) {
+    return String.valueOf(e.getMostSpecificCause().getMessage()).contains("NOGROUP");
+  }
+
+  private int compare(RecordId id, RecordId other) {
+    int compared = Long.compare(id.getTimestamp(), other.getTimestamp());
+    return compared != 0 ? compared : Long.compare(id.getSequence(), other.getSequence());
+  }
+
+  private Map<String, String> toStringMap(ByteRecord record) {
+    RedisSerializer<String> serializer = RedisSerializer.string();
+    Map<String, String> fields = new HashMap<>();
+    record.getValue().forEach((field, value) ->
+        fields.put(serializer.deserialize(field), serializer.deserialize(value)));
+    return fields;
+  }
+}
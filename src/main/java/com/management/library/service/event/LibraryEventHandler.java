@@ -0,0 +1,23 @@
+package com.management.library.service.event;
+
+import com.management.library.domain.type.OutboxEventType;
+
+/**
+ * Redis Stream 의 도메인 이벤트를 처리하는 소비자. 소비자 그룹마다 하나의 handler 를 두며, 각 그룹은 Stream 의 모든 이벤트를 독립적으로
+ * 전달받는다.
+ */
+public interface LibraryEventHandler {
+
+  // 소비자 그룹 이름
+  String getGroup();
+
+  /**
+   * 이벤트를 처리한다. 처리 중 예외가 발생하면 이벤트는 ack 되지 않고 다시 전달되며, 앞서 반영한 쓰기도 다시 실행된다. 따라서 모든 쓰기는
+   * 다시 실행해도 결과가 같아야 하며, 증가 명령은 eventKey 로 한 번만 반영한다.
+   *
+   * @param eventType 이벤트 종류
+   * @param payload   eventType 의 payloadType 으로 역직렬화된 이벤트 내용
+   * @param eventKey  소비자 그룹 안에서 이벤트를 구분하는 key
+   */
+  void handle(OutboxEventType eventType, Object payload, String eventKey);
+}
@@ -0,0 +1,38 @@
+package com.management.library.service.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.library.domain.outbox.OutboxEvent;
+import com.management.library.domain.type.OutboxEventType;
+import com.management.library.repository.outbox.OutboxEventRepository;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 도메인 이벤트를 outbox 테이블에 저장한다. 이벤트는 반드시 이벤트를 발생시킨 트랜잭션 안에서 저장되어야 하므로 트랜잭션 밖에서 호출하면 예외가
+ * 발생한다. 트랜잭션이 롤백되면 이벤트도 함께 사라지므로 Redis 카운터가 DB 와 어긋나지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxEventPublisher {
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final ObjectMapper objectMapper;
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void publish(OutboxEventType eventType, Object payload) {
+    if (!eventType.getPayloadType().isInstance(payload)) {
+      throw new IllegalArgumentException("invalid payload type for " + eventType);
+    }
+
+    try {
+      outboxEventRepository.save(OutboxEvent.of(eventType,
+          objectMapper.writeValueAsString(payload), LocalDateTime.now()));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("event payload serialize failed : " + eventType, e);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.management.library.service.event;
+
+import com.management.library.domain.outbox.OutboxEvent;
+import com.management.library.repository.outbox.OutboxEventRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 발행되지 않은 outbox 이벤트를 id 순서대로 BATCH_SIZE 개씩 읽어 하나의 pipeline 으로 Redis Stream 에 추가하고 발행 시각을 기록한다.
+ * <p>
+ * Stream 추가 후 발행 시각을 기록하기 전에 실패하면 같은 이벤트가 다시 발행될 수 있으므로, 소비자는 이벤트 id 로 중복을 걸러야 한다.
+ * 길이 제한 없이 추가하며, 모든 소비자 그룹이 ack 한 이벤트는 LibraryEventConsumer 가 지운다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxRelayService {
+
+  public static final String EVENT_STREAM_KEY = "library-events";
+  public static final String EVENT_ID_FIELD = "event-id";
+  public static final String EVENT_TYPE_FIELD = "event-type";
+  public static final String PAYLOAD_FIELD = "payload";
+
+  private static final int BATCH_SIZE = 500;
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final RedisTemplate<String, String> redisTemplate;
+
+  /**
+   * 발행되지 않은 이벤트를 한 묶음 발행한다.
+   *
+   * @return 발행한 이벤트 수
+   */
+  @Transactional
+  public int relay() {
+    List<OutboxEvent> events = outboxEventRepository.findAllByPublishedAtIsNullOrderByIdAsc(
+        PageRequest.of(0, BATCH_SIZE));
+
+    if (events.isEmpty()) {
+      return 0;
+    }
+
+    RedisSerializer<String> serializer = RedisSerializer.string();
+    byte[] streamKey = serializer.serialize(EVENT_STREAM_KEY);
+
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      for (OutboxEvent event : events) {
+        Map<byte[], byte[]> fields = Map.of(
+            serializer.serialize(EVENT_ID_FIELD), serializer.serialize(String.valueOf(event.getId())),
+            serializer.serialize(EVENT_TYPE_FIELD), serializer.serialize(event.getEventType().name()),
+            serializer.serialize(PAYLOAD_FIELD), serializer.serialize(event.getPayload())
+        );
+
+        connection.streamCommands()
+            .xAdd(StreamRecords.rawBytes(fields).withStreamKey(streamKey));
+      }
+      return null;
+    }, serializer);
+
+    outboxEventRepository.markPublished(
+        events.stream().map(OutboxEvent::getId).collect(Collectors.toList()),
+        LocalDateTime.now());
+
+    return events.size();
+  }
+
+  /**
+   * 발행된 지 오래된 이벤트를 outbox 테이블에서 지운다.
+   *
+   * @param publishedBefore 이 시각 이전에 발행된 이벤트를 지운다.
+   * @return 지운 이벤트 수
+   */
+  @Transactional
+  public int purgePublished(LocalDateTime publishedBefore) {
+    return outboxEventRepository.deletePublishedBefore(publishedBefore);
+  }
+}
@@ -0,0 +1,44 @@
+package com.management.library.service.event.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BookRentedEvent {
+
+  private String memberCode;
+  private Long bookId;
+  private String bookTitle;
+  private int typeCode;
+  private LocalDate rentalDate;
+  private LocalDateTime occurredAt;
+
+  @Builder
+  private BookRentedEvent(String memberCode, Long bookId, String bookTitle, int typeCode,
+      LocalDate rentalDate, LocalDateTime occurredAt) {
+    this.memberCode = memberCode;
+    this.bookId = bookId;
+    this.bookTitle = bookTitle;
+    this.typeCode = typeCode;
+    this.rentalDate = rentalDate;
+    this.occurredAt = occurredAt;
+  }
+
+  public static BookRentedEvent of(String memberCode, Long bookId, String bookTitle, int typeCode,
+      LocalDate rentalDate, LocalDateTime occurredAt) {
+    return BookRentedEvent.builder()
+        .memberCode(memberCode)
+        .bookId(bookId)
+        .bookTitle(bookTitle)
+        .typeCode(typeCode)
+        .rentalDate(rentalDate)
+        .occurredAt(occurredAt)
+        .build();
+  }
+}
@@ -0,0 +1,32 @@
+package com.management.library.service.event.dto;
+
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BookReturnedEvent {
+
+  private String memberCode;
+  private Long bookId;
+  private LocalDateTime occurredAt;
+
+  @Builder
+  private BookReturnedEvent(String memberCode, Long bookId, LocalDateTime occurredAt) {
+    this.memberCode = memberCode;
+    this.bookId = bookId;
+    this.occurredAt = occurredAt;
+  }
+
+  public static BookReturnedEvent of(String memberCode, Long bookId, LocalDateTime occurredAt) {
+    return BookReturnedEvent.builder()
+        .memberCode(memberCode)
+        .bookId(bookId)
+        .occurredAt(occurredAt)
+        .build();
+  }
+}
@@ -0,0 +1,43 @@
+package com.management.library.service.event.dto;
+
+import com.management.library.domain.book.BookReview;
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReviewCreatedEvent {
+
+  private Long reviewId;
+  private String reviewTitle;
+  private Long bookId;
+  private String bookTitle;
+  private int reviewRate;
+  private LocalDateTime occurredAt;
+
+  @Builder
+  private ReviewCreatedEvent(Long reviewId, String reviewTitle, Long bookId, String bookTitle,
+      int reviewRate, LocalDateTime occurredAt) {
+    this.reviewId = reviewId;
+    this.reviewTitle = reviewTitle;
+    this.bookId = bookId;
+    this.bookTitle = bookTitle;
+    this.reviewRate = reviewRate;
+    this.occurredAt = occurredAt;
+  }
+
+  public static ReviewCreatedEvent of(BookReview review, LocalDateTime occurredAt) {
+    return ReviewCreatedEvent.builder()
+        .reviewId(review.getId())
+        .reviewTitle(review.getReviewTitle())
+        .bookId(review.getBook().getId())
+        .bookTitle(review.getBook().getBookInfo().getTitle())
+        .reviewRate(review.getRate())
+        .occurredAt(occurredAt)
+        .build();
+  }
+}
@@ -0,0 +1,53 @@
+package com.management.library.service.event.handler;
+
+import com.management.library.domain.type.OutboxEventType;
+import com.management.library.service.book.recommend.BookTrendingRedisService;
+import com.management.library.service.event.LibraryEventHandler;
+import com.management.library.service.event.dto.BookRentedEvent;
+import com.management.library.service.event.dto.ReviewCreatedEvent;
+import com.management.library.service.rental.RentalRedisService;
+import com.management.library.service.review.BookReviewRedisService;
+import com.management.library.service.review.BookReviewSummaryCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 대여, 리뷰 이벤트로 도서 대여 순위, 기간별 인기 도서 순위, 도서 평점 통계를 갱신하고 캐시된 리뷰 요약 정보를 삭제한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RankingEventHandler implements LibraryEventHandler {
+
+  private static final String GROUP = "ranking";
+
+  private final RentalRedisService rentalRedisService;
+  private final BookTrendingRedisService bookTrendingRedisService;
+  private final BookReviewRedisService bookReviewRedisService;
+  private final BookReviewSummaryCacheService bookReviewSummaryCacheService;
+
+  @Override
+  public String getGroup() {
+    return GROUP;
+  }
+
+  @Override
+  public void handle(OutboxEventType eventType, Object payload, String eventKey) {
+    switch (eventType) {
+      case BOOK_RENTED:
+        BookRentedEvent rentedEvent = (BookRentedEvent) payload;
+        rentalRedisService.addBookRentedCount(rentedEvent.getBookTitle(),
+            rentedEvent.getTypeCode(), eventKey);
+        bookTrendingRedisService.addDailyRentedCount(rentedEvent.getBookId(),
+            rentedEvent.getRentalDate(), eventKey);
+        break;
+      case REVIEW_CREATED:
+        ReviewCreatedEvent reviewEvent = (ReviewCreatedEvent) payload;
+        bookReviewRedisService.addReviewRate(reviewEvent.getBookId(), reviewEvent.getBookTitle(),
+            reviewEvent.getReviewRate(), eventKey);
+        bookReviewSummaryCacheService.evict(reviewEvent.getBookId());
+        break;
+      default:
+        break;
+    }
+  }
+}
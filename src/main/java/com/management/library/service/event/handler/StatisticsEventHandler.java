@@ -0,0 +1,49 @@
+package com.management.library.service.event.handler;
+
+import com.management.library.domain.type.OutboxEventType;
+import com.management.library.service.event.LibraryEventHandler;
+import com.management.library.service.event.dto.BookRentedEvent;
+import com.management.library.service.event.dto.BookReturnedEvent;
+import com.management.library.service.event.dto.ReviewCreatedEvent;
+import com.management.library.service.statistics.StatisticsRedisService;
+import com.management.library.service.statistics.StatisticsType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 대여, 반납, 리뷰 이벤트로 실시간 통계 카운터를 갱신한다. 카운터는 이벤트가 발생한 시각의 구간에 반영된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatisticsEventHandler implements LibraryEventHandler {
+
+  private static final String GROUP = "statistics";
+
+  private final StatisticsRedisService statisticsRedisService;
+
+  @Override
+  public String getGroup() {
+    return GROUP;
+  }
+
+  @Override
+  public void handle(OutboxEventType eventType, Object payload, String eventKey) {
+    switch (eventType) {
+      case BOOK_RENTED:
+        BookRentedEvent rentedEvent = (BookRentedEvent) payload;
+        statisticsRedisService.incrementRental(rentedEvent.getMemberCode(),
+            rentedEvent.getOccurredAt(), eventKey);
+        break;
+      case BOOK_RETURNED:
+        statisticsRedisService.increment(StatisticsType.RETURN,
+            ((BookReturnedEvent) payload).getOccurredAt(), eventKey);
+        break;
+      case REVIEW_CREATED:
+        statisticsRedisService.increment(StatisticsType.REVIEW,
+            ((ReviewCreatedEvent) payload).getOccurredAt(), eventKey);
+        break;
+      default:
+        break;
+    }
+  }
+}
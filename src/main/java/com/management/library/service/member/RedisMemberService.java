@@ -1,21 +1,65 @@
 package com.management.library.service.member;
 
+import static com.management.library.service.redis.RedisCircuitBreakerRegistry.MEMBER;
+
+import com.management.library.service.redis.RedisCircuitBreakerRegistry;
+import com.management.library.service.redis.RedisCommandBuffer;
+import com.management.library.service.redis.RedisFallbackService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+/**
+ * 회원 번호를 redis 카운터로 발급한다. redis 를 사용할 수 없다면 DB 의 member_code_sequences 행을 잠그고 다음 번호를 발급하므로 여러
+ * 인스턴스가 같은 번호를 발급하지 않는다. redis 가 회복되면 카운터를 발급한 번호까지 앞당겨 같은 번호가 다시 발급되지 않도록 한다.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class RedisMemberService {
 
   private final RedisTemplate<String, String> redisTemplate;
+  private final RedisCommandBuffer redisCommandBuffer;
+  private final RedisCircuitBreakerRegistry redisCircuitBreakerRegistry;
+  private final RedisFallbackService redisFallbackService;
   private static final String INIT_MEMBER_CODE = "100000000";
+  private static final String MEMBER_CODE_KEY = "memberCode";
+  private static final RedisScript<String> ADVANCE_MEMBER_CODE_SCRIPT = RedisScript.of(
+      new ClassPathResource("scripts/advance-member-code.lua"), String.class);
 
   public Long getMemberCode(){
-    redisTemplate.opsForValue().setIfAbsent("memberCode", INIT_MEMBER_CODE);
+    return redisCircuitBreakerRegistry.get(MEMBER).execute(() -> {
+      redisTemplate.opsForValue().setIfAbsent(MEMBER_CODE_KEY, INIT_MEMBER_CODE);
+
+      return redisTemplate.opsForValue().increment(MEMBER_CODE_KEY, 1);
+    }, this::issueMemberCodeFromDatabase);
+  }
+
+  private Long issueMemberCodeFromDatabase() {
+    long memberCode = issueMemberCodeWithLock();
+
+    RedisSerializer<String> serializer = RedisSerializer.string();
+    byte[] script = serializer.serialize(ADVANCE_MEMBER_CODE_SCRIPT.getScriptAsString());
+    redisCommandBuffer.execute(connection -> connection.scriptingCommands()
+        .eval(script, ReturnType.VALUE, 1,
+            serializer.serialize(MEMBER_CODE_KEY), serializer.serialize(String.valueOf(memberCode))));
+
+    log.warn("member code issued without redis : memberCode = {}", memberCode);
+    return memberCode;
+  }
 
-    return redisTemplate.opsForValue().increment("memberCode", 1);
+  private long issueMemberCodeWithLock() {
+    try {
+      return redisFallbackService.issueMemberCode();
+    } catch (DataIntegrityViolationException e) {
+      // 다른 인스턴스가 발급 행을 먼저 만들었다면 만들어진 행을 잠그고 다시 발급한다.
+      return redisFallbackService.issueMemberCode();
+    }
   }
 }
@@ -3,8 +3,11 @@ package com.management.library.service.query;
 import com.management.library.service.member.MemberService;
 import com.management.library.service.member.dto.MemberServiceReadDto;
 import com.management.library.service.query.dto.MemberTotalInfoDto;
-import com.management.library.service.rental.RentalRedisService;
-import com.management.library.service.request.RedisRequestService;
+import com.management.library.service.redis.MemberRedisStateService;
+import com.management.library.service.redis.dto.MemberRedisStateDto;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,23 +17,24 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class MemberTotalInfoService {
 
-  private final RedisRequestService redisRequestService;
-  private final RentalRedisService rentalRedisService;
+  private final MemberRedisStateService memberRedisStateService;
   private final MemberService memberService;
 
   public MemberTotalInfoDto getMemberTotalInfo(String memberCode) {
     MemberServiceReadDto memberData = memberService.getMemberData(memberCode);
-    String managementRequestCount = redisRequestService.getManagementRequestCount(memberCode);
-    String newBookRequestCount = redisRequestService.getNewBookRequestCount(memberCode);
-    String memberRemainRentalCount = rentalRedisService.getMemberRemainRentalCount(memberCode);
-    String memberRentalStatus = "available";
+    MemberRedisStateDto memberState = memberRedisStateService.getMemberState(memberCode);
 
-    if (rentalRedisService.checkMemberRentalPenalty(memberCode) ||
-        memberRemainRentalCount.equals("0")) {
-      memberRentalStatus = "unavailable";
-    }
+    return MemberTotalInfoDto.of(memberData, memberState.getRemainManagementRequestCount(),
+        memberState.getRemainNewBookRequestCount(), memberState.getRemainRentalCount(),
+        memberState.getRentalStatus());
+  }
+
+  // 회원 목록의 상태 값을 회원마다 조회하지 않고 한 번의 redis pipeline 으로 조회한다.
+  public Map<String, MemberRedisStateDto> getMemberStates(List<MemberServiceReadDto> members) {
+    List<String> memberCodes = members.stream()
+        .map(MemberServiceReadDto::getMemberCode)
+        .collect(Collectors.toList());
 
-    return MemberTotalInfoDto.of(memberData, managementRequestCount, newBookRequestCount,
-        memberRemainRentalCount, memberRentalStatus);
+    return memberRedisStateService.getMemberStates(memberCodes);
   }
 }
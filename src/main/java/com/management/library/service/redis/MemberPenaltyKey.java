@@ -0,0 +1,18 @@
+package com.management.library.service.redis;
+
+/**
+ * 회원의 연체 종료일을 저장하는 redis 키. 값은 연체 종료일이며, 연체가 끝나는 날 만료된다.
+ * <p>
+ * 예) penalty:100000001
+ */
+public final class MemberPenaltyKey {
+
+  public static final String PREFIX = "penalty:";
+
+  private MemberPenaltyKey() {
+  }
+
+  public static String getKey(String memberCode) {
+    return PREFIX + memberCode;
+  }
+}
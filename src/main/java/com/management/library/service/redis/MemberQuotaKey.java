@@ -0,0 +1,101 @@
+package com.management.library.service.redis;
+
+import static com.management.library.config.SchedulerConfiguration.SCHEDULE_ZONE;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 회원별 대여 가능 권수, 요청 가능 횟수를 저장하는 redis hash 키. 회원 전체를 하나의 hash 에 두면 하나의 키에 요청이 몰리므로 회원 번호로
+ * BUCKET_COUNT 개의 hash 로 나누어 저장한다.
+ * <p>
+ * 키의 bucket 번호는 hash tag({bucket}) 로 감싸 redis cluster 에서도 같은 bucket 의 대여 가능 권수, 요청 가능 횟수 키가 같은 slot
+ * 에 놓이도록 한다. 요청 가능 횟수는 매달 초기화되므로 키에 연월을 넣고, 다음 달이 시작되고 하루 뒤 만료되도록 한다. 달은 매달 초기화 작업과 같이
+ * SCHEDULE_ZONE 으로 정한다.
+ * <p>
+ * 예) rental-count:{17}, management-request-count:202401:{17}
+ */
+@Getter
+@RequiredArgsConstructor
+public enum MemberQuotaKey {
+
+  RENTAL_COUNT("rental-count", "2", false),
+  MANAGEMENT_REQUEST_COUNT("management-request-count", "5", true),
+  NEW_BOOK_REQUEST_COUNT("book-request-count", "5", true);
+
+  public static final int BUCKET_COUNT = 128;
+
+  private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+
+  private final String prefix;
+  private final String initCount;
+  private final boolean monthly;
+
+  // DB 로 남은 횟수를 계산할 때 사용하는 초기 횟수
+  public long getInitCountValue() {
+    return Long.parseLong(initCount);
+  }
+
+  public String getKey(String memberCode) {
+    return getKey(memberCode, YearMonth.now(SCHEDULE_ZONE));
+  }
+
+  public String getKey(String memberCode, YearMonth month) {
+    return getBucketKey(getBucket(memberCode), month);
+  }
+
+  /**
+   * 해당 달의 모든 bucket 키를 반환한다. 월 단위로 초기화되지 않는 키는 month 와 관계없이 같은 키를 반환한다.
+   */
+  public List<String> getKeys(YearMonth month) {
+    return IntStream.range(0, BUCKET_COUNT)
+        .mapToObj(bucket -> getBucketKey(bucket, month))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * 이번 달 키가 만료될 시각을 반환한다.
+   *
+   * @return 월 단위로 초기화되지 않는 키라면 null
+   */
+  public Instant getExpireAt() {
+    if (!monthly) {
+      return null;
+    }
+
+    return YearMonth.now(SCHEDULE_ZONE).plusMonths(1).atDay(2).atStartOfDay(SCHEDULE_ZONE)
+        .toInstant();
+  }
+
+  /**
+   * DB 의 요청 기록으로 이번 달 요청 횟수를 셀 때 사용한다. 요청의 생성 시각은 서버 시간대로 기록되므로 SCHEDULE_ZONE 기준 이번 달의 시작 시각을
+   * 서버 시간대로 바꾸어 반환한다.
+   */
+  public static LocalDateTime getMonthStartTime() {
+    return YearMonth.now(SCHEDULE_ZONE).atDay(1).atStartOfDay(SCHEDULE_ZONE)
+        .withZoneSameInstant(ZoneId.systemDefault())
+        .toLocalDateTime();
+  }
+
+  private String getBucketKey(int bucket, YearMonth month) {
+    String hashTag = "{" + bucket + "}";
+
+    if (monthly) {
+      return prefix + ":" + month.format(MONTH_FORMATTER) + ":" + hashTag;
+    }
+
+    return prefix + ":" + hashTag;
+  }
+
+  private static int getBucket(String memberCode) {
+    return Math.floorMod(memberCode.hashCode(), BUCKET_COUNT);
+  }
+}
@@ -0,0 +1,125 @@
+package com.management.library.service.redis;
+
+import static com.management.library.service.redis.MemberQuotaKey.MANAGEMENT_REQUEST_COUNT;
+import static com.management.library.service.redis.MemberQuotaKey.NEW_BOOK_REQUEST_COUNT;
+import static com.management.library.service.redis.MemberQuotaKey.RENTAL_COUNT;
+import static com.management.library.service.redis.RedisCircuitBreakerRegistry.MEMBER_STATE;
+
+import com.management.library.service.redis.dto.MemberRedisStateDto;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 회원 상세 조회, 관리자 회원 목록 조회에서 필요한 회원별 redis 상태를 한 번의 pipeline 으로 조회한다. 요청 가능 횟수와 대여 가능 권수
+ * hash 는 bucket 키마다 HMGET 으로, 연체 정보는 MGET 으로 여러 회원의 값을 한 번에 읽으므로 회원 수와 관계없이 redis 왕복은 한 번이다.
+ * <p>
+ * circuit breaker 가 열려 있거나 redis 호출이 실패하면 RedisFallbackService 로 회원 번호로 묶은 쿼리를 사용해 회원들의 상태를 DB 에서
+ * 한 번에 계산한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberRedisStateService {
+
+  private static final RedisSerializer<String> SERIALIZER = RedisSerializer.string();
+  private static final List<MemberQuotaKey> QUOTA_KEYS = List.of(MANAGEMENT_REQUEST_COUNT,
+      NEW_BOOK_REQUEST_COUNT, RENTAL_COUNT);
+
+  private final RedisTemplate<String, String> redisTemplate;
+  private final RedisCircuitBreakerRegistry redisCircuitBreakerRegistry;
+  private final RedisFallbackService redisFallbackService;
+
+  public MemberRedisStateDto getMemberState(String memberCode) {
+    return getMemberStates(List.of(memberCode)).get(memberCode);
+  }
+
+  /**
+   * 회원들의 redis 상태를 조회한다.
+   *
+   * @param memberCodes 조회할 회원 번호 목록
+   * @return 회원 번호를 key 로 하는 회원 상태. 순서는 memberCodes 의 순서를 따른다.
+   */
+  public Map<String, MemberRedisStateDto> getMemberStates(List<String> memberCodes) {
+    if (memberCodes.isEmpty()) {
+      return Map.of();
+    }
+
+    List<String> distinctMemberCodes = memberCodes.stream()
+        .distinct()
+        .collect(Collectors.toList());
+
+    return redisCircuitBreakerRegistry.get(MEMBER_STATE).execute(
+        () -> readMemberStates(distinctMemberCodes),
+        () -> redisFallbackService.getMemberStates(distinctMemberCodes));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, MemberRedisStateDto> readMemberStates(List<String> memberCodes) {
+    // 회원 번호를 요청 가능 횟수, 대여 가능 권수의 bucket 키별로 묶어 키마다 HMGET 한 번으로 읽는다.
+    List<Map<String, List<String>>> fieldsByQuotaKeys = QUOTA_KEYS.stream()
+        .map(quotaKey -> memberCodes.stream()
+            .collect(Collectors.groupingBy(quotaKey::getKey, LinkedHashMap::new,
+                Collectors.toList())))
+        .collect(Collectors.toList());
+    byte[][] penaltyKeys = memberCodes.stream()
+        .map(memberCode -> SERIALIZER.serialize(MemberPenaltyKey.getKey(memberCode)))
+        .toArray(byte[][]::new);
+
+    List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      fieldsByQuotaKeys.forEach(fieldsByKey -> fieldsByKey.forEach((key, fields) ->
+          connection.hashCommands().hMGet(SERIALIZER.serialize(key), toRawFields(fields))));
+      connection.stringCommands().mGet(penaltyKeys);
+      return null;
+    }, SERIALIZER);
+
+    Iterator<Object> iterator = results.iterator();
+    List<Map<String, String>> quotaValues = new ArrayList<>();
+    for (Map<String, List<String>> fieldsByKey : fieldsByQuotaKeys) {
+      Map<String, String> values = new HashMap<>();
+      fieldsByKey.values().forEach(fields -> {
+        List<String> bucketValues = (List<String>) iterator.next();
+        for (int i = 0; i < fields.size(); i++) {
+          values.put(fields.get(i), bucketValues.get(i));
+        }
+      });
+      quotaValues.add(values);
+    }
+    List<String> penalties = (List<String>) iterator.next();
+
+    Map<String, MemberRedisStateDto> memberStates = new LinkedHashMap<>();
+    for (int i = 0; i < memberCodes.size(); i++) {
+      String memberCode = memberCodes.get(i);
+      memberStates.put(memberCode, MemberRedisStateDto.builder()
+          .memberCode(memberCode)
+          .remainManagementRequestCount(getOrDefault(quotaValues.get(0).get(memberCode),
+              MANAGEMENT_REQUEST_COUNT))
+          .remainNewBookRequestCount(getOrDefault(quotaValues.get(1).get(memberCode),
+              NEW_BOOK_REQUEST_COUNT))
+          .remainRentalCount(getOrDefault(quotaValues.get(2).get(memberCode), RENTAL_COUNT))
+          .penalty(StringUtils.hasText(penalties.get(i)))
+          .build());
+    }
+
+    return memberStates;
+  }
+
+  private byte[][] toRawFields(List<String> fields) {
+    return fields.stream()
+        .map(SERIALIZER::serialize)
+        .toArray(byte[][]::new);
+  }
+
+  private String getOrDefault(String value, MemberQuotaKey quotaKey) {
+    return value == null ? quotaKey.getInitCount() : value;
+  }
+}
@@ -0,0 +1,49 @@
+package com.management.library.service.redis;
+
+import com.management.library.service.scheduled.ScheduledLease;
+import com.management.library.service.scheduled.ScheduledLeaseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * redis 체크포인트를 주기적으로 남기고, 애플리케이션이 시작되면 비어 있는 키를 체크포인트로 되돌린다. 모든 작업은 lease 를 얻은 인스턴스
+ * 하나에서만 수행한다.
+ * <p>
+ * redis-checkpoint.scheduling.enabled=false 로 끌 수 있으며, 테스트에서는 체크포인트와 복원을 직접 호출한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "redis-checkpoint.scheduling.enabled", havingValue = "true",
+    matchIfMissing = true)
+public class RedisCheckpointScheduler {
+
+  private static final String RESTORE_JOB_NAME = "redisCheckpointRestore";
+  private static final long RESTORE_LEASE_SECONDS = 600L;
+
+  private final RedisCheckpointService redisCheckpointService;
+  private final ScheduledLeaseService scheduledLeaseService;
+
+  // 바뀐 값만 반영 - 1분 간격
+  @Scheduled(fixedDelay = 60000L)
+  @ScheduledLease(leaseSeconds = 300L, minHoldSeconds = 0L, recordRun = false)
+  public void checkpointDirty() {
+    redisCheckpointService.checkpointDirty();
+  }
+
+  // 전체 반영 - 매일 04시 30분 수행
+  @Scheduled(cron = "0 30 4 * * *", zone = "Asia/Seoul")
+  @ScheduledLease(leaseSeconds = 1800L)
+  public void checkpointAll() {
+    redisCheckpointService.checkpointAll();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void restore() {
+    scheduledLeaseService.runExclusively(RESTORE_JOB_NAME, RESTORE_LEASE_SECONDS, 0L, false,
+        redisCheckpointService::restoreMissing);
+  }
+}
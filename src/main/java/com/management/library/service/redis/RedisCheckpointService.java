@@ -0,0 +1,348 @@
+package com.management.library.service.redis;
+
+import static com.management.library.service.redis.RedisCheckpointTarget.Type.HASH;
+
+import com.management.library.domain.checkpoint.RedisCheckpoint;
+import com.management.library.repository.checkpoint.RedisCheckpointRepository;
+import com.management.library.service.statistics.StatisticsDashboardCacheService;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.RedisZSetCommands.Tuple;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * redis 에만 저장되는 월간, 연간 통계 hash 와 대여 순위, 평점 순위 sorted set 을 redis_checkpoints 테이블에 주기적으로 저장하고,
+ * redis 가 비어 있는 상태로 시작하면 체크포인트로 되돌린다.
+ * <p>
+ * 평소에는 dirty set 에 쌓인 field 만 반영하고, 하루에 한 번 HSCAN/ZSCAN 으로 전체를 반영하여 dirty 표시가 유실된 field 를 보정한다. 값은
+ * BATCH_SIZE 개씩 update 한 뒤 갱신되지 않은 행만 insert 하는 방식으로 upsert 한다.
+ * <p>
+ * synced 표시가 없는 키는 redis 를 잃은 뒤 다시 쌓인 값만 가지고 있으므로, 체크포인트를 남기기 전에 먼저 되돌린다. 그렇지 않으면 잃은 뒤 증가한
+ * 작은 값이 체크포인트를 덮어쓴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RedisCheckpointService {
+
+  private static final int BATCH_SIZE = 500;
+  private static final String UPDATE_SQL = "update redis_checkpoints "
+      + "set field_value = ?, checkpointed_at = ? where redis_key = ? and field_name = ?";
+  private static final String INSERT_SQL = "insert into redis_checkpoints "
+      + "(redis_key, field_name, field_value, checkpointed_at) values (?, ?, ?, ?)";
+  private static final RedisSerializer<String> SERIALIZER = RedisSerializer.string();
+  private static final RedisScript<Long> RESTORE_CHECKPOINT_SCRIPT = RedisScript.of(
+      new ClassPathResource("scripts/restore-checkpoint.lua"), Long.class);
+
+  private final RedisTemplate<String, String> redisTemplate;
+  private final RedisCheckpointRepository redisCheckpointRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final StatisticsDashboardCacheService statisticsDashboardCacheService;
+
+  /**
+   * 값이 바뀐 field 를 dirty set 에 추가한다.
+   *
+   * @param target 체크포인트 대상 키
+   * @param field  값이 바뀐 hash field 또는 sorted set member
+   */
+  public void markDirty(RedisCheckpointTarget target, String field) {
+    redisTemplate.execute((RedisCallback<Long>) connection -> connection.setCommands()
+        .sAdd(SERIALIZER.serialize(target.getDirtyKey()), SERIALIZER.serialize(field)));
+  }
+
+  /**
+   * dirty set 에서 BATCH_SIZE 개씩 field 를 꺼내 현재 값을 DB 에 반영한다. redis 에서 지워진 field 는 체크포인트에서도 지운다.
+   * 반영하지 못한 field 는 dirty set 에 다시 추가한다.
+   *
+   * @return 반영한 field 수
+   */
+  public int checkpointDirty() {
+    restoreMissing();
+    int count = 0;
+
+    for (RedisCheckpointTarget target : RedisCheckpointTarget.values()) {
+      List<String> fields = popDirtyFields(target);
+
+      while (!fields.isEmpty()) {
+        checkpointFields(target, fields);
+        count += fields.size();
+        fields = popDirtyFields(target);
+      }
+    }
+
+    if (count > 0) {
+      log.info("redis dirty fields checkpointed : count = {}", count);
+    }
+    return count;
+  }
+
+  /**
+   * 체크포인트 대상 키 전체를 HSCAN/ZSCAN 으로 읽어 DB 에 반영한다. 키가 없다면 redis 를 잃은 것일 수 있으므로 체크포인트를 지우지
+   * 않는다.
+   *
+   * @return 반영한 field 수
+   */
+  public int checkpointAll() {
+    restoreMissing();
+    int count = 0;
+
+    for (RedisCheckpointTarget target : RedisCheckpointTarget.values()) {
+      count += scanAndCheckpoint(target);
+    }
+
+    log.info("redis full checkpoint finished : count = {}", count);
+    return count;
+  }
+
+  /**
+   * synced 표시가 없는 키를 체크포인트로 되돌린다. counter 키는 redis 를 잃은 뒤 증가한 값에 체크포인트 값을 더하고, 그 외의 키는 없는
+   * member 만 채운다. 되돌린 묶음의 마지막 체크포인트 id 를 함께 기록하므로 중간에 실패하여 다시 실행해도 두 번 더하지 않는다.
+   *
+   * @return 되돌린 field 수
+   */
+  public int restoreMissing() {
+    int count = 0;
+
+    for (RedisCheckpointTarget target : RedisCheckpointTarget.values()) {
+      if (Boolean.TRUE.equals(redisTemplate.hasKey(target.getSyncedKey()))) {
+        continue;
+      }
+
+      long lastId = 0L;
+      List<RedisCheckpoint> checkpoints = findCheckpoints(target, lastId);
+
+      while (!checkpoints.isEmpty()) {
+        lastId = checkpoints.get(checkpoints.size() - 1).getId();
+        count += restore(target, checkpoints, lastId);
+        checkpoints = findCheckpoints(target, lastId);
+      }
+
+      markSynced(target);
+    }
+
+    if (count > 0) {
+      // 되돌린 통계 hash 값이 캐시된 대시보드 통계와 다를 수 있다.
+      statisticsDashboardCacheService.evictAll();
+      log.info("redis restored from checkpoint : count = {}", count);
+    }
+    return count;
+  }
+
+  /**
+   * 체크포인트 대상 키를 초기화할 때 체크포인트도 함께 지운다. dirty set 은 현재 값을 다시 읽어 반영하므로 지우지 않는다.
+   *
+   * @param target 초기화한 체크포인트 대상 키
+   */
+  public void deleteCheckpoint(RedisCheckpointTarget target) {
+    transactionTemplate.executeWithoutResult(
+        status -> redisCheckpointRepository.deleteByRedisKey(target.getKey()));
+  }
+
+  private List<String> popDirtyFields(RedisCheckpointTarget target) {
+    List<byte[]> fields = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+        connection.setCommands().sPop(SERIALIZER.serialize(target.getDirtyKey()), BATCH_SIZE));
+
+    if (fields == null) {
+      return List.of();
+    }
+
+    return fields.stream()
+        .map(SERIALIZER::deserialize)
+        .collect(Collectors.toList());
+  }
+
+  private void checkpointFields(RedisCheckpointTarget target, List<String> fields) {
+    try {
+      Map<String, String> values = readValues(target, fields);
+      List<String> deletedFields = fields.stream()
+          .filter(field -> !values.containsKey(field))
+          .collect(Collectors.toList());
+
+      transactionTemplate.executeWithoutResult(status -> {
+        upsert(target, values);
+        if (!deletedFields.isEmpty()) {
+          redisCheckpointRepository.deleteByRedisKeyAndFieldNames(target.getKey(), deletedFields);
+        }
+      });
+    } catch (RuntimeException e) {
+      redisTemplate.execute((RedisCallback<Long>) connection -> connection.setCommands()
+          .sAdd(SERIALIZER.serialize(target.getDirtyKey()), fields.stream()
+              .map(SERIALIZER::serialize)
+              .toArray(byte[][]::new)));
+      throw e;
+    }
+  }
+
+  // 현재 값을 하나의 pipeline 으로 읽는다. 값이 없는 field 는 결과에 담지 않는다.
+  private Map<String, String> readValues(RedisCheckpointTarget target, List<String> fields) {
+    byte[] key = SERIALIZER.serialize(target.getKey());
+
+    List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      for (String field : fields) {
+        if (target.getType() == HASH) {
+          connection.hashCommands().hGet(key, SERIALIZER.serialize(field));
+        } else {
+          connection.zSetCommands().zScore(key, SERIALIZER.serialize(field));
+        }
+      }
+      return null;
+    }, SERIALIZER);
+
+    Map<String, String> values = new LinkedHashMap<>();
+    for (int i = 0; i < fields.size(); i++) {
+      if (results.get(i) != null) {
+        values.put(fields.get(i), String.valueOf(results.get(i)));
+      }
+    }
+
+    return values;
+  }
+
+  private int scanAndCheckpoint(RedisCheckpointTarget target) {
+    Integer count = redisTemplate.execute((RedisCallback<Integer>) connection -> {
+      Map<String, String> batch = new LinkedHashMap<>();
+      int scanned = 0;
+
+      if (target.getType() == HASH) {
+        try (Cursor<Entry<byte[], byte[]>> cursor = connection.hashCommands()
+            .hScan(SERIALIZER.serialize(target.getKey()), scanOptions())) {
+          while (cursor.hasNext()) {
+            Entry<byte[], byte[]> entry = cursor.next();
+            batch.put(SERIALIZER.deserialize(entry.getKey()),
+                SERIALIZER.deserialize(entry.getValue()));
+            scanned += flushIfFull(target, batch);
+          }
+        }
+      } else {
+        try (Cursor<Tuple> cursor = connection.zSetCommands()
+            .zScan(SERIALIZER.serialize(target.getKey()), scanOptions())) {
+          while (cursor.hasNext()) {
+            Tuple tuple = cursor.next();
+            batch.put(SERIALIZER.deserialize(tuple.getValue()), String.valueOf(tuple.getScore()));
+            scanned += flushIfFull(target, batch);
+          }
+        }
+      }
+
+      return scanned + flush(target, batch);
+    });
+
+    return count == null ? 0 : count;
+  }
+
+  private int flushIfFull(RedisCheckpointTarget target, Map<String, String> batch) {
+    return batch.size() < BATCH_SIZE ? 0 : flush(target, batch);
+  }
+
+  private int flush(RedisCheckpointTarget target, Map<String, String> batch) {
+    int size = batch.size();
+    if (size == 0) {
+      return 0;
+    }
+
+    transactionTemplate.executeWithoutResult(status -> upsert(target, batch));
+    batch.clear();
+    return size;
+  }
+
+  // 한 번의 batch update 로 기존 행을 갱신하고, 갱신된 행이 없는 field 만 batch insert 한다.
+  private void upsert(RedisCheckpointTarget target, Map<String, String> values) {
+    if (values.isEmpty()) {
+      return;
+    }
+
+    Timestamp checkpointedAt = Timestamp.valueOf(LocalDateTime.now());
+    List<Entry<String, String>> entries = new ArrayList<>(values.entrySet());
+
+    int[] updatedCounts = jdbcTemplate.batchUpdate(UPDATE_SQL, entries, entries.size(),
+        (ps, entry) -> {
+          ps.setString(1, entry.getValue());
+          ps.setTimestamp(2, checkpointedAt);
+          ps.setString(3, target.getKey());
+          ps.setString(4, entry.getKey());
+        })[0];
+
+    List<Entry<String, String>> newEntries = new ArrayList<>();
+    for (int i = 0; i < entries.size(); i++) {
+      if (updatedCounts[i] == 0) {
+        newEntries.add(entries.get(i));
+      }
+    }
+
+    if (newEntries.isEmpty()) {
+      return;
+    }
+
+    jdbcTemplate.batchUpdate(INSERT_SQL, newEntries, newEntries.size(), (ps, entry) -> {
+      ps.setString(1, target.getKey());
+      ps.setString(2, entry.getKey());
+      ps.setString(3, entry.getValue());
+      ps.setTimestamp(4, checkpointedAt);
+    });
+  }
+
+  private List<RedisCheckpoint> findCheckpoints(RedisCheckpointTarget target, long lastId) {
+    return redisCheckpointRepository.findAllByRedisKeyAndIdGreaterThanOrderByIdAsc(
+        target.getKey(), lastId, PageRequest.of(0, BATCH_SIZE));
+  }
+
+  // 되돌리는 중에 새로 쓰인 값을 덮어쓰지 않도록 counter 는 더하고, 그 외의 값은 ZADD NX 로 쓴다.
+  private int restore(RedisCheckpointTarget target, List<RedisCheckpoint> checkpoints,
+      long lastId) {
+    List<String> args = new ArrayList<>();
+    args.add(getRestoreCommand(target));
+    args.add(String.valueOf(lastId));
+
+    for (RedisCheckpoint checkpoint : checkpoints) {
+      args.add(checkpoint.getFieldName());
+      args.add(checkpoint.getFieldValue());
+    }
+
+    Long restored = redisTemplate.execute(RESTORE_CHECKPOINT_SCRIPT, SERIALIZER,
+        new GenericToStringSerializer<>(Long.class),
+        List.of(target.getKey(), target.getRestoringKey()), args.toArray());
+
+    return restored == null ? 0 : restored.intValue();
+  }
+
+  private String getRestoreCommand(RedisCheckpointTarget target) {
+    if (target.getType() == HASH) {
+      return "HINCRBY";
+    }
+
+    return target.isCounter() ? "ZINCRBY" : "ZADD";
+  }
+
+  private void markSynced(RedisCheckpointTarget target) {
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      connection.stringCommands().set(SERIALIZER.serialize(target.getSyncedKey()),
+          SERIALIZER.serialize(LocalDateTime.now().toString()));
+      connection.keyCommands().del(SERIALIZER.serialize(target.getRestoringKey()));
+      return null;
+    });
+  }
+
+  private ScanOptions scanOptions() {
+    return ScanOptions.scanOptions().count(BATCH_SIZE).build();
+  }
+}
@@ -0,0 +1,51 @@
+package com.management.library.service.redis;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * DB 에 체크포인트를 남기는 redis 키. 값을 바꾸는 쪽은 바뀐 field(member) 를 dirty set(checkpoint-dirty:{key}) 에 추가하고,
+ * 체크포인트는 dirty set 에 쌓인 field 만 DB 에 반영한다. dirty set 은 키 이름을 hash tag 로 사용하므로 redis cluster 에서도 원래 키와
+ * 같은 slot 에 놓인다.
+ * <p>
+ * 체크포인트와 이어진 값을 가진 키에는 synced 표시(checkpoint-synced:{key}) 를 남긴다. redis 를 잃어 표시가 없다면 counter 키는 그
+ * 사이 증가한 값에 체크포인트 값을 더하여 되돌리고, 평균 점수처럼 더할 수 없는 키는 없는 member 만 되돌린다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RedisCheckpointTarget {
+
+  MONTHLY_RENTED_COUNT("monthly-rented-count", Type.HASH, true),
+  MONTHLY_REVIEW_COUNT("monthly-review-count", Type.HASH, true),
+  MONTHLY_BOOK_UNAVAILABLE_COUNT("monthly-book-unavailable-count", Type.HASH, true),
+  YEARLY_RENTED_COUNT("yearly-rented-count", Type.HASH, true),
+  YEARLY_REVIEW_COUNT("yearly-review-count", Type.HASH, true),
+  YEARLY_BOOK_UNAVAILABLE_COUNT("yearly-book-unavailable-count", Type.HASH, true),
+  BOOK_RENTED_COUNT("book-rented-count", Type.SORTED_SET, true),
+  BOOK_REVIEW_RATE("book-review-rate", Type.SORTED_SET, false);
+
+  private static final String DIRTY_KEY_PREFIX = "checkpoint-dirty:";
+  private static final String SYNCED_KEY_PREFIX = "checkpoint-synced:";
+  private static final String RESTORING_KEY_PREFIX = "checkpoint-restoring:";
+
+  private final String key;
+  private final Type type;
+  private final boolean counter;
+
+  public String getDirtyKey() {
+    return DIRTY_KEY_PREFIX + "{" + key + "}";
+  }
+
+  public String getSyncedKey() {
+    return SYNCED_KEY_PREFIX + "{" + key + "}";
+  }
+
+  // 복원 중에 마지막으로 되돌린 체크포인트 id
+  public String getRestoringKey() {
+    return RESTORING_KEY_PREFIX + "{" + key + "}";
+  }
+
+  public enum Type {
+    HASH, SORTED_SET
+  }
+}
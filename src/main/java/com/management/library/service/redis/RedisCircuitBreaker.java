@@ -0,0 +1,222 @@
+package com.management.library.service.redis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+
+/**
+ * redis 호출을 감싸는 circuit breaker. 최근 WINDOW_SIZE 번의 호출 중 실패(redis 예외 또는 SLOW_CALL_THRESHOLD 보다 느린
+ * 호출) 비율이 FAILURE_RATE_THRESHOLD 이상이면 OPEN 상태가 되어 OPEN_DURATION 동안 redis 를 호출하지 않고 fallback 을 수행한다.
+ * OPEN_DURATION 이 지나면 HALF_OPEN 상태에서 HALF_OPEN_PERMITS 번의 호출로 회복 여부를 확인한다.
+ * <p>
+ * 업무 예외는 redis 호출이 성공한 것으로 기록하고 그대로 던진다. 호출 시간과 결과, 상태는 redis.circuit-breaker.* 지표로 남긴다.
+ * <p>
+ * resilience4j 대신 직접 구현한 이유: 이 breaker 는 요청 처리 중의 redis 호출에서만 사용하며, DataAccessException 만 실패로 기록하고,
+ * redis 점검 시 운영자가 forceOpen 으로 모든 breaker 를 degraded mode 로 전환하고, RedisReplayQueue 가 tryRun 으로 회복 여부를 확인하는
+ * 기능만 필요하다. 이는 count 기반 window 하나로 충분하며, 의존성과 설정(RedisCircuitBreakerRegistry 의 이름별 breaker)을 늘리지 않는다.
+ * 시간 기반 window, bulkhead, retry 가 필요해지면 resilience4j 로 옮긴다.
+ */
+@Slf4j
+public class RedisCircuitBreaker {
+
+  private static final int WINDOW_SIZE = 20;
+  private static final int MINIMUM_CALLS = 10;
+  private static final int FAILURE_RATE_THRESHOLD = 50;
+  private static final long SLOW_CALL_THRESHOLD_NANOS = Duration.ofMillis(500L).toNanos();
+  private static final long OPEN_DURATION_NANOS = Duration.ofSeconds(10L).toNanos();
+  private static final int HALF_OPEN_PERMITS = 3;
+
+  private final String name;
+  private final Timer successTimer;
+  private final Timer failureTimer;
+  private final Counter notPermittedCounter;
+
+  private final boolean[] window = new boolean[WINDOW_SIZE];
+  private int windowIndex;
+  private int windowCount;
+  private int failureCount;
+
+  private State state = State.CLOSED;
+  private long openedAt;
+  private int halfOpenCalls;
+  private int halfOpenSuccesses;
+
+  RedisCircuitBreaker(String name, MeterRegistry meterRegistry) {
+    this.name = name;
+    this.successTimer = callTimer(meterRegistry, "success");
+    this.failureTimer = callTimer(meterRegistry, "failure");
+    this.notPermittedCounter = Counter.builder("redis.circuit-breaker.not-permitted")
+        .tag("name", name)
+        .register(meterRegistry);
+
+    Gauge.builder("redis.circuit-breaker.state", this, breaker -> breaker.getState().ordinal())
+        .description("0 : CLOSED, 1 : OPEN, 2 : HALF_OPEN")
+        .tag("name", name)
+        .register(meterRegistry);
+    Gauge.builder("redis.circuit-breaker.failure-rate", this, RedisCircuitBreaker::getFailureRate)
+        .tag("name", name)
+        .register(meterRegistry);
+  }
+
+  /**
+   * redis 를 호출한다. 호출할 수 없는 상태이거나 redis 예외가 발생하면 fallback 결과를 반환한다.
+   *
+   * @param call     redis 호출
+   * @param fallback redis 를 사용할 수 없을 때 수행할 작업
+   */
+  public <T> T execute(Supplier<T> call, Supplier<T> fallback) {
+    if (!acquirePermission()) {
+      notPermittedCounter.increment();
+      return fallback.get();
+    }
+
+    long startTime = System.nanoTime();
+    T result;
+    try {
+      result = call.get();
+    } catch (DataAccessException e) {
+      failureTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+      record(true);
+      log.warn("redis call failed : breaker = {}, state = {}", name, getState(), e);
+      return fallback.get();
+    } catch (RuntimeException e) {
+      recordSuccess(System.nanoTime() - startTime);
+      throw e;
+    }
+
+    recordSuccess(System.nanoTime() - startTime);
+    return result;
+  }
+
+  public void run(Runnable call, Runnable fallback) {
+    execute(() -> {
+      call.run();
+      return null;
+    }, () -> {
+      fallback.run();
+      return null;
+    });
+  }
+
+  /**
+   * 호출할 수 있는 상태라면 redis 를 호출한다. 쌓아 둔 명령을 다시 실행할 때 사용한다.
+   *
+   * @return 호출이 성공하면 true
+   */
+  public boolean tryRun(Runnable call) {
+    return execute(() -> {
+      call.run();
+      return true;
+    }, () -> false);
+  }
+
+  public synchronized State getState() {
+    if (state == State.OPEN && System.nanoTime() - openedAt >= OPEN_DURATION_NANOS) {
+      transitionTo(State.HALF_OPEN);
+    }
+
+    return state;
+  }
+
+  // redis 점검 등으로 운영자가 직접 degraded mode 로 전환할 때 사용한다.
+  public synchronized void forceOpen() {
+    transitionTo(State.OPEN);
+  }
+
+  public synchronized void reset() {
+    transitionTo(State.CLOSED);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  private synchronized boolean acquirePermission() {
+    State currentState = getState();
+
+    if (currentState == State.OPEN) {
+      return false;
+    }
+
+    if (currentState == State.HALF_OPEN) {
+      if (halfOpenCalls >= HALF_OPEN_PERMITS) {
+        return false;
+      }
+      halfOpenCalls++;
+    }
+
+    return true;
+  }
+
+  private void recordSuccess(long elapsedNanos) {
+    successTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    record(elapsedNanos > SLOW_CALL_THRESHOLD_NANOS);
+  }
+
+  private synchronized void record(boolean failed) {
+    if (state == State.OPEN) {
+      return;
+    }
+
+    if (state == State.HALF_OPEN) {
+      if (failed) {
+        transitionTo(State.OPEN);
+      } else if (++halfOpenSuccesses >= HALF_OPEN_PERMITS) {
+        transitionTo(State.CLOSED);
+      }
+      return;
+    }
+
+    if (windowCount == WINDOW_SIZE) {
+      failureCount -= window[windowIndex] ? 1 : 0;
+    } else {
+      windowCount++;
+    }
+
+    window[windowIndex] = failed;
+    failureCount += failed ? 1 : 0;
+    windowIndex = (windowIndex + 1) % WINDOW_SIZE;
+
+    if (windowCount >= MINIMUM_CALLS
+        && failureCount * 100 >= FAILURE_RATE_THRESHOLD * windowCount) {
+      transitionTo(State.OPEN);
+    }
+  }
+
+  private synchronized double getFailureRate() {
+    return windowCount == 0 ? 0.0 : (double) failureCount / windowCount;
+  }
+
+  private void transitionTo(State newState) {
+    if (state != newState) {
+      log.warn("redis circuit breaker state changed : breaker = {}, {} -> {}", name, state,
+          newState);
+    }
+
+    state = newState;
+    openedAt = System.nanoTime();
+    halfOpenCalls = 0;
+    halfOpenSuccesses = 0;
+    windowIndex = 0;
+    windowCount = 0;
+    failureCount = 0;
+  }
+
+  private Timer callTimer(MeterRegistry meterRegistry, String outcome) {
+    return Timer.builder("redis.circuit-breaker.calls")
+        .tag("name", name)
+        .tag("outcome", outcome)
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+  }
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+}
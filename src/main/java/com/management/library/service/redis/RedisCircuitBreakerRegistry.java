@@ -0,0 +1,38 @@
+package com.management.library.service.redis;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이름별 redis circuit breaker 를 만든다. MeterRegistry 빈이 없다면 지표는 Micrometer global registry 에 등록한다.
+ */
+@Component
+public class RedisCircuitBreakerRegistry {
+
+  public static final String RENTAL = "rental";
+  public static final String REQUEST = "request";
+  public static final String MEMBER = "member";
+  public static final String MEMBER_STATE = "member-state";
+  public static final String COMMAND_BUFFER = "command-buffer";
+
+  private final Map<String, RedisCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+  private final MeterRegistry meterRegistry;
+
+  public RedisCircuitBreakerRegistry(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+    this.meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+  }
+
+  public RedisCircuitBreaker get(String name) {
+    return circuitBreakers.computeIfAbsent(name,
+        key -> new RedisCircuitBreaker(key, meterRegistry));
+  }
+
+  public Collection<RedisCircuitBreaker> getAll() {
+    return circuitBreakers.values();
+  }
+}
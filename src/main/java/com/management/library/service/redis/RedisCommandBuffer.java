@@ -0,0 +1,113 @@
+package com.management.library.service.redis;
+
+import static com.management.library.service.redis.RedisCircuitBreakerRegistry.COMMAND_BUFFER;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 안에서 요청된 redis 쓰기 명령을 모아 두었다가 커밋된 뒤 하나의 pipeline 으로 실행한다. 롤백되면 모아 둔 명령은 버리고, 롤백 시 되돌릴
+ * 명령만 실행한다.
+ * <p>
+ * 트랜잭션 밖에서 요청된 명령은 바로 하나의 pipeline 으로 실행한다. circuit breaker 가 열려 있거나 실행에 실패한 명령은 DB 에 반영된
+ * 요청을 되돌릴 수 없으므로 replay queue 에 쌓아 두었다가 redis 가 회복되면 다시 실행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisCommandBuffer {
+
+  private final RedisTemplate<String, String> redisTemplate;
+  private final RedisCircuitBreakerRegistry redisCircuitBreakerRegistry;
+  private final RedisReplayQueue redisReplayQueue;
+
+  /**
+   * 커밋된 뒤 실행할 명령을 추가한다.
+   *
+   * @param command 실행할 redis 명령
+   */
+  public void execute(Consumer<RedisConnection> command) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      executeOrEnqueue(List.of(command));
+      return;
+    }
+
+    getBuffer().commitCommands.add(command);
+  }
+
+  /**
+   * 트랜잭션이 롤백되면 실행할 명령을 추가한다. 트랜잭션 안에서 바로 반영해야 하는 명령을 되돌릴 때 사용한다.
+   *
+   * @param command 롤백 시 실행할 redis 명령
+   */
+  public void onRollback(Consumer<RedisConnection> command) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+
+    getBuffer().rollbackCommands.add(command);
+  }
+
+  // 트랜잭션마다 하나의 버퍼를 두고, 첫 명령이 추가될 때 트랜잭션이 끝난 뒤 실행하도록 등록한다.
+  private CommandBuffer getBuffer() {
+    CommandBuffer buffer = (CommandBuffer) TransactionSynchronizationManager.getResource(this);
+
+    if (buffer == null) {
+      CommandBuffer newBuffer = new CommandBuffer();
+      TransactionSynchronizationManager.bindResource(this, newBuffer);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(RedisCommandBuffer.this);
+
+          // 커밋 여부를 알 수 없는 경우에는 아무 명령도 실행하지 않는다.
+          List<Consumer<RedisConnection>> commands = List.of();
+          if (status == STATUS_COMMITTED) {
+            commands = newBuffer.commitCommands;
+          } else if (status == STATUS_ROLLED_BACK) {
+            commands = newBuffer.rollbackCommands;
+          }
+
+          executeOrEnqueue(commands);
+        }
+      });
+      buffer = newBuffer;
+    }
+
+    return buffer;
+  }
+
+  private void executeOrEnqueue(List<Consumer<RedisConnection>> commands) {
+    if (commands.isEmpty()) {
+      return;
+    }
+
+    Runnable pipeline = () -> executePipelined(commands);
+    redisCircuitBreakerRegistry.get(COMMAND_BUFFER).run(pipeline, () -> {
+      log.warn("buffered redis commands queued for replay : count = {}", commands.size());
+      redisReplayQueue.enqueue(COMMAND_BUFFER, pipeline);
+    });
+  }
+
+  private void executePipelined(List<Consumer<RedisConnection>> commands) {
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      commands.forEach(command -> command.accept(connection));
+      return null;
+    });
+  }
+
+  private static class CommandBuffer {
+
+    private final List<Consumer<RedisConnection>> commitCommands = new ArrayList<>();
+    private final List<Consumer<RedisConnection>> rollbackCommands = new ArrayList<>();
+  }
+}
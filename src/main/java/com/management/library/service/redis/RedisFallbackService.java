@@ -0,0 +1,186 @@
+package com.management.library.service.redis;
+
+import static com.management.library.service.redis.MemberQuotaKey.MANAGEMENT_REQUEST_COUNT;
+import static com.management.library.service.redis.MemberQuotaKey.NEW_BOOK_REQUEST_COUNT;
+import static com.management.library.service.redis.MemberQuotaKey.RENTAL_COUNT;
+
+import com.management.library.domain.member.Member;
+import com.management.library.domain.member.MemberCodeSequence;
+import com.management.library.repository.management.ManagementRequestRepository;
+import com.management.library.repository.member.MemberCodeSequenceRepository;
+import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.newbook.NewBookRequestRepository;
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.service.redis.dto.MemberCountDto;
+import com.management.library.service.redis.dto.MemberRedisStateDto;
+import com.management.library.service.redis.dto.OverdueReturnDto;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * redis 를 사용할 수 없을 때(degraded mode) 대여 가능 권수, 요청 가능 횟수, 연체 여부, 답변 가능 여부를 DB 로 계산한다. 계산 방식은
+ * RedisStateRebuildService 와 같으며, 회원 한 명의 상태는 회원 한 명의 id 범위로 같은 쿼리를, 여러 회원의 상태는 회원 번호 목록으로 묶은
+ * 쿼리를 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RedisFallbackService {
+
+  private static final long INIT_MEMBER_CODE = 100000000L;
+
+  private final MemberRepository memberRepository;
+  private final MemberCodeSequenceRepository memberCodeSequenceRepository;
+  private final BookRentalRepository bookRentalRepository;
+  private final NewBookRequestRepository newBookRequestRepository;
+  private final ManagementRequestRepository managementRequestRepository;
+
+  public long getRemainRentalCount(String memberCode) {
+    return findMemberId(memberCode)
+        .map(memberId -> getRemainCount(RENTAL_COUNT.getInitCountValue(),
+            bookRentalRepository.countActiveRentalsByMemberIdBetween(memberId, memberId)))
+        .orElse(RENTAL_COUNT.getInitCountValue());
+  }
+
+  public long getRemainManagementRequestCount(String memberCode) {
+    return findMemberId(memberCode)
+        .map(memberId -> getRemainCount(MANAGEMENT_REQUEST_COUNT.getInitCountValue(),
+            managementRequestRepository.countRequestsByMemberIdBetween(memberId, memberId,
+                MemberQuotaKey.getMonthStartTime())))
+        .orElse(MANAGEMENT_REQUEST_COUNT.getInitCountValue());
+  }
+
+  public long getRemainNewBookRequestCount(String memberCode) {
+    return findMemberId(memberCode)
+        .map(memberId -> getRemainCount(NEW_BOOK_REQUEST_COUNT.getInitCountValue(),
+            newBookRequestRepository.countRequestsByMemberIdBetween(memberId, memberId,
+                MemberQuotaKey.getMonthStartTime())))
+        .orElse(NEW_BOOK_REQUEST_COUNT.getInitCountValue());
+  }
+
+  /**
+   * 연체 반납 기록으로 계산한 연체 종료일을 반환한다.
+   *
+   * @param memberCode 회원 번호
+   * @return 연체 중이 아니라면 null
+   */
+  public LocalDate getPenaltyEndDate(String memberCode) {
+    LocalDate penaltyEndDate = findMemberId(memberCode)
+        .map(memberId -> OverdueReturnDto.toPenaltyEndDates(
+            bookRentalRepository.findOverdueReturnsByMemberIdBetween(memberId, memberId)))
+        .map(penaltyEndDates -> penaltyEndDates.get(memberCode))
+        .orElse(null);
+
+    return isPenaltyActive(penaltyEndDate) ? penaltyEndDate : null;
+  }
+
+  /**
+   * 회원들의 남은 요청 가능 횟수, 대여 가능 권수, 연체 여부를 회원 번호로 묶은 쿼리 네 번으로 계산한다. 회원 목록 조회처럼 여러 회원의 상태가
+   * 필요할 때 회원마다 쿼리를 보내지 않도록 한다.
+   *
+   * @param memberCodes 계산할 회원 번호 목록
+   * @return 회원 번호를 key 로 하는 회원 상태. 순서는 memberCodes 의 순서를 따른다.
+   */
+  public Map<String, MemberRedisStateDto> getMemberStates(List<String> memberCodes) {
+    LocalDateTime monthStartTime = MemberQuotaKey.getMonthStartTime();
+
+    Map<String, Long> managementRequestCounts = MemberCountDto.toCountMap(
+        managementRequestRepository.countRequestsByMemberCodes(memberCodes, monthStartTime));
+    Map<String, Long> newBookRequestCounts = MemberCountDto.toCountMap(
+        newBookRequestRepository.countRequestsByMemberCodes(memberCodes, monthStartTime));
+    Map<String, Long> activeRentalCounts = MemberCountDto.toCountMap(
+        bookRentalRepository.countActiveRentalsByMemberCodes(memberCodes));
+    Map<String, LocalDate> penaltyEndDates = OverdueReturnDto.toPenaltyEndDates(
+        bookRentalRepository.findOverdueReturnsByMemberCodes(memberCodes));
+
+    Map<String, MemberRedisStateDto> memberStates = new LinkedHashMap<>();
+    for (String memberCode : memberCodes) {
+      memberStates.put(memberCode, MemberRedisStateDto.builder()
+          .memberCode(memberCode)
+          .remainManagementRequestCount(String.valueOf(getRemainCount(
+              MANAGEMENT_REQUEST_COUNT.getInitCountValue(),
+              managementRequestCounts.getOrDefault(memberCode, 0L))))
+          .remainNewBookRequestCount(String.valueOf(getRemainCount(
+              NEW_BOOK_REQUEST_COUNT.getInitCountValue(),
+              newBookRequestCounts.getOrDefault(memberCode, 0L))))
+          .remainRentalCount(String.valueOf(getRemainCount(RENTAL_COUNT.getInitCountValue(),
+              activeRentalCounts.getOrDefault(memberCode, 0L))))
+          .penalty(isPenaltyActive(penaltyEndDates.get(memberCode)))
+          .build());
+    }
+
+    return memberStates;
+  }
+
+  public boolean isNewBookRequestAwaiting(Long requestId) {
+    return !newBookRequestRepository.findAwaitRequestIdsBetween(requestId, requestId).isEmpty();
+  }
+
+  public boolean isManagementRequestAwaiting(Long requestId) {
+    return !managementRequestRepository.findAwaitRequestIdsBetween(requestId, requestId)
+        .isEmpty();
+  }
+
+  // 회원 번호는 가입 순서대로 발급되므로 마지막으로 가입한 회원의 번호가 가장 크다.
+  public long getLastMemberCode() {
+    Long maxMemberId = memberRepository.findMaxMemberId();
+    if (maxMemberId == null) {
+      return INIT_MEMBER_CODE;
+    }
+
+    return memberRepository.findMemberCodesByIdBetween(maxMemberId, maxMemberId).stream()
+        .mapToLong(Long::parseLong)
+        .max()
+        .orElse(INIT_MEMBER_CODE);
+  }
+
+  /**
+   * member_code_sequences 의 행을 잠근 뒤 다음 회원 번호를 발급한다. 회원 가입 트랜잭션이 끝날 때까지 잠금을 잡지 않도록 새 트랜잭션에서
+   * 커밋한다. 처음 발급할 때 다른 인스턴스가 같은 행을 먼저 저장하면 DataIntegrityViolationException 이 발생하며, 다시 호출하면 저장된 행을
+   * 잠근다.
+   *
+   * @return 발급한 회원 번호
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public long issueMemberCode() {
+    long lastJoinedMemberCode = getLastMemberCode();
+
+    MemberCodeSequence sequence = memberCodeSequenceRepository
+        .findByNameForUpdate(MemberCodeSequence.MEMBER_CODE)
+        .orElseGet(() -> {
+          memberCodeSequenceRepository.insert(MemberCodeSequence.MEMBER_CODE, lastJoinedMemberCode);
+          return memberCodeSequenceRepository.findByNameForUpdate(MemberCodeSequence.MEMBER_CODE)
+              .orElseThrow();
+        });
+
+    return sequence.issueNext(lastJoinedMemberCode);
+  }
+
+  private Optional<Long> findMemberId(String memberCode) {
+    return memberRepository.findByMemberCode(memberCode).map(Member::getId);
+  }
+
+  private long getRemainCount(long initCount, List<MemberCountDto> usedCounts) {
+    long usedCount = usedCounts.stream()
+        .mapToLong(MemberCountDto::getCount)
+        .sum();
+
+    return getRemainCount(initCount, usedCount);
+  }
+
+  private long getRemainCount(long initCount, long usedCount) {
+    return Math.max(0L, initCount - usedCount);
+  }
+
+  private boolean isPenaltyActive(LocalDate penaltyEndDate) {
+    return penaltyEndDate != null && penaltyEndDate.isAfter(LocalDate.now());
+  }
+}
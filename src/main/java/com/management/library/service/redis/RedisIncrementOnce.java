@@ -0,0 +1,74 @@
+package com.management.library.service.redis;
+
+import java.time.Duration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * 이벤트를 처리하며 실행하는 ZINCRBY, HINCRBY 를 이벤트마다 한 번만 반영한다. 반영 기록 확인, 증가, 반영 기록 저장을 lua script 하나로
+ * 실행하므로, 일부 명령만 반영된 채 실패한 이벤트가 다시 처리되어도 이미 반영한 증가는 다시 더해지지 않는다. SADD, EXPIREAT, PFADD 처럼 다시
+ * 실행해도 결과가 같은 명령은 그대로 실행한다.
+ * <p>
+ * 반영 기록은 {대상 키}:applied:{이벤트 key} 에 남긴다. 대상 키에 hash tag 가 있다면 대상 키 뒤에 붙여, 두 키는 redis cluster 에서도
+ * 같은 slot 에 놓인다.
+ */
+public final class RedisIncrementOnce {
+
+  private static final String APPLIED_INFIX = ":applied:";
+  // 다시 전달되는 이벤트는 소비자가 pending 이벤트를 가져오는 주기 안에 처리된다.
+  public static final Duration APPLIED_TTL = Duration.ofDays(1);
+  private static final byte[] SCRIPT = RedisSerializer.string().serialize(
+      RedisScript.of(new ClassPathResource("scripts/increment-once.lua")).getScriptAsString());
+
+  private RedisIncrementOnce() {
+  }
+
+  /**
+   * sorted set 의 member score 를 이벤트마다 한 번만 증가시킨다. pipeline 안에서도 호출할 수 있다.
+   *
+   * @param connection redis 연결
+   * @param key        sorted set 키
+   * @param member     member
+   * @param increment  증가량
+   * @param eventKey   소비자 그룹 안에서 이벤트를 구분하는 key
+   */
+  public static void zIncrBy(RedisConnection connection, String key, String member,
+      double increment, String eventKey) {
+    eval(connection, key, "ZINCRBY", member, String.valueOf(increment), eventKey);
+  }
+
+  /**
+   * hash 의 field 값을 이벤트마다 한 번만 증가시킨다. pipeline 안에서도 호출할 수 있다.
+   *
+   * @param connection redis 연결
+   * @param key        hash 키
+   * @param field      field
+   * @param increment  증가량
+   * @param eventKey   소비자 그룹 안에서 이벤트를 구분하는 key
+   */
+  public static void hIncrBy(RedisConnection connection, String key, String field,
+      long increment, String eventKey) {
+    eval(connection, key, "HINCRBY", field, String.valueOf(increment), eventKey);
+  }
+
+  public static String getAppliedKey(String key, String eventKey) {
+    String slotKey = key.contains("{") && key.contains("}") ? key : "{" + key + "}";
+    return slotKey + APPLIED_INFIX + eventKey;
+  }
+
+  private static void eval(RedisConnection connection, String key, String command,
+      String memberOrField, String increment, String eventKey) {
+    RedisSerializer<String> serializer = RedisSerializer.string();
+
+    connection.scriptingCommands().eval(SCRIPT, ReturnType.INTEGER, 2,
+        serializer.serialize(key),
+        serializer.serialize(getAppliedKey(key, eventKey)),
+        serializer.serialize(command),
+        serializer.serialize(memberOrField),
+        serializer.serialize(increment),
+        serializer.serialize(String.valueOf(APPLIED_TTL.getSeconds())));
+  }
+}
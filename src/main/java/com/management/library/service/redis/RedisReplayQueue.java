@@ -0,0 +1,95 @@
+package com.management.library.service.redis;
+
+import com.management.library.service.scheduled.ScheduledLease;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * circuit breaker 가 열려 있거나 redis 호출이 실패해 반영하지 못한 쓰기 명령을 쌓아 두었다가, redis 가 회복되면 쌓인 순서대로 다시
+ * 실행한다.
+ * <p>
+ * 명령은 인스턴스 메모리에만 쌓이므로 인스턴스가 종료되거나 MAX_SIZE 를 넘으면 유실되며, 이때 어긋난 값은 redisStateRebuildJob 으로
+ * 보정한다.
+ */
+@Slf4j
+@Component
+public class RedisReplayQueue {
+
+  private static final int MAX_SIZE = 10000;
+
+  private final RedisCircuitBreakerRegistry redisCircuitBreakerRegistry;
+  private final Deque<ReplayCommand> commands = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger size = new AtomicInteger();
+
+  public RedisReplayQueue(RedisCircuitBreakerRegistry redisCircuitBreakerRegistry,
+      ObjectProvider<MeterRegistry> meterRegistryProvider) {
+    this.redisCircuitBreakerRegistry = redisCircuitBreakerRegistry;
+    meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry)
+        .gauge("redis.replay-queue.size", size);
+  }
+
+  /**
+   * 다시 실행할 명령을 추가한다.
+   *
+   * @param breakerName 명령을 실행할 circuit breaker 이름
+   * @param command     다시 실행할 redis 명령
+   */
+  public void enqueue(String breakerName, Runnable command) {
+    if (size.incrementAndGet() > MAX_SIZE) {
+      size.decrementAndGet();
+      log.error("redis replay queue is full, command dropped : breaker = {}", breakerName);
+      return;
+    }
+
+    commands.offerLast(new ReplayCommand(breakerName, command));
+  }
+
+  /**
+   * 쌓인 명령을 순서대로 다시 실행한다. 명령을 실행할 수 없거나 실행에 실패하면 그 명령부터 다음 회차에 다시 실행한다.
+   *
+   * @return 실행한 명령 수
+   */
+  @Scheduled(fixedDelay = 5000L)
+  @ScheduledLease(exclusive = false)
+  public synchronized int replay() {
+    int count = 0;
+    ReplayCommand command;
+
+    while ((command = commands.peekFirst()) != null) {
+      if (!redisCircuitBreakerRegistry.get(command.breakerName).tryRun(command.command)) {
+        break;
+      }
+
+      commands.pollFirst();
+      size.decrementAndGet();
+      count++;
+    }
+
+    if (count > 0) {
+      log.info("redis commands replayed : count = {}, remain = {}", count, size.get());
+    }
+    return count;
+  }
+
+  public int size() {
+    return size.get();
+  }
+
+  private static class ReplayCommand {
+
+    private final String breakerName;
+    private final Runnable command;
+
+    private ReplayCommand(String breakerName, Runnable command) {
+      this.breakerName = breakerName;
+      this.command = command;
+    }
+  }
+}
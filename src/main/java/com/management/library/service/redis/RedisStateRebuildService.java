@@ -0,0 +1,432 @@
+package com.management.library.service.redis;
+
+import com.management.library.repository.management.ManagementRequestRepository;
+import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.newbook.NewBookRequestRepository;
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.repository.review.BookReviewRepository;
+import com.management.library.service.book.recommend.BookTypeBand;
+import com.management.library.service.redis.dto.BookRentedCountDto;
+import com.management.library.service.redis.dto.MemberCountDto;
+import com.management.library.service.redis.dto.OverdueReturnDto;
+import com.management.library.service.review.BookReviewRedisService;
+import com.management.library.service.review.dto.BookReviewRateCountDto;
+import com.management.library.service.review.dto.BookReviewRateDto;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * redis 에만 저장되는 상태(회원별 대여 가능 권수, 연체 정보, 요청 가능 횟수, 요청 답변 중복 방지 키, 대여 순위, 도서 평점 통계)를 DB 를
+ * 기준으로 id 범위 단위로 다시 만든다. 현재 redis 값을 한 번에 읽어 DB 로 계산한 값과 비교하고, dryRun 이 아니라면 다른 값만 하나의
+ * pipeline 으로 고친다.
+ * <p>
+ * 재구축 중에 들어온 요청이 같은 값을 바꾸면 재구축 결과로 덮어써질 수 있으므로 요청이 적은 시간에 실행해야 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RedisStateRebuildService {
+
+  private static final String NEW_BOOK_REQUEST_PREFIX = "book-request-id:";
+  private static final String MANAGEMENT_REQUEST_PREFIX = "management-request-id:";
+  private static final String BOOK_RENTED_COUNT = "book-rented-count";
+
+  private final MemberRepository memberRepository;
+  private final BookRentalRepository bookRentalRepository;
+  private final BookReviewRepository bookReviewRepository;
+  private final NewBookRequestRepository newBookRequestRepository;
+  private final ManagementRequestRepository managementRequestRepository;
+  private final BookReviewRedisService bookReviewRedisService;
+  private final RedisTemplate<String, String> redisTemplate;
+
+  /**
+   * 회원 id 범위 안의 회원별 대여 가능 권수, 연체 정보, 이번 달 요청 가능 횟수를 다시 만든다.
+   *
+   * @param startId 시작 회원 id
+   * @param endId   종료 회원 id(포함)
+   * @param dryRun  true 라면 비교만 하고 redis 에 쓰지 않는다.
+   * @return DB 와 다른 값의 수
+   */
+  public long rebuildMemberStates(long startId, long endId, boolean dryRun) {
+    List<String> memberCodes = memberRepository.findMemberCodesByIdBetween(startId, endId);
+    if (memberCodes.isEmpty()) {
+      return 0L;
+    }
+
+    LocalDate today = LocalDate.now();
+    LocalDateTime monthStartTime = MemberQuotaKey.getMonthStartTime();
+
+    Map<String, Long> activeRentalCounts = MemberCountDto.toCountMap(
+        bookRentalRepository.countActiveRentalsByMemberIdBetween(startId, endId));
+    Map<String, Long> managementRequestCounts = MemberCountDto.toCountMap(managementRequestRepository
+        .countRequestsByMemberIdBetween(startId, endId, monthStartTime));
+    Map<String, Long> newBookRequestCounts = MemberCountDto.toCountMap(newBookRequestRepository
+        .countRequestsByMemberIdBetween(startId, endId, monthStartTime));
+    Map<String, LocalDate> penaltyEndDates = OverdueReturnDto.toPenaltyEndDates(
+        bookRentalRepository.findOverdueReturnsByMemberIdBetween(startId, endId));
+
+    Map<String, String> rentalCounts = new LinkedHashMap<>();
+    Map<String, String> managementCounts = new LinkedHashMap<>();
+    Map<String, String> newBookCounts = new LinkedHashMap<>();
+    Map<String, ExpectedValue> penalties = new LinkedHashMap<>();
+
+    for (String memberCode : memberCodes) {
+      rentalCounts.put(memberCode,
+          getRemainCount(MemberQuotaKey.RENTAL_COUNT.getInitCount(), activeRentalCounts.get(memberCode)));
+      managementCounts.put(memberCode, getRemainCount(
+          MemberQuotaKey.MANAGEMENT_REQUEST_COUNT.getInitCount(),
+          managementRequestCounts.get(memberCode)));
+      newBookCounts.put(memberCode, getRemainCount(
+          MemberQuotaKey.NEW_BOOK_REQUEST_COUNT.getInitCount(),
+          newBookRequestCounts.get(memberCode)));
+
+      // 연체 기간이 끝났다면 연체 정보가 없어야 한다.
+      LocalDate penaltyEndDate = penaltyEndDates.get(memberCode);
+      penalties.put(MemberPenaltyKey.getKey(memberCode),
+          penaltyEndDate != null && penaltyEndDate.isAfter(today)
+              ? ExpectedValue.of(penaltyEndDate.toString(),
+              Duration.ofDays(ChronoUnit.DAYS.between(today, penaltyEndDate)))
+              : null);
+    }
+
+    return rebuildHashFields(MemberQuotaKey.RENTAL_COUNT, rentalCounts, dryRun)
+        + rebuildHashFields(MemberQuotaKey.MANAGEMENT_REQUEST_COUNT, managementCounts, dryRun)
+        + rebuildHashFields(MemberQuotaKey.NEW_BOOK_REQUEST_COUNT, newBookCounts, dryRun)
+        + rebuildValues(MemberPenaltyKey.PREFIX, penalties, dryRun);
+  }
+
+  /**
+   * 도서 id 범위 안의 도서 대여 순위(올해 대여 횟수), 분류 구간별 대여 순위(전체 대여 횟수), 도서 평점 통계를 다시 만든다. 대여 순위는 제목이
+   * member 이므로, 저자가 다른 같은 제목의 도서가 다른 범위에 있어도 범위마다 같은 합계를 쓰도록 제목별로 전체 도서를 집계한다.
+   *
+   * @param startId 시작 도서 id
+   * @param endId   종료 도서 id(포함)
+   * @param dryRun  true 라면 비교만 하고 redis 에 쓰지 않는다.
+   * @return DB 와 다른 값의 수
+   */
+  public long rebuildBookStates(long startId, long endId, boolean dryRun) {
+    LocalDateTime yearStartTime = LocalDate.now().withDayOfYear(1).atStartOfDay();
+
+    Map<String, Double> yearlyScores = new HashMap<>();
+    Map<String, Map<String, Double>> typeScores = new HashMap<>();
+
+    for (BookRentedCountDto rentedCount : bookRentalRepository
+        .countRentalsByTitlesOfBookIdBetween(startId, endId, yearStartTime)) {
+      yearlyScores.merge(rentedCount.getBookTitle(), (double) rentedCount.getYearCount(),
+          Double::sum);
+      typeScores.computeIfAbsent(
+              BookTypeBand.getRentedCountKey(BookTypeBand.of(rentedCount.getTypeCode())),
+              key -> new HashMap<>())
+          .merge(rentedCount.getBookTitle(), (double) rentedCount.getTotalCount(), Double::sum);
+    }
+
+    // 올해 대여되지 않은 도서는 대여 순위에 없어야 한다.
+    yearlyScores.replaceAll((bookTitle, score) -> score == 0 ? null : score);
+
+    long mismatchCount = rebuildSortedSet(BOOK_RENTED_COUNT, yearlyScores, dryRun);
+    for (Map.Entry<String, Map<String, Double>> entry : typeScores.entrySet()) {
+      mismatchCount += rebuildSortedSet(entry.getKey(), entry.getValue(), dryRun);
+    }
+
+    return mismatchCount + rebuildReviewRates(startId, endId, dryRun);
+  }
+
+  /**
+   * 신규 도서 요청 id 범위 안에서 답변을 기다리는 요청만 답변 중복 방지 키를 가지도록 다시 만든다.
+   */
+  public long rebuildNewBookRequestStates(long startId, long endId, boolean dryRun) {
+    return rebuildRequestKeys(NEW_BOOK_REQUEST_PREFIX, startId, endId,
+        newBookRequestRepository.findAwaitRequestIdsBetween(startId, endId), dryRun);
+  }
+
+  /**
+   * 운영 개선 요청 id 범위 안에서 답변을 기다리는 요청만 답변 중복 방지 키를 가지도록 다시 만든다.
+   */
+  public long rebuildManagementRequestStates(long startId, long endId, boolean dryRun) {
+    return rebuildRequestKeys(MANAGEMENT_REQUEST_PREFIX, startId, endId,
+        managementRequestRepository.findAwaitRequestIdsBetween(startId, endId), dryRun);
+  }
+
+  private long rebuildReviewRates(long startId, long endId, boolean dryRun) {
+    List<BookReviewRateDto> reviewRates = bookReviewRepository
+        .findRateCountByBookIdBetween(startId, endId).stream()
+        .collect(Collectors.groupingBy(BookReviewRateCountDto::getBookId, LinkedHashMap::new,
+            Collectors.toList()))
+        .values().stream()
+        .map(BookReviewRateDto::of)
+        .collect(Collectors.toList());
+
+    if (reviewRates.isEmpty()) {
+      return 0L;
+    }
+
+    Map<Long, BookReviewRateDto> currentRates = bookReviewRedisService.getReviewRates(
+            reviewRates.stream().map(BookReviewRateDto::getBookId).collect(Collectors.toList()))
+        .stream()
+        .collect(Collectors.toMap(BookReviewRateDto::getBookId, Function.identity()));
+
+    List<BookReviewRateDto> mismatchedRates = reviewRates.stream()
+        .filter(reviewRate -> !isSameReviewRate(reviewRate,
+            currentRates.get(reviewRate.getBookId())))
+        .collect(Collectors.toList());
+
+    if (!dryRun && !mismatchedRates.isEmpty()) {
+      bookReviewRedisService.rebuildReviewRates(mismatchedRates);
+    }
+
+    logMismatch("book-review-stat", mismatchedRates.size(), dryRun);
+    return mismatchedRates.size();
+  }
+
+  private long rebuildRequestKeys(String prefix, long startId, long endId, List<Long> awaitIds,
+      boolean dryRun) {
+    Set<Long> awaitIdSet = new HashSet<>(awaitIds);
+    Map<String, ExpectedValue> requestKeys = new LinkedHashMap<>();
+
+    for (long id = startId; id <= endId; id++) {
+      requestKeys.put(prefix + id, awaitIdSet.contains(id) ? ExpectedValue.of("", null) : null);
+    }
+
+    return rebuildValues(prefix, requestKeys, dryRun);
+  }
+
+  /**
+   * 회원별 hash field 값을 비교하고 다른 값을 고친다. 기대 값이 기본 값이라면 field 를 지운다. 회원은 bucket 키별로 나누어 하나의 pipeline
+   * 으로 읽고, 하나의 pipeline 으로 고친다.
+   */
+  @SuppressWarnings("unchecked")
+  private long rebuildHashFields(MemberQuotaKey quotaKey, Map<String, String> expectedValues,
+      boolean dryRun) {
+    Map<String, List<String>> fieldsByKey = expectedValues.keySet().stream()
+        .collect(Collectors.groupingBy(quotaKey::getKey, LinkedHashMap::new,
+            Collectors.toList()));
+    List<String> keys = new ArrayList<>(fieldsByKey.keySet());
+
+    List<Object> currentValues = redisTemplate.executePipelined(
+        (RedisCallback<Object>) connection -> {
+          keys.forEach(key -> connection.hashCommands().hMGet(serialize(key),
+              fieldsByKey.get(key).stream()
+                  .map(RedisStateRebuildService::serialize)
+                  .toArray(byte[][]::new)));
+          return null;
+        }, RedisSerializer.string());
+
+    Map<String, Map<byte[], byte[]>> updatedFields = new LinkedHashMap<>();
+    Map<String, List<byte[]>> deletedFields = new LinkedHashMap<>();
+    String defaultValue = quotaKey.getInitCount();
+    int mismatchCount = 0;
+
+    for (int i = 0; i < keys.size(); i++) {
+      String key = keys.get(i);
+      List<String> fields = fieldsByKey.get(key);
+      List<String> bucketValues = (List<String>) currentValues.get(i);
+
+      for (int j = 0; j < fields.size(); j++) {
+        String field = fields.get(j);
+        String expectedValue = expectedValues.get(field);
+        String currentValue = bucketValues.get(j);
+
+        if (expectedValue.equals(currentValue == null ? defaultValue : currentValue)) {
+          continue;
+        }
+
+        if (expectedValue.equals(defaultValue)) {
+          deletedFields.computeIfAbsent(key, k -> new ArrayList<>()).add(serialize(field));
+        } else {
+          updatedFields.computeIfAbsent(key, k -> new HashMap<>())
+              .put(serialize(field), serialize(expectedValue));
+        }
+        mismatchCount++;
+      }
+    }
+
+    if (!dryRun && mismatchCount > 0) {
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        updatedFields.forEach((key, fields) -> {
+          connection.hashCommands().hMSet(serialize(key), fields);
+          if (quotaKey.isMonthly()) {
+            connection.keyCommands().expireAt(serialize(key),
+                quotaKey.getExpireAt().getEpochSecond());
+          }
+        });
+        deletedFields.forEach((key, fields) -> connection.hashCommands()
+            .hDel(serialize(key), fields.toArray(byte[][]::new)));
+        return null;
+      });
+    }
+
+    logMismatch(quotaKey.getPrefix(), mismatchCount, dryRun);
+    return mismatchCount;
+  }
+
+  /**
+   * sorted set 의 점수를 비교하고 다른 점수를 고친다. 기대 점수가 null 이라면 member 를 지운다.
+   */
+  private long rebuildSortedSet(String key, Map<String, Double> expectedScores, boolean dryRun) {
+    if (expectedScores.isEmpty()) {
+      return 0L;
+    }
+
+    byte[] rawKey = serialize(key);
+    List<String> members = new ArrayList<>(expectedScores.keySet());
+
+    List<Object> currentScores = redisTemplate.executePipelined(
+        (RedisCallback<Object>) connection -> {
+          for (String member : members) {
+            connection.zSetCommands().zScore(rawKey, serialize(member));
+          }
+          return null;
+        });
+
+    Map<byte[], Double> updatedMembers = new HashMap<>();
+    List<byte[]> deletedMembers = new ArrayList<>();
+
+    for (int i = 0; i < members.size(); i++) {
+      Double expectedScore = expectedScores.get(members.get(i));
+
+      if (Objects.equals(expectedScore, currentScores.get(i))) {
+        continue;
+      }
+
+      if (expectedScore == null) {
+        deletedMembers.add(serialize(members.get(i)));
+      } else {
+        updatedMembers.put(serialize(members.get(i)), expectedScore);
+      }
+    }
+
+    if (!dryRun) {
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        updatedMembers.forEach(
+            (member, score) -> connection.zSetCommands().zAdd(rawKey, score, member));
+        if (!deletedMembers.isEmpty()) {
+          connection.zSetCommands().zRem(rawKey, deletedMembers.toArray(byte[][]::new));
+        }
+        // 체크포인트 대상이라면 고친 member 를 다음 체크포인트에 반영한다.
+        if (BOOK_RENTED_COUNT.equals(key)
+            && updatedMembers.size() + deletedMembers.size() > 0) {
+          List<byte[]> changedMembers = new ArrayList<>(updatedMembers.keySet());
+          changedMembers.addAll(deletedMembers);
+          connection.setCommands().sAdd(
+              serialize(RedisCheckpointTarget.BOOK_RENTED_COUNT.getDirtyKey()),
+              changedMembers.toArray(byte[][]::new));
+        }
+        return null;
+      });
+    }
+
+    int mismatchCount = updatedMembers.size() + deletedMembers.size();
+    logMismatch(key, mismatchCount, dryRun);
+    return mismatchCount;
+  }
+
+  /**
+   * 문자열 값을 비교하고 다른 값을 고친다. 기대 값이 null 이라면 key 를 지운다. 값은 redis template 의 value serializer 로
+   * 읽고 쓴다.
+   */
+  private long rebuildValues(String keyPrefix, Map<String, ExpectedValue> expectedValues,
+      boolean dryRun) {
+    List<String> keys = new ArrayList<>(expectedValues.keySet());
+    List<String> currentValues = redisTemplate.opsForValue().multiGet(keys);
+
+    Map<String, ExpectedValue> mismatchedValues = new LinkedHashMap<>();
+
+    for (int i = 0; i < keys.size(); i++) {
+      ExpectedValue expectedValue = expectedValues.get(keys.get(i));
+
+      if (!Objects.equals(expectedValue == null ? null : expectedValue.value,
+          currentValues.get(i))) {
+        mismatchedValues.put(keys.get(i), expectedValue);
+      }
+    }
+
+    if (!dryRun && !mismatchedValues.isEmpty()) {
+      @SuppressWarnings("unchecked")
+      RedisSerializer<String> valueSerializer =
+          (RedisSerializer<String>) redisTemplate.getValueSerializer();
+
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        mismatchedValues.forEach((key, expectedValue) -> {
+          if (expectedValue == null) {
+            connection.keyCommands().del(serialize(key));
+          } else if (expectedValue.ttl == null) {
+            connection.stringCommands()
+                .set(serialize(key), valueSerializer.serialize(expectedValue.value));
+          } else {
+            connection.stringCommands().set(serialize(key),
+                valueSerializer.serialize(expectedValue.value),
+                Expiration.from(expectedValue.ttl), SetOption.upsert());
+          }
+        });
+        return null;
+      });
+    }
+
+    logMismatch(keyPrefix + "*", mismatchedValues.size(), dryRun);
+    return mismatchedValues.size();
+  }
+
+  private String getRemainCount(String initCount, Long usedCount) {
+    if (usedCount == null) {
+      return initCount;
+    }
+
+    return String.valueOf(Math.max(0L, Long.parseLong(initCount) - usedCount));
+  }
+
+  private boolean isSameReviewRate(BookReviewRateDto expected, BookReviewRateDto current) {
+    return current != null
+        && Objects.equals(expected.getBookTitle(), current.getBookTitle())
+        && expected.getRateSum() == current.getRateSum()
+        && expected.getReviewCount() == current.getReviewCount()
+        && Objects.equals(expected.getRateHistogram(), current.getRateHistogram());
+  }
+
+  private void logMismatch(String key, long mismatchCount, boolean dryRun) {
+    if (mismatchCount > 0) {
+      log.info("redis state mismatch : key = {}, count = {}, dryRun = {}", key, mismatchCount,
+          dryRun);
+    }
+  }
+
+  private static byte[] serialize(String value) {
+    return RedisSerializer.string().serialize(value);
+  }
+
+  private static class ExpectedValue {
+
+    private final String value;
+    private final Duration ttl;
+
+    private ExpectedValue(String value, Duration ttl) {
+      this.value = value;
+      this.ttl = ttl;
+    }
+
+    private static ExpectedValue of(String value, Duration ttl) {
+      return new ExpectedValue(value, ttl);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.management.library.service.redis.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 도서별 대여 횟수 집계 결과. 전체 대여 횟수는 분류 구간별 대여 순위에, 올해 대여 횟수는 대여 순위에 사용한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class BookRentedCountDto {
+
+  private String bookTitle;
+  private int typeCode;
+  private Long totalCount;
+  private Long yearCount;
+
+  public BookRentedCountDto(String bookTitle, int typeCode, Long totalCount, Long yearCount) {
+    this.bookTitle = bookTitle;
+    this.typeCode = typeCode;
+    this.totalCount = totalCount;
+    this.yearCount = yearCount;
+  }
+}
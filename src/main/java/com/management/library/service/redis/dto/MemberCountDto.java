@@ -0,0 +1,30 @@
+package com.management.library.service.redis.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 회원별 집계 결과. redis 상태 재구축 작업과 degraded mode 에서 회원별 대여 중인 도서 수, 이번 달 요청 수를 집계할 때 사용한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class MemberCountDto {
+
+  private String memberCode;
+  private Long count;
+
+  public MemberCountDto(String memberCode, Long count) {
+    this.memberCode = memberCode;
+    this.count = count;
+  }
+
+  public static Map<String, Long> toCountMap(List<MemberCountDto> memberCounts) {
+    return memberCounts.stream()
+        .collect(Collectors.toMap(MemberCountDto::getMemberCode, MemberCountDto::getCount));
+  }
+}
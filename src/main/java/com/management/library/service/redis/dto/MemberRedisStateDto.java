@@ -0,0 +1,43 @@
+package com.management.library.service.redis.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 회원 한 명의 redis 상태. 남은 요청 가능 횟수, 남은 대여 가능 권수, 연체 여부를 담는다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class MemberRedisStateDto {
+
+  private static final String AVAILABLE = "available";
+  private static final String UNAVAILABLE = "unavailable";
+
+  private String memberCode;
+  private String remainManagementRequestCount;
+  private String remainNewBookRequestCount;
+  private String remainRentalCount;
+  private boolean penalty;
+
+  @Builder
+  private MemberRedisStateDto(String memberCode, String remainManagementRequestCount,
+      String remainNewBookRequestCount, String remainRentalCount, boolean penalty) {
+    this.memberCode = memberCode;
+    this.remainManagementRequestCount = remainManagementRequestCount;
+    this.remainNewBookRequestCount = remainNewBookRequestCount;
+    this.remainRentalCount = remainRentalCount;
+    this.penalty = penalty;
+  }
+
+  // 연체 중이거나 남은 대여 가능 권수가 없다면 대여할 수 없다.
+  public String getRentalStatus() {
+    if (penalty || "0".equals(remainRentalCount)) {
+      return UNAVAILABLE;
+    }
+
+    return AVAILABLE;
+  }
+}
@@ -0,0 +1,52 @@
+package com.management.library.service.redis.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 반납 기한을 넘겨 반납된 대여. 반납 시 대여 상태가 마지막으로 변경되므로 마지막 수정 시각을 반납 시각으로 사용한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class OverdueReturnDto {
+
+  private String memberCode;
+  private LocalDate rentalEndDate;
+  private LocalDateTime returnedAt;
+
+  public OverdueReturnDto(String memberCode, LocalDate rentalEndDate, LocalDateTime returnedAt) {
+    this.memberCode = memberCode;
+    this.rentalEndDate = rentalEndDate;
+    this.returnedAt = returnedAt;
+  }
+
+  /**
+   * 반납 순서대로 연체 기간을 쌓아 회원별 연체 종료일을 계산한다. 연체 중에 다시 연체된 도서를 반납하면 기존 종료일에 연체 일수를 더하고, 연체가
+   * 끝난 뒤라면 반납일부터 다시 계산한다.
+   *
+   * @param overdueReturns 회원, 반납 시각 순으로 정렬된 연체 반납 목록
+   * @return 회원 번호별 연체 종료일
+   */
+  public static Map<String, LocalDate> toPenaltyEndDates(List<OverdueReturnDto> overdueReturns) {
+    Map<String, LocalDate> penaltyEndDates = new HashMap<>();
+
+    for (OverdueReturnDto overdueReturn : overdueReturns) {
+      LocalDate returnDate = overdueReturn.getReturnedAt().toLocalDate();
+      int overdueDays = Period.between(overdueReturn.getRentalEndDate(), returnDate).getDays();
+
+      penaltyEndDates.merge(overdueReturn.getMemberCode(), returnDate.plusDays(overdueDays),
+          (currentEndDate, newEndDate) -> currentEndDate.isAfter(returnDate)
+              ? currentEndDate.plusDays(overdueDays) : newEndDate);
+    }
+
+    return penaltyEndDates;
+  }
+}
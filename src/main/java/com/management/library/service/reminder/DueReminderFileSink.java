@@ -0,0 +1,102 @@
+package com.management.library.service.reminder;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+import com.management.library.service.reminder.dto.DueReminderDto;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 알림을 반납 기한별 파일(due-reminders-yyyy-MM-dd.csv)에 한 줄씩 추가한다. 각 줄은 회원 id, 회원 번호, 대여 수, 도서 이름 목록이다.
+ * <p>
+ * 파일에 이미 기록된 회원은 다시 기록하지 않는다. 기록된 회원 id 는 반납 기한이 바뀔 때 파일에서 한 번 읽어 둔다. 알림 작업은 한 스레드에서만
+ * 기록하므로 동기화하지 않는다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "due-reminder", name = "sink", havingValue = "file")
+public class DueReminderFileSink implements DueReminderSink {
+
+  private static final String DELIMITER = ",";
+  private static final String TITLE_DELIMITER = "|";
+
+  private final Path directory;
+
+  private LocalDate currentDueDate;
+  private Set<Long> writtenMemberIds = new HashSet<>();
+
+  public DueReminderFileSink(@Value("${due-reminder.file-directory}") String directory) {
+    this.directory = Paths.get(directory);
+  }
+
+  @Override
+  public void write(List<DueReminderDto> reminders) {
+    List<String> lines = new ArrayList<>();
+
+    for (DueReminderDto reminder : reminders) {
+      if (!reminder.getDueDate().equals(currentDueDate)) {
+        loadWrittenMemberIds(reminder.getDueDate());
+      }
+
+      if (writtenMemberIds.add(reminder.getMemberId())) {
+        lines.add(toLine(reminder));
+      }
+    }
+
+    if (lines.isEmpty()) {
+      return;
+    }
+
+    try {
+      Files.createDirectories(directory);
+      Files.write(getFile(currentDueDate), lines, UTF_8, CREATE, APPEND);
+    } catch (IOException e) {
+      throw new UncheckedIOException("due reminder file write failed", e);
+    }
+  }
+
+  private void loadWrittenMemberIds(LocalDate dueDate) {
+    currentDueDate = dueDate;
+    writtenMemberIds = new HashSet<>();
+
+    Path file = getFile(dueDate);
+    if (!Files.exists(file)) {
+      return;
+    }
+
+    try (Stream<String> lines = Files.lines(file, UTF_8)) {
+      writtenMemberIds = lines
+          .map(line -> Long.valueOf(line.substring(0, line.indexOf(DELIMITER))))
+          .collect(Collectors.toCollection(HashSet::new));
+    } catch (IOException e) {
+      throw new UncheckedIOException("due reminder file read failed", e);
+    }
+  }
+
+  private Path getFile(LocalDate dueDate) {
+    return directory.resolve("due-reminders-" + dueDate + ".csv");
+  }
+
+  private String toLine(DueReminderDto reminder) {
+    return String.join(DELIMITER,
+        String.valueOf(reminder.getMemberId()),
+        reminder.getMemberCode(),
+        String.valueOf(reminder.getBookTitles().size()),
+        String.join(TITLE_DELIMITER, reminder.getBookTitles())
+            .replace(DELIMITER, " ").replace("\n", " "));
+  }
+}
@@ -0,0 +1,14 @@
+package com.management.library.service.reminder;
+
+import com.management.library.service.reminder.dto.DueReminderDto;
+import java.util.List;
+
+/**
+ * 반납 예정 알림을 기록하는 곳. due-reminder.sink 설정으로 구현을 고른다.
+ * <p>
+ * 실패한 알림 작업을 다시 실행하면 이미 기록한 알림이 다시 전달되므로, 같은 회원과 반납 기한의 알림은 한 번만 기록해야 한다.
+ */
+public interface DueReminderSink {
+
+  void write(List<DueReminderDto> reminders);
+}
@@ -0,0 +1,64 @@
+package com.management.library.service.reminder;
+
+import com.management.library.service.reminder.dto.DueReminderDto;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 알림을 due_reminders 테이블에 batch insert 한다. 이미 같은 회원과 반납 기한의 알림이 있다면 insert 하지 않는다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "due-reminder", name = "sink", havingValue = "table",
+    matchIfMissing = true)
+public class DueReminderTableSink implements DueReminderSink {
+
+  private static final int BOOK_TITLES_LENGTH = 1000;
+  private static final String INSERT_SQL = "insert into due_reminders "
+      + "(member_id, member_code, due_date, book_count, book_titles, created_at) "
+      + "select ?, ?, ?, ?, ?, ? from dual "
+      + "where not exists (select 1 from due_reminders where member_id = ? and due_date = ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  public DueReminderTableSink(JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Override
+  public void write(List<DueReminderDto> reminders) {
+    if (reminders.isEmpty()) {
+      return;
+    }
+
+    Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+    transactionTemplate.executeWithoutResult(status ->
+        jdbcTemplate.batchUpdate(INSERT_SQL, reminders, reminders.size(), (ps, reminder) -> {
+          Date dueDate = Date.valueOf(reminder.getDueDate());
+
+          ps.setLong(1, reminder.getMemberId());
+          ps.setString(2, reminder.getMemberCode());
+          ps.setDate(3, dueDate);
+          ps.setInt(4, reminder.getBookTitles().size());
+          ps.setString(5, joinTitles(reminder.getBookTitles()));
+          ps.setTimestamp(6, createdAt);
+          ps.setLong(7, reminder.getMemberId());
+          ps.setDate(8, dueDate);
+        }));
+  }
+
+  private String joinTitles(List<String> bookTitles) {
+    String titles = String.join(", ", bookTitles);
+    return titles.length() > BOOK_TITLES_LENGTH ? titles.substring(0, BOOK_TITLES_LENGTH) : titles;
+  }
+}
@@ -0,0 +1,126 @@
+package com.management.library.service.reminder;
+
+import com.management.library.service.reminder.dto.DueReminderDto;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 알림 묶음을 크기가 제한된 큐에 넣고 별도 스레드에서 sink 로 기록한다. 대여를 읽는 쪽은 sink 를 기다리지 않고 다음 범위를 읽으며, 큐가 가득
+ * 차면 기록이 따라올 때까지 기다리므로 메모리에 쌓이는 알림은 capacity 묶음을 넘지 않는다.
+ * <p>
+ * 알림 작업마다 하나씩 만들고, 작업이 끝나면 awaitCompletion 으로 남은 묶음을 모두 기록하거나 close 로 기록 스레드를 멈춘다.
+ */
+public class DueReminderWriter implements AutoCloseable {
+
+  private static final long OFFER_TIMEOUT_SECONDS = 1L;
+  private static final Batch END = new Batch(List.of(), -1L);
+
+  private final DueReminderSink sink;
+  private final BlockingQueue<Batch> queue;
+  private final ExecutorService executor;
+  private final Future<?> worker;
+
+  private volatile long writtenMemberId;
+  private volatile RuntimeException failure;
+
+  /**
+   * @param sink            알림을 기록할 곳
+   * @param capacity        큐에 담아 둘 수 있는 최대 묶음 수
+   * @param writtenMemberId 이전 실행에서 기록을 마친 마지막 회원 id
+   */
+  public DueReminderWriter(DueReminderSink sink, int capacity, long writtenMemberId) {
+    this.sink = sink;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.writtenMemberId = writtenMemberId;
+    this.executor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "due-reminder-writer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.worker = executor.submit(this::drain);
+  }
+
+  /**
+   * 알림 묶음을 큐에 넣는다. 큐가 가득 차 있다면 자리가 날 때까지 기다린다.
+   *
+   * @param reminders    회원 id 순으로 정렬된 알림 묶음
+   * @param lastMemberId 묶음의 마지막 회원 id
+   */
+  public void submit(List<DueReminderDto> reminders, long lastMemberId)
+      throws InterruptedException {
+    put(new Batch(reminders, lastMemberId));
+  }
+
+  /**
+   * 큐에 남은 묶음을 모두 기록할 때까지 기다린다.
+   */
+  public void awaitCompletion() throws InterruptedException {
+    put(END);
+
+    try {
+      worker.get();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("due reminder writer failed", e.getCause());
+    } finally {
+      executor.shutdown();
+    }
+
+    checkFailure();
+  }
+
+  /**
+   * 기록을 마친 마지막 회원 id. 이 회원까지의 알림은 sink 에 기록되었으므로 다시 실행할 때 이어서 읽을 위치로 사용한다.
+   */
+  public long getWrittenMemberId() {
+    return writtenMemberId;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  // 기록 스레드가 실패하면 큐가 더 비워지지 않으므로 기다리는 동안 실패 여부를 확인한다.
+  private void put(Batch batch) throws InterruptedException {
+    do {
+      checkFailure();
+    } while (!queue.offer(batch, OFFER_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+  }
+
+  private void drain() {
+    try {
+      Batch batch;
+      while ((batch = queue.take()) != END) {
+        sink.write(batch.reminders);
+        writtenMemberId = batch.lastMemberId;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      failure = e;
+    }
+  }
+
+  private void checkFailure() {
+    if (failure != null) {
+      throw new IllegalStateException("due reminder writer failed", failure);
+    }
+  }
+
+  private static class Batch {
+
+    private final List<DueReminderDto> reminders;
+    private final long lastMemberId;
+
+    private Batch(List<DueReminderDto> reminders, long lastMemberId) {
+      this.reminders = reminders;
+      this.lastMemberId = lastMemberId;
+    }
+  }
+}
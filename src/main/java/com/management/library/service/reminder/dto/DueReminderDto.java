@@ -0,0 +1,45 @@
+package com.management.library.service.reminder.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 한 회원의 반납 기한이 같은 대여를 묶은 알림.
+ */
+@Getter
+public class DueReminderDto {
+
+  private final Long memberId;
+  private final String memberCode;
+  private final LocalDate dueDate;
+  private final List<String> bookTitles;
+
+  @Builder
+  private DueReminderDto(Long memberId, String memberCode, LocalDate dueDate,
+      List<String> bookTitles) {
+    this.memberId = memberId;
+    this.memberCode = memberCode;
+    this.dueDate = dueDate;
+    this.bookTitles = bookTitles;
+  }
+
+  /**
+   * @param rentals 같은 회원의 대여 목록
+   * @param dueDate 반납 기한
+   */
+  public static DueReminderDto of(List<DueRentalDto> rentals, LocalDate dueDate) {
+    DueRentalDto rental = rentals.get(0);
+
+    return DueReminderDto.builder()
+        .memberId(rental.getMemberId())
+        .memberCode(rental.getMemberCode())
+        .dueDate(dueDate)
+        .bookTitles(rentals.stream()
+            .map(DueRentalDto::getBookTitle)
+            .collect(Collectors.toList()))
+        .build();
+  }
+}
@@ -0,0 +1,24 @@
+package com.management.library.service.reminder.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 반납 기한이 다가온 대여. 알림을 만드는 데 필요한 회원 id, 회원 번호, 도서 이름만 조회한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class DueRentalDto {
+
+  private Long memberId;
+  private String memberCode;
+  private String bookTitle;
+
+  public DueRentalDto(Long memberId, String memberCode, String bookTitle) {
+    this.memberId = memberId;
+    this.memberCode = memberCode;
+    this.bookTitle = bookTitle;
+  }
+}
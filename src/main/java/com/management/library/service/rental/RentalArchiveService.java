@@ -0,0 +1,44 @@
+package com.management.library.service.rental;
+
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.repository.rental.RentalArchiveRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 반납된 지 오래된 대여 기록을 rentals 에서 rentals_archive 로 옮긴다. rentals 에는 대여 중인 기록과 최근에 반납된 기록만 남으므로 대여,
+ * 반납, 연체 처리가 읽는 테이블이 대여 기록이 쌓여도 커지지 않는다.
+ * <p>
+ * 복사와 삭제를 하나의 트랜잭션에서 수행하므로 중간에 실패해도 기록이 두 테이블에 함께 남거나 사라지지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RentalArchiveService {
+
+  private final BookRentalRepository bookRentalRepository;
+  private final RentalArchiveRepository rentalArchiveRepository;
+
+  /**
+   * returnedBefore 이전에 반납된 대여 기록을 오래된 순으로 최대 limit 개 옮긴다.
+   *
+   * @param returnedBefore 반납 시각 기준
+   * @param limit          한 번에 옮길 대여 수
+   * @return 옮긴 대여 수
+   */
+  @Transactional
+  public int archiveReturnedRentals(LocalDateTime returnedBefore, int limit) {
+    List<Long> rentalIds = bookRentalRepository.findArchivableRentalIds(returnedBefore, limit);
+    if (rentalIds.isEmpty()) {
+      return 0;
+    }
+
+    rentalArchiveRepository.copyRentals(rentalIds, LocalDateTime.now());
+    bookRentalRepository.deleteAllByIdInBatch(rentalIds);
+
+    return rentalIds.size();
+  }
+}
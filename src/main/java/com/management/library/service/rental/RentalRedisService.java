@@ -1,94 +1,171 @@
 package com.management.library.service.rental;
 
 import static com.management.library.exception.ErrorCode.BOOK_RENTAL_COUNT_EXCEED;
+import static com.management.library.service.redis.MemberQuotaKey.RENTAL_COUNT;
+import static com.management.library.service.redis.RedisCircuitBreakerRegistry.RENTAL;
 
-import com.management.library.exception.ErrorCode;
-import com.management.library.exception.InvalidAccessException;
 import com.management.library.exception.RentalException;
+import com.management.library.service.book.recommend.BookTypeBand;
+import com.management.library.service.redis.MemberPenaltyKey;
+import com.management.library.service.redis.RedisCheckpointTarget;
+import com.management.library.service.redis.RedisCircuitBreaker;
+import com.management.library.service.redis.RedisCircuitBreakerRegistry;
+import com.management.library.service.redis.RedisCommandBuffer;
+import com.management.library.service.redis.RedisFallbackService;
+import com.management.library.service.redis.RedisIncrementOnce;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.format.DateTimeFormatter;
 import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
 import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+/**
+ * 회원별 대여 가능 권수, 연체 정보, 도서 대여 순위를 redis 로 관리한다. 요청 처리 중의 redis 호출은 circuit breaker 로 감싸며, breaker 가
+ * 열려 있거나 redis 호출이 실패하면 대여 가능 여부와 연체 여부를 DB 로 계산하고 redis 에 반영할 변경은 redis 가 회복된 뒤 다시 실행한다.
+ * 이벤트 소비자가 호출하는 도서 대여 순위 반영은 breaker 로 감싸지 않고 예외를 던져, 소비자가 이벤트를 ack 하지 않고 다시 처리하도록 한다.
+ * <p>
+ * redis 명령이 일부만 반영된 채 실패하면 대여 가능 권수가 어긋날 수 있으며, 이는 redisStateRebuildJob 으로 보정한다.
+ */
 @Service
 @RequiredArgsConstructor
 public class RentalRedisService {
 
   private final RedisTemplate<String, String> redisTemplate;
-  private static final String RENTAL_REDIS_KEY = "rental-count";
-  private static final String INIT_AVAILABLE_COUNT = "2";
-  private static final String PENALTY_MEMBER_KEY = "penalty:";
+  private final RedisCommandBuffer redisCommandBuffer;
+  private final RedisCircuitBreakerRegistry redisCircuitBreakerRegistry;
+  private final RedisFallbackService redisFallbackService;
   private static final String BOOK_RENTED_COUNT = "book-rented-count";
 
   public void checkMemberRentalBookCount(String memberCode) {
-    HashOperations<String, Object, Object> hash = redisTemplate.opsForHash();
-    hash.putIfAbsent(RENTAL_REDIS_KEY, memberCode, INIT_AVAILABLE_COUNT);
-
-    String availableCountData = String.valueOf(hash.get(RENTAL_REDIS_KEY, memberCode));
-    int availableCount = Integer.parseInt(availableCountData);
-
-    if (availableCount <= 0) {
-      throw new RentalException(BOOK_RENTAL_COUNT_EXCEED);
-    }
-
-    hash.increment(RENTAL_REDIS_KEY, memberCode, -1);
+    circuitBreaker().run(() -> decreaseMemberRentalBookCount(memberCode), () -> {
+      if (redisFallbackService.getRemainRentalCount(memberCode) <= 0) {
+        throw new RentalException(BOOK_RENTAL_COUNT_EXCEED);
+      }
+
+      // DB 로 확인한 대여는 커밋된 뒤 redis 의 대여 가능 권수에도 반영한다.
+      byte[] rentalCountKey = serialize(RENTAL_COUNT.getKey(memberCode));
+      redisCommandBuffer.execute(connection -> {
+        connection.hashCommands().hSetNX(rentalCountKey, serialize(memberCode),
+            serialize(RENTAL_COUNT.getInitCount()));
+        connection.hashCommands().hIncrBy(rentalCountKey, serialize(memberCode), -1);
+      });
+    });
   }
 
   public LocalDate addMemberOverdueData(String memberCode, int overdueDays, LocalDate penaltyEndDate) {
-    String penaltyData = redisTemplate.opsForValue().get(PENALTY_MEMBER_KEY + memberCode);
+    LocalDate currentPenaltyDate = circuitBreaker().execute(
+        () -> getPenaltyEndDate(memberCode),
+        () -> redisFallbackService.getPenaltyEndDate(memberCode));
 
-    if (StringUtils.hasText(penaltyData)) {
-      LocalDate currentPenaltyDate = LocalDate.parse(penaltyData, DateTimeFormatter.ISO_DATE);
+    if (currentPenaltyDate != null) {
       penaltyEndDate = currentPenaltyDate.plusDays(overdueDays);
     }
 
     Period expireTime = Period.between(LocalDate.now(), penaltyEndDate);
 
-    redisTemplate.opsForValue()
-        .set(PENALTY_MEMBER_KEY + memberCode, String.valueOf(penaltyEndDate), expireTime.getDays(),
-            TimeUnit.DAYS);
+    // 연체 정보는 반납이 커밋된 뒤 반영한다.
+    @SuppressWarnings("unchecked")
+    RedisSerializer<String> valueSerializer =
+        (RedisSerializer<String>) redisTemplate.getValueSerializer();
+    byte[] penaltyKey = serialize(MemberPenaltyKey.getKey(memberCode));
+    byte[] penaltyValue = valueSerializer.serialize(String.valueOf(penaltyEndDate));
+    Expiration expiration = Expiration.from(expireTime.getDays(), TimeUnit.DAYS);
+
+    redisCommandBuffer.execute(connection -> connection.stringCommands()
+        .set(penaltyKey, penaltyValue, expiration, SetOption.upsert()));
 
     return penaltyEndDate;
   }
 
-  public void addBookRentedCount(String bookTitle){
-    ZSetOperations<String, String> sortedSet = redisTemplate.opsForZSet();
+  /**
+   * 전체 대여 횟수 순위와 도서 분류 구간별 대여 횟수 순위에 도서 대여 횟수를 하나의 pipeline 으로 반영한다. 대여 횟수는 대여 이벤트마다 한 번만
+   * 더해진다. redis 호출이 실패하면 예외를 그대로 던진다.
+   *
+   * @param bookTitle 대여한 도서 이름
+   * @param typeCode  대여한 도서 분류 번호
+   * @param eventKey  소비자 그룹 안에서 대여 이벤트를 구분하는 key
+   */
+  public void addBookRentedCount(String bookTitle, int typeCode, String eventKey){
+    String typeKey = BookTypeBand.getRentedCountKey(BookTypeBand.of(typeCode));
+    byte[] member = serialize(bookTitle);
+
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      RedisIncrementOnce.zIncrBy(connection, BOOK_RENTED_COUNT, bookTitle, 1, eventKey);
+      RedisIncrementOnce.zIncrBy(connection, typeKey, bookTitle, 1, eventKey);
+      connection.setCommands().sAdd(
+          serialize(RedisCheckpointTarget.BOOK_RENTED_COUNT.getDirtyKey()), member);
+      return null;
+    });
+  }
 
-    Boolean isKeyExists = sortedSet.addIfAbsent(BOOK_RENTED_COUNT, bookTitle, 1);
+  public String getMemberRemainRentalCount(String memberCode){
+    return circuitBreaker().execute(() -> {
+      Object data = redisTemplate.opsForHash().get(RENTAL_COUNT.getKey(memberCode), memberCode);
 
-    if (isKeyExists == null){
-      throw new InvalidAccessException(ErrorCode.UNEXPECTED_ERROR);
-    }
+      if (data == null){
+        return RENTAL_COUNT.getInitCount();
+      }
 
-    if (!isKeyExists){
-      sortedSet.incrementScore(BOOK_RENTED_COUNT, bookTitle, 1);
-    }
+      return String.valueOf(data);
+    }, () -> String.valueOf(redisFallbackService.getRemainRentalCount(memberCode)));
   }
 
-  public String getMemberRemainRentalCount(String memberCode){
-    Object data = redisTemplate.opsForHash().get(RENTAL_REDIS_KEY, memberCode);
+  public boolean checkMemberRentalPenalty(String memberCode) {
+    return circuitBreaker().execute(() -> {
+      String result = redisTemplate.opsForValue().get(MemberPenaltyKey.getKey(memberCode));
+
+      return StringUtils.hasText(result);
+    }, () -> redisFallbackService.getPenaltyEndDate(memberCode) != null);
+  }
+
+  // 반납이 커밋된 뒤 대여 가능 권수를 되돌린다.
+  public void addMemberRentalBookCount(String memberCode) {
+    byte[] rentalCountKey = serialize(RENTAL_COUNT.getKey(memberCode));
+    redisCommandBuffer.execute(connection -> connection.hashCommands()
+        .hIncrBy(rentalCountKey, serialize(memberCode), 1));
+  }
+
+  private void decreaseMemberRentalBookCount(String memberCode) {
+    String rentalCountKey = RENTAL_COUNT.getKey(memberCode);
+    HashOperations<String, Object, Object> hash = redisTemplate.opsForHash();
+    hash.putIfAbsent(rentalCountKey, memberCode, RENTAL_COUNT.getInitCount());
+
+    String availableCountData = String.valueOf(hash.get(rentalCountKey, memberCode));
+    int availableCount = Integer.parseInt(availableCountData);
 
-    if (data == null){
-      return INIT_AVAILABLE_COUNT;
+    if (availableCount <= 0) {
+      throw new RentalException(BOOK_RENTAL_COUNT_EXCEED);
     }
 
-    return String.valueOf(data);
+    // 대여 가능 권수는 다른 대여 요청이 바로 확인할 수 있도록 즉시 차감하고, 대여가 롤백되면 되돌린다.
+    hash.increment(rentalCountKey, memberCode, -1);
+    redisCommandBuffer.onRollback(connection -> connection.hashCommands()
+        .hIncrBy(serialize(rentalCountKey), serialize(memberCode), 1));
   }
 
-  public boolean checkMemberRentalPenalty(String memberCode) {
-    String result = redisTemplate.opsForValue().get(PENALTY_MEMBER_KEY + memberCode);
+  private LocalDate getPenaltyEndDate(String memberCode) {
+    String penaltyData = redisTemplate.opsForValue().get(MemberPenaltyKey.getKey(memberCode));
+
+    if (!StringUtils.hasText(penaltyData)) {
+      return null;
+    }
 
-    return StringUtils.hasText(result);
+    return LocalDate.parse(penaltyData, DateTimeFormatter.ISO_DATE);
   }
 
-  public void addMemberRentalBookCount(String memberCode) {
-    redisTemplate.opsForHash()
-        .increment(RENTAL_REDIS_KEY, memberCode, 1);
+  private RedisCircuitBreaker circuitBreaker() {
+    return redisCircuitBreakerRegistry.get(RENTAL);
+  }
+
+  private static byte[] serialize(String value) {
+    return RedisSerializer.string().serialize(value);
   }
 }
@@ -1,6 +1,8 @@
 package com.management.library.service.rental;
 
 import static com.management.library.domain.type.BookStatus.RENTAL;
+import static com.management.library.domain.type.OutboxEventType.BOOK_RENTED;
+import static com.management.library.domain.type.OutboxEventType.BOOK_RETURNED;
 import static com.management.library.domain.type.ExtendStatus.UNAVAILABLE;
 import static com.management.library.domain.type.RentalStatus.OVERDUE;
 import static com.management.library.domain.type.RentalStatus.PROCEEDING;
@@ -15,6 +17,7 @@ import static com.management.library.exception.ErrorCode.RENTAL_NOT_EXISTS;
 import static com.management.library.exception.ErrorCode.UNABLE_TO_BOOK_RENTAL;
 import static java.time.LocalDate.now;
 
+import com.management.library.config.datasource.ReadYourWritesTracker;
 import com.management.library.domain.book.Book;
 import com.management.library.domain.member.Member;
 import com.management.library.domain.rental.Rental;
@@ -26,11 +29,16 @@ import com.management.library.exception.RentalException;
 import com.management.library.repository.book.BookRepository;
 import com.management.library.repository.member.MemberRepository;
 import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.service.book.BookStatusHistoryService;
+import com.management.library.service.event.OutboxEventPublisher;
+import com.management.library.service.event.dto.BookRentedEvent;
+import com.management.library.service.event.dto.BookReturnedEvent;
 import com.management.library.service.rental.dto.RentalBookInfoDto;
 import com.management.library.service.rental.dto.RentalDurationExtendDto;
 import com.management.library.service.rental.dto.RentalServiceResponseDto;
 import com.management.library.service.rental.dto.ReturnBookResponseDto;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Period;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -47,6 +55,9 @@ public class RentalService {
   private final BookRepository bookRepository;
   private final BookRentalRepository rentalRepository;
   private final RentalRedisService rentalRedisService;
+  private final OutboxEventPublisher outboxEventPublisher;
+  private final BookStatusHistoryService bookStatusHistoryService;
+  private final ReadYourWritesTracker readYourWritesTracker;
 
   /**
    * 도서 대여 기능 도서 대여 조건 1. 회원이 현재 도서 대여 가능한 상태인지(연체된 경우 도서 대여 불가) 2. 회원이 현재 대여 중인 도서가 2권 미만인지 동시성 문제의
@@ -72,10 +83,16 @@ public class RentalService {
 
     // 2권을 초과해서 도서를 대여할 경우 예외 발생
     rentalRedisService.checkMemberRentalBookCount(memberCode);
-    book.changeBookStatus(RENTAL);
+    bookStatusHistoryService.changeBookStatus(book, RENTAL);
 
     Rental rental = rentalRepository.save(Rental.of(member, book, rentalDate));
-    rentalRedisService.addBookRentedCount(bookInfo.getBookTitle());
+
+    // 관리자가 대신 대여한 경우에도 회원의 다음 조회가 방금 대여한 내용을 볼 수 있도록 한다.
+    readYourWritesTracker.markWritten(memberCode);
+
+    // 대여 순위, 인기 도서 순위, 통계는 커밋된 이벤트로 비동기 반영된다.
+    outboxEventPublisher.publish(BOOK_RENTED, BookRentedEvent.of(memberCode, book.getId(),
+        book.getBookInfo().getTitle(), book.getTypeCode(), rentalDate, LocalDateTime.now()));
 
     return RentalServiceResponseDto.of(rental);
   }
@@ -116,6 +133,7 @@ public class RentalService {
     }
 
     rental.extendRentalEndDate();
+    readYourWritesTracker.markWritten(memberCode);
 
     return RentalDurationExtendDto.of(rental.getRentalStartDate(), rental.getRentalEndDate());
   }
@@ -128,7 +146,7 @@ public class RentalService {
     Book book = bookRepository.findByTitleAndAuthor(bookTitle, author)
         .orElseThrow(() -> new NoSuchElementExistsException(BOOK_NOT_EXISTS));
 
-    book.changeBookStatus(BookStatus.AVAILABLE);
+    bookStatusHistoryService.changeBookStatus(book, BookStatus.AVAILABLE);
 
     Rental rental = rentalRepository.findByBookInfoAndStatus(memberCode, bookTitle, author)
         .orElseThrow(() -> new NoSuchElementExistsException(RENTAL_NOT_EXISTS));
@@ -149,6 +167,9 @@ public class RentalService {
 
     rentalRedisService.addMemberRentalBookCount(memberCode);
     rental.changeRentalStatus(RETURNED);
+    readYourWritesTracker.markWritten(memberCode);
+    outboxEventPublisher.publish(BOOK_RETURNED,
+        BookReturnedEvent.of(memberCode, book.getId(), LocalDateTime.now()));
 
     return ReturnBookResponseDto.of(rental, result, penaltyData);
   }
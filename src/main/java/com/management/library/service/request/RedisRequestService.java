@@ -3,24 +3,42 @@ package com.management.library.service.request;
 import static com.management.library.exception.ErrorCode.MANAGEMENT_REQUEST_COUNT_EXCEEDED;
 import static com.management.library.exception.ErrorCode.NEW_BOOK_REQUEST_COUNT_EXCEEDED;
 import static com.management.library.exception.ErrorCode.REPLY_ALREADY_EXISTS;
+import static com.management.library.service.redis.MemberQuotaKey.MANAGEMENT_REQUEST_COUNT;
+import static com.management.library.service.redis.MemberQuotaKey.NEW_BOOK_REQUEST_COUNT;
+import static com.management.library.service.redis.RedisCircuitBreakerRegistry.REQUEST;
 
+import com.management.library.exception.ErrorCode;
 import com.management.library.exception.InvalidAccessException;
 import com.management.library.exception.RequestLimitExceededException;
+import com.management.library.service.redis.MemberQuotaKey;
+import com.management.library.service.redis.RedisCircuitBreaker;
+import com.management.library.service.redis.RedisCircuitBreakerRegistry;
+import com.management.library.service.redis.RedisCommandBuffer;
+import com.management.library.service.redis.RedisFallbackService;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+/**
+ * 회원별 요청 가능 횟수와 요청별 답변 중복 방지 키를 redis 로 관리한다. redis 호출은 circuit breaker 로 감싸며, breaker 가 열려 있거나
+ * redis 호출이 실패하면 요청 가능 여부와 답변 가능 여부를 DB 로 확인하고 redis 에 반영할 변경은 redis 가 회복된 뒤 다시 실행한다.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RedisRequestService {
 
   private final RedisTemplate<String, String> redisTemplate;
-  private static final String INIT_REQUEST_COUNT = "5";
-  private static final String MANAGEMENT_CACHE_KEY = "management-request-count:";
-  private static final String NEW_BOOK_CACHE_KEY = "book-request-count:";
+  private final RedisCommandBuffer redisCommandBuffer;
+  private final RedisCircuitBreakerRegistry redisCircuitBreakerRegistry;
+  private final RedisFallbackService redisFallbackService;
   private static final String NEW_BOOK_REQUEST_PREFIX = "book-request-id:";
   private static final String MANAGEMENT_REQUEST_PREFIX = "management-request-id:";
 
@@ -29,27 +47,27 @@ public class RedisRequestService {
    * 는 5로 초기화 만약 memberCode 의 request count = 0이라면 더 이상 진행 불가.
    */
   public void checkManagementRequestCount(String memberCode) {
-    HashOperations<String, Object, Object> hash = redisTemplate.opsForHash();
-    hash.putIfAbsent(MANAGEMENT_CACHE_KEY, memberCode, INIT_REQUEST_COUNT);
-
-    int count = Integer.parseInt((String) hash.get(MANAGEMENT_CACHE_KEY, memberCode));
-    if (count <= 0) {
-      throw new RequestLimitExceededException(MANAGEMENT_REQUEST_COUNT_EXCEEDED);
-    }
-
-    hash.increment(MANAGEMENT_CACHE_KEY, memberCode, -1);
+    circuitBreaker().run(
+        () -> decreaseRequestCount(MANAGEMENT_REQUEST_COUNT, memberCode,
+            MANAGEMENT_REQUEST_COUNT_EXCEEDED),
+        () -> {
+          if (redisFallbackService.getRemainManagementRequestCount(memberCode) <= 0) {
+            throw new RequestLimitExceededException(MANAGEMENT_REQUEST_COUNT_EXCEEDED);
+          }
+          decreaseRequestCountAfterCommit(MANAGEMENT_REQUEST_COUNT, memberCode);
+        });
   }
 
   public void checkNewBookRequestCount(String memberCode) {
-    HashOperations<String, Object, Object> hash = redisTemplate.opsForHash();
-    hash.putIfAbsent(NEW_BOOK_CACHE_KEY, memberCode, INIT_REQUEST_COUNT);
-
-    int count = Integer.parseInt((String) hash.get(NEW_BOOK_CACHE_KEY, memberCode));
-    if (count <= 0) {
-      throw new RequestLimitExceededException(NEW_BOOK_REQUEST_COUNT_EXCEEDED);
-    }
-
-    hash.increment(NEW_BOOK_CACHE_KEY, memberCode, -1);
+    circuitBreaker().run(
+        () -> decreaseRequestCount(NEW_BOOK_REQUEST_COUNT, memberCode,
+            NEW_BOOK_REQUEST_COUNT_EXCEEDED),
+        () -> {
+          if (redisFallbackService.getRemainNewBookRequestCount(memberCode) <= 0) {
+            throw new RequestLimitExceededException(NEW_BOOK_REQUEST_COUNT_EXCEEDED);
+          }
+          decreaseRequestCountAfterCommit(NEW_BOOK_REQUEST_COUNT, memberCode);
+        });
   }
 
   /**
@@ -59,54 +77,127 @@ public class RedisRequestService {
    * 통해 구현 가능하므로 동시성 문제도 같이 해결할 수 있다.
    */
   public void addBookRequestCache(Long bookRequestId) {
-    redisTemplate.opsForValue().set(NEW_BOOK_REQUEST_PREFIX + bookRequestId, "");
+    addRequestCache(NEW_BOOK_REQUEST_PREFIX + bookRequestId);
   }
 
   public void addManagementRequestCache(Long managementRequestId) {
-    redisTemplate.opsForValue().set(MANAGEMENT_REQUEST_PREFIX + managementRequestId, "");
+    addRequestCache(MANAGEMENT_REQUEST_PREFIX + managementRequestId);
   }
 
   public void removeBookRequestCache(Long bookRequestId) {
-    String result = redisTemplate.opsForValue()
-        .getAndDelete(NEW_BOOK_REQUEST_PREFIX + bookRequestId);
-
-    if (result == null) {
-      throw new InvalidAccessException(REPLY_ALREADY_EXISTS);
-    }
+    removeRequestCache(NEW_BOOK_REQUEST_PREFIX + bookRequestId,
+        () -> redisFallbackService.isNewBookRequestAwaiting(bookRequestId));
   }
 
   public void removeManagementRequestCache(Long managementRequestId) {
-    String result = redisTemplate.opsForValue()
-        .getAndDelete(MANAGEMENT_REQUEST_PREFIX + managementRequestId);
-
-    if (result == null) {
-      throw new InvalidAccessException(REPLY_ALREADY_EXISTS);
-    }
+    removeRequestCache(MANAGEMENT_REQUEST_PREFIX + managementRequestId,
+        () -> redisFallbackService.isManagementRequestAwaiting(managementRequestId));
   }
 
   // 남은 운영 개선 요청 가능 횟수
   public String getManagementRequestCount(String memberCode) {
-    Object managementData = redisTemplate.opsForHash().get(MANAGEMENT_CACHE_KEY, memberCode);
+    return circuitBreaker().execute(
+        () -> getRequestCount(MANAGEMENT_REQUEST_COUNT, memberCode),
+        () -> String.valueOf(redisFallbackService.getRemainManagementRequestCount(memberCode)));
+  }
 
-    if (managementData == null){
-      return INIT_REQUEST_COUNT;
+  // 남은 운영 개선 요청 가능 횟수
+  public String getNewBookRequestCount(String memberCode) {
+    return circuitBreaker().execute(
+        () -> getRequestCount(NEW_BOOK_REQUEST_COUNT, memberCode),
+        () -> String.valueOf(redisFallbackService.getRemainNewBookRequestCount(memberCode)));
+  }
+
+  public void deleteCache(String key) {
+    circuitBreaker().run(() -> redisTemplate.delete(key),
+        () -> redisCommandBuffer.execute(connection -> connection.keyCommands()
+            .del(serialize(key))));
+  }
+
+  /**
+   * 해당 달의 요청 가능 횟수 키를 모두 지운다. 키가 많으므로 UNLINK 로 지워 redis 가 메모리를 백그라운드에서 회수하도록 한다.
+   */
+  public void deleteRequestCounts(YearMonth month) {
+    List<String> keys = new ArrayList<>(MANAGEMENT_REQUEST_COUNT.getKeys(month));
+    keys.addAll(NEW_BOOK_REQUEST_COUNT.getKeys(month));
+
+    redisTemplate.unlink(keys);
+  }
+
+  private void decreaseRequestCount(MemberQuotaKey quotaKey, String memberCode,
+      ErrorCode errorCode) {
+    String key = quotaKey.getKey(memberCode);
+    HashOperations<String, Object, Object> hash = redisTemplate.opsForHash();
+
+    // 이번 달 처음 요청하는 회원이라면 키가 다음 달에 만료되도록 만료 시각을 함께 지정한다.
+    if (Boolean.TRUE.equals(hash.putIfAbsent(key, memberCode, quotaKey.getInitCount()))) {
+      redisTemplate.expireAt(key, quotaKey.getExpireAt());
     }
 
-    return String.valueOf(managementData);
+    int count = Integer.parseInt((String) hash.get(key, memberCode));
+    if (count <= 0) {
+      throw new RequestLimitExceededException(errorCode);
+    }
+
+    hash.increment(key, memberCode, -1);
   }
 
-  // 남은 운영 개선 요청 가능 횟수
-  public String getNewBookRequestCount(String memberCode) {
-    Object newBookData = redisTemplate.opsForHash().get(NEW_BOOK_CACHE_KEY, memberCode);
+  // DB 로 확인한 요청은 커밋된 뒤 redis 의 요청 가능 횟수에도 반영한다.
+  private void decreaseRequestCountAfterCommit(MemberQuotaKey quotaKey, String memberCode) {
+    byte[] key = serialize(quotaKey.getKey(memberCode));
+    long expireAt = quotaKey.getExpireAt().getEpochSecond();
 
-    if (newBookData == null){
-      return INIT_REQUEST_COUNT;
+    redisCommandBuffer.execute(connection -> {
+      connection.hashCommands().hSetNX(key, serialize(memberCode), serialize(quotaKey.getInitCount()));
+      connection.hashCommands().hIncrBy(key, serialize(memberCode), -1);
+      connection.keyCommands().expireAt(key, expireAt);
+    });
+  }
+
+  private String getRequestCount(MemberQuotaKey quotaKey, String memberCode) {
+    Object data = redisTemplate.opsForHash().get(quotaKey.getKey(memberCode), memberCode);
+
+    if (data == null){
+      return quotaKey.getInitCount();
     }
 
-    return String.valueOf(newBookData);
+    return String.valueOf(data);
   }
 
-  public void deleteCache(String key) {
-    redisTemplate.delete(key);
+  private void addRequestCache(String key) {
+    circuitBreaker().run(() -> redisTemplate.opsForValue().set(key, ""), () -> {
+      @SuppressWarnings("unchecked")
+      RedisSerializer<String> valueSerializer =
+          (RedisSerializer<String>) redisTemplate.getValueSerializer();
+      byte[] value = valueSerializer.serialize("");
+
+      redisCommandBuffer.execute(connection -> connection.stringCommands()
+          .set(serialize(key), value));
+    });
+  }
+
+  // redis 를 사용할 수 없다면 요청이 아직 답변을 기다리는지 DB 로 확인하고, 키는 커밋된 뒤 지운다.
+  private void removeRequestCache(String key, BooleanSupplier awaitingReply) {
+    circuitBreaker().run(() -> {
+      String result = redisTemplate.opsForValue().getAndDelete(key);
+
+      if (result == null) {
+        throw new InvalidAccessException(REPLY_ALREADY_EXISTS);
+      }
+    }, () -> {
+      if (!awaitingReply.getAsBoolean()) {
+        throw new InvalidAccessException(REPLY_ALREADY_EXISTS);
+      }
+
+      redisCommandBuffer.execute(connection -> connection.keyCommands().del(serialize(key)));
+    });
+  }
+
+  private RedisCircuitBreaker circuitBreaker() {
+    return redisCircuitBreakerRegistry.get(REQUEST);
+  }
+
+  private static byte[] serialize(String value) {
+    return RedisSerializer.string().serialize(value);
   }
 }
@@ -1,9 +1,26 @@
 package com.management.library.service.review;
 
-import com.management.library.exception.ErrorCode;
-import com.management.library.exception.InvalidAccessException;
+import static com.management.library.service.review.dto.BookReviewRateDto.MAX_RATE;
+import static com.management.library.service.review.dto.BookReviewRateDto.MIN_RATE;
+
+import com.management.library.service.redis.RedisCheckpointTarget;
+import com.management.library.service.redis.RedisIncrementOnce;
+import com.management.library.service.review.dto.BookReviewRateDto;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -12,41 +29,211 @@ public class BookReviewRedisService {
 
   private final RedisTemplate<String, String> redisTemplate;
 
-  private static final String REVIEW_CACHE_PREFIX = "review-member:";
+  private static final String LEGACY_REVIEW_CACHE_PREFIX = "review-member:";
   private static final String BOOK_REVIEW_RATE = "book-review-rate";
-  private static final String BOOK_REVIEW_COUNT = "book-review-count";
+  // 도서 id 를 hash tag 로 사용하여 평점 반영 script 가 함께 다루는 반영 기록 키와 같은 slot 에 놓는다.
+  private static final String BOOK_REVIEW_STAT_PREFIX = "book-review-stat:";
+  private static final String TITLE_FIELD = "title";
+  private static final String SUM_FIELD = "sum";
+  private static final String COUNT_FIELD = "count";
+  private static final String RATE_FIELD_PREFIX = "rate-";
+
+  private static final byte[] ADD_REVIEW_RATE_SCRIPT = RedisSerializer.string().serialize(
+      RedisScript.of(new ClassPathResource("scripts/add-review-rate.lua")).getScriptAsString());
+
+  /**
+   * 도서 평점을 반영한다. 평점 합계, 리뷰 수, 평점별 리뷰 수를 lua script 로 한 번에 증가시키므로 동시에 리뷰가 등록되어도 갱신이 유실되지 않고,
+   * 같은 리뷰 등록 이벤트가 다시 처리되어도 한 번만 반영된다. 같은 이름의 도서가 섞이지 않도록 도서 id 를 키로 사용한다.
+   * <p>
+   * 평점 순위와 dirty set 은 다른 slot 에 놓이므로 script 가 반환한 평점 합계와 리뷰 수로 script 밖에서 반영한다. 이벤트가 다시 처리되면
+   * 현재 평점으로 순위를 다시 쓰므로, script 만 반영된 채 실패해도 다음 처리에서 순위가 맞춰진다.
+   *
+   * @param bookId    도서 id
+   * @param bookTitle 도서 이름
+   * @param rate      평점(1 ~ 5)
+   * @param eventKey  소비자 그룹 안에서 리뷰 등록 이벤트를 구분하는 key
+   */
+  public void addReviewRate(Long bookId, String bookTitle, int rate, String eventKey) {
+    RedisSerializer<String> serializer = RedisSerializer.string();
+    String statKey = getStatKey(bookId);
+    byte[][] keysAndArgs = Stream.of(statKey, RedisIncrementOnce.getAppliedKey(statKey, eventKey),
+            String.valueOf(rate), bookTitle,
+            String.valueOf(RedisIncrementOnce.APPLIED_TTL.getSeconds()))
+        .map(serializer::serialize)
+        .toArray(byte[][]::new);
+
+    List<?> result = redisTemplate.execute((RedisCallback<List<?>>) connection -> connection
+        .scriptingCommands().eval(ADD_REVIEW_RATE_SCRIPT, ReturnType.MULTI, 2, keysAndArgs));
+    long rateSum = parseLong(result.get(0));
+    long reviewCount = parseLong(result.get(1));
+    if (reviewCount == 0) {
+      return;
+    }
 
-  public void addReviewCache(String memberCode, String bookName) {
-    redisTemplate.opsForHash().put(REVIEW_CACHE_PREFIX + memberCode, bookName, "1");
+    // 순위 정렬용 점수로만 사용하며, 화면에 노출되는 평균은 조회 시점에 sum / count 로 계산한다.
+    byte[] member = serializer.serialize(String.valueOf(bookId));
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      connection.zSetCommands().zAdd(serializer.serialize(BOOK_REVIEW_RATE),
+          (double) rateSum / reviewCount, member);
+      connection.setCommands().sAdd(
+          serializer.serialize(RedisCheckpointTarget.BOOK_REVIEW_RATE.getDirtyKey()), member);
+      return null;
+    });
   }
 
-  public void addReviewRate(String bookName, int rate){
-    redisTemplate.opsForHash().putIfAbsent(BOOK_REVIEW_COUNT, bookName, "0");
-    redisTemplate.opsForZSet().addIfAbsent(BOOK_REVIEW_RATE, bookName, 0);
+  /**
+   * 리뷰 중복 확인용으로 사용하던 review-member:{memberCode} hash 를 삭제한다. KEYS 대신 SCAN 으로 키를 찾고, UNLINK 로
+   * 삭제하여 redis 가 블로킹되지 않도록 한다.
+   *
+   * @param batchSize 한 번에 조회, 삭제할 키 개수
+   * @return 삭제한 키 개수
+   */
+  public long deleteLegacyReviewCaches(int batchSize) {
+    ScanOptions options = ScanOptions.scanOptions()
+        .match(LEGACY_REVIEW_CACHE_PREFIX + "*")
+        .count(batchSize)
+        .build();
 
-    Double score = redisTemplate.opsForZSet().score(BOOK_REVIEW_RATE, bookName);
+    Long deletedCount = redisTemplate.execute((RedisCallback<Long>) connection -> {
+      long count = 0L;
+      List<byte[]> keys = new ArrayList<>();
+
+      try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+        while (cursor.hasNext()) {
+          keys.add(cursor.next());
+
+          if (keys.size() >= batchSize) {
+            count += unlink(connection, keys);
+          }
+        }
+      }
+
+      return count + unlink(connection, keys);
+    });
+
+    return deletedCount == null ? 0L : deletedCount;
+  }
 
-    if (score == null){
-      throw new InvalidAccessException(ErrorCode.UNEXPECTED_ERROR);
+  private long unlink(RedisConnection connection, List<byte[]> keys) {
+    if (keys.isEmpty()) {
+      return 0L;
     }
 
-    redisTemplate.opsForHash().increment(BOOK_REVIEW_COUNT, bookName, 1);
-    String cntStr = String.valueOf(redisTemplate.opsForHash().get(BOOK_REVIEW_COUNT, bookName));
+    Long count = connection.keyCommands().unlink(keys.toArray(byte[][]::new));
+    keys.clear();
 
-    double cnt = Double.parseDouble(cntStr);
-    long round = 0L;
+    return count == null ? 0L : count;
+  }
+
+  /**
+   * 여러 도서의 평점 통계를 하나의 pipeline 으로 조회한다. 평점 통계가 없는 도서는 결과에서 제외된다.
+   *
+   * @param bookIds 조회할 도서 id 목록
+   * @return 요청 순서를 유지한 평점 통계 목록
+   */
+  public List<BookReviewRateDto> getReviewRates(List<Long> bookIds) {
+    RedisSerializer<String> serializer = RedisSerializer.string();
+    byte[][] fields = getStatFields(serializer);
+
+    List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      for (Long bookId : bookIds) {
+        connection.hashCommands()
+            .hMGet(serializer.serialize(getStatKey(bookId)), fields);
+      }
+      return null;
+    }, serializer);
+
+    List<BookReviewRateDto> reviewRates = new ArrayList<>();
+
+    for (int i = 0; i < bookIds.size(); i++) {
+      List<?> values = (List<?>) results.get(i);
 
-    if (cntStr.equals("1")){
-      round = Math.round(((score + rate) / cnt) * 100);
-    } else{
-      round = Math.round(((score * (cnt - 1) + rate) / cnt) * 100);
+      if (values == null || values.get(2) == null) {
+        continue;
+      }
+
+      reviewRates.add(toReviewRate(bookIds.get(i), values));
     }
-    score = round / 100.0;
 
-    redisTemplate.opsForZSet().add(BOOK_REVIEW_RATE, bookName, score);
+    return reviewRates;
+  }
+
+  /**
+   * DB 에서 다시 집계한 평점 통계로 redis 의 평점 통계를 덮어쓴다.
+   *
+   * @param reviewRates 도서별 평점 통계
+   */
+  public void rebuildReviewRates(List<BookReviewRateDto> reviewRates) {
+    RedisSerializer<String> serializer = RedisSerializer.string();
+    byte[] rankingKey = serializer.serialize(BOOK_REVIEW_RATE);
+    byte[] dirtyKey = serializer.serialize(RedisCheckpointTarget.BOOK_REVIEW_RATE.getDirtyKey());
+
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      for (BookReviewRateDto reviewRate : reviewRates) {
+        writeReviewRate(connection, serializer, rankingKey, reviewRate);
+        connection.setCommands().sAdd(dirtyKey,
+            serializer.serialize(String.valueOf(reviewRate.getBookId())));
+      }
+      return null;
+    });
+  }
+
+  private void writeReviewRate(RedisConnection connection, RedisSerializer<String> serializer,
+      byte[] rankingKey, BookReviewRateDto reviewRate) {
+    byte[] key = serializer.serialize(getStatKey(reviewRate.getBookId()));
+
+    Map<byte[], byte[]> hash = new HashMap<>();
+    hash.put(serializer.serialize(TITLE_FIELD), serializer.serialize(reviewRate.getBookTitle()));
+    hash.put(serializer.serialize(SUM_FIELD),
+        serializer.serialize(String.valueOf(reviewRate.getRateSum())));
+    hash.put(serializer.serialize(COUNT_FIELD),
+        serializer.serialize(String.valueOf(reviewRate.getReviewCount())));
+
+    for (int rate = MIN_RATE; rate <= MAX_RATE; rate++) {
+      hash.put(serializer.serialize(RATE_FIELD_PREFIX + rate),
+          serializer.serialize(String.valueOf(reviewRate.getRateHistogram().get(rate - MIN_RATE))));
+    }
+
+    connection.keyCommands().del(key);
+    connection.hashCommands().hMSet(key, hash);
+    connection.zSetCommands().zAdd(rankingKey,
+        (double) reviewRate.getRateSum() / reviewRate.getReviewCount(),
+        serializer.serialize(String.valueOf(reviewRate.getBookId())));
+  }
+
+  private byte[][] getStatFields(RedisSerializer<String> serializer) {
+    List<String> fieldNames = new ArrayList<>(List.of(TITLE_FIELD, SUM_FIELD, COUNT_FIELD));
+
+    for (int rate = MIN_RATE; rate <= MAX_RATE; rate++) {
+      fieldNames.add(RATE_FIELD_PREFIX + rate);
+    }
+
+    return fieldNames.stream()
+        .map(serializer::serialize)
+        .toArray(byte[][]::new);
+  }
+
+  private BookReviewRateDto toReviewRate(Long bookId, List<?> values) {
+    List<Long> histogram = new ArrayList<>();
+
+    for (int i = 3; i < values.size(); i++) {
+      histogram.add(parseLong(values.get(i)));
+    }
+
+    return BookReviewRateDto.builder()
+        .bookId(bookId)
+        .bookTitle((String) values.get(0))
+        .rateSum(parseLong(values.get(1)))
+        .reviewCount(parseLong(values.get(2)))
+        .rateHistogram(histogram)
+        .build();
+  }
+
+  private String getStatKey(Long bookId) {
+    return BOOK_REVIEW_STAT_PREFIX + "{" + bookId + "}";
   }
 
-  public boolean getReviewCache(String memberCode, String bookName){
-    return redisTemplate.opsForHash().get(REVIEW_CACHE_PREFIX + memberCode, bookName) != null;
+  private long parseLong(Object value) {
+    return value == null ? 0L : Long.parseLong(String.valueOf(value));
   }
 }
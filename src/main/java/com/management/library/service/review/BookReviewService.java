@@ -1,11 +1,13 @@
 package com.management.library.service.review;
 
+import static com.management.library.domain.type.OutboxEventType.REVIEW_CREATED;
 import static com.management.library.exception.ErrorCode.MEMBER_NOT_EXISTS;
 import static com.management.library.exception.ErrorCode.RENTAL_NOT_RETURNED;
 import static com.management.library.exception.ErrorCode.RETURNED_RENTAL_NOT_EXISTS;
 import static com.management.library.exception.ErrorCode.REVIEW_ALREADY_EXISTS;
 import static com.management.library.exception.ErrorCode.REVIEW_NOT_EXISTS;
 
+import com.management.library.domain.book.Book;
 import com.management.library.domain.book.BookReview;
 import com.management.library.domain.member.Member;
 import com.management.library.domain.rental.Rental;
@@ -16,12 +18,17 @@ import com.management.library.exception.NoSuchElementExistsException;
 import com.management.library.repository.member.MemberRepository;
 import com.management.library.repository.rental.BookRentalRepository;
 import com.management.library.repository.review.BookReviewRepository;
+import com.management.library.service.event.OutboxEventPublisher;
+import com.management.library.service.event.dto.ReviewCreatedEvent;
 import com.management.library.service.review.dto.BookReviewDetailDto;
 import com.management.library.service.review.dto.BookReviewOverviewDto;
 import com.management.library.service.review.dto.BookReviewServiceDto.Request;
 import com.management.library.service.review.dto.BookReviewServiceDto.Response;
 import com.management.library.service.review.dto.BookReviewUpdateDto;
+import java.time.LocalDateTime;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -35,7 +42,8 @@ public class BookReviewService {
   private final BookReviewRepository bookReviewRepository;
   private final BookRentalRepository bookRentalRepository;
   private final MemberRepository memberRepository;
-  private final BookReviewRedisService bookReviewRedisService;
+  private final BookReviewSummaryCacheService bookReviewSummaryCacheService;
+  private final OutboxEventPublisher outboxEventPublisher;
 
   // 도서의 이름을 가지고 리뷰를 수행할 수 있도록 해야한다.
   // 도서의 이름을 가지면서 반환된 상태인 rental이 존재하는지 확인 -> 없다면 예외
@@ -54,39 +62,54 @@ public class BookReviewService {
     Member member = memberRepository.findByMemberCode(memberCode)
         .orElseThrow(() -> new NoSuchElementExistsException(MEMBER_NOT_EXISTS));
 
-    Rental rental = bookRentalRepository.findByMemberCodeAndBookTitle(memberCode, bookTitle)
-        .orElseThrow(() -> new NoSuchElementExistsException(RETURNED_RENTAL_NOT_EXISTS));
+    Book book = findReturnedBook(memberCode, bookTitle);
 
-    // 해당 도서가 반납되었는지 확인
-    if (isRentalNotReturned(rental.getRentalStatus())) {
-      throw new InvalidAccessException(RENTAL_NOT_RETURNED);
+    // 이미 리뷰했는지 (member_id, book_id) 유니크 인덱스를 통해 확인
+    if (isAlreadyReviewed(member, book)) {
+      throw new DuplicateException(REVIEW_ALREADY_EXISTS);
     }
 
-    // 이미 리뷰했는지 redis cache 를 통해 확인
-    if (isAlreadyReviewed(member, rental)) {
+    BookReview savedReview = saveReview(BookReview.of(reviewRequest, member, book));
+
+    // 도서 평점 통계, 캐시된 도서 상세 정보의 리뷰 요약 정보, 리뷰 통계는 커밋된 이벤트로 비동기 반영된다.
+    outboxEventPublisher.publish(REVIEW_CREATED,
+        ReviewCreatedEvent.of(savedReview, LocalDateTime.now()));
+
+    return Response.of(savedReview);
+  }
+
+  // 동시에 같은 리뷰가 등록되는 경우 유니크 제약 조건 위반으로 걸러낸다.
+  private BookReview saveReview(BookReview review) {
+    try {
+      return bookReviewRepository.save(review);
+    } catch (DataIntegrityViolationException e) {
       throw new DuplicateException(REVIEW_ALREADY_EXISTS);
     }
+  }
 
-    // 리뷰하지 않은 도서라면 리뷰했다고 등록
-    bookReviewRedisService.addReviewCache(member.getMemberCode(),
-        rental.getBook().getBookInfo().getTitle());
-
-    // todo: 등록한 평점을 도서 평점 평균에 반영해야 한다.
-    bookReviewRedisService.addReviewRate(bookTitle, reviewRequest.getReviewRate());
+  // rentals 에 대여 기록이 없다면 rentals_archive 로 옮겨진 반납 기록에서 찾는다.
+  private Book findReturnedBook(String memberCode, String bookTitle) {
+    Optional<Rental> rental = bookRentalRepository.findByMemberCodeAndBookTitle(memberCode,
+        bookTitle);
 
-    BookReview review = BookReview.of(reviewRequest, member, rental.getBook());
-    BookReview savedReview = bookReviewRepository.save(review);
+    if (rental.isEmpty()) {
+      return bookRentalRepository.findArchivedRentalBook(memberCode, bookTitle)
+          .orElseThrow(() -> new NoSuchElementExistsException(RETURNED_RENTAL_NOT_EXISTS));
+    }
 
-    return Response.of(savedReview);
+    // 해당 도서가 반납되었는지 확인
+    if (isRentalNotReturned(rental.get().getRentalStatus())) {
+      throw new InvalidAccessException(RENTAL_NOT_RETURNED);
+    }
+    return rental.get().getBook();
   }
 
   private boolean isRentalNotReturned(RentalStatus rentalStatus) {
     return rentalStatus != RentalStatus.RETURNED;
   }
 
-  private boolean isAlreadyReviewed(Member member, Rental rental) {
-    return bookReviewRedisService.getReviewCache(member.getMemberCode(),
-        rental.getBook().getBookInfo().getTitle());
+  private boolean isAlreadyReviewed(Member member, Book book) {
+    return bookReviewRepository.existsByMemberIdAndBookId(member.getId(), book.getId());
   }
 
   /**
@@ -103,6 +126,7 @@ public class BookReviewService {
         .orElseThrow(() -> new NoSuchElementExistsException(REVIEW_NOT_EXISTS));
 
     bookReview.changeReviewTitleAndContent(updateReviewRequest);
+    bookReviewSummaryCacheService.evictAfterCommit(bookReview.getBook().getId());
 
     return BookReviewUpdateDto.Response.of(bookReview);
   }
@@ -0,0 +1,53 @@
+package com.management.library.service.review;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * book 캐시에 도서 정보와 함께 저장된 리뷰 요약 정보를 무효화한다. 캐시를 읽어 고친 뒤 다시 저장하면 동시에 등록된 리뷰가 서로의 변경을 덮어쓰므로,
+ * 캐시된 도서 정보를 삭제하고 다음 도서 조회 시 커밋된 리뷰로 다시 만든다.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookReviewSummaryCacheService {
+
+  private static final String BOOK_CACHE = "book";
+
+  private final CacheManager cacheManager;
+
+  /**
+   * 캐시된 도서 정보를 바로 삭제한다. 리뷰가 커밋된 뒤 처리되는 리뷰 등록 이벤트에서 호출한다.
+   *
+   * @param bookId 도서 id
+   */
+  public void evict(Long bookId) {
+    Cache cache = cacheManager.getCache(BOOK_CACHE);
+    if (cache != null) {
+      cache.evict(bookId);
+    }
+  }
+
+  /**
+   * 캐시된 도서 정보를 트랜잭션이 커밋된 뒤 삭제한다. 커밋 전에 삭제하면 커밋 전까지의 도서 조회가 변경 전의 리뷰로 캐시를 다시 채운다.
+   * 트랜잭션 밖에서 호출하면 바로 삭제한다.
+   *
+   * @param bookId 도서 id
+   */
+  public void evictAfterCommit(Long bookId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      evict(bookId);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        evict(bookId);
+      }
+    });
+  }
+}
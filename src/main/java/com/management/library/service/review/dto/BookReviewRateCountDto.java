@@ -0,0 +1,26 @@
+package com.management.library.service.review.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 도서별, 평점별 리뷰 수 집계 결과. 평점 통계 복구 작업에서 book_reviews 테이블을 집계할 때 사용한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class BookReviewRateCountDto {
+
+  private Long bookId;
+  private String bookTitle;
+  private int rate;
+  private Long reviewCount;
+
+  public BookReviewRateCountDto(Long bookId, String bookTitle, int rate, Long reviewCount) {
+    this.bookId = bookId;
+    this.bookTitle = bookTitle;
+    this.rate = rate;
+    this.reviewCount = reviewCount;
+  }
+}
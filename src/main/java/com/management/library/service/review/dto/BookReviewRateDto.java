@@ -0,0 +1,80 @@
+package com.management.library.service.review.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 도서 평점 통계. 평점 합계와 리뷰 수는 정수로 보관하고 평균은 조회 시점에 계산한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class BookReviewRateDto {
+
+  public static final int MIN_RATE = 1;
+  public static final int MAX_RATE = 5;
+
+  private Long bookId;
+  private String bookTitle;
+  private long rateSum;
+  private long reviewCount;
+  // index 0 -> 1점, index 4 -> 5점
+  private List<Long> rateHistogram = new ArrayList<>();
+
+  @Builder
+  private BookReviewRateDto(Long bookId, String bookTitle, long rateSum, long reviewCount,
+      List<Long> rateHistogram) {
+    this.bookId = bookId;
+    this.bookTitle = bookTitle;
+    this.rateSum = rateSum;
+    this.reviewCount = reviewCount;
+    this.rateHistogram = rateHistogram;
+  }
+
+  /**
+   * 같은 도서의 평점별 집계 결과를 하나의 평점 통계로 합친다.
+   *
+   * @param rateCounts 같은 도서의 평점별 리뷰 수 목록
+   * @return 평점 통계
+   */
+  public static BookReviewRateDto of(List<BookReviewRateCountDto> rateCounts) {
+    List<Long> histogram = new ArrayList<>();
+    for (int rate = MIN_RATE; rate <= MAX_RATE; rate++) {
+      histogram.add(0L);
+    }
+
+    long rateSum = 0L;
+    long reviewCount = 0L;
+
+    for (BookReviewRateCountDto rateCount : rateCounts) {
+      int index = rateCount.getRate() - MIN_RATE;
+      histogram.set(index, histogram.get(index) + rateCount.getReviewCount());
+
+      rateSum += (long) rateCount.getRate() * rateCount.getReviewCount();
+      reviewCount += rateCount.getReviewCount();
+    }
+
+    BookReviewRateCountDto first = rateCounts.get(0);
+
+    return BookReviewRateDto.builder()
+        .bookId(first.getBookId())
+        .bookTitle(first.getBookTitle())
+        .rateSum(rateSum)
+        .reviewCount(reviewCount)
+        .rateHistogram(histogram)
+        .build();
+  }
+
+  // 소수점 둘째 자리까지 반올림한 평균 평점
+  public double calculateAverageRate() {
+    if (reviewCount == 0) {
+      return 0.0;
+    }
+
+    return Math.round(rateSum * 100.0 / reviewCount) / 100.0;
+  }
+}
@@ -0,0 +1,81 @@
+package com.management.library.service.review.dto;
+
+import static com.management.library.service.review.dto.BookReviewRateDto.MAX_RATE;
+import static com.management.library.service.review.dto.BookReviewRateDto.MIN_RATE;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 도서 상세 조회 시 함께 반환되는 리뷰 요약 정보. 도서 정보와 함께 book 캐시에 저장되며 리뷰 등록, 수정 시 삭제된다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class BookReviewSummaryDto {
+
+  public static final int RECENT_REVIEW_SIZE = 5;
+
+  private long reviewCount;
+  private long rateSum;
+  private double averageRate;
+  // index 0 -> 1점, index 4 -> 5점
+  private List<Long> rateHistogram = new ArrayList<>();
+  private List<BookReviewOverviewDto> recentReviews = new ArrayList<>();
+
+  @Builder
+  private BookReviewSummaryDto(long reviewCount, long rateSum, double averageRate,
+      List<Long> rateHistogram, List<BookReviewOverviewDto> recentReviews) {
+    this.reviewCount = reviewCount;
+    this.rateSum = rateSum;
+    this.averageRate = averageRate;
+    this.rateHistogram = rateHistogram;
+    this.recentReviews = recentReviews;
+  }
+
+  /**
+   * DB 에서 집계한 평점별 리뷰 수와 최근 리뷰 목록으로 리뷰 요약 정보를 만든다.
+   *
+   * @param rateCounts    도서의 평점별 리뷰 수 목록
+   * @param recentReviews 최신순으로 정렬된 최근 리뷰 목록
+   * @return 리뷰 요약 정보
+   */
+  public static BookReviewSummaryDto of(List<BookReviewRateCountDto> rateCounts,
+      List<BookReviewOverviewDto> recentReviews) {
+    BookReviewSummaryDto summary = BookReviewSummaryDto.builder()
+        .rateHistogram(createEmptyHistogram())
+        .recentReviews(new ArrayList<>(recentReviews))
+        .build();
+
+    if (!rateCounts.isEmpty()) {
+      summary.applyReviewRate(BookReviewRateDto.of(rateCounts));
+    }
+
+    return summary;
+  }
+
+  /**
+   * 리뷰 수, 평점 합계, 평점별 리뷰 수를 평점 통계의 값으로 교체한다.
+   *
+   * @param reviewRate 도서 평점 통계
+   */
+  private void applyReviewRate(BookReviewRateDto reviewRate) {
+    this.reviewCount = reviewRate.getReviewCount();
+    this.rateSum = reviewRate.getRateSum();
+    this.averageRate = reviewRate.calculateAverageRate();
+    this.rateHistogram = new ArrayList<>(reviewRate.getRateHistogram());
+  }
+
+  private static List<Long> createEmptyHistogram() {
+    List<Long> histogram = new ArrayList<>();
+    for (int rate = MIN_RATE; rate <= MAX_RATE; rate++) {
+      histogram.add(0L);
+    }
+
+    return histogram;
+  }
+}
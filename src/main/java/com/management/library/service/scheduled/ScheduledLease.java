@@ -0,0 +1,30 @@
+package com.management.library.service.scheduled;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 스케줄 작업의 lease 유지 시간을 지정한다. 지정하지 않은 @Scheduled 메서드는 기본값을 사용한다.
+ * <p>
+ * lease 를 얻을 때 발급되는 fencing token 은 실행 기록(scheduled_job_runs)에 남기는 정보일 뿐이며, 작업의 DB, redis 쓰기에서 검사하지
+ * 않는다. 작업이 leaseSeconds 보다 오래 걸리면 다른 인스턴스의 실행과 겹칠 수 있으므로 leaseSeconds 는 작업의 최대 수행 시간보다 길게
+ * 지정해야 한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ScheduledLease {
+
+  // 작업이 끝나지 않아도 lease 가 만료되는 시간. 작업을 수행하던 인스턴스가 죽어도 이 시간이 지나면 다른 인스턴스가 수행할 수 있다.
+  long leaseSeconds() default ScheduledLeaseService.DEFAULT_LEASE_SECONDS;
+
+  // 작업이 일찍 끝나도 lease 를 유지하는 시간. 인스턴스 간 시계 오차로 같은 회차가 다시 수행되지 않도록 한다.
+  long minHoldSeconds() default ScheduledLeaseService.DEFAULT_MIN_HOLD_SECONDS;
+
+  // false 라면 lease 없이 모든 인스턴스에서 수행한다. 여러 인스턴스가 나누어 처리하는 작업(Stream 소비자 등)에 사용한다.
+  boolean exclusive() default true;
+
+  // false 라면 실행 기록을 남기지 않는다. 수 초 간격으로 반복되는 작업에 사용한다.
+  boolean recordRun() default true;
+}
@@ -0,0 +1,140 @@
+package com.management.library.service.scheduled;
+
+import static com.management.library.domain.type.ScheduledJobRunStatus.FAILED;
+import static com.management.library.domain.type.ScheduledJobRunStatus.LEASE_LOST;
+import static com.management.library.domain.type.ScheduledJobRunStatus.SUCCEEDED;
+
+import com.management.library.domain.scheduled.ScheduledJobRun;
+import com.management.library.repository.scheduled.ScheduledJobRunRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RScript.Mode;
+import org.redisson.api.RScript.ReturnType;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+/**
+ * 여러 인스턴스에서 같은 스케줄 작업이 동시에 수행되지 않도록 Redis lease 를 얻은 인스턴스만 작업을 수행한다.
+ * <p>
+ * lease 를 얻을 때마다 작업별로 증가하는 번호를 발급하여 lease 값과 실행 기록에 남긴다. 이 번호는 작업의 쓰기를 막지 않으므로, 작업이
+ * leaseSeconds 보다 오래 걸려 다른 인스턴스가 같은 작업을 시작하면 두 실행의 쓰기가 모두 반영될 수 있다. 작업은 leaseSeconds 안에
+ * 끝나도록 설정하고, 작업이 끝났을 때 lease 에 자신의 값이 남아 있지 않은 실행은 LEASE_LOST 로 기록하여 확인할 수 있게 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScheduledLeaseService {
+
+  public static final long DEFAULT_LEASE_SECONDS = 600L;
+  public static final long DEFAULT_MIN_HOLD_SECONDS = 30L;
+
+  private static final String LEASE_PREFIX = "scheduled-lease:";
+  private static final String FENCING_TOKEN_PREFIX = "scheduled-fencing-token:";
+  private static final String INSTANCE_ID = ManagementFactory.getRuntimeMXBean().getName();
+  private static final String RELEASE_SCRIPT = loadScript("scripts/release-lease.lua");
+
+  private final RedissonClient redissonClient;
+  private final ScheduledJobRunRepository scheduledJobRunRepository;
+
+  /**
+   * lease 를 얻은 경우에만 작업을 수행하고 실행 기록을 남긴다. 다른 인스턴스가 lease 를 가지고 있다면 작업을 건너뛴다.
+   *
+   * @param jobName        작업 이름
+   * @param leaseSeconds   lease 최대 유지 시간
+   * @param minHoldSeconds 작업이 일찍 끝나도 lease 를 유지하는 시간
+   * @param task           수행할 작업
+   * @return 작업을 수행했다면 true, lease 를 얻지 못해 건너뛰었다면 false
+   */
+  public boolean runExclusively(String jobName, long leaseSeconds, long minHoldSeconds,
+      Runnable task) {
+    return runExclusively(jobName, leaseSeconds, minHoldSeconds, true, task);
+  }
+
+  /**
+   * lease 를 얻은 경우에만 작업을 수행한다. recordRun 이 false 라면 실행 기록을 남기지 않고, lease 를 잃은 경우에만 로그를 남긴다.
+   */
+  public boolean runExclusively(String jobName, long leaseSeconds, long minHoldSeconds,
+      boolean recordRun, Runnable task) {
+    RBucket<String> lease = redissonClient.getBucket(LEASE_PREFIX + jobName, StringCodec.INSTANCE);
+    if (lease.isExists()) {
+      log.info("scheduled job {} skipped, lease is held by {}", jobName, lease.get());
+      return false;
+    }
+
+    long fencingToken = redissonClient.getAtomicLong(FENCING_TOKEN_PREFIX + jobName)
+        .incrementAndGet();
+    String leaseValue = INSTANCE_ID + ":" + fencingToken;
+
+    if (!lease.setIfAbsent(leaseValue, Duration.ofSeconds(leaseSeconds))) {
+      log.info("scheduled job {} skipped, lease is held by {}", jobName, lease.get());
+      return false;
+    }
+
+    long startTime = System.currentTimeMillis();
+    ScheduledJobRun run = ScheduledJobRun.start(jobName, fencingToken, INSTANCE_ID);
+    if (recordRun) {
+      run = scheduledJobRunRepository.save(run);
+    }
+
+    try {
+      task.run();
+      finish(run, lease, leaseValue, null, recordRun);
+    } catch (RuntimeException e) {
+      finish(run, lease, leaseValue, e, recordRun);
+      throw e;
+    } finally {
+      release(lease, leaseValue, minHoldSeconds, startTime);
+    }
+
+    return true;
+  }
+
+  private void finish(ScheduledJobRun run, RBucket<String> lease, String leaseValue,
+      RuntimeException exception, boolean recordRun) {
+    if (!leaseValue.equals(lease.get())) {
+      log.warn("scheduled job {} lost its lease during execution, fencing token = {}",
+          run.getJobName(), run.getFencingToken());
+      run.finish(LEASE_LOST, exception == null ? null : exception.getMessage());
+    } else if (exception != null) {
+      run.finish(FAILED, exception.getMessage());
+    } else {
+      run.finish(SUCCEEDED, null);
+    }
+
+    if (recordRun) {
+      scheduledJobRunRepository.save(run);
+    }
+  }
+
+  // 인스턴스 간 시계 오차로 같은 회차가 다시 수행되지 않도록 minHoldSeconds 가 지나기 전에는 lease 를 지우지 않고 남은 시간만큼 유지한다.
+  // 확인과 만료 설정 사이에 다른 인스턴스가 lease 를 얻을 수 있으므로 하나의 스크립트로 비교하고 변경한다.
+  private void release(RBucket<String> lease, String leaseValue, long minHoldSeconds,
+      long startTime) {
+    long remainMillis = TimeUnit.SECONDS.toMillis(minHoldSeconds)
+        - (System.currentTimeMillis() - startTime);
+
+    redissonClient.getScript(StringCodec.INSTANCE).eval(Mode.READ_WRITE, RELEASE_SCRIPT,
+        ReturnType.INTEGER, List.of(lease.getName()), leaseValue, String.valueOf(remainMillis));
+  }
+
+  private static String loadScript(String path) {
+    try {
+      return StreamUtils.copyToString(new ClassPathResource(path).getInputStream(),
+          StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
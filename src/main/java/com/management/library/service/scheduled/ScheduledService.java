@@ -1,10 +1,21 @@
 package com.management.library.service.scheduled;
 
-import com.management.library.repository.book.BookRepository;
+import static com.management.library.config.SchedulerConfiguration.SCHEDULE_ZONE;
+import static com.management.library.domain.type.BookStatus.UNAVAILABLE;
+
 import com.management.library.repository.rental.BookRentalRepository;
 import com.management.library.repository.review.BookReviewRepository;
+import com.management.library.service.book.BookStatusHistoryService;
+import com.management.library.service.book.recommend.BookTrendingRedisService;
+import com.management.library.service.book.recommend.TrendingWindow;
+import com.management.library.service.redis.RedisCheckpointService;
+import com.management.library.service.redis.RedisCheckpointTarget;
+import com.management.library.service.request.RedisRequestService;
+import com.management.library.service.statistics.StatisticsDashboardCacheService;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.time.ZoneId;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -22,10 +33,12 @@ public class ScheduledService {
 
   private final BookRentalRepository bookRentalRepository;
   private final BookReviewRepository bookReviewRepository;
-  private final BookRepository bookRepository;
+  private final BookStatusHistoryService bookStatusHistoryService;
+  private final BookTrendingRedisService bookTrendingRedisService;
+  private final RedisCheckpointService redisCheckpointService;
+  private final RedisRequestService redisRequestService;
+  private final StatisticsDashboardCacheService statisticsDashboardCacheService;
 
-  private static final String MANAGEMENT_CACHE_KEY = "management-request-count:";
-  private static final String NEW_BOOK_CACHE_KEY = "book-request-count:";
   private static final String BOOK_RENTED_COUNT = "book-rented-count";
   private static final String MONTHLY_RENTED_COUNT = "monthly-rented-count";
   private static final String MONTHLY_REVIEW_COUNT = "monthly-review-count";
@@ -35,79 +48,86 @@ public class ScheduledService {
   private static final String YEARLY_BOOK_UNAVAILABLE_COUNT = "yearly-book-unavailable-count";
 
   // 캐시 초기화 - 매 달 요청 횟수
+  // 요청 가능 횟수는 달마다 새 키를 사용하므로 지난달 키만 UNLINK 로 지운다. 지우지 못한 키는 만료 시각에 지워진다.
   @Scheduled(cron = "0 5 0 1 * *", zone = "Asia/Seoul")
   public void initRequestCount() {
-    redisTemplate.delete(MANAGEMENT_CACHE_KEY);
-    redisTemplate.delete(NEW_BOOK_CACHE_KEY);
+    redisRequestService.deleteRequestCounts(YearMonth.now(SCHEDULE_ZONE).minusMonths(1));
   }
 
   // 랭킹 초기화 - 매년 1월 1일 00시 05분 수행
   @Scheduled(cron = "0 5 0 1 1 *", zone = "Asia/Seoul")
+  @Transactional
   public void initRentCountRanking() {
-    redisTemplate.delete(BOOK_RENTED_COUNT);
+    redisTemplate.unlink(BOOK_RENTED_COUNT);
+    redisCheckpointService.deleteCheckpoint(RedisCheckpointTarget.BOOK_RENTED_COUNT);
   }
 
-  // 월간 도서 대여 수 정산
-  @Scheduled(cron = "0 10 0 1 * *", zone = "Asia/Seoul")
-  public void monthlyRentalSettle() {
-    LocalDate startDate = YearMonth.now().minusMonths(2).atEndOfMonth();
-    LocalDate endDate = YearMonth.now().atDay(1);
-
-    int monthValue = endDate.getMonthValue() - 1;
-    int year = startDate.getYear();
+  // 기간별 인기 도서 순위 합산 - 매 시 00분 수행
+  @Scheduled(cron = "0 0 * * * *", zone = "Asia/Seoul")
+  public void mergeTrendingRanking() {
+    LocalDate today = LocalDate.now(SCHEDULE_ZONE);
 
-    if (monthValue == 0) {
-      monthValue = 12;
+    for (TrendingWindow window : TrendingWindow.values()) {
+      bookTrendingRedisService.mergeTrendingRanking(window, today);
     }
+  }
 
-    String hashKey = year + "-" + monthValue;
+  // 월간 도서 대여 수 정산 - 실시간 카운터로 쌓인 지난 달 대여 수를 DB 기준으로 보정
+  @Scheduled(cron = "0 10 0 1 * *", zone = "Asia/Seoul")
+  public void monthlyRentalSettle() {
+    YearMonth month = YearMonth.now(SCHEDULE_ZONE).minusMonths(1);
+    String hashKey = month.getYear() + "-" + month.getMonthValue();
 
-    Long resultCount = bookRentalRepository.countByRentalByDate(startDate, endDate);
+    Long resultCount = bookRentalRepository.countByRentalByDate(getMonthStartTime(month),
+        getMonthStartTime(month.plusMonths(1)));
 
     redisTemplate.opsForHash().put(MONTHLY_RENTED_COUNT, hashKey, resultCount.toString());
+    redisCheckpointService.markDirty(RedisCheckpointTarget.MONTHLY_RENTED_COUNT, hashKey);
+    statisticsDashboardCacheService.evict(month.getYear());
   }
 
-  // 월 간 리뷰 수 정산
+  // 월 간 리뷰 수 정산 - 실시간 카운터로 쌓인 지난 달 리뷰 수를 DB 기준으로 보정
   @Scheduled(cron = "0 10 0 1 * *", zone = "Asia/Seoul")
   public void monthlyReviewSettle() {
-    LocalDate startDate = YearMonth.now().minusMonths(2).atEndOfMonth();
-    LocalDate endDate = YearMonth.now().atDay(1);
+    YearMonth month = YearMonth.now(SCHEDULE_ZONE).minusMonths(1);
+    String hashKey = month.getYear() + "-" + month.getMonthValue();
 
-    int monthValue = endDate.getMonthValue() - 1;
-    int year = startDate.getYear();
-
-    if (monthValue == 0) {
-      monthValue = 12;
-    }
-    String hashKey = year + "-" + monthValue;
-
-    Long resultCount = bookReviewRepository.countByReviewDate(startDate, endDate);
+    Long resultCount = bookReviewRepository.countByReviewDate(getMonthStartTime(month),
+        getMonthStartTime(month.plusMonths(1)));
 
     redisTemplate.opsForHash().put(MONTHLY_REVIEW_COUNT, hashKey, resultCount.toString());
+    redisCheckpointService.markDirty(RedisCheckpointTarget.MONTHLY_REVIEW_COUNT, hashKey);
+    statisticsDashboardCacheService.evict(month.getYear());
   }
 
   // 월 간 도서 손/망실 정산
   @Scheduled(cron = "0 10 0 1 * *", zone = "Asia/Seoul")
   public void monthlyUnavailableBookSettle() {
-    int monthValue = LocalDate.now().getMonthValue() - 1;
-    int year = LocalDate.now().getYear();
+    settleUnavailableBooks(YearMonth.now(SCHEDULE_ZONE).minusMonths(1));
+  }
 
-    if (monthValue == 0) {
-      monthValue = 12;
-      year -= 1;
-    }
-    String hashKey = year + "-" + monthValue;
+  /**
+   * 해당 월의 도서 손/망실 횟수를 정산한다. 현재 손/망실 상태인 도서 수가 아닌 해당 월에 손/망실 상태로 바뀐 횟수를 정산한다.
+   *
+   * @param month 정산할 월
+   */
+  public void settleUnavailableBooks(YearMonth month) {
+    String hashKey = month.getYear() + "-" + month.getMonthValue();
 
-    Long resultCount = bookRepository.countByBookUnavailableStatus();
+    Long resultCount = bookStatusHistoryService.countStatusChanges(UNAVAILABLE,
+        getMonthStartTime(month), getMonthStartTime(month.plusMonths(1)));
 
     redisTemplate.opsForHash().put(MONTHLY_BOOK_UNAVAILABLE_COUNT, hashKey, resultCount.toString());
+    redisCheckpointService.markDirty(RedisCheckpointTarget.MONTHLY_BOOK_UNAVAILABLE_COUNT,
+        hashKey);
+    statisticsDashboardCacheService.evict(month.getYear());
   }
 
   // 연간 도서 대여 정산
   @Scheduled(cron = "0 15 0 1 1 *", zone = "Asia/Seoul")
   public void yearlyRentalSettle() {
     long resultCount = 0L;
-    int year = LocalDate.now().getYear() - 1;
+    int year = LocalDate.now(SCHEDULE_ZONE).getYear() - 1;
 
     for (int i = 1; i <= 12; i++) {
       String monthlyCount = (String) redisTemplate.opsForHash()
@@ -123,13 +143,16 @@ public class ScheduledService {
 
     redisTemplate.opsForHash().put(YEARLY_RENTED_COUNT, String.valueOf(year),
         String.valueOf(resultCount));
+    redisCheckpointService.markDirty(RedisCheckpointTarget.YEARLY_RENTED_COUNT,
+        String.valueOf(year));
+    statisticsDashboardCacheService.evict(year);
   }
 
   // 연간 도서 리뷰 수 정산
   @Scheduled(cron = "0 15 0 1 1 *", zone = "Asia/Seoul")
   public void yearlyReviewSettle() {
     long resultCount = 0L;
-    int year = LocalDate.now().getYear() - 1;
+    int year = LocalDate.now(SCHEDULE_ZONE).getYear() - 1;
 
     for (int i = 1; i <= 12; i++) {
       String monthlyCount = (String) redisTemplate.opsForHash()
@@ -145,13 +168,16 @@ public class ScheduledService {
 
     redisTemplate.opsForHash().put(YEARLY_REVIEW_COUNT, String.valueOf(year),
         String.valueOf(resultCount));
+    redisCheckpointService.markDirty(RedisCheckpointTarget.YEARLY_REVIEW_COUNT,
+        String.valueOf(year));
+    statisticsDashboardCacheService.evict(year);
   }
 
   // 연간 도서 손/망실 정산
   @Scheduled(cron = "0 15 0 1 1 *", zone = "Asia/Seoul")
   public void yearlyBookUnavailableSettle() {
     long resultCount = 0L;
-    int year = LocalDate.now().getYear() - 1;
+    int year = LocalDate.now(SCHEDULE_ZONE).getYear() - 1;
 
     for (int i = 1; i <= 12; i++) {
       String monthlyCount = (String) redisTemplate.opsForHash()
@@ -168,5 +194,15 @@ public class ScheduledService {
     redisTemplate.opsForHash()
         .put(YEARLY_BOOK_UNAVAILABLE_COUNT, String.valueOf(year),
             String.valueOf(resultCount));
+    redisCheckpointService.markDirty(RedisCheckpointTarget.YEARLY_BOOK_UNAVAILABLE_COUNT,
+        String.valueOf(year));
+    statisticsDashboardCacheService.evict(year);
+  }
+
+  // 정산할 달은 SCHEDULE_ZONE 으로 정하고, 생성 시각과 상태 변경 시각은 서버 시간대로 기록되므로 달의 시작 시각을 서버 시간대로 바꾼다.
+  private LocalDateTime getMonthStartTime(YearMonth month) {
+    return month.atDay(1).atStartOfDay(SCHEDULE_ZONE)
+        .withZoneSameInstant(ZoneId.systemDefault())
+        .toLocalDateTime();
   }
 }
@@ -0,0 +1,67 @@
+package com.management.library.service.statistics;
+
+import com.management.library.service.statistics.dto.StatisticsDashboardDto.YearStatistics;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+
+/**
+ * 모든 값이 정산된 지난 연도의 대시보드 통계를 인스턴스 메모리에 캐시한다. 지난 연도의 값도 정산 작업, 늦게 처리된 실시간 카운터, 체크포인트 복구로
+ * 바뀔 수 있으므로 해당 연도의 통계 hash 를 쓰는 곳에서 캐시를 삭제한다.
+ * <p>
+ * 삭제는 통계 hash 를 쓴 인스턴스의 캐시에만 적용되므로, 다른 인스턴스의 캐시는 CACHE_DURATION 이 지나면 다시 조회하도록 한다.
+ */
+@Service
+public class StatisticsDashboardCacheService {
+
+  private static final Duration CACHE_DURATION = Duration.ofMinutes(10);
+
+  private final Map<Integer, CachedYear> closedYears = new ConcurrentHashMap<>();
+
+  public YearStatistics get(int year) {
+    CachedYear cached = closedYears.get(year);
+    if (cached == null) {
+      return null;
+    }
+
+    if (cached.expiresAt <= System.currentTimeMillis()) {
+      closedYears.remove(year, cached);
+      return null;
+    }
+
+    return cached.statistics;
+  }
+
+  public void put(YearStatistics statistics) {
+    closedYears.put(statistics.getYear(), new CachedYear(statistics,
+        System.currentTimeMillis() + CACHE_DURATION.toMillis()));
+  }
+
+  /**
+   * 연도의 통계 hash 값이 바뀐 뒤 캐시된 통계를 삭제한다.
+   *
+   * @param year 값이 바뀐 연도
+   */
+  public void evict(int year) {
+    closedYears.remove(year);
+  }
+
+  /**
+   * 어떤 연도의 값이 바뀌었는지 알 수 없을 때 캐시된 모든 연도의 통계를 삭제한다.
+   */
+  public void evictAll() {
+    closedYears.clear();
+  }
+
+  private static class CachedYear {
+
+    private final YearStatistics statistics;
+    private final long expiresAt;
+
+    private CachedYear(YearStatistics statistics, long expiresAt) {
+      this.statistics = statistics;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
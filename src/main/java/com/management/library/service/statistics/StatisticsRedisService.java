@@ -0,0 +1,169 @@
+package com.management.library.service.statistics;
+
+import com.management.library.service.redis.RedisCheckpointTarget;
+import com.management.library.service.redis.RedisIncrementOnce;
+import com.management.library.service.statistics.dto.LiveStatisticsResultDto;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+/**
+ * 대여, 반납, 리뷰가 발생할 때마다 통계 카운터를 증가시킨다. 카운터는 시간별, 일별 hash 에 쌓이고 같은 pipeline 에서 월간, 연간 hash 에도
+ * 반영되므로 월말 정산 전에도 이번 달 통계를 조회할 수 있다. 월간, 연간 hash 의 바뀐 field 는 같은 pipeline 에서 체크포인트 dirty set 에
+ * 추가한다. 대여한 회원 수는 HyperLogLog 로 집계한다.
+ * <p>
+ * 카운터는 커밋된 outbox 이벤트를 처리하는 StatisticsEventHandler 에서만 증가시키므로 롤백된 요청은 통계에 반영되지 않는다. 반영에
+ * 실패하면 예외가 전달되어 이벤트가 다시 처리되며, 카운터는 이벤트마다 한 번만 증가한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class StatisticsRedisService {
+
+  private final RedisTemplate<String, String> redisTemplate;
+  private final StatisticsDashboardCacheService statisticsDashboardCacheService;
+
+  private static final String HOURLY_PREFIX = "statistics:hourly:";
+  private static final String DAILY_PREFIX = "statistics:daily:";
+  private static final String BORROWER_PREFIX = "statistics:borrowers:";
+  private static final String FIELD_DELIMITER = ":";
+  private static final int HOURLY_RETENTION_DAYS = 8;
+  private static final int DAILY_RETENTION_DAYS = 400;
+
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+  private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+  private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("HH");
+  private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("dd");
+
+  /**
+   * 통계 카운터를 1 증가시킨다.
+   *
+   * @param type       통계 항목
+   * @param occurredAt 발생 시각
+   * @param eventKey   소비자 그룹 안에서 이벤트를 구분하는 key
+   */
+  public void increment(StatisticsType type, LocalDateTime occurredAt, String eventKey) {
+    writeCounters(type, occurredAt, null, eventKey);
+  }
+
+  /**
+   * 대여 카운터를 1 증가시키고 대여한 회원을 이번 달, 올해의 대여 회원 HyperLogLog 에 추가한다.
+   *
+   * @param memberCode 대여한 회원 번호
+   * @param occurredAt 대여 시각
+   * @param eventKey   소비자 그룹 안에서 대여 이벤트를 구분하는 key
+   */
+  public void incrementRental(String memberCode, LocalDateTime occurredAt, String eventKey) {
+    writeCounters(StatisticsType.RENTAL, occurredAt, memberCode, eventKey);
+  }
+
+  /**
+   * 일별 hash 와 대여 회원 HyperLogLog 를 하나의 pipeline 으로 조회하여 한 달 동안의 통계를 만든다.
+   *
+   * @param yearMonth 조회할 달
+   * @return 한 달 동안의 통계, 카운터가 없는 항목은 0
+   */
+  public LiveStatisticsResultDto getMonthlyStatistics(YearMonth yearMonth) {
+    RedisSerializer<String> serializer = RedisSerializer.string();
+    byte[] dailyKey = serializer.serialize(DAILY_PREFIX + yearMonth.format(MONTH_FORMAT));
+    byte[] borrowerKey = serializer.serialize(BORROWER_PREFIX + yearMonth.format(MONTH_FORMAT));
+
+    List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      connection.hashCommands().hGetAll(dailyKey);
+      connection.hyperLogLogCommands().pfCount(borrowerKey);
+      return null;
+    }, serializer);
+
+    @SuppressWarnings("unchecked")
+    Map<String, String> dailyCounts = (Map<String, String>) results.get(0);
+    Long borrowerCount = (Long) results.get(1);
+
+    return LiveStatisticsResultDto.builder()
+        .year(yearMonth.getYear())
+        .month(yearMonth.getMonthValue())
+        .rentalCount(sumCounts(dailyCounts, StatisticsType.RENTAL))
+        .returnCount(sumCounts(dailyCounts, StatisticsType.RETURN))
+        .reviewCount(sumCounts(dailyCounts, StatisticsType.REVIEW))
+        .borrowerCount(borrowerCount == null ? 0L : borrowerCount)
+        .build();
+  }
+
+  private void writeCounters(StatisticsType type, LocalDateTime occurredAt, String memberCode,
+      String eventKey) {
+    RedisSerializer<String> serializer = RedisSerializer.string();
+    YearMonth yearMonth = YearMonth.from(occurredAt);
+    String month = yearMonth.format(MONTH_FORMAT);
+
+    String hourlyKey = HOURLY_PREFIX + occurredAt.format(DATE_FORMAT);
+    String hourlyField = getField(type, occurredAt.format(HOUR_FORMAT));
+    String dailyKey = DAILY_PREFIX + month;
+    String dailyField = getField(type, occurredAt.format(DAY_FORMAT));
+    String monthField = yearMonth.getYear() + "-" + yearMonth.getMonthValue();
+    String yearField = String.valueOf(yearMonth.getYear());
+    byte[] monthlyBorrowerKey = serializer.serialize(BORROWER_PREFIX + month);
+    byte[] yearlyBorrowerKey = serializer.serialize(BORROWER_PREFIX + yearMonth.getYear());
+
+    long hourlyExpireAt = getExpireAt(occurredAt.plusDays(HOURLY_RETENTION_DAYS));
+    long dailyExpireAt = getExpireAt(occurredAt.plusDays(DAILY_RETENTION_DAYS));
+
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      RedisIncrementOnce.hIncrBy(connection, hourlyKey, hourlyField, 1, eventKey);
+      connection.keyCommands().expireAt(serializer.serialize(hourlyKey), hourlyExpireAt);
+      RedisIncrementOnce.hIncrBy(connection, dailyKey, dailyField, 1, eventKey);
+      connection.keyCommands().expireAt(serializer.serialize(dailyKey), dailyExpireAt);
+
+      if (type.hasPeriodKey()) {
+        RedisCheckpointTarget monthlyTarget = type.getMonthlyTarget();
+        RedisCheckpointTarget yearlyTarget = type.getYearlyTarget();
+
+        RedisIncrementOnce.hIncrBy(connection, monthlyTarget.getKey(), monthField, 1, eventKey);
+        connection.setCommands().sAdd(serializer.serialize(monthlyTarget.getDirtyKey()),
+            serializer.serialize(monthField));
+        RedisIncrementOnce.hIncrBy(connection, yearlyTarget.getKey(), yearField, 1, eventKey);
+        connection.setCommands().sAdd(serializer.serialize(yearlyTarget.getDirtyKey()),
+            serializer.serialize(yearField));
+      }
+
+      if (memberCode != null) {
+        byte[] member = serializer.serialize(memberCode);
+        connection.hyperLogLogCommands().pfAdd(monthlyBorrowerKey, member);
+        connection.keyCommands().expireAt(monthlyBorrowerKey, dailyExpireAt);
+        connection.hyperLogLogCommands().pfAdd(yearlyBorrowerKey, member);
+      }
+      return null;
+    });
+
+    // 늦게 처리된 이벤트가 지난 연도의 월간, 연간 hash 를 바꾼 경우 캐시된 대시보드 통계를 삭제한다.
+    if (type.hasPeriodKey() && yearMonth.getYear() < LocalDateTime.now().getYear()) {
+      statisticsDashboardCacheService.evict(yearMonth.getYear());
+    }
+  }
+
+  private long sumCounts(Map<String, String> counts, StatisticsType type) {
+    if (counts == null) {
+      return 0L;
+    }
+
+    String prefix = type.getField() + FIELD_DELIMITER;
+
+    return counts.entrySet().stream()
+        .filter(entry -> entry.getKey().startsWith(prefix))
+        .mapToLong(entry -> Long.parseLong(entry.getValue()))
+        .sum();
+  }
+
+  private String getField(StatisticsType type, String suffix) {
+    return type.getField() + FIELD_DELIMITER + suffix;
+  }
+
+  private long getExpireAt(LocalDateTime dateTime) {
+    return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+  }
+}
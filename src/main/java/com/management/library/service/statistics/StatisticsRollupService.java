@@ -0,0 +1,213 @@
+package com.management.library.service.statistics;
+
+import static com.management.library.domain.type.BookStatus.AVAILABLE;
+import static com.management.library.domain.type.BookStatus.RENTAL;
+import static com.management.library.domain.type.BookStatus.UNAVAILABLE;
+import static com.management.library.domain.type.StatisticsGranularity.DAILY;
+import static com.management.library.domain.type.StatisticsGranularity.MONTHLY;
+import static com.management.library.domain.type.StatisticsGranularity.YEARLY;
+import static com.management.library.exception.ErrorCode.INVALID_DATE_RANGE;
+
+import com.management.library.domain.statistics.StatisticsRollup;
+import com.management.library.domain.type.StatisticsGranularity;
+import com.management.library.exception.InvalidArgumentException;
+import com.management.library.repository.book.BookStatusHistoryRepository;
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.repository.review.BookReviewRepository;
+import com.management.library.repository.statistics.StatisticsRollupRepository;
+import com.management.library.service.statistics.dto.DailyCountDto;
+import com.management.library.service.statistics.dto.StatisticsRollupDto;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * rentals, book_reviews, book_status_history 테이블을 날짜별로 집계하여 statistics_rollups 테이블에 일별, 월별, 연도별 통계를
+ * 저장하고 기간 단위로 조회한다. 반납과 손/망실은 대여 행의 수정 시각이 아닌 도서 상태 변경 이력의 변경 시각으로 집계한다.
+ * 집계는 항상 원본 테이블에서 다시 계산한 값으로 덮어쓰므로 같은 기간을 여러 번 집계해도 결과가 같다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StatisticsRollupService {
+
+  private final StatisticsRollupRepository statisticsRollupRepository;
+  private final BookRentalRepository bookRentalRepository;
+  private final BookReviewRepository bookReviewRepository;
+  private final BookStatusHistoryRepository bookStatusHistoryRepository;
+
+  /**
+   * [startDate, endDate] 기간의 일별 통계를 다시 집계한다. 대여, 반납, 리뷰, 손/망실이 없는 날도 0 으로 저장된다.
+   *
+   * @param startDate 집계 시작일
+   * @param endDate   집계 종료일(포함)
+   * @return 집계한 일 수
+   */
+  @Transactional
+  public int rollupDaily(LocalDate startDate, LocalDate endDate) {
+    LocalDateTime startTime = startDate.atStartOfDay();
+    LocalDateTime endTime = endDate.plusDays(1).atStartOfDay();
+
+    Map<LocalDate, Long> rentalCounts = toCountMap(
+        bookRentalRepository.countRentalsByDay(startTime, endTime));
+    Map<LocalDate, Long> returnCounts = toCountMap(bookStatusHistoryRepository
+        .countStatusChangesByDay(RENTAL, AVAILABLE, startTime, endTime));
+    Map<LocalDate, Long> reviewCounts = toCountMap(
+        bookReviewRepository.countReviewsByDay(startTime, endTime));
+    Map<LocalDate, Long> unavailableCounts = toCountMap(bookStatusHistoryRepository
+        .countStatusChangesByDay(null, UNAVAILABLE, startTime, endTime));
+
+    TreeMap<LocalDate, RollupCount> counts = new TreeMap<>();
+    for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+      counts.put(date, new RollupCount(
+          rentalCounts.getOrDefault(date, 0L),
+          returnCounts.getOrDefault(date, 0L),
+          reviewCounts.getOrDefault(date, 0L),
+          unavailableCounts.getOrDefault(date, 0L)
+      ));
+    }
+
+    saveRollups(DAILY, counts);
+
+    return counts.size();
+  }
+
+  /**
+   * [startDate, endDate] 기간이 걸쳐 있는 달과 연도의 통계를 일별 통계의 합으로 다시 집계한다.
+   *
+   * @param startDate 집계 시작일
+   * @param endDate   집계 종료일(포함)
+   */
+  @Transactional
+  public void rollupPeriods(LocalDate startDate, LocalDate endDate) {
+    LocalDate firstDayOfYear = startDate.withDayOfYear(1);
+    LocalDate lastDayOfYear = endDate.withDayOfYear(endDate.lengthOfYear());
+
+    List<StatisticsRollup> dailyRollups = statisticsRollupRepository
+        .findAllByGranularityAndBucketDateBetweenOrderByBucketDate(DAILY, firstDayOfYear,
+            lastDayOfYear);
+
+    TreeMap<LocalDate, RollupCount> monthlyCounts = new TreeMap<>();
+    TreeMap<LocalDate, RollupCount> yearlyCounts = new TreeMap<>();
+
+    for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate));
+        month = month.plusMonths(1)) {
+      monthlyCounts.put(month.atDay(1), new RollupCount(0L, 0L, 0L, 0L));
+    }
+
+    for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+      yearlyCounts.put(LocalDate.of(year, 1, 1), new RollupCount(0L, 0L, 0L, 0L));
+    }
+
+    for (StatisticsRollup dailyRollup : dailyRollups) {
+      LocalDate date = dailyRollup.getBucketDate();
+
+      // 집계 기간이 걸쳐 있지 않은 달은 다시 집계하지 않는다.
+      RollupCount monthlyCount = monthlyCounts.get(date.withDayOfMonth(1));
+      if (monthlyCount != null) {
+        monthlyCount.add(dailyRollup);
+      }
+
+      yearlyCounts.get(date.withDayOfYear(1)).add(dailyRollup);
+    }
+
+    saveRollups(MONTHLY, monthlyCounts);
+    saveRollups(YEARLY, yearlyCounts);
+  }
+
+  /**
+   * 기간 안의 통계를 집계 단위별로 조회한다. 시작일은 집계 단위의 첫 날로 내림하므로 시작일이 포함된 달, 연도의 통계도 함께 조회된다.
+   *
+   * @param granularity 집계 단위
+   * @param startDate   조회 시작일
+   * @param endDate     조회 종료일(포함)
+   * @return 집계 구간 순으로 정렬된 통계 목록, 집계되지 않은 구간은 포함되지 않는다.
+   */
+  public List<StatisticsRollupDto> getRollups(StatisticsGranularity granularity,
+      LocalDate startDate, LocalDate endDate) {
+    if (startDate.isAfter(endDate)) {
+      throw new InvalidArgumentException(INVALID_DATE_RANGE);
+    }
+
+    return statisticsRollupRepository
+        .findAllByGranularityAndBucketDateBetweenOrderByBucketDate(granularity,
+            getBucketDate(granularity, startDate), endDate).stream()
+        .map(StatisticsRollupDto::of)
+        .collect(Collectors.toList());
+  }
+
+  public Optional<StatisticsRollup> getRollup(StatisticsGranularity granularity,
+      LocalDate bucketDate) {
+    return statisticsRollupRepository.findByGranularityAndBucketDate(granularity, bucketDate);
+  }
+
+  // 이미 저장된 구간은 값을 교체하고, 없는 구간은 새로 저장한다.
+  private void saveRollups(StatisticsGranularity granularity,
+      TreeMap<LocalDate, RollupCount> counts) {
+    if (counts.isEmpty()) {
+      return;
+    }
+
+    Map<LocalDate, StatisticsRollup> rollups = statisticsRollupRepository
+        .findAllByGranularityAndBucketDateBetweenOrderByBucketDate(granularity, counts.firstKey(),
+            counts.lastKey()).stream()
+        .collect(Collectors.toMap(StatisticsRollup::getBucketDate, Function.identity()));
+
+    counts.forEach((bucketDate, count) -> {
+      StatisticsRollup rollup = rollups.computeIfAbsent(bucketDate,
+          date -> StatisticsRollup.of(granularity, date));
+      rollup.changeCounts(count.rentalCount, count.returnCount, count.reviewCount,
+          count.unavailableCount);
+    });
+
+    statisticsRollupRepository.saveAll(rollups.values());
+  }
+
+  private Map<LocalDate, Long> toCountMap(List<DailyCountDto> dailyCounts) {
+    return dailyCounts.stream()
+        .collect(Collectors.toMap(DailyCountDto::getDate, DailyCountDto::getCount));
+  }
+
+  private LocalDate getBucketDate(StatisticsGranularity granularity, LocalDate date) {
+    switch (granularity) {
+      case MONTHLY:
+        return date.withDayOfMonth(1);
+      case YEARLY:
+        return date.withDayOfYear(1);
+      default:
+        return date;
+    }
+  }
+
+  private static class RollupCount {
+
+    private long rentalCount;
+    private long returnCount;
+    private long reviewCount;
+    private long unavailableCount;
+
+    private RollupCount(long rentalCount, long returnCount, long reviewCount,
+        long unavailableCount) {
+      this.rentalCount = rentalCount;
+      this.returnCount = returnCount;
+      this.reviewCount = reviewCount;
+      this.unavailableCount = unavailableCount;
+    }
+
+    private void add(StatisticsRollup rollup) {
+      this.rentalCount += rollup.getRentalCount();
+      this.returnCount += rollup.getReturnCount();
+      this.reviewCount += rollup.getReviewCount();
+      this.unavailableCount += rollup.getUnavailableCount();
+    }
+  }
+}
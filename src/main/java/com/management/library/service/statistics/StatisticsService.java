@@ -1,20 +1,47 @@
 package com.management.library.service.statistics;
 
+import static com.management.library.config.RedisConfiguration.REPLICA_PREFERRED_REDIS_TEMPLATE;
+import static com.management.library.config.SchedulerConfiguration.SCHEDULE_ZONE;
+
+import com.management.library.domain.statistics.StatisticsRollup;
+import com.management.library.domain.type.StatisticsGranularity;
 import com.management.library.exception.ErrorCode;
+import com.management.library.exception.InvalidArgumentException;
 import com.management.library.exception.NoSuchElementExistsException;
+import com.management.library.service.statistics.dto.LiveStatisticsResultDto;
 import com.management.library.service.statistics.dto.MonthlyResultDto;
+import com.management.library.service.statistics.dto.StatisticsDashboardDto;
+import com.management.library.service.statistics.dto.StatisticsDashboardDto.MonthStatistics;
+import com.management.library.service.statistics.dto.StatisticsDashboardDto.YearStatistics;
+import com.management.library.service.statistics.dto.StatisticsRollupDto;
 import com.management.library.service.statistics.dto.YearResultDto;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
 @Service
 @RequiredArgsConstructor
 public class StatisticsService {
 
+  // 통계 조회는 조금 늦게 반영되어도 되므로 replica 에서 읽는다.
+  @Qualifier(REPLICA_PREFERRED_REDIS_TEMPLATE)
   private final RedisTemplate<String, String> redisTemplate;
+  private final StatisticsRedisService statisticsRedisService;
+  private final StatisticsRollupService statisticsRollupService;
+  private final StatisticsDashboardCacheService statisticsDashboardCacheService;
 
   private static final String MONTHLY_RENTED_COUNT = "monthly-rented-count";
   private static final String MONTHLY_REVIEW_COUNT = "monthly-review-count";
@@ -22,11 +49,18 @@ public class StatisticsService {
   private static final String YEARLY_RENTED_COUNT = "yearly-rented-count";
   private static final String YEARLY_REVIEW_COUNT = "yearly-review-count";
   private static final String YEARLY_BOOK_UNAVAILABLE_COUNT = "yearly-book-unavailable-count";
+  private static final int MONTHS_OF_YEAR = 12;
+  private static final int MAX_DASHBOARD_YEARS = 20;
 
   public MonthlyResultDto getMonthlyRentedCount(int year, int month){
     String key = year + "-" + month;
     Object o = redisTemplate.opsForHash().get(MONTHLY_RENTED_COUNT, key);
 
+    if (o == null) {
+      o = getRollupCount(StatisticsGranularity.MONTHLY, LocalDate.of(year, month, 1),
+          StatisticsRollup::getRentalCount);
+    }
+
     if (o == null){
       throw new NoSuchElementExistsException(ErrorCode.DATA_NOT_EXISTS);
     }
@@ -38,6 +72,11 @@ public class StatisticsService {
     String key = year + "-" + month;
     Object o = redisTemplate.opsForHash().get(MONTHLY_REVIEW_COUNT, key);
 
+    if (o == null) {
+      o = getRollupCount(StatisticsGranularity.MONTHLY, LocalDate.of(year, month, 1),
+          StatisticsRollup::getReviewCount);
+    }
+
     if (o == null){
       throw new NoSuchElementExistsException(ErrorCode.DATA_NOT_EXISTS);
     }
@@ -59,6 +98,11 @@ public class StatisticsService {
   public YearResultDto getYearlyRentalCount(int year){
     Object o = redisTemplate.opsForHash().get(YEARLY_RENTED_COUNT, String.valueOf(year));
 
+    if (o == null) {
+      o = getRollupCount(StatisticsGranularity.YEARLY, LocalDate.of(year, 1, 1),
+          StatisticsRollup::getRentalCount);
+    }
+
     if (o == null){
       throw new NoSuchElementExistsException(ErrorCode.DATA_NOT_EXISTS);
     }
@@ -75,6 +119,11 @@ public class StatisticsService {
   public YearResultDto getYearlyReviewCount(int year){
     Object o = redisTemplate.opsForHash().get(YEARLY_REVIEW_COUNT, String.valueOf(year));
 
+    if (o == null) {
+      o = getRollupCount(StatisticsGranularity.YEARLY, LocalDate.of(year, 1, 1),
+          StatisticsRollup::getReviewCount);
+    }
+
     if (o == null){
       throw new NoSuchElementExistsException(ErrorCode.DATA_NOT_EXISTS);
     }
@@ -103,4 +152,163 @@ public class StatisticsService {
 
     return new YearResultDto(year, String.valueOf(o), result);
   }
+
+  /**
+   * 실시간 통계 카운터로 집계한 한 달 동안의 통계를 조회한다. 월말 정산 전인 이번 달 통계도 조회할 수 있다.
+   *
+   * @param year  조회할 연도
+   * @param month 조회할 달
+   * @return 한 달 동안의 대여, 반납, 리뷰 수와 대여 회원 수
+   */
+  public LiveStatisticsResultDto getLiveMonthlyStatistics(int year, int month) {
+    return statisticsRedisService.getMonthlyStatistics(YearMonth.of(year, month));
+  }
+
+  /**
+   * 기간 안의 통계를 DB 에 집계된 일별, 월별, 연도별 통계로 조회한다.
+   *
+   * @param granularity 집계 단위
+   * @param startDate   조회 시작일
+   * @param endDate     조회 종료일(포함)
+   * @return 집계 구간 순으로 정렬된 통계 목록
+   */
+  public List<StatisticsRollupDto> getRangeStatistics(StatisticsGranularity granularity,
+      LocalDate startDate, LocalDate endDate) {
+    return statisticsRollupService.getRollups(granularity, startDate, endDate);
+  }
+
+  // 정산된 값이 redis 에 없다면 DB 에 집계된 통계를 사용한다.
+  private Long getRollupCount(StatisticsGranularity granularity, LocalDate bucketDate,
+      Function<StatisticsRollup, Long> counter) {
+    return statisticsRollupService.getRollup(granularity, bucketDate)
+        .map(counter)
+        .orElse(null);
+  }
+
+  /**
+   * 연도 범위의 대여, 리뷰, 도서 손/망실 통계를 연간, 월간 값과 함께 조회한다. 통계 hash 마다 한 번의 HMGET 으로 모든 연도와 달의 값을
+   * 가져오며 모든 HMGET 은 하나의 pipeline 으로 수행된다. 정산되지 않은 값은 예외 대신 null 로 반환한다.
+   * <p>
+   * 지난 연도 중 모든 값이 정산된 연도는 캐시하고 통계 hash 를 조회하지 않는다. 캐시는 해당 연도의 값이 바뀔 때 삭제된다.
+   *
+   * @param startYear 조회 시작 연도
+   * @param endYear   조회 종료 연도(포함)
+   * @return 연도 순으로 정렬된 대시보드 통계
+   */
+  public StatisticsDashboardDto getDashboard(int startYear, int endYear) {
+    if (startYear > endYear || endYear - startYear >= MAX_DASHBOARD_YEARS) {
+      throw new InvalidArgumentException(ErrorCode.INVALID_DATE_RANGE);
+    }
+
+    Map<Integer, YearStatistics> yearStatistics = new TreeMap<>();
+    List<Integer> uncachedYears = new ArrayList<>();
+
+    for (int year = startYear; year <= endYear; year++) {
+      YearStatistics cached = statisticsDashboardCacheService.get(year);
+
+      if (cached == null) {
+        uncachedYears.add(year);
+        continue;
+      }
+
+      yearStatistics.put(year, cached);
+    }
+
+    if (!uncachedYears.isEmpty()) {
+      int currentYear = LocalDate.now(SCHEDULE_ZONE).getYear();
+
+      for (YearStatistics statistics : getYearStatistics(uncachedYears)) {
+        yearStatistics.put(statistics.getYear(), statistics);
+
+        if (statistics.getYear() < currentYear && statistics.isComplete()) {
+          statisticsDashboardCacheService.put(statistics);
+        }
+      }
+    }
+
+    List<YearStatistics> years = new ArrayList<>(yearStatistics.values());
+
+    return StatisticsDashboardDto.of(startYear, endYear, years, createVersion(years));
+  }
+
+  private List<YearStatistics> getYearStatistics(List<Integer> years) {
+    RedisSerializer<String> serializer = RedisSerializer.string();
+
+    byte[][] monthFields = years.stream()
+        .flatMap(year -> IntStream.rangeClosed(1, MONTHS_OF_YEAR)
+            .mapToObj(month -> year + "-" + month))
+        .map(serializer::serialize)
+        .toArray(byte[][]::new);
+
+    byte[][] yearFields = years.stream()
+        .map(String::valueOf)
+        .map(serializer::serialize)
+        .toArray(byte[][]::new);
+
+    List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      connection.hashCommands().hMGet(serializer.serialize(MONTHLY_RENTED_COUNT), monthFields);
+      connection.hashCommands().hMGet(serializer.serialize(MONTHLY_REVIEW_COUNT), monthFields);
+      connection.hashCommands()
+          .hMGet(serializer.serialize(MONTHLY_BOOK_UNAVAILABLE_COUNT), monthFields);
+      connection.hashCommands().hMGet(serializer.serialize(YEARLY_RENTED_COUNT), yearFields);
+      connection.hashCommands().hMGet(serializer.serialize(YEARLY_REVIEW_COUNT), yearFields);
+      connection.hashCommands()
+          .hMGet(serializer.serialize(YEARLY_BOOK_UNAVAILABLE_COUNT), yearFields);
+      return null;
+    }, serializer);
+
+    List<?> monthlyRented = (List<?>) results.get(0);
+    List<?> monthlyReview = (List<?>) results.get(1);
+    List<?> monthlyUnavailable = (List<?>) results.get(2);
+    List<?> yearlyRented = (List<?>) results.get(3);
+    List<?> yearlyReview = (List<?>) results.get(4);
+    List<?> yearlyUnavailable = (List<?>) results.get(5);
+
+    List<YearStatistics> result = new ArrayList<>();
+
+    for (int i = 0; i < years.size(); i++) {
+      List<MonthStatistics> months = new ArrayList<>();
+
+      for (int month = 1; month <= MONTHS_OF_YEAR; month++) {
+        int index = i * MONTHS_OF_YEAR + month - 1;
+
+        months.add(MonthStatistics.of(month,
+            parseCount(monthlyRented.get(index)),
+            parseCount(monthlyReview.get(index)),
+            parseCount(monthlyUnavailable.get(index))));
+      }
+
+      result.add(YearStatistics.of(years.get(i),
+          parseCount(yearlyRented.get(i)),
+          parseCount(yearlyReview.get(i)),
+          parseCount(yearlyUnavailable.get(i)),
+          months));
+    }
+
+    return result;
+  }
+
+  // 응답에 포함된 모든 값으로 ETag 로 사용할 버전을 만든다.
+  private String createVersion(List<YearStatistics> years) {
+    StringBuilder builder = new StringBuilder();
+
+    for (YearStatistics year : years) {
+      builder.append(year.getYear()).append(':')
+          .append(year.getRentalCount()).append(',')
+          .append(year.getReviewCount()).append(',')
+          .append(year.getBookUnavailableCount()).append(';');
+
+      for (MonthStatistics month : year.getMonths()) {
+        builder.append(month.getRentalCount()).append(',')
+            .append(month.getReviewCount()).append(',')
+            .append(month.getBookUnavailableCount()).append(';');
+      }
+    }
+
+    return DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Long parseCount(Object value) {
+    return value == null ? null : Long.parseLong(String.valueOf(value));
+  }
 }
@@ -0,0 +1,31 @@
+package com.management.library.service.statistics;
+
+import static com.management.library.service.redis.RedisCheckpointTarget.MONTHLY_RENTED_COUNT;
+import static com.management.library.service.redis.RedisCheckpointTarget.MONTHLY_REVIEW_COUNT;
+import static com.management.library.service.redis.RedisCheckpointTarget.YEARLY_RENTED_COUNT;
+import static com.management.library.service.redis.RedisCheckpointTarget.YEARLY_REVIEW_COUNT;
+
+import com.management.library.service.redis.RedisCheckpointTarget;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 실시간으로 집계하는 통계 항목. 월간, 연간 키가 있는 항목은 StatisticsService 가 조회하는 monthly-*, yearly-* hash 에도 함께
+ * 반영된다.
+ */
+@Getter
+@AllArgsConstructor
+public enum StatisticsType {
+  RENTAL("rental", MONTHLY_RENTED_COUNT, YEARLY_RENTED_COUNT),
+  RETURN("return", null, null),
+  REVIEW("review", MONTHLY_REVIEW_COUNT, YEARLY_REVIEW_COUNT);
+
+  // 시간별, 일별 hash 의 field 접두사
+  private final String field;
+  private final RedisCheckpointTarget monthlyTarget;
+  private final RedisCheckpointTarget yearlyTarget;
+
+  public boolean hasPeriodKey() {
+    return monthlyTarget != null && yearlyTarget != null;
+  }
+}
@@ -0,0 +1,22 @@
+package com.management.library.service.statistics.dto;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 날짜별 집계 쿼리 결과. cast(... as date) 의 결과가 java.sql.Date 로 반환되므로 LocalDate 로 변환하여 보관한다.
+ */
+@Getter
+@Setter
+public class DailyCountDto {
+
+  private LocalDate date;
+  private long count;
+
+  public DailyCountDto(Date date, Long count) {
+    this.date = date.toLocalDate();
+    this.count = count;
+  }
+}
@@ -0,0 +1,33 @@
+package com.management.library.service.statistics.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 실시간 통계 카운터로 집계한 한 달 동안의 대여, 반납, 리뷰 수와 대여한 회원 수(근사값).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class LiveStatisticsResultDto {
+
+  private int year;
+  private int month;
+  private long rentalCount;
+  private long returnCount;
+  private long reviewCount;
+  private long borrowerCount;
+
+  @Builder
+  private LiveStatisticsResultDto(int year, int month, long rentalCount, long returnCount,
+      long reviewCount, long borrowerCount) {
+    this.year = year;
+    this.month = month;
+    this.rentalCount = rentalCount;
+    this.returnCount = returnCount;
+    this.reviewCount = reviewCount;
+    this.borrowerCount = borrowerCount;
+  }
+}
@@ -0,0 +1,103 @@
+package com.management.library.service.statistics.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * 관리자 대시보드의 연도별, 월별 대여, 리뷰, 도서 손/망실 통계. 정산되지 않은 값은 null 이다.
+ * <p>
+ * 마감된 연도의 통계는 redis 캐시에 JSON 으로 저장되므로 생성자로 다시 만들 수 있도록 @JsonCreator 를 둔다.
+ */
+@Getter
+public class StatisticsDashboardDto {
+
+  private final int startYear;
+  private final int endYear;
+  private final List<YearStatistics> years;
+  // 응답 내용으로 만든 ETag 값
+  @JsonIgnore
+  private final String version;
+
+  private StatisticsDashboardDto(int startYear, int endYear, List<YearStatistics> years,
+      String version) {
+    this.startYear = startYear;
+    this.endYear = endYear;
+    this.years = List.copyOf(years);
+    this.version = version;
+  }
+
+  public static StatisticsDashboardDto of(int startYear, int endYear, List<YearStatistics> years,
+      String version) {
+    return new StatisticsDashboardDto(startYear, endYear, years, version);
+  }
+
+  @Getter
+  public static class YearStatistics {
+
+    private final int year;
+    private final Long rentalCount;
+    private final Long reviewCount;
+    private final Long bookUnavailableCount;
+    private final List<MonthStatistics> months;
+
+    @JsonCreator
+    private YearStatistics(@JsonProperty("year") int year,
+        @JsonProperty("rentalCount") Long rentalCount,
+        @JsonProperty("reviewCount") Long reviewCount,
+        @JsonProperty("bookUnavailableCount") Long bookUnavailableCount,
+        @JsonProperty("months") List<MonthStatistics> months) {
+      this.year = year;
+      this.rentalCount = rentalCount;
+      this.reviewCount = reviewCount;
+      this.bookUnavailableCount = bookUnavailableCount;
+      // 캐시에 저장될 때 타입 정보가 함께 기록되므로 역직렬화할 수 있는 목록으로 보관한다.
+      this.months = new ArrayList<>(months);
+    }
+
+    public static YearStatistics of(int year, Long rentalCount, Long reviewCount,
+        Long bookUnavailableCount, List<MonthStatistics> months) {
+      return new YearStatistics(year, rentalCount, reviewCount, bookUnavailableCount, months);
+    }
+
+    // 연간, 월간 값이 모두 정산되었는지 확인
+    @JsonIgnore
+    public boolean isComplete() {
+      return rentalCount != null && reviewCount != null && bookUnavailableCount != null
+          && months.stream().allMatch(MonthStatistics::isComplete);
+    }
+  }
+
+  @Getter
+  public static class MonthStatistics {
+
+    private final int month;
+    private final Long rentalCount;
+    private final Long reviewCount;
+    private final Long bookUnavailableCount;
+
+    @JsonCreator
+    private MonthStatistics(@JsonProperty("month") int month,
+        @JsonProperty("rentalCount") Long rentalCount,
+        @JsonProperty("reviewCount") Long reviewCount,
+        @JsonProperty("bookUnavailableCount") Long bookUnavailableCount) {
+      this.month = month;
+      this.rentalCount = rentalCount;
+      this.reviewCount = reviewCount;
+      this.bookUnavailableCount = bookUnavailableCount;
+    }
+
+    public static MonthStatistics of(int month, Long rentalCount, Long reviewCount,
+        Long bookUnavailableCount) {
+      return new MonthStatistics(month, rentalCount, reviewCount, bookUnavailableCount);
+    }
+
+    @JsonIgnore
+    public boolean isComplete() {
+      return rentalCount != null && reviewCount != null && bookUnavailableCount != null;
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.management.library.service.statistics.dto;
+
+import com.management.library.domain.statistics.StatisticsRollup;
+import com.management.library.domain.type.StatisticsGranularity;
+import java.time.LocalDate;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class StatisticsRollupDto {
+
+  private StatisticsGranularity granularity;
+  private LocalDate bucketDate;
+  private long rentalCount;
+  private long returnCount;
+  private long reviewCount;
+  private long unavailableCount;
+
+  @Builder
+  private StatisticsRollupDto(StatisticsGranularity granularity, LocalDate bucketDate,
+      long rentalCount, long returnCount, long reviewCount, long unavailableCount) {
+    this.granularity = granularity;
+    this.bucketDate = bucketDate;
+    this.rentalCount = rentalCount;
+    this.returnCount = returnCount;
+    this.reviewCount = reviewCount;
+    this.unavailableCount = unavailableCount;
+  }
+
+  public static StatisticsRollupDto of(StatisticsRollup rollup) {
+    return StatisticsRollupDto.builder()
+        .granularity(rollup.getGranularity())
+        .bucketDate(rollup.getBucketDate())
+        .rentalCount(rollup.getRentalCount())
+        .returnCount(rollup.getReturnCount())
+        .reviewCount(rollup.getReviewCount())
+        .unavailableCount(rollup.getUnavailableCount())
+        .build();
+  }
+}
@@ -0,0 +1,20 @@
+-- 함께 대여된 도서 수 반영 스크립트
+-- KEYS[1] : 도서별 함께 대여된 도서 sorted set
+-- KEYS[2] : KEYS[1] 에 마지막으로 반영한 대여 id
+-- ARGV[1] : 이번 집계의 마지막 대여 id, ARGV[2] : 유지할 도서 수
+-- ARGV[3..] : (함께 대여된 도서 id, 증가시킬 회원 수) 쌍
+local applied = tonumber(redis.call('GET', KEYS[2]) or '0')
+
+-- 실패한 집계를 다시 실행할 때 이미 반영한 도서는 다시 더하지 않는다.
+if applied >= tonumber(ARGV[1]) then
+  return 0
+end
+
+for i = 3, #ARGV, 2 do
+  redis.call('ZINCRBY', KEYS[1], ARGV[i + 1], ARGV[i])
+end
+
+redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[2]) + 1))
+redis.call('SET', KEYS[2], ARGV[1])
+
+return 1
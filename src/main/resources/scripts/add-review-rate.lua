@@ -0,0 +1,22 @@
+-- 도서 평점 반영 스크립트
+-- KEYS[1] : 도서별 평점 통계 hash (title, sum, count, rate-1 ~ rate-5)
+-- KEYS[2] : 리뷰 등록 이벤트의 반영 기록, KEYS[1] 과 같은 slot 에 놓인다.
+-- ARGV[1] : 평점(1 ~ 5), ARGV[2] : 도서 제목, ARGV[3] : 반영 기록 보관 시간(초)
+-- 반환값 : { 평점 합계, 리뷰 수 }. 다시 처리되는 리뷰 등록 이벤트는 평점을 다시 더하지 않고 현재 값을 반환한다.
+if redis.call('EXISTS', KEYS[2]) == 1 then
+  local sum = tonumber(redis.call('HGET', KEYS[1], 'sum')) or 0
+  local count = tonumber(redis.call('HGET', KEYS[1], 'count')) or 0
+  return { sum, count }
+end
+
+local rate = tonumber(ARGV[1])
+
+redis.call('HSET', KEYS[1], 'title', ARGV[2])
+redis.call('HINCRBY', KEYS[1], 'rate-' .. rate, 1)
+
+local sum = redis.call('HINCRBY', KEYS[1], 'sum', rate)
+local count = redis.call('HINCRBY', KEYS[1], 'count', 1)
+
+redis.call('SET', KEYS[2], '1', 'EX', ARGV[3])
+
+return { sum, count }
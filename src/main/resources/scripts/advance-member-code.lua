@@ -0,0 +1,12 @@
+-- 회원 번호 카운터를 앞당기는 스크립트
+-- KEYS[1] : 회원 번호 카운터
+-- ARGV[1] : redis 를 사용할 수 없는 동안 DB 로 발급한 회원 번호
+-- 카운터가 이미 더 크다면 그대로 둔다.
+local current = tonumber(redis.call('GET', KEYS[1]))
+local issued = tonumber(ARGV[1])
+
+if current == nil or current < issued then
+  redis.call('SET', KEYS[1], ARGV[1])
+end
+
+return redis.call('GET', KEYS[1])
@@ -0,0 +1,18 @@
+-- 이벤트마다 한 번만 반영하는 증가 스크립트
+-- KEYS[1] : 증가시킬 sorted set 또는 hash
+-- KEYS[2] : 이벤트의 반영 기록, KEYS[1] 과 같은 slot 에 놓인다.
+-- ARGV[1] : ZINCRBY 또는 HINCRBY, ARGV[2] : member 또는 field, ARGV[3] : 증가량
+-- ARGV[4] : 반영 기록 보관 시간(초)
+if redis.call('EXISTS', KEYS[2]) == 1 then
+  return 0
+end
+
+-- 증가에 실패하면 script 가 중단되어 반영 기록도 남지 않는다.
+if ARGV[1] == 'ZINCRBY' then
+  redis.call('ZINCRBY', KEYS[1], ARGV[3], ARGV[2])
+else
+  redis.call('HINCRBY', KEYS[1], ARGV[2], ARGV[3])
+end
+
+redis.call('SET', KEYS[2], '1', 'EX', ARGV[4])
+return 1
@@ -0,0 +1,16 @@
+-- 스케줄 작업 lease 를 반납하는 스크립트
+-- KEYS[1] : lease 키
+-- ARGV[1] : 작업을 시작할 때 설정한 lease 값
+-- ARGV[2] : lease 를 더 유지할 시간(ms), 0 이하라면 바로 지운다.
+-- 다른 인스턴스가 lease 를 얻었다면 그대로 둔다.
+if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+  return 0
+end
+
+if tonumber(ARGV[2]) > 0 then
+  redis.call('PEXPIRE', KEYS[1], ARGV[2])
+else
+  redis.call('DEL', KEYS[1])
+end
+
+return 1
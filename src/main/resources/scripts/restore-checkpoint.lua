@@ -0,0 +1,25 @@
+-- 체크포인트 복원 스크립트
+-- KEYS[1] : 되돌릴 hash 또는 sorted set
+-- KEYS[2] : KEYS[1] 에 마지막으로 되돌린 체크포인트 id
+-- ARGV[1] : HINCRBY, ZINCRBY 또는 ZADD, ARGV[2] : 이번 묶음의 마지막 체크포인트 id
+-- ARGV[3..] : (field 또는 member, 체크포인트 값) 쌍
+local restored = tonumber(redis.call('GET', KEYS[2]) or '0')
+
+-- 복원이 중간에 실패하여 다시 실행할 때 이미 되돌린 묶음은 다시 더하지 않는다.
+if restored >= tonumber(ARGV[2]) then
+  return 0
+end
+
+for i = 3, #ARGV, 2 do
+  if ARGV[1] == 'HINCRBY' then
+    redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1])
+  elseif ARGV[1] == 'ZINCRBY' then
+    redis.call('ZINCRBY', KEYS[1], ARGV[i + 1], ARGV[i])
+  else
+    redis.call('ZADD', KEYS[1], 'NX', ARGV[i + 1], ARGV[i])
+  end
+end
+
+redis.call('SET', KEYS[2], ARGV[2])
+
+return (#ARGV - 2) / 2
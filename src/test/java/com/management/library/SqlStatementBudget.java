@@ -0,0 +1,58 @@
+package com.management.library;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * 서비스 메서드가 실행하는 SQL 문 수가 정해 둔 상한을 넘지 않는지 검증한다. Hibernate Statistics 의 prepared statement 수를 세므로
+ * 목록을 변환하면서 지연 로딩으로 실행되는 쿼리(N+1)도 함께 센다.
+ * <p>
+ * Statistics 는 SessionFactory 전체에서 공유되므로 검증하는 동안 다른 스레드의 쿼리가 섞이지 않아야 한다. 영속성 컨텍스트에 이미 올라온
+ * 엔티티는 다시 조회하지 않으므로 테스트 트랜잭션 밖에서 호출해야 한다.
+ */
+public class SqlStatementBudget {
+
+  private final Statistics statistics;
+
+  public SqlStatementBudget(EntityManagerFactory entityManagerFactory) {
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    this.statistics.setStatisticsEnabled(true);
+  }
+
+  /**
+   * @param maxStatements 허용하는 최대 SQL 문 수
+   * @param action        검증할 서비스 호출
+   * @return 서비스 호출 결과
+   */
+  public <T> T assertWithin(long maxStatements, Supplier<T> action) {
+    statistics.clear();
+
+    T result = action.get();
+
+    assertThat(statistics.getPrepareStatementCount())
+        .as("SQL statements, queries = %s", Arrays.toString(statistics.getQueries()))
+        .isLessThanOrEqualTo(maxStatements);
+    return result;
+  }
+
+  /**
+   * 목록을 DTO 로 바로 조회하는 경우 SQL 문 수와 함께 영속성 컨텍스트에 엔티티를 올리지 않았는지 검증한다.
+   *
+   * @param maxStatements 허용하는 최대 SQL 문 수
+   * @param action        검증할 서비스 호출
+   * @return 서비스 호출 결과
+   */
+  public <T> T assertProjectionWithin(long maxStatements, Supplier<T> action) {
+    T result = assertWithin(maxStatements, action);
+
+    assertThat(statistics.getEntityLoadCount())
+        .as("loaded entities")
+        .isZero();
+    return result;
+  }
+}
@@ -0,0 +1,187 @@
+package com.management.library.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.management.library.AbstractContainerBaseTest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class ReplicationRoutingDataSourceTest extends AbstractContainerBaseTest {
+
+  private static final String REPLICA_KEY = "replica-0";
+  private static final String SELECT_SOURCE = "select name from routing_source";
+  private static final String STICKY_KEY_PREFIX = "read-your-writes:";
+
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+
+  private ReadYourWritesTracker readYourWritesTracker;
+  private ReplicationRoutingDataSource routingDataSource;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate writeTransaction;
+  private TransactionTemplate readOnlyTransaction;
+
+  @BeforeEach
+  void setUp() {
+    DataSource primary = createDataSource("routing-primary", ReplicationRoutingDataSource.PRIMARY);
+    DataSource replica = createDataSource("routing-replica", REPLICA_KEY);
+
+    readYourWritesTracker = new ReadYourWritesTracker(redisTemplate, true, Duration.ofMinutes(1));
+    routingDataSource = new ReplicationRoutingDataSource(List.of(REPLICA_KEY),
+        readYourWritesTracker);
+    routingDataSource.setTargetDataSources(
+        Map.of(ReplicationRoutingDataSource.PRIMARY, primary, REPLICA_KEY, replica));
+    routingDataSource.setDefaultTargetDataSource(primary);
+    routingDataSource.afterPropertiesSet();
+
+    DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    writeTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+    redisTemplate.delete(redisTemplate.keys(STICKY_KEY_PREFIX + "*"));
+  }
+
+  @DisplayName("상태를 확인한 replica 가 있다면 읽기 전용 트랜잭션은 replica 로, 쓰기 트랜잭션은 primary 로 보낸다.")
+  @Test
+  public void routeReadOnlyTransactionToReplica() throws Exception {
+    // given
+    routingDataSource.setHealthy(REPLICA_KEY, true);
+
+    // when
+    String readSource = readOnlyTransaction.execute(status -> selectSource());
+    String writeSource = writeTransaction.execute(status -> selectSource());
+
+    // then
+    assertThat(readSource).isEqualTo(REPLICA_KEY);
+    assertThat(writeSource).isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+  }
+
+  @DisplayName("상태를 확인하지 않았거나 복제가 지연된 replica 에는 읽기 전용 트랜잭션을 보내지 않는다.")
+  @Test
+  public void routeToPrimaryWithoutHealthyReplica() throws Exception {
+    // given
+    String sourceBeforeCheck = readOnlyTransaction.execute(status -> selectSource());
+
+    routingDataSource.setHealthy(REPLICA_KEY, true);
+    routingDataSource.setHealthy(REPLICA_KEY, false);
+
+    // when
+    String sourceAfterLag = readOnlyTransaction.execute(status -> selectSource());
+
+    // then
+    assertThat(sourceBeforeCheck).isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+    assertThat(sourceAfterLag).isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+  }
+
+  @DisplayName("쓰기 트랜잭션을 커밋한 회원의 읽기 전용 트랜잭션은 primary 로 보내고, 다른 회원은 replica 로 보낸다.")
+  @Test
+  public void routeRecentWriterToPrimary() throws Exception {
+    // given
+    routingDataSource.setHealthy(REPLICA_KEY, true);
+    authenticate("100000001");
+    writeTransaction.execute(status -> selectSource());
+
+    // when
+    String writerSource = readOnlyTransaction.execute(status -> selectSource());
+
+    authenticate("100000002");
+    String otherMemberSource = readOnlyTransaction.execute(status -> selectSource());
+
+    // then
+    assertThat(writerSource).isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+    assertThat(otherMemberSource).isEqualTo(REPLICA_KEY);
+  }
+
+  @DisplayName("관리자가 회원 대신 쓰기 트랜잭션을 커밋하면, 데이터가 바뀐 회원의 읽기 전용 트랜잭션을 primary 로 보낸다.")
+  @Test
+  public void routeAffectedMemberToPrimary() throws Exception {
+    // given
+    routingDataSource.setHealthy(REPLICA_KEY, true);
+    authenticate("admin@library.com");
+    writeTransaction.executeWithoutResult(status -> {
+      selectSource();
+      readYourWritesTracker.markWritten("100000001");
+    });
+
+    // when
+    authenticate("100000001");
+    String affectedMemberSource = readOnlyTransaction.execute(status -> selectSource());
+
+    authenticate("100000002");
+    String otherMemberSource = readOnlyTransaction.execute(status -> selectSource());
+
+    // then
+    assertThat(affectedMemberSource).isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+    assertThat(otherMemberSource).isEqualTo(REPLICA_KEY);
+    assertThat(redisTemplate.getExpire(STICKY_KEY_PREFIX + "100000001")).isPositive();
+  }
+
+  @DisplayName("쓰기 트랜잭션이 롤백되면 회원을 primary 로 고정하지 않는다.")
+  @Test
+  public void doNotStickOnRollback() throws Exception {
+    // given
+    routingDataSource.setHealthy(REPLICA_KEY, true);
+    authenticate("100000001");
+    writeTransaction.executeWithoutResult(status -> {
+      selectSource();
+      readYourWritesTracker.markWritten("100000002");
+      status.setRollbackOnly();
+    });
+
+    // when
+    String source = readOnlyTransaction.execute(status -> selectSource());
+
+    authenticate("100000002");
+    String affectedMemberSource = readOnlyTransaction.execute(status -> selectSource());
+
+    // then
+    assertThat(source).isEqualTo(REPLICA_KEY);
+    assertThat(affectedMemberSource).isEqualTo(REPLICA_KEY);
+  }
+
+  private String selectSource() {
+    return jdbcTemplate.queryForObject(SELECT_SOURCE, String.class);
+  }
+
+  private void authenticate(String memberCode) {
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(memberCode, null, List.of()));
+  }
+
+  // 어느 DataSource 로 보냈는지 알 수 있도록 각 DB 에 자신의 이름을 저장해 둔다.
+  private DataSource createDataSource(String database, String name) {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", "");
+
+    JdbcTemplate template = new JdbcTemplate(dataSource);
+    template.execute("drop table if exists routing_source");
+    template.execute("create table routing_source (name varchar(20))");
+    template.update("insert into routing_source values (?)", name);
+    return dataSource;
+  }
+}
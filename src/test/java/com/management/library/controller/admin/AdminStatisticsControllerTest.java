@@ -0,0 +1,76 @@
+package com.management.library.controller.admin;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.service.statistics.StatisticsDashboardCacheService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class AdminStatisticsControllerTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+  @Autowired
+  private StatisticsDashboardCacheService statisticsDashboardCacheService;
+
+  private static final String MONTHLY_RENTED_COUNT = "monthly-rented-count";
+  private static final String YEARLY_RENTED_COUNT = "yearly-rented-count";
+
+  @AfterEach
+  void tearDown() {
+    redisTemplate.delete(MONTHLY_RENTED_COUNT);
+    redisTemplate.delete(YEARLY_RENTED_COUNT);
+    statisticsDashboardCacheService.evictAll();
+  }
+
+  @DisplayName("대시보드 응답의 ETag 와 같은 If-None-Match 로 조회하면 본문 없이 304 를 응답하고, 통계가 바뀌면 200 을 응답한다.")
+  @Test
+  public void getDashboardWithETag() throws Exception {
+    // given
+    redisTemplate.opsForHash().put(YEARLY_RENTED_COUNT, "2019", "3");
+
+    String eTag = mockMvc.perform(get("/admins/statistics/dashboard")
+            .param("startYear", "2019")
+            .param("endYear", "2019"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andReturn()
+        .getResponse()
+        .getHeader(HttpHeaders.ETAG);
+
+    // when
+    // then
+    mockMvc.perform(get("/admins/statistics/dashboard")
+            .param("startYear", "2019")
+            .param("endYear", "2019")
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    redisTemplate.opsForHash().put(MONTHLY_RENTED_COUNT, "2019-1", "3");
+
+    mockMvc.perform(get("/admins/statistics/dashboard")
+            .param("startYear", "2019")
+            .param("endYear", "2019")
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG));
+  }
+}
@@ -22,6 +22,8 @@ import com.management.library.exception.ErrorCode;
 import com.management.library.exception.NoSuchElementExistsException;
 import com.management.library.repository.book.BookRepository;
 import com.management.library.repository.member.MemberRepository;
+import com.management.library.service.book.recommend.dto.RentalHistoryDto;
+import com.management.library.service.reminder.dto.DueRentalDto;
 import com.management.library.service.rental.dto.RentalServiceResponseDto;
 import java.time.LocalDate;
 import java.util.List;
@@ -543,6 +545,89 @@ class BookRentalRepositoryTest {
   }
 
 
+  @DisplayName("마지막으로 집계한 대여 id 이후의 대여 기록과 회원들의 이전 대여 기록을 조회할 수 있다.")
+  @Test
+  public void findRentalHistory() throws Exception {
+    // given
+    Member member1 = createMember("kim", "123456");
+    Member member2 = createMember("kim", "123457");
+    memberRepository.saveAll(List.of(member1, member2));
+
+    Book book1 = createBook("jpa", "kim", "publisher", "location1", 2017, 130);
+    Book book2 = createBook("spring", "kim", "publisher2", "location2", 2017, 135);
+    Book book3 = createBook("docker", "kim", "publisher3", "location3", 2017, 140);
+    bookRepository.saveAll(List.of(book1, book2, book3));
+
+    LocalDate rentalDate = LocalDate.of(2023, 7, 21);
+
+    Rental rental1 = createRental(book1, member1, RETURNED, rentalDate, AVAILABLE);
+    Rental rental2 = createRental(book2, member2, RETURNED, rentalDate, AVAILABLE);
+    Rental rental3 = createRental(book2, member1, RETURNED, rentalDate, AVAILABLE);
+    Rental rental4 = createRental(book3, member1, PROCEEDING, rentalDate, AVAILABLE);
+    bookRentalRepository.saveAll(List.of(rental1, rental2, rental3, rental4));
+
+    // when
+    List<RentalHistoryDto> newRentals = bookRentalRepository.findRentalHistoryAfter(
+        rental1.getId(), 2);
+    List<RentalHistoryDto> memberRentals = bookRentalRepository.findRentalHistoryByMemberIds(
+        List.of(member1.getId()), rental3.getId());
+
+    // then
+    assertThat(newRentals)
+        .extracting("rentalId", "memberId", "bookId")
+        .containsExactly(
+            tuple(rental2.getId(), member2.getId(), book2.getId()),
+            tuple(rental3.getId(), member1.getId(), book2.getId())
+        );
+    assertThat(memberRentals)
+        .extracting("rentalId", "bookId")
+        .containsExactly(
+            tuple(rental1.getId(), book1.getId()),
+            tuple(rental3.getId(), book2.getId())
+        );
+  }
+
+  @DisplayName("반납 기한이 같은 대여 중인 대여를 이전에 읽은 회원 다음부터 회원 순으로 조회할 수 있다.")
+  @Test
+  public void findDueRentals() throws Exception {
+    // given
+    Member member1 = createMember("kim", "123456");
+    Member member2 = createMember("kim", "123457");
+    memberRepository.saveAll(List.of(member1, member2));
+
+    Book book1 = createBook("jpa", "kim", "publisher", "location1", 2017, 130);
+    Book book2 = createBook("spring", "kim", "publisher2", "location2", 2017, 135);
+    Book book3 = createBook("docker", "kim", "publisher3", "location3", 2017, 140);
+    bookRepository.saveAll(List.of(book1, book2, book3));
+
+    LocalDate rentalDate = LocalDate.of(2023, 7, 21);
+    LocalDate dueDate = rentalDate.plusDays(14);
+
+    Rental rental1 = createRental(book3, member2, PROCEEDING, rentalDate, AVAILABLE);
+    Rental rental2 = createRental(book1, member1, PROCEEDING, rentalDate, AVAILABLE);
+    Rental rental3 = createRental(book2, member1, PROCEEDING, rentalDate, AVAILABLE);
+    Rental rental4 = createRental(book1, member2, RETURNED, rentalDate, AVAILABLE);
+    Rental rental5 = createRental(book2, member2, PROCEEDING, rentalDate.plusDays(1), AVAILABLE);
+    bookRentalRepository.saveAll(List.of(rental1, rental2, rental3, rental4, rental5));
+
+    // when
+    List<DueRentalDto> allRentals = bookRentalRepository.findDueRentals(dueDate, 0L, 10);
+    List<DueRentalDto> nextRentals = bookRentalRepository.findDueRentals(dueDate,
+        member1.getId(), 10);
+
+    // then
+    assertThat(allRentals)
+        .extracting("memberCode", "bookTitle")
+        .containsExactly(
+            tuple("123456", "jpa"),
+            tuple("123456", "spring"),
+            tuple("123457", "docker")
+        );
+    assertThat(nextRentals)
+        .extracting("memberCode", "bookTitle")
+        .containsExactly(tuple("123457", "docker"));
+  }
+
   private static Rental createRental(Book book, Member member, RentalStatus rentalStatus,
       LocalDate rentalStartDate, ExtendStatus extendStatus) {
     return Rental.builder()
@@ -16,6 +16,7 @@ import com.management.library.repository.book.BookRepository;
 import com.management.library.repository.member.MemberRepository;
 import com.management.library.service.review.dto.BookReviewDetailDto;
 import com.management.library.service.review.dto.BookReviewOverviewDto;
+import com.management.library.service.review.dto.BookReviewRateCountDto;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -103,6 +104,66 @@ class BookReviewRepositoryTest {
         );
   }
 
+  @DisplayName("도서 id 범위 안의 리뷰를 도서별, 평점별로 집계할 수 있다.")
+  @Test
+  public void findRateCountByBookIdBetween() throws Exception {
+    // given
+    Member member1 = createMember("kim", "12345");
+    Member member2 = createMember("lee", "12346");
+    Member member3 = createMember("park", "12347");
+    memberRepository.saveAll(List.of(member1, member2, member3));
+
+    Book book1 = createBook("book1", "author1", "publisher", "location", 2015, 135);
+    Book book2 = createBook("book1", "author2", "publisher", "location", 2015, 135);
+    bookRepository.saveAll(List.of(book1, book2));
+
+    bookReviewRepository.saveAll(List.of(
+        createBookReview(member1, book1, "title1", "content1", 5),
+        createBookReview(member2, book1, "title2", "content2", 5),
+        createBookReview(member3, book1, "title3", "content3", 3),
+        createBookReview(member1, book2, "title4", "content4", 1)
+    ));
+
+    // when
+    List<BookReviewRateCountDto> result = bookReviewRepository.findRateCountByBookIdBetween(
+        book1.getId(), book2.getId());
+
+    // then
+    assertThat(result).hasSize(3)
+        .extracting("bookId", "rate", "reviewCount")
+        .containsExactlyInAnyOrder(
+            tuple(book1.getId(), 5, 2L),
+            tuple(book1.getId(), 3, 1L),
+            tuple(book2.getId(), 1, 1L)
+        );
+    assertThat(bookReviewRepository.findMaxReviewedBookId()).isEqualTo(book2.getId());
+  }
+
+  @DisplayName("회원 id와 도서 id로 리뷰 존재 여부를 확인할 수 있다.")
+  @Test
+  public void existsByMemberIdAndBookId() throws Exception {
+    // given
+    Member member1 = createMember("kim", "12345");
+    Member member2 = createMember("lee", "12346");
+    memberRepository.saveAll(List.of(member1, member2));
+
+    Book book1 = createBook("book1", "author1", "publisher", "location", 2015, 135);
+    Book book2 = createBook("book2", "author2", "publisher", "location", 2015, 135);
+    bookRepository.saveAll(List.of(book1, book2));
+
+    bookReviewRepository.save(createBookReview(member1, book1, "title1", "content1", 5));
+
+    // when
+    // then
+    assertThat(bookReviewRepository.existsByMemberIdAndBookId(member1.getId(), book1.getId()))
+        .isTrue();
+    assertThat(bookReviewRepository.existsByMemberIdAndBookId(member1.getId(), book2.getId()))
+        .isFalse();
+    assertThat(bookReviewRepository.existsByMemberIdAndBookId(member2.getId(), book1.getId()))
+        .isFalse();
+    assertThat(bookReviewRepository.findDuplicateReviewIds()).isEmpty();
+  }
+
   private BookReview createBookReview(Member member, Book book, String title, String content, int rate){
     return BookReview.builder()
         .member(member)
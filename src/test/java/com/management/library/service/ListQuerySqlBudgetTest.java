@@ -0,0 +1,362 @@
+package com.management.library.service;
+
+import static com.management.library.domain.type.RequestStatus.ACCEPTED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.SqlStatementBudget;
+import com.management.library.controller.admin.dto.MemberSearchCond;
+import com.management.library.controller.dto.BookRentalSearchCond;
+import com.management.library.controller.dto.RequestSearchCond;
+import com.management.library.repository.admin.AdministratorRepository;
+import com.management.library.repository.book.BookRepository;
+import com.management.library.repository.book.BookStatusHistoryRepository;
+import com.management.library.repository.management.ManagementRequestRepository;
+import com.management.library.repository.management.ManagementRequestResultRepository;
+import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.newbook.NewBookRequestRepository;
+import com.management.library.repository.newbook.NewBookRequestResultRepository;
+import com.management.library.repository.outbox.OutboxEventRepository;
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.repository.rental.RentalArchiveRepository;
+import com.management.library.repository.review.BookReviewRepository;
+import com.management.library.service.admin.AdminService;
+import com.management.library.service.admin.dto.AdminServiceCreateDto;
+import com.management.library.service.book.BookService;
+import com.management.library.service.book.dto.BookServiceCreateDto;
+import com.management.library.service.member.MemberService;
+import com.management.library.service.member.dto.MemberServiceCreateDto;
+import com.management.library.service.member.dto.MemberServiceReadDto;
+import com.management.library.service.query.MemberTotalInfoService;
+import com.management.library.service.rental.RentalService;
+import com.management.library.service.rental.dto.RentalBookInfoDto;
+import com.management.library.service.rental.dto.RentalServiceResponseDto;
+import com.management.library.service.request.RedisRequestService;
+import com.management.library.service.request.management.ManagementService;
+import com.management.library.service.request.management.dto.ManagementRequestServiceDto;
+import com.management.library.service.request.newbook.NewBookService;
+import com.management.library.service.request.newbook.dto.NewBookRequestServiceDto;
+import com.management.library.service.result.management.ManagementResultService;
+import com.management.library.service.result.management.dto.ManagementResultCreateDto;
+import com.management.library.service.result.newbook.NewBookResultService;
+import com.management.library.service.result.newbook.dto.NewBookResultCreateDto;
+import com.management.library.service.review.BookReviewService;
+import com.management.library.service.review.dto.BookReviewOverviewDto;
+import com.management.library.service.review.dto.BookReviewServiceDto;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * 목록 조회가 조회 결과 수와 관계없이 정해진 수의 SQL 문으로 끝나고, 엔티티 대신 DTO 로 바로 조회되는지 검증한다. 페이지 크기보다 많은 데이터를
+ * 만들어 목록 쿼리와 count 쿼리가 모두 실행되도록 한다.
+ */
+@SpringBootTest
+class ListQuerySqlBudgetTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+  @Autowired
+  private MemberService memberService;
+  @Autowired
+  private MemberTotalInfoService memberTotalInfoService;
+  @Autowired
+  private AdminService adminService;
+  @Autowired
+  private BookService bookService;
+  @Autowired
+  private RentalService rentalService;
+  @Autowired
+  private BookReviewService bookReviewService;
+  @Autowired
+  private NewBookService newBookService;
+  @Autowired
+  private NewBookResultService newBookResultService;
+  @Autowired
+  private ManagementService managementService;
+  @Autowired
+  private ManagementResultService managementResultService;
+  @Autowired
+  private RedisRequestService redisRequestService;
+  @Autowired
+  private MemberRepository memberRepository;
+  @Autowired
+  private AdministratorRepository administratorRepository;
+  @Autowired
+  private BookRepository bookRepository;
+  @Autowired
+  private BookStatusHistoryRepository bookStatusHistoryRepository;
+  @Autowired
+  private BookRentalRepository bookRentalRepository;
+  @Autowired
+  private RentalArchiveRepository rentalArchiveRepository;
+  @Autowired
+  private BookReviewRepository bookReviewRepository;
+  @Autowired
+  private NewBookRequestRepository newBookRequestRepository;
+  @Autowired
+  private NewBookRequestResultRepository newBookRequestResultRepository;
+  @Autowired
+  private ManagementRequestRepository managementRequestRepository;
+  @Autowired
+  private ManagementRequestResultRepository managementRequestResultRepository;
+  @Autowired
+  private OutboxEventRepository outboxEventRepository;
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+
+  private SqlStatementBudget sqlStatementBudget;
+
+  // 목록 쿼리와 count 쿼리
+  private static final long PAGE_QUERY_BUDGET = 2L;
+  // rentals, rentals_archive 의 목록 쿼리와 count 쿼리
+  private static final long ARCHIVED_PAGE_QUERY_BUDGET = 4L;
+  private static final PageRequest PAGE_REQUEST = PageRequest.of(0, 2);
+  private static final String ADMIN_EMAIL = "admin@test.com";
+  private static final String RENTAL_REDIS_KEY = "rental-count";
+  private static final String BOOK_RENTED_COUNT = "book-rented-count";
+  private static final String BOOK_CACHE_PREFIX = "book::";
+  private static final String STATISTICS_PREFIX = "statistics:";
+  private static final String NEW_BOOK_REQUEST_PREFIX = "book-request-id:";
+  private static final String MANAGEMENT_REQUEST_PREFIX = "management-request-id:";
+
+  @BeforeEach
+  void setUp() {
+    sqlStatementBudget = new SqlStatementBudget(entityManagerFactory);
+  }
+
+  @AfterEach
+  void tearDown() {
+    outboxEventRepository.deleteAllInBatch();
+    managementRequestResultRepository.deleteAllInBatch();
+    managementRequestRepository.deleteAllInBatch();
+    newBookRequestResultRepository.deleteAllInBatch();
+    newBookRequestRepository.deleteAllInBatch();
+    bookStatusHistoryRepository.deleteAllInBatch();
+    bookReviewRepository.deleteAllInBatch();
+    bookRentalRepository.deleteAllInBatch();
+    rentalArchiveRepository.deleteAllInBatch();
+    bookRepository.deleteAllInBatch();
+    memberRepository.deleteAllInBatch();
+    administratorRepository.deleteAllInBatch();
+
+    redisTemplate.delete("memberCode");
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
+    redisTemplate.delete(BOOK_RENTED_COUNT);
+    redisTemplate.delete(redisTemplate.keys(BOOK_RENTED_COUNT + ":*"));
+    redisTemplate.delete(redisTemplate.keys(BOOK_CACHE_PREFIX + "*"));
+    redisTemplate.delete(redisTemplate.keys(STATISTICS_PREFIX + "*"));
+    redisTemplate.delete(redisTemplate.keys(NEW_BOOK_REQUEST_PREFIX + "*"));
+    redisTemplate.delete(redisTemplate.keys(MANAGEMENT_REQUEST_PREFIX + "*"));
+    redisRequestService.deleteRequestCounts(YearMonth.now());
+  }
+
+  @DisplayName("대여 목록은 필요한 컬럼만 DTO 로 조회하여 대여 기록 수와 관계없이 정해진 수의 쿼리로 조회한다.")
+  @Test
+  public void rentalListBudget() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = createMember("kim");
+    for (String title : List.of("jpa", "spring", "redis")) {
+      rentAndReturn(member.getMemberCode(), createBook(title));
+    }
+
+    // when
+    Page<RentalServiceResponseDto> rentals = sqlStatementBudget.assertProjectionWithin(
+        PAGE_QUERY_BUDGET,
+        () -> rentalService.getRentalData(new BookRentalSearchCond(), PAGE_REQUEST));
+    Page<RentalServiceResponseDto> memberRentals = sqlStatementBudget.assertProjectionWithin(
+        ARCHIVED_PAGE_QUERY_BUDGET,
+        () -> rentalService.getMemberRentalData(new BookRentalSearchCond(),
+            member.getMemberCode(), PAGE_REQUEST));
+    List<RentalServiceResponseDto> memberRentalList = sqlStatementBudget.assertProjectionWithin(2L,
+        () -> bookRentalRepository.findRentalListByMemberCode(member.getMemberCode()));
+
+    // then
+    assertThat(rentals.getTotalElements()).isEqualTo(3L);
+    assertThat(memberRentals.getTotalElements()).isEqualTo(3L);
+    assertThat(memberRentalList).extracting("bookName")
+        .containsExactlyInAnyOrder("jpa", "spring", "redis");
+  }
+
+  @DisplayName("회원별, 도서별 리뷰 목록은 리뷰 수와 관계없이 정해진 수의 쿼리로 조회한다.")
+  @Test
+  public void reviewListBudget() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member1 = createMember("kim");
+    MemberServiceCreateDto.Response member2 = createMember("park");
+    MemberServiceCreateDto.Response member3 = createMember("lee");
+
+    BookServiceCreateDto.Response book1 = createBook("jpa");
+    BookServiceCreateDto.Response book2 = createBook("spring");
+    BookServiceCreateDto.Response book3 = createBook("redis");
+
+    for (BookServiceCreateDto.Response book : List.of(book1, book2, book3)) {
+      rentAndReview(member1.getMemberCode(), book);
+    }
+    rentAndReview(member2.getMemberCode(), book1);
+    rentAndReview(member3.getMemberCode(), book1);
+
+    // when
+    Page<BookReviewOverviewDto> memberReviews = sqlStatementBudget.assertProjectionWithin(
+        PAGE_QUERY_BUDGET,
+        () -> bookReviewService.getMemberReviewDataList(member1.getMemberCode(), PAGE_REQUEST));
+    Page<BookReviewOverviewDto> bookReviews = sqlStatementBudget.assertProjectionWithin(
+        PAGE_QUERY_BUDGET,
+        () -> bookReviewService.getBookReviewList(book1.getId(), PAGE_REQUEST));
+
+    // then
+    assertThat(memberReviews.getTotalElements()).isEqualTo(3L);
+    assertThat(bookReviews.getTotalElements()).isEqualTo(3L);
+  }
+
+  @DisplayName("신규 도서 요청 목록과 관리자의 답변 목록은 요청 수와 관계없이 정해진 수의 쿼리로 조회한다.")
+  @Test
+  public void newBookRequestListBudget() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = createMember("kim");
+    createAdmin();
+
+    for (String title : List.of("jpa", "spring", "redis")) {
+      NewBookRequestServiceDto.Response request = newBookService.createNewBookRequest(
+          NewBookRequestServiceDto.Request.builder()
+              .requestBookTitle(title)
+              .requestContent("content")
+              .build(), member.getMemberCode());
+
+      newBookResultService.createResult(NewBookResultCreateDto.Request.builder()
+          .resultTitle("result title")
+          .resultContent("result content")
+          .resultStatus(ACCEPTED)
+          .build(), request.getId(), ADMIN_EMAIL);
+    }
+
+    // when
+    Page<NewBookRequestServiceDto.Response> memberRequests = sqlStatementBudget.assertProjectionWithin(
+        PAGE_QUERY_BUDGET,
+        () -> newBookService.getMemberNewBookRequest(member.getMemberCode(), PAGE_REQUEST));
+    Page<NewBookRequestServiceDto.Response> requests = sqlStatementBudget.assertProjectionWithin(
+        PAGE_QUERY_BUDGET,
+        () -> newBookService.getAllNewBookRequest(new RequestSearchCond(), PAGE_REQUEST));
+    Page<NewBookResultCreateDto.Response> results = sqlStatementBudget.assertProjectionWithin(
+        PAGE_QUERY_BUDGET,
+        () -> newBookResultService.getResultByAdminEmail(ADMIN_EMAIL, PAGE_REQUEST));
+
+    // then
+    assertThat(memberRequests.getTotalElements()).isEqualTo(3L);
+    assertThat(requests.getTotalElements()).isEqualTo(3L);
+    assertThat(results.getTotalElements()).isEqualTo(3L);
+  }
+
+  @DisplayName("운영 개선 요청 목록과 관리자의 답변 목록은 요청 수와 관계없이 정해진 수의 쿼리로 조회한다.")
+  @Test
+  public void managementRequestListBudget() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = createMember("kim");
+    createAdmin();
+
+    for (String title : List.of("title1", "title2", "title3")) {
+      ManagementRequestServiceDto.Response request = managementService.createManagementRequest(
+          ManagementRequestServiceDto.Request.builder()
+              .title(title)
+              .content("content")
+              .build(), member.getMemberCode());
+
+      managementResultService.createResult(ManagementResultCreateDto.Request.builder()
+          .resultPostTitle("result title")
+          .resultPostContent("result content")
+          .resultStatus(ACCEPTED)
+          .build(), request.getId(), ADMIN_EMAIL);
+    }
+
+    // when
+    Page<ManagementRequestServiceDto.Response> memberRequests = sqlStatementBudget.assertProjectionWithin(
+        PAGE_QUERY_BUDGET,
+        () -> managementService.getMemberManagementRequest(member.getMemberCode(),
+            PAGE_REQUEST));
+    Page<ManagementRequestServiceDto.Response> requests = sqlStatementBudget.assertProjectionWithin(
+        PAGE_QUERY_BUDGET,
+        () -> managementService.getAllManagementRequest(new RequestSearchCond(), PAGE_REQUEST));
+    Page<ManagementResultCreateDto.Response> results = sqlStatementBudget.assertProjectionWithin(
+        PAGE_QUERY_BUDGET,
+        () -> managementResultService.getResultByAdminEmail(ADMIN_EMAIL, PAGE_REQUEST));
+
+    // then
+    assertThat(memberRequests.getTotalElements()).isEqualTo(3L);
+    assertThat(requests.getTotalElements()).isEqualTo(3L);
+    assertThat(results.getTotalElements()).isEqualTo(3L);
+  }
+
+  @DisplayName("회원 목록은 정해진 수의 쿼리로 조회하고, 회원별 대여, 요청 가능 상태는 DB 를 조회하지 않는다.")
+  @Test
+  public void memberListBudget() throws Exception {
+    // given
+    for (String name : List.of("kim", "park", "lee")) {
+      createMember(name);
+    }
+
+    // when
+    Page<MemberServiceReadDto> members = sqlStatementBudget.assertProjectionWithin(PAGE_QUERY_BUDGET,
+        () -> memberService.getMemberDataList(new MemberSearchCond(), PAGE_REQUEST));
+    sqlStatementBudget.assertWithin(0L,
+        () -> memberTotalInfoService.getMemberStates(members.getContent()));
+
+    // then
+    assertThat(members.getTotalElements()).isEqualTo(3L);
+  }
+
+  private void rentAndReview(String memberCode, BookServiceCreateDto.Response book) {
+    rentAndReturn(memberCode, book);
+    bookReviewService.createReview(book.getTitle(), BookReviewServiceDto.Request.builder()
+        .reviewTitle("review title")
+        .reviewContent("review content")
+        .reviewRate(4)
+        .build(), memberCode);
+  }
+
+  private void rentAndReturn(String memberCode, BookServiceCreateDto.Response book) {
+    rentalService.createBookRental(memberCode, RentalBookInfoDto.builder()
+        .bookTitle(book.getTitle())
+        .author(book.getAuthor())
+        .build(), LocalDate.now());
+    rentalService.returnBook(memberCode, book.getTitle(), book.getAuthor());
+  }
+
+  private MemberServiceCreateDto.Response createMember(String name) {
+    return memberService.createMember(MemberServiceCreateDto.Request.builder()
+        .name(name)
+        .birthdayCode("980101")
+        .legion("legion")
+        .city("city")
+        .street("street")
+        .build());
+  }
+
+  private void createAdmin() {
+    adminService.createAdmin(AdminServiceCreateDto.Request.builder()
+        .name("admin")
+        .email(ADMIN_EMAIL)
+        .password("1234")
+        .build());
+  }
+
+  private BookServiceCreateDto.Response createBook(String title) {
+    return bookService.createNewBook(BookServiceCreateDto.Request.builder()
+        .title(title)
+        .author("park")
+        .publisher("publisher")
+        .publishedYear(2015)
+        .location("location")
+        .typeCode(130)
+        .build());
+  }
+}
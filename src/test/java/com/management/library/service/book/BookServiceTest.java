@@ -1,8 +1,11 @@
 package com.management.library.service.book;
 
 import static com.management.library.domain.type.BookStatus.AVAILABLE;
+import static com.management.library.domain.type.BookStatus.RENTAL;
+import static com.management.library.domain.type.BookStatus.UNAVAILABLE;
 import static com.management.library.exception.ErrorCode.BOOK_ALREADY_EXISTS;
 import static com.management.library.exception.ErrorCode.BOOK_NOT_EXISTS;
+import static com.management.library.exception.ErrorCode.BOOK_STATUS_NOT_CHANGEABLE;
 import static com.management.library.exception.ErrorCode.INVALID_RANGE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -17,6 +20,7 @@ import com.management.library.service.book.dto.BookServiceCreateDto;
 import com.management.library.service.book.dto.BookServiceCreateDto.Request;
 import com.management.library.service.book.dto.BookServiceCreateDto.Response;
 import com.management.library.service.book.dto.BookServiceResponseDto;
+import com.management.library.service.book.dto.BookServiceUpdateDto;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
@@ -375,6 +379,41 @@ class BookServiceTest extends AbstractContainerBaseTest {
         );
   }
 
+  @DisplayName("도서를 손/망실 처리하거나 다시 대여 가능 상태로 변경할 수 있다.")
+  @Test
+  public void changeBookStatus() {
+    // given
+    Response book = bookService.createNewBook(createRequest("book1", "author1", "publisher1",
+        2015, "location1", 130));
+
+    // when
+    BookServiceUpdateDto.Response unavailable = bookService.changeBookStatus(book.getId(),
+        UNAVAILABLE);
+    BookServiceUpdateDto.Response available = bookService.changeBookStatus(book.getId(),
+        AVAILABLE);
+
+    // then
+    assertThat(unavailable.getStatus()).isEqualTo(UNAVAILABLE);
+    assertThat(available.getStatus()).isEqualTo(AVAILABLE);
+  }
+
+  @DisplayName("도서를 대여 상태로 직접 변경할 수 없다.")
+  @Test
+  public void changeBookStatusToRental() {
+    // given
+    Response book = bookService.createNewBook(createRequest("book1", "author1", "publisher1",
+        2015, "location1", 130));
+
+    // when
+    // then
+    assertThatThrownBy(() -> bookService.changeBookStatus(book.getId(), RENTAL))
+        .isInstanceOf(InvalidArgumentException.class)
+        .extracting("errorCode", "description")
+        .contains(
+            BOOK_STATUS_NOT_CHANGEABLE, BOOK_STATUS_NOT_CHANGEABLE.getDescription()
+        );
+  }
+
   private static Request createRequest(String title, String author, String publisher,
       int publishedYear, String location, int typeCode) {
     return BookServiceCreateDto.Request.builder()
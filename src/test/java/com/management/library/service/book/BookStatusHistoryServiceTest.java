@@ -0,0 +1,200 @@
+package com.management.library.service.book;
+
+import static com.management.library.domain.type.BookStatus.AVAILABLE;
+import static com.management.library.domain.type.BookStatus.RENTAL;
+import static com.management.library.domain.type.BookStatus.UNAVAILABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.domain.book.Book;
+import com.management.library.repository.book.BookRepository;
+import com.management.library.repository.book.BookStatusHistoryRepository;
+import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.outbox.OutboxEventRepository;
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.service.book.dto.BookServiceCreateDto;
+import com.management.library.service.book.dto.BookServiceCreateDto.Response;
+import com.management.library.service.member.MemberService;
+import com.management.library.service.member.dto.MemberServiceCreateDto;
+import com.management.library.service.rental.RentalService;
+import com.management.library.service.rental.dto.RentalBookInfoDto;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class BookStatusHistoryServiceTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private BookStatusHistoryService bookStatusHistoryService;
+  @Autowired
+  private BookService bookService;
+  @Autowired
+  private MemberService memberService;
+  @Autowired
+  private RentalService rentalService;
+  @Autowired
+  private BookStatusHistoryRepository bookStatusHistoryRepository;
+  @Autowired
+  private BookRentalRepository bookRentalRepository;
+  @Autowired
+  private BookRepository bookRepository;
+  @Autowired
+  private MemberRepository memberRepository;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+  @Autowired
+  private OutboxEventRepository outboxEventRepository;
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+
+  private static final String BOOK_RENTED_COUNT = "book-rented-count";
+  private static final String RENTAL_REDIS_KEY = "rental-count";
+  private static final String STATISTICS_PREFIX = "statistics:";
+
+  @AfterEach
+  void tearDown() {
+    bookStatusHistoryRepository.deleteAllInBatch();
+    outboxEventRepository.deleteAllInBatch();
+    bookRentalRepository.deleteAllInBatch();
+    bookRepository.deleteAllInBatch();
+    memberRepository.deleteAllInBatch();
+
+    redisTemplate.delete("memberCode");
+    redisTemplate.delete(BOOK_RENTED_COUNT);
+    redisTemplate.delete(redisTemplate.keys(BOOK_RENTED_COUNT + ":*"));
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
+    redisTemplate.delete(redisTemplate.keys(STATISTICS_PREFIX + "*"));
+  }
+
+  @DisplayName("도서를 대여하고 반납하면 도서 상태 변경 이력이 저장된다.")
+  @Test
+  public void rentalAndReturnHistory() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = memberService.createMember(
+        createMemberRequest("kim", "980101", "legion", "city", "street"));
+    BookServiceCreateDto.Request bookRequest = createBookRequest("book1", "park", "publisher",
+        2015, "location", 130);
+    Response book = bookService.createNewBook(bookRequest);
+
+    // when
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(book),
+        LocalDate.now());
+    rentalService.returnBook(member.getMemberCode(), bookRequest.getTitle(),
+        bookRequest.getAuthor());
+
+    // then
+    assertThat(bookStatusHistoryRepository.findAllByBookIdOrderByIdAsc(book.getId()))
+        .extracting("oldStatus", "newStatus")
+        .containsExactly(
+            tuple(AVAILABLE, RENTAL),
+            tuple(RENTAL, AVAILABLE)
+        );
+  }
+
+  @DisplayName("한 트랜잭션에서 변경된 상태는 변경 순서대로 저장되고, 상태가 바뀌지 않은 경우는 기록하지 않는다.")
+  @Test
+  public void changeBookStatusInTransaction() throws Exception {
+    // given
+    Response book = bookService.createNewBook(
+        createBookRequest("book1", "park", "publisher", 2015, "location", 130));
+
+    // when
+    transactionTemplate.executeWithoutResult(status -> {
+      Book findBook = bookRepository.findById(book.getId()).get();
+      bookStatusHistoryService.changeBookStatus(findBook, UNAVAILABLE);
+      bookStatusHistoryService.changeBookStatus(findBook, UNAVAILABLE);
+      bookStatusHistoryService.changeBookStatus(findBook, AVAILABLE);
+    });
+
+    // then
+    assertThat(bookStatusHistoryRepository.findAllByBookIdOrderByIdAsc(book.getId()))
+        .extracting("oldStatus", "newStatus")
+        .containsExactly(
+            tuple(AVAILABLE, UNAVAILABLE),
+            tuple(UNAVAILABLE, AVAILABLE)
+        );
+  }
+
+  @DisplayName("롤백된 상태 변경은 이력에 남지 않는다.")
+  @Test
+  public void changeBookStatusRollback() throws Exception {
+    // given
+    Response book = bookService.createNewBook(
+        createBookRequest("book1", "park", "publisher", 2015, "location", 130));
+
+    // when
+    assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+      Book findBook = bookRepository.findById(book.getId()).get();
+      bookStatusHistoryService.changeBookStatus(findBook, UNAVAILABLE);
+      throw new IllegalStateException();
+    })).isInstanceOf(IllegalStateException.class);
+
+    // then
+    assertThat(bookStatusHistoryRepository.findAllByBookIdOrderByIdAsc(book.getId())).isEmpty();
+  }
+
+  @DisplayName("기간 안에 특정 상태로 바뀐 횟수를 조회할 수 있다.")
+  @Test
+  public void countStatusChanges() throws Exception {
+    // given
+    Response book = bookService.createNewBook(
+        createBookRequest("book1", "park", "publisher", 2015, "location", 130));
+    LocalDateTime startTime = LocalDateTime.now().minusMinutes(1);
+
+    transactionTemplate.executeWithoutResult(status -> {
+      Book findBook = bookRepository.findById(book.getId()).get();
+      bookStatusHistoryService.changeBookStatus(findBook, UNAVAILABLE);
+      bookStatusHistoryService.changeBookStatus(findBook, AVAILABLE);
+      bookStatusHistoryService.changeBookStatus(findBook, UNAVAILABLE);
+    });
+
+    // when
+    long unavailableCount = bookStatusHistoryService.countStatusChanges(UNAVAILABLE, startTime,
+        LocalDateTime.now().plusMinutes(1));
+    long beforeCount = bookStatusHistoryService.countStatusChanges(UNAVAILABLE,
+        startTime.minusDays(1), startTime);
+
+    // then
+    assertThat(unavailableCount).isEqualTo(2);
+    assertThat(beforeCount).isZero();
+  }
+
+  private RentalBookInfoDto createRentalData(Response createdBook) {
+    return RentalBookInfoDto.builder()
+        .bookTitle(createdBook.getTitle())
+        .author(createdBook.getAuthor())
+        .build();
+  }
+
+  private MemberServiceCreateDto.Request createMemberRequest(String name,
+      String birthdayCode, String legion, String city, String street) {
+    return MemberServiceCreateDto.Request.builder()
+        .name(name)
+        .birthdayCode(birthdayCode)
+        .legion(legion)
+        .city(city)
+        .street(street)
+        .build();
+  }
+
+  private BookServiceCreateDto.Request createBookRequest(String title, String author,
+      String publisher, int publishedYear, String location, int typeCode) {
+    return BookServiceCreateDto.Request.builder()
+        .title(title)
+        .author(author)
+        .publisher(publisher)
+        .publishedYear(publishedYear)
+        .location(location)
+        .typeCode(typeCode)
+        .build();
+  }
+}
@@ -0,0 +1,76 @@
+package com.management.library.service.book.recommend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.management.library.service.book.recommend.dto.RentalHistoryDto;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookCoOccurrenceCounterTest {
+
+  @DisplayName("한 회원이 대여한 도서 쌍마다 함께 대여한 회원 수를 양방향으로 센다.")
+  @Test
+  public void addMemberRentals() throws Exception {
+    // given
+    BookCoOccurrenceCounter counter = new BookCoOccurrenceCounter();
+
+    // when
+    counter.addMemberRentals(List.of(
+        new RentalHistoryDto(1L, 1L, 10L),
+        new RentalHistoryDto(2L, 1L, 20L),
+        new RentalHistoryDto(3L, 1L, 30L)
+    ), 0L);
+    counter.addMemberRentals(List.of(
+        new RentalHistoryDto(4L, 2L, 10L),
+        new RentalHistoryDto(5L, 2L, 20L)
+    ), 0L);
+
+    // then
+    Map<Long, Map<Long, Long>> counts = counter.getCounts();
+
+    assertThat(counts.get(10L)).containsExactlyInAnyOrderEntriesOf(Map.of(20L, 2L, 30L, 1L));
+    assertThat(counts.get(20L)).containsExactlyInAnyOrderEntriesOf(Map.of(10L, 2L, 30L, 1L));
+    assertThat(counts.get(30L)).containsExactlyInAnyOrderEntriesOf(Map.of(10L, 1L, 20L, 1L));
+  }
+
+  @DisplayName("같은 도서를 여러 번 대여해도 한 번만 센다.")
+  @Test
+  public void addMemberRentalsWithSameBook() throws Exception {
+    // given
+    BookCoOccurrenceCounter counter = new BookCoOccurrenceCounter();
+
+    // when
+    counter.addMemberRentals(List.of(
+        new RentalHistoryDto(1L, 1L, 10L),
+        new RentalHistoryDto(2L, 1L, 20L),
+        new RentalHistoryDto(3L, 1L, 10L)
+    ), 0L);
+
+    // then
+    assertThat(counter.getCounts().get(10L)).containsExactlyInAnyOrderEntriesOf(Map.of(20L, 1L));
+    assertThat(counter.getCounts().get(20L)).containsExactlyInAnyOrderEntriesOf(Map.of(10L, 1L));
+  }
+
+  @DisplayName("watermark 이전의 대여 기록끼리는 다시 세지 않고, 새 대여 기록과 이전 대여 기록의 쌍만 센다.")
+  @Test
+  public void addMemberRentalsWithWatermark() throws Exception {
+    // given
+    BookCoOccurrenceCounter counter = new BookCoOccurrenceCounter();
+
+    // when
+    counter.addMemberRentals(List.of(
+        new RentalHistoryDto(1L, 1L, 10L),
+        new RentalHistoryDto(2L, 1L, 20L),
+        new RentalHistoryDto(3L, 1L, 30L)
+    ), 2L);
+
+    // then
+    assertThat(counter.getCounts()).containsOnlyKeys(10L, 20L, 30L);
+    assertThat(counter.getCounts().get(10L)).containsExactlyInAnyOrderEntriesOf(Map.of(30L, 1L));
+    assertThat(counter.getCounts().get(20L)).containsExactlyInAnyOrderEntriesOf(Map.of(30L, 1L));
+    assertThat(counter.getCounts().get(30L))
+        .containsExactlyInAnyOrderEntriesOf(Map.of(10L, 1L, 20L, 1L));
+  }
+}
@@ -1,11 +1,16 @@
 package com.management.library.service.book.recommend;
 
+import static com.management.library.exception.ErrorCode.INVALID_RANGE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
 
 import com.management.library.AbstractContainerBaseTest;
+import com.management.library.exception.InvalidArgumentException;
 import com.management.library.repository.book.BookRepository;
+import com.management.library.repository.book.BookStatusHistoryRepository;
 import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.outbox.OutboxEventRepository;
 import com.management.library.repository.rental.BookRentalRepository;
 import com.management.library.repository.review.BookReviewRepository;
 import com.management.library.service.book.BookService;
@@ -13,6 +18,9 @@ import com.management.library.service.book.dto.BookServiceCreateDto;
 import com.management.library.service.book.dto.BookServiceCreateDto.Response;
 import com.management.library.service.book.recommend.dto.BookRecommendResponseDto.RentedCount;
 import com.management.library.service.book.recommend.dto.BookRecommendResponseDto.ReviewRate;
+import com.management.library.service.book.recommend.dto.BookRecommendResponseDto.TrendingRank;
+import com.management.library.service.event.LibraryEventConsumer;
+import com.management.library.service.event.OutboxRelayService;
 import com.management.library.service.member.MemberService;
 import com.management.library.service.member.dto.MemberServiceCreateDto;
 import com.management.library.service.rental.RentalService;
@@ -23,12 +31,15 @@ import com.management.library.service.review.dto.BookReviewServiceDto;
 import com.management.library.service.review.dto.BookReviewServiceDto.Request;
 import java.time.LocalDate;
 import java.util.List;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -55,20 +66,39 @@ class BookRecommendServiceTest extends AbstractContainerBaseTest {
   @Autowired
   private BookRentalRepository bookRentalRepository;
   @Autowired
+  private OutboxEventRepository outboxEventRepository;
+  @Autowired
+  private BookStatusHistoryRepository bookStatusHistoryRepository;
+  @Autowired
   private RedisTemplate<String, String> redisTemplate;
   @Autowired
+  private OutboxRelayService outboxRelayService;
+  @Autowired
+  private LibraryEventConsumer libraryEventConsumer;
+  @Autowired
   private BookReviewService bookReviewService;
   @Autowired
+  private BookTrendingRedisService bookTrendingRedisService;
+  @Autowired
   private BookReviewRepository bookReviewRepository;
 
   private static final String RENTAL_REDIS_KEY = "rental-count";
   private static final String BOOK_RENTED_COUNT = "book-rented-count";
   private static final String BOOK_REVIEW_RATE = "book-review-rate";
-  private static final String BOOK_REVIEW_COUNT = "book-review-count";
-  private static final String REVIEW_CACHE_PREFIX = "review-member:";
-
-  @AfterEach
+  private static final String BOOK_REVIEW_STAT_PREFIX = "book-review-stat:";
+  private static final String STATISTICS_PREFIX = "statistics:";
+  private static final String MONTHLY_RENTED_COUNT = "monthly-rented-count";
+  private static final String MONTHLY_REVIEW_COUNT = "monthly-review-count";
+  private static final String YEARLY_RENTED_COUNT = "yearly-rented-count";
+  private static final String YEARLY_REVIEW_COUNT = "yearly-review-count";
+  private static final String EVENT_STREAM_KEY = "library-events";
+  private static final String EVENT_APPLIED_PATTERN = "*:applied:*";
+
+  // 롤백될 때 실행되는 redis 명령까지 정리할 수 있도록 테스트 트랜잭션이 끝난 뒤 정리한다.
+  @AfterTransaction
   void tearDown(){
+    outboxEventRepository.deleteAllInBatch();
+    bookStatusHistoryRepository.deleteAllInBatch();
     bookReviewRepository.deleteAllInBatch();
     bookRentalRepository.deleteAllInBatch();
     memberRepository.deleteAllInBatch();
@@ -76,14 +106,19 @@ class BookRecommendServiceTest extends AbstractContainerBaseTest {
 
     redisTemplate.delete("memberCode");
     redisTemplate.delete(BOOK_REVIEW_RATE);
-    redisTemplate.delete(RENTAL_REDIS_KEY);
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
     redisTemplate.delete(BOOK_RENTED_COUNT);
-    redisTemplate.delete(BOOK_REVIEW_COUNT);
-
-    for (int i = 1; i < 100; i++) {
-      String keyCode = String.valueOf(100000000 + i);
-      redisTemplate.delete(REVIEW_CACHE_PREFIX + keyCode);
-    }
+    redisTemplate.delete(redisTemplate.keys(BOOK_RENTED_COUNT + ":*"));
+    redisTemplate.delete(redisTemplate.keys(BOOK_REVIEW_STAT_PREFIX + "*"));
+    redisTemplate.delete(TrendingWindow.WEEKLY.getKey());
+    redisTemplate.delete(TrendingWindow.MONTHLY.getKey());
+    redisTemplate.delete(redisTemplate.keys(STATISTICS_PREFIX + "*"));
+    redisTemplate.delete(MONTHLY_RENTED_COUNT);
+    redisTemplate.delete(MONTHLY_REVIEW_COUNT);
+    redisTemplate.delete(YEARLY_RENTED_COUNT);
+    redisTemplate.delete(YEARLY_REVIEW_COUNT);
+    redisTemplate.delete(EVENT_STREAM_KEY);
+    redisTemplate.delete(redisTemplate.keys(EVENT_APPLIED_PATTERN));
   }
 
   @DisplayName("도서 대여 횟수를 기준으로 한 도서 추천 목록을 가져올 수 있다.")
@@ -136,11 +171,15 @@ class BookRecommendServiceTest extends AbstractContainerBaseTest {
     rentalService.createBookRental(createdMember2.getMemberCode(), rentalData4, rentedDate2);
 
     rentalService.returnBook(createdMember1.getMemberCode(), rentalData1.getBookTitle(), rentalData1.getAuthor());
+    commitTransaction();
     rentalService.returnBook(createdMember2.getMemberCode(), rentalData3.getBookTitle(), rentalData3.getAuthor());
+    commitTransaction();
 
     rentalService.createBookRental(createdMember1.getMemberCode(), rentalData5, rentedDate3);
     rentalService.createBookRental(createdMember2.getMemberCode(), rentalData1, rentedDate3);
 
+    publishAndConsumeEvents();
+
     // when
     List<RentedCount> result = bookRecommendService.getRecommendBookListByRentalCount();
 
@@ -156,6 +195,151 @@ class BookRecommendServiceTest extends AbstractContainerBaseTest {
         );
   }
 
+  @DisplayName("분류 번호 범위에 속한 분류 구간들을 합쳐 대여 횟수 순으로 도서 추천 목록을 가져올 수 있다.")
+  @Test
+  public void getRecommendBookListByTypeCode() throws Exception {
+    // given
+    MemberServiceCreateDto.Request memberRequest1 = createMemberRequest("kim", "980101", "경상남도",
+        "김해시", "삼계로");
+    MemberServiceCreateDto.Request memberRequest2 = createMemberRequest("ju", "980101", "경상남도",
+        "김해시", "삼계로");
+
+    MemberServiceCreateDto.Response createdMember1 = memberService.createMember(memberRequest1);
+    MemberServiceCreateDto.Response createdMember2 = memberService.createMember(memberRequest2);
+
+    BookServiceCreateDto.Response createdBook1 = bookService.createNewBook(
+        createBookRequest("jpa", "park", "publisher", 2015, "location", 835));
+    BookServiceCreateDto.Response createdBook2 = bookService.createNewBook(
+        createBookRequest("spring", "lee", "publisher", 2015, "location", 842));
+    BookServiceCreateDto.Response createdBook3 = bookService.createNewBook(
+        createBookRequest("docker", "han", "publisher", 2020, "location", 130));
+
+    RentalBookInfoDto rentalData1 = createRentalData(createdBook1);
+    LocalDate rentedDate = LocalDate.now().minusDays(1);
+
+    rentalService.createBookRental(createdMember1.getMemberCode(), rentalData1, rentedDate);
+    rentalService.returnBook(createdMember1.getMemberCode(), rentalData1.getBookTitle(),
+        rentalData1.getAuthor());
+    commitTransaction();
+    rentalService.createBookRental(createdMember2.getMemberCode(), rentalData1, rentedDate);
+    rentalService.createBookRental(createdMember1.getMemberCode(),
+        createRentalData(createdBook2), rentedDate);
+    rentalService.createBookRental(createdMember2.getMemberCode(),
+        createRentalData(createdBook3), rentedDate);
+
+    publishAndConsumeEvents();
+
+    // when
+    List<RentedCount> result = bookRecommendService.getRecommendBookListByTypeCode(830, 849);
+
+    // then
+    assertThat(result).hasSize(2)
+        .extracting("bookTitle", "rentedCount")
+        .containsExactly(
+            tuple("jpa", "2"),
+            tuple("spring", "1")
+        );
+  }
+
+  @DisplayName("분류 번호 범위로 합친 도서 추천 목록은 짧은 시간 동안 구간 범위별로 캐싱된다.")
+  @Test
+  public void getRecommendBookListByTypeCodeFromCache() throws Exception {
+    // given
+    redisTemplate.opsForZSet().add(BookTypeBand.getRentedCountKey(83), "jpa", 2);
+    redisTemplate.opsForZSet().add(BookTypeBand.getRentedCountKey(84), "spring", 1);
+    bookRecommendService.getRecommendBookListByTypeCode(830, 849);
+
+    redisTemplate.opsForZSet().add(BookTypeBand.getRentedCountKey(84), "spring", 5);
+
+    // when
+    List<RentedCount> result = bookRecommendService.getRecommendBookListByTypeCode(830, 849);
+
+    // then
+    assertThat(result)
+        .extracting("bookTitle", "rentedCount")
+        .containsExactly(
+            tuple("jpa", "2"),
+            tuple("spring", "1")
+        );
+    assertThat(redisTemplate.getExpire(BookTypeBand.getMergedRentedCountKey(83, 84)))
+        .isPositive();
+  }
+
+  @DisplayName("잘못된 분류 번호 범위로 도서 추천 목록을 가져올 수 없다.")
+  @Test
+  public void getRecommendBookListByTypeCodeWithInvalidRange() throws Exception {
+    // when
+    // then
+    assertThatThrownBy(() -> bookRecommendService.getRecommendBookListByTypeCode(500, 100))
+        .isInstanceOf(InvalidArgumentException.class)
+        .extracting("errorCode", "description")
+        .contains(
+            INVALID_RANGE, INVALID_RANGE.getDescription()
+        );
+  }
+
+  @DisplayName("최근 7일 인기 도서 순위를 페이지 단위로 조회하고 특정 도서의 순위를 조회할 수 있다.")
+  @Test
+  public void getTrendingBookList() throws Exception {
+    // given
+    MemberServiceCreateDto.Request memberRequest1 = createMemberRequest("kim", "980101", "경상남도",
+        "김해시", "삼계로");
+    MemberServiceCreateDto.Request memberRequest2 = createMemberRequest("ju", "980101", "경상남도",
+        "김해시", "삼계로");
+
+    MemberServiceCreateDto.Response createdMember1 = memberService.createMember(memberRequest1);
+    MemberServiceCreateDto.Response createdMember2 = memberService.createMember(memberRequest2);
+
+    BookServiceCreateDto.Response createdBook1 = bookService.createNewBook(
+        createBookRequest("jpa", "park", "publisher", 2015, "location", 835));
+    BookServiceCreateDto.Response createdBook2 = bookService.createNewBook(
+        createBookRequest("spring", "lee", "publisher", 2015, "location", 835));
+    BookServiceCreateDto.Response createdBook3 = bookService.createNewBook(
+        createBookRequest("docker", "han", "publisher", 2020, "location", 835));
+
+    RentalBookInfoDto rentalData1 = createRentalData(createdBook1);
+    LocalDate today = LocalDate.now();
+
+    rentalService.createBookRental(createdMember1.getMemberCode(), rentalData1,
+        today.minusDays(1));
+    rentalService.returnBook(createdMember1.getMemberCode(), rentalData1.getBookTitle(),
+        rentalData1.getAuthor());
+    commitTransaction();
+    rentalService.createBookRental(createdMember2.getMemberCode(), rentalData1, today);
+    rentalService.createBookRental(createdMember1.getMemberCode(),
+        createRentalData(createdBook2), today);
+    rentalService.createBookRental(createdMember2.getMemberCode(),
+        createRentalData(createdBook3), today.minusDays(4));
+
+    publishAndConsumeEvents();
+    bookTrendingRedisService.mergeTrendingRanking(TrendingWindow.WEEKLY, today);
+
+    // when
+    Page<TrendingRank> firstPage = bookRecommendService.getTrendingBookList(
+        TrendingWindow.WEEKLY, PageRequest.of(0, 2));
+    Page<TrendingRank> secondPage = bookRecommendService.getTrendingBookList(
+        TrendingWindow.WEEKLY, PageRequest.of(1, 2));
+    TrendingRank rank = bookRecommendService.getTrendingBookRank(TrendingWindow.WEEKLY,
+        createdBook3.getId());
+
+    // then
+    assertThat(firstPage.getTotalElements()).isEqualTo(3L);
+    assertThat(firstPage.getContent())
+        .extracting("rank", "bookTitle")
+        .containsExactly(
+            tuple(1L, "jpa"),
+            tuple(2L, "spring")
+        );
+    assertThat(secondPage.getContent())
+        .extracting("rank", "bookId", "bookTitle", "score")
+        .containsExactly(
+            tuple(3L, createdBook3.getId(), "docker", "0.25")
+        );
+    assertThat(rank)
+        .extracting("rank", "bookTitle", "score")
+        .contains(3L, "docker", "0.25");
+  }
+
   @DisplayName("도서 대여 기록이 없는 상태에서는 빈 리스트를 반환한다.")
   @Test
   public void getRecommendBookListByRentalCountWithEmpty() throws Exception {
@@ -241,18 +425,26 @@ class BookRecommendServiceTest extends AbstractContainerBaseTest {
     rentalService.createBookRental(createdMember3.getMemberCode(), rentalData5, rentedDate1);
 
     rentalService.returnBook(createdMember1.getMemberCode(), rentalData1.getBookTitle(), rentalData1.getAuthor());
+    commitTransaction();
     rentalService.returnBook(createdMember1.getMemberCode(), rentalData2.getBookTitle(), rentalData2.getAuthor());
+    commitTransaction();
     rentalService.returnBook(createdMember2.getMemberCode(), rentalData3.getBookTitle(), rentalData3.getAuthor());
+    commitTransaction();
     rentalService.returnBook(createdMember2.getMemberCode(), rentalData4.getBookTitle(), rentalData4.getAuthor());
+    commitTransaction();
     rentalService.returnBook(createdMember3.getMemberCode(), rentalData5.getBookTitle(), rentalData5.getAuthor());
+    commitTransaction();
 
     rentalService.createBookRental(createdMember1.getMemberCode(), rentalData5, rentedDate3);
     rentalService.createBookRental(createdMember2.getMemberCode(), rentalData1, rentedDate3);
     rentalService.createBookRental(createdMember3.getMemberCode(), rentalData2, rentedDate3);
 
     rentalService.returnBook(createdMember1.getMemberCode(), rentalData5.getBookTitle(), rentalData5.getAuthor());
+    commitTransaction();
     rentalService.returnBook(createdMember2.getMemberCode(), rentalData1.getBookTitle(), rentalData1.getAuthor());
+    commitTransaction();
     rentalService.returnBook(createdMember3.getMemberCode(), rentalData2.getBookTitle(), rentalData2.getAuthor());
+    commitTransaction();
 
     Request reviewRequest1 = createReviewRequest("review1", "review content1", 5);
     Request reviewRequest2 = createReviewRequest("review2", "review content2", 4);
@@ -272,6 +464,8 @@ class BookRecommendServiceTest extends AbstractContainerBaseTest {
     bookReviewService.createReview("jpa", reviewRequest7, createdMember2.getMemberCode());
     bookReviewService.createReview("jpa2", reviewRequest8, createdMember3.getMemberCode());
 
+    publishAndConsumeEvents();
+
     // when
     List<ReviewRate> recommendBookList = bookRecommendService.getRecommendBookListByReviewRate();
 
@@ -325,4 +519,17 @@ class BookRecommendServiceTest extends AbstractContainerBaseTest {
         .typeCode(typeCode)
         .build();
   }
-}
\ No newline at end of file
+
+  // outbox 에 쌓인 이벤트를 Stream 으로 발행하고 모든 소비자 그룹에서 처리한다.
+  // 반납이 커밋된 뒤 반영되는 redis 명령을 확인할 수 있도록 테스트 트랜잭션을 커밋하고 새로 시작한다.
+  private void commitTransaction() {
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+    TestTransaction.start();
+  }
+
+  private void publishAndConsumeEvents() {
+    outboxRelayService.relay();
+    libraryEventConsumer.consumeAll();
+  }
+}
@@ -0,0 +1,107 @@
+package com.management.library.service.book.recommend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.management.library.AbstractContainerBaseTest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+@SpringBootTest
+class BookSimilarRedisServiceTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+  @Autowired
+  private BookSimilarRedisService bookSimilarRedisService;
+
+  private static final String BOOK_SIMILAR_PREFIX = "book-similar:";
+  private static final String APPLIED_PREFIX = "{book-similar:";
+  private static final String WATERMARK_KEY = "book-similar-watermark";
+
+  @AfterEach
+  void tearDown() {
+    redisTemplate.delete(redisTemplate.keys(BOOK_SIMILAR_PREFIX + "*"));
+    redisTemplate.delete(redisTemplate.keys(APPLIED_PREFIX + "*"));
+    redisTemplate.delete(WATERMARK_KEY);
+  }
+
+  @DisplayName("함께 대여한 회원 수를 누적하고 watermark 를 기록할 수 있다.")
+  @Test
+  public void addCoOccurrenceCounts() throws Exception {
+    // given
+    bookSimilarRedisService.addCoOccurrenceCounts(Map.of(1L, Map.of(2L, 1L, 3L, 2L)), 10L);
+
+    // when
+    bookSimilarRedisService.addCoOccurrenceCounts(Map.of(1L, Map.of(2L, 2L)), 20L);
+
+    // then
+    Set<TypedTuple<String>> result = bookSimilarRedisService.getSimilarBooks(1L, 10);
+
+    assertThat(result)
+        .extracting("value", "score")
+        .containsExactly(
+            tuple("2", 3.0),
+            tuple("3", 2.0)
+        );
+    assertThat(bookSimilarRedisService.getWatermark()).isEqualTo(20L);
+  }
+
+  @DisplayName("일부 도서만 반영된 채 실패한 집계를 다시 실행하면 이미 반영한 도서는 다시 더하지 않는다.")
+  @Test
+  public void addCoOccurrenceCountsWithRetry() throws Exception {
+    // given
+    bookSimilarRedisService.addCoOccurrenceCounts(Map.of(1L, Map.of(2L, 1L)), 10L);
+
+    // 도서 1 에만 반영하고 watermark 를 기록하기 전에 실패한 상태
+    bookSimilarRedisService.addCoOccurrenceCounts(Map.of(1L, Map.of(2L, 1L)), 20L);
+    redisTemplate.opsForValue().set(WATERMARK_KEY, "10");
+
+    // when
+    bookSimilarRedisService.addCoOccurrenceCounts(
+        Map.of(1L, Map.of(2L, 1L), 2L, Map.of(1L, 1L)), 20L);
+
+    // then
+    assertThat(bookSimilarRedisService.getSimilarBooks(1L, 10))
+        .extracting("value", "score")
+        .containsExactly(tuple("2", 2.0));
+    assertThat(bookSimilarRedisService.getSimilarBooks(2L, 10))
+        .extracting("value", "score")
+        .containsExactly(tuple("1", 1.0));
+    assertThat(bookSimilarRedisService.getWatermark()).isEqualTo(20L);
+  }
+
+  @DisplayName("도서별로 함께 대여된 도서는 상위 50개만 유지한다.")
+  @Test
+  public void addCoOccurrenceCountsWithPrune() throws Exception {
+    // given
+    Map<Long, Long> counts = new HashMap<>();
+    for (long bookId = 2; bookId <= 61; bookId++) {
+      counts.put(bookId, bookId);
+    }
+
+    // when
+    bookSimilarRedisService.addCoOccurrenceCounts(Map.of(1L, counts), 100L);
+
+    // then
+    assertThat(redisTemplate.opsForZSet().zCard(BOOK_SIMILAR_PREFIX + 1)).isEqualTo(50L);
+    assertThat(redisTemplate.opsForZSet().score(BOOK_SIMILAR_PREFIX + 1, "11")).isNull();
+    assertThat(redisTemplate.opsForZSet().score(BOOK_SIMILAR_PREFIX + 1, "12")).isEqualTo(12.0);
+  }
+
+  @DisplayName("집계한 적이 없다면 watermark 는 0이다.")
+  @Test
+  public void getWatermarkWithEmpty() throws Exception {
+    // when
+    // then
+    assertThat(bookSimilarRedisService.getWatermark()).isZero();
+  }
+}
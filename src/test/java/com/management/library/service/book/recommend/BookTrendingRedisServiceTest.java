@@ -0,0 +1,142 @@
+package com.management.library.service.book.recommend;
+
+import static com.management.library.config.SchedulerConfiguration.SCHEDULE_ZONE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.service.book.recommend.dto.BookRecommendResponseDto.TrendingRank;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+@SpringBootTest
+class BookTrendingRedisServiceTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+  @Autowired
+  private BookTrendingRedisService bookTrendingRedisService;
+
+  private static final String DAILY_RENTED_COUNT_PREFIX = "book-rented-count:daily:";
+  private static final String EVENT_APPLIED_PATTERN = "*:applied:*";
+
+  @BeforeEach
+  void setUp() {
+    tearDown();
+  }
+
+  @AfterEach
+  void tearDown() {
+    redisTemplate.delete(redisTemplate.keys(DAILY_RENTED_COUNT_PREFIX + "*"));
+    redisTemplate.delete(TrendingWindow.WEEKLY.getKey());
+    redisTemplate.delete(TrendingWindow.MONTHLY.getKey());
+    redisTemplate.delete(redisTemplate.keys(EVENT_APPLIED_PATTERN));
+  }
+
+  @DisplayName("도서 대여 시 대여일의 일별 대여 수가 증가하고 만료 시간이 설정된다.")
+  @Test
+  public void addDailyRentedCount() throws Exception {
+    // given
+    LocalDate today = LocalDate.now(SCHEDULE_ZONE);
+
+    // when
+    bookTrendingRedisService.addDailyRentedCount(1L, today, "event:1");
+    bookTrendingRedisService.addDailyRentedCount(1L, today, "event:2");
+    bookTrendingRedisService.addDailyRentedCount(2L, today, "event:3");
+
+    // then
+    String dailyKey = DAILY_RENTED_COUNT_PREFIX + "{" + today + "}";
+
+    assertThat(redisTemplate.opsForZSet().score(dailyKey, "1")).isEqualTo(2.0);
+    assertThat(redisTemplate.opsForZSet().score(dailyKey, "2")).isEqualTo(1.0);
+    assertThat(redisTemplate.getExpire(dailyKey, TimeUnit.DAYS)).isBetween(30L, 31L);
+  }
+
+  @DisplayName("일별 대여 수를 감쇠 가중치와 함께 합산하여 기간별 인기 순위를 만들 수 있다.")
+  @Test
+  public void mergeTrendingRanking() throws Exception {
+    // given
+    LocalDate today = LocalDate.now(SCHEDULE_ZONE);
+
+    // 1번 도서는 오늘 1번, 2번 도서는 2일 전에 3번, 3번 도서는 10일 전에 5번 대여
+    bookTrendingRedisService.addDailyRentedCount(1L, today, "event:4");
+    for (int i = 0; i < 3; i++) {
+      bookTrendingRedisService.addDailyRentedCount(2L, today.minusDays(2), "event:5-" + i);
+    }
+    for (int i = 0; i < 5; i++) {
+      bookTrendingRedisService.addDailyRentedCount(3L, today.minusDays(10), "event:6-" + i);
+    }
+
+    // when
+    bookTrendingRedisService.mergeTrendingRanking(TrendingWindow.WEEKLY, today);
+    bookTrendingRedisService.mergeTrendingRanking(TrendingWindow.MONTHLY, today);
+
+    // then
+    Set<TypedTuple<String>> weekly = bookTrendingRedisService.getTrendingRanks(
+        TrendingWindow.WEEKLY, 0, -1);
+    Set<TypedTuple<String>> monthly = bookTrendingRedisService.getTrendingRanks(
+        TrendingWindow.MONTHLY, 0, -1);
+
+    assertThat(weekly).hasSize(2)
+        .extracting("value", "score")
+        .containsExactly(
+            tuple("2", 1.5),
+            tuple("1", 1.0)
+        );
+
+    // 2번 : 3 * 0.5^(2/7), 3번 : 5 * 0.5^(10/7), 1번 : 1
+    assertThat(monthly).hasSize(3)
+        .extracting("value")
+        .containsExactly("2", "3", "1");
+    assertThat(bookTrendingRedisService.getTrendingSize(TrendingWindow.MONTHLY)).isEqualTo(3L);
+  }
+
+  @DisplayName("대여 기록이 없다면 기존 인기 순위를 비운다.")
+  @Test
+  public void mergeTrendingRankingWithEmpty() throws Exception {
+    // given
+    redisTemplate.opsForZSet().add(TrendingWindow.WEEKLY.getKey(), "1", 1.0);
+
+    // when
+    bookTrendingRedisService.mergeTrendingRanking(TrendingWindow.WEEKLY, LocalDate.now(SCHEDULE_ZONE));
+
+    // then
+    assertThat(redisTemplate.hasKey(TrendingWindow.WEEKLY.getKey())).isFalse();
+  }
+
+  @DisplayName("특정 도서의 인기 순위를 조회할 수 있다.")
+  @Test
+  public void getTrendingRank() throws Exception {
+    // given
+    LocalDate today = LocalDate.now(SCHEDULE_ZONE);
+
+    bookTrendingRedisService.addDailyRentedCount(1L, today, "event:7");
+    bookTrendingRedisService.addDailyRentedCount(2L, today, "event:8");
+    bookTrendingRedisService.addDailyRentedCount(2L, today, "event:9");
+    bookTrendingRedisService.mergeTrendingRanking(TrendingWindow.WEEKLY, today);
+
+    // when
+    TrendingRank rank1 = bookTrendingRedisService.getTrendingRank(TrendingWindow.WEEKLY, 1L);
+    TrendingRank rank2 = bookTrendingRedisService.getTrendingRank(TrendingWindow.WEEKLY, 2L);
+    TrendingRank rank3 = bookTrendingRedisService.getTrendingRank(TrendingWindow.WEEKLY, 3L);
+
+    // then
+    assertThat(List.of(rank1, rank2))
+        .extracting("rank", "bookId", "score")
+        .containsExactly(
+            tuple(2L, 1L, "1.0"),
+            tuple(1L, 2L, "2.0")
+        );
+    assertThat(rank3).isNull();
+  }
+}
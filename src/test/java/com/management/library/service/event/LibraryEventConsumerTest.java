@@ -0,0 +1,338 @@
+package com.management.library.service.event;
+
+import static com.management.library.domain.type.OutboxEventType.BOOK_RETURNED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.repository.book.BookRepository;
+import com.management.library.repository.book.BookStatusHistoryRepository;
+import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.outbox.OutboxEventRepository;
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.service.book.BookService;
+import com.management.library.service.book.dto.BookServiceCreateDto;
+import com.management.library.service.book.dto.BookServiceCreateDto.Response;
+import com.management.library.service.event.dto.BookReturnedEvent;
+import com.management.library.service.member.MemberService;
+import com.management.library.service.member.dto.MemberServiceCreateDto;
+import com.management.library.service.rental.RentalService;
+import com.management.library.service.rental.dto.RentalBookInfoDto;
+import com.management.library.service.statistics.StatisticsRedisService;
+import com.management.library.service.statistics.dto.LiveStatisticsResultDto;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class LibraryEventConsumerTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private LibraryEventConsumer libraryEventConsumer;
+  @Autowired
+  private OutboxRelayService outboxRelayService;
+  @Autowired
+  private OutboxEventPublisher outboxEventPublisher;
+  @Autowired
+  private StatisticsRedisService statisticsRedisService;
+  @Autowired
+  private MemberService memberService;
+  @Autowired
+  private BookService bookService;
+  @Autowired
+  private RentalService rentalService;
+  @Autowired
+  private OutboxEventRepository outboxEventRepository;
+  @Autowired
+  private BookStatusHistoryRepository bookStatusHistoryRepository;
+  @Autowired
+  private BookRentalRepository bookRentalRepository;
+  @Autowired
+  private BookRepository bookRepository;
+  @Autowired
+  private MemberRepository memberRepository;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+
+  private static final String BOOK_RENTED_COUNT = "book-rented-count";
+  private static final String RENTAL_REDIS_KEY = "rental-count";
+  private static final String STATISTICS_PREFIX = "statistics:";
+  private static final String MONTHLY_RENTED_COUNT = "monthly-rented-count";
+  private static final String YEARLY_RENTED_COUNT = "yearly-rented-count";
+  private static final String EVENT_STREAM_KEY = "library-events";
+  private static final String DEAD_LETTER_STREAM_KEY = "library-events-dead-letter";
+  private static final String STATISTICS_GROUP = "statistics";
+  private static final String EVENT_APPLIED_PATTERN = "*:applied:*";
+
+  @AfterEach
+  void tearDown() {
+    outboxEventRepository.deleteAllInBatch();
+    bookStatusHistoryRepository.deleteAllInBatch();
+    bookRentalRepository.deleteAllInBatch();
+    bookRepository.deleteAllInBatch();
+    memberRepository.deleteAllInBatch();
+
+    redisTemplate.delete("memberCode");
+    redisTemplate.delete(BOOK_RENTED_COUNT);
+    redisTemplate.delete(redisTemplate.keys(BOOK_RENTED_COUNT + ":*"));
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
+    redisTemplate.delete(redisTemplate.keys(STATISTICS_PREFIX + "*"));
+    redisTemplate.delete(MONTHLY_RENTED_COUNT);
+    redisTemplate.delete(YEARLY_RENTED_COUNT);
+    redisTemplate.delete(EVENT_STREAM_KEY);
+    redisTemplate.delete(DEAD_LETTER_STREAM_KEY);
+    redisTemplate.delete(redisTemplate.keys(EVENT_APPLIED_PATTERN));
+  }
+
+  @DisplayName("대여가 커밋되면 outbox 이벤트가 Stream 으로 발행되고, 소비자 그룹마다 대여 순위와 통계를 갱신한다.")
+  @Test
+  public void relayAndConsume() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = memberService.createMember(
+        createMemberRequest("kim", "980101", "legion", "city", "street"));
+    Response book = bookService.createNewBook(
+        createBookRequest("book1", "park", "publisher", 2015, "location", 130));
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(book),
+        LocalDate.now());
+
+    Double scoreBeforeConsume = redisTemplate.opsForZSet().score(BOOK_RENTED_COUNT, "book1");
+
+    // when
+    int relayCount = outboxRelayService.relay();
+    int consumeCount = libraryEventConsumer.consumeAll();
+
+    // then
+    assertThat(scoreBeforeConsume).isNull();
+    assertThat(relayCount).isEqualTo(1);
+    // ranking, statistics 두 그룹이 각각 처리한다.
+    assertThat(consumeCount).isEqualTo(2);
+    assertThat(outboxRelayService.relay()).isZero();
+    assertThat(redisTemplate.opsForZSet().score(BOOK_RENTED_COUNT, "book1")).isEqualTo(1.0);
+
+    LiveStatisticsResultDto statistics = statisticsRedisService.getMonthlyStatistics(
+        YearMonth.now());
+    assertThat(statistics.getRentalCount()).isEqualTo(1L);
+    assertThat(statistics.getBorrowerCount()).isEqualTo(1L);
+  }
+
+  @DisplayName("롤백된 트랜잭션의 이벤트는 outbox 에 남지 않아 발행되지 않는다.")
+  @Test
+  public void rollbackEvent() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = memberService.createMember(
+        createMemberRequest("kim", "980101", "legion", "city", "street"));
+    Response book = bookService.createNewBook(
+        createBookRequest("book1", "park", "publisher", 2015, "location", 130));
+
+    // when
+    transactionTemplate.executeWithoutResult(status -> {
+      rentalService.createBookRental(member.getMemberCode(), createRentalData(book),
+          LocalDate.now());
+      status.setRollbackOnly();
+    });
+
+    // then
+    assertThat(outboxEventRepository.findAll()).isEmpty();
+    assertThat(outboxRelayService.relay()).isZero();
+    assertThat(libraryEventConsumer.consumeAll()).isZero();
+    assertThat(statisticsRedisService.getMonthlyStatistics(YearMonth.now()).getRentalCount())
+        .isZero();
+  }
+
+  @DisplayName("같은 이벤트가 여러 번 발행되어도 소비자 그룹마다 한 번만 반영된다.")
+  @Test
+  public void consumeDuplicatedEvent() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = memberService.createMember(
+        createMemberRequest("kim", "980101", "legion", "city", "street"));
+    Response book = bookService.createNewBook(
+        createBookRequest("book1", "park", "publisher", 2015, "location", 130));
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(book),
+        LocalDate.now());
+
+    // 발행 기록을 남기기 전에 relay 가 실패한 상황
+    outboxRelayService.relay();
+    jdbcTemplate.update("update outbox_events set published_at = null");
+    outboxRelayService.relay();
+
+    // when
+    libraryEventConsumer.consumeAll();
+
+    // then
+    assertThat(redisTemplate.opsForStream().size(EVENT_STREAM_KEY)).isEqualTo(2L);
+    assertThat(redisTemplate.opsForZSet().score(BOOK_RENTED_COUNT, "book1")).isEqualTo(1.0);
+    assertThat(statisticsRedisService.getMonthlyStatistics(YearMonth.now()).getRentalCount())
+        .isEqualTo(1L);
+  }
+
+  @DisplayName("일부 쓰기만 반영된 채 실패한 이벤트를 다시 처리하면 이미 반영한 카운터는 다시 증가시키지 않는다.")
+  @Test
+  public void consumePartiallyFailedEvent() throws Exception {
+    // given
+    createRental();
+    outboxRelayService.relay();
+
+    // 시간별, 일별 카운터를 반영한 뒤 월간 카운터 반영에 실패하는 상황
+    redisTemplate.opsForValue().set(MONTHLY_RENTED_COUNT, "wrong type");
+    libraryEventConsumer.consumeAll();
+    redisTemplate.delete(MONTHLY_RENTED_COUNT);
+
+    // when
+    libraryEventConsumer.consumeAll();
+
+    // then
+    YearMonth now = YearMonth.now();
+    assertThat(statisticsRedisService.getMonthlyStatistics(now).getRentalCount())
+        .isEqualTo(1L);
+    assertThat(redisTemplate.opsForHash()
+        .get(MONTHLY_RENTED_COUNT, now.getYear() + "-" + now.getMonthValue())).isEqualTo("1");
+    assertThat(redisTemplate.opsForHash()
+        .get(YEARLY_RENTED_COUNT, String.valueOf(now.getYear()))).isEqualTo("1");
+    assertThat(getPendingCount()).isZero();
+  }
+
+  @DisplayName("다른 소비자가 읽고 ack 하지 않은 이벤트를 가져와 처리한다.")
+  @Test
+  public void claimPendingEventOfOtherConsumer() throws Exception {
+    // given
+    libraryEventConsumer.consumeAll();
+    createRental();
+    outboxRelayService.relay();
+
+    // 이벤트를 읽은 인스턴스가 ack 하기 전에 종료된 상황
+    @SuppressWarnings("unchecked")
+    List<MapRecord<String, Object, Object>> unackedRecords = redisTemplate.opsForStream()
+        .read(Consumer.from(STATISTICS_GROUP, "dead-instance"),
+            StreamReadOptions.empty().count(10),
+            StreamOffset.create(EVENT_STREAM_KEY, ReadOffset.lastConsumed()));
+    assertThat(unackedRecords).hasSize(1);
+
+    // when
+    libraryEventConsumer.consumeAll();
+
+    // then
+    assertThat(statisticsRedisService.getMonthlyStatistics(YearMonth.now()).getRentalCount())
+        .isEqualTo(1L);
+    assertThat(getPendingCount()).isZero();
+  }
+
+  @DisplayName("처리하지 못한 채 최대 전달 횟수를 넘긴 이벤트는 dead letter Stream 으로 옮기고 ack 한다.")
+  @Test
+  public void moveToDeadLetter() throws Exception {
+    // given
+    createRental();
+    outboxRelayService.relay();
+    redisTemplate.opsForValue().set(MONTHLY_RENTED_COUNT, "wrong type");
+
+    // when
+    for (int i = 0; i < 6; i++) {
+      libraryEventConsumer.consumeAll();
+    }
+
+    // then
+    List<MapRecord<String, Object, Object>> deadLetters = redisTemplate.opsForStream()
+        .range(DEAD_LETTER_STREAM_KEY, Range.unbounded());
+    assertThat(deadLetters).hasSize(1);
+    assertThat(deadLetters.get(0).getValue())
+        .containsEntry("group", STATISTICS_GROUP)
+        .containsEntry("event-type", "BOOK_RENTED");
+    assertThat(getPendingCount()).isZero();
+  }
+
+  @DisplayName("모든 소비자 그룹이 ack 한 이벤트만 Stream 에서 지운다.")
+  @Test
+  public void trimAcknowledged() throws Exception {
+    // given
+    createRental();
+    outboxRelayService.relay();
+    redisTemplate.opsForValue().set(MONTHLY_RENTED_COUNT, "wrong type");
+    libraryEventConsumer.consumeAll();
+
+    // when
+    long trimmedBeforeAck = libraryEventConsumer.trimAcknowledged();
+    redisTemplate.delete(MONTHLY_RENTED_COUNT);
+    libraryEventConsumer.consumeAll();
+    long trimmedAfterAck = libraryEventConsumer.trimAcknowledged();
+
+    // then
+    assertThat(trimmedBeforeAck).isZero();
+    assertThat(trimmedAfterAck).isEqualTo(1L);
+    assertThat(redisTemplate.opsForStream().size(EVENT_STREAM_KEY)).isZero();
+  }
+
+  @DisplayName("트랜잭션 밖에서 이벤트를 저장하면 예외가 발생한다.")
+  @Test
+  public void publishWithoutTransaction() throws Exception {
+    // given
+    BookReturnedEvent event = BookReturnedEvent.of("100000001", 1L, LocalDateTime.now());
+
+    // when
+    // then
+    assertThatThrownBy(() -> outboxEventPublisher.publish(BOOK_RETURNED, event))
+        .isInstanceOf(IllegalTransactionStateException.class);
+  }
+
+  private void createRental() {
+    MemberServiceCreateDto.Response member = memberService.createMember(
+        createMemberRequest("kim", "980101", "legion", "city", "street"));
+    Response book = bookService.createNewBook(
+        createBookRequest("book1", "park", "publisher", 2015, "location", 130));
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(book),
+        LocalDate.now());
+  }
+
+  private long getPendingCount() {
+    return redisTemplate.opsForStream().pending(EVENT_STREAM_KEY, STATISTICS_GROUP)
+        .getTotalPendingMessages();
+  }
+
+  private RentalBookInfoDto createRentalData(Response createdBook) {
+    return RentalBookInfoDto.builder()
+        .bookTitle(createdBook.getTitle())
+        .author(createdBook.getAuthor())
+        .build();
+  }
+
+  private MemberServiceCreateDto.Request createMemberRequest(String name,
+      String birthdayCode, String legion, String city, String street) {
+    return MemberServiceCreateDto.Request.builder()
+        .name(name)
+        .birthdayCode(birthdayCode)
+        .legion(legion)
+        .city(city)
+        .street(street)
+        .build();
+  }
+
+  private BookServiceCreateDto.Request createBookRequest(String title, String author,
+      String publisher, int publishedYear, String location, int typeCode) {
+    return BookServiceCreateDto.Request.builder()
+        .title(title)
+        .author(author)
+        .publisher(publisher)
+        .publishedYear(publishedYear)
+        .location(location)
+        .typeCode(typeCode)
+        .build();
+  }
+}
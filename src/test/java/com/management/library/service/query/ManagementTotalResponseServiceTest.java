@@ -23,6 +23,7 @@ import com.management.library.service.request.management.dto.ManagementRequestSe
 import com.management.library.service.result.management.ManagementResultService;
 import com.management.library.service.result.management.dto.ManagementResultCreateDto;
 import com.management.library.service.result.management.dto.ManagementResultCreateDto.Request;
+import java.time.YearMonth;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -55,7 +56,6 @@ class ManagementTotalResponseServiceTest extends AbstractContainerBaseTest {
   @Autowired
   private ManagementTotalResponseService managementTotalResponseService;
   private static final String MANAGEMENT_REQUEST_PREFIX = "management-request-id:";
-  private static final String KEY = "management-request-count:";
 
   @AfterEach
   void tearDown() {
@@ -64,7 +64,7 @@ class ManagementTotalResponseServiceTest extends AbstractContainerBaseTest {
     memberRepository.deleteAllInBatch();
     administratorRepository.deleteAllInBatch();
 
-    redisRequestService.deleteCache(KEY);
+    redisRequestService.deleteRequestCounts(YearMonth.now());
 
     for (int i = 1; i < 100; i++) {
       redisRequestService.deleteCache(MANAGEMENT_REQUEST_PREFIX + i);
@@ -1,6 +1,7 @@
 package com.management.library.service.query;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import com.management.library.AbstractContainerBaseTest;
 import com.management.library.repository.book.BookRepository;
@@ -14,7 +15,9 @@ import com.management.library.service.book.dto.BookServiceCreateDto.Request;
 import com.management.library.service.book.dto.BookServiceCreateDto.Response;
 import com.management.library.service.member.MemberService;
 import com.management.library.service.member.dto.MemberServiceCreateDto;
+import com.management.library.service.member.dto.MemberServiceReadDto;
 import com.management.library.service.query.dto.MemberTotalInfoDto;
+import com.management.library.service.redis.dto.MemberRedisStateDto;
 import com.management.library.service.rental.RentalService;
 import com.management.library.service.rental.dto.RentalBookInfoDto;
 import com.management.library.service.request.RedisRequestService;
@@ -23,12 +26,15 @@ import com.management.library.service.request.management.dto.ManagementRequestSe
 import com.management.library.service.request.newbook.NewBookService;
 import com.management.library.service.request.newbook.dto.NewBookRequestServiceDto;
 import java.time.LocalDate;
-import org.junit.jupiter.api.AfterEach;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.transaction.AfterTransaction;
 import org.springframework.transaction.annotation.Transactional;
 
 @SpringBootTest
@@ -65,14 +71,13 @@ class MemberTotalInfoServiceTest extends AbstractContainerBaseTest {
   private RedisTemplate<String, String> redisTemplate;
 
   private static final String MANAGEMENT_REQUEST_PREFIX = "management-request-id:";
-  private static final String MANAGEMENT_REQUEST_CACHE_KEY = "management-request-count:";
   private static final String NEW_BOOK_REQUEST_PREFIX = "book-request-id:";
-  private static final String NEW_BOOK_CACHE_KEY = "book-request-count:";
   private static final String RENTAL_REDIS_KEY = "rental-count";
   private static final String PENALTY_MEMBER_KEY = "penalty:";
   private static final String BOOK_RENTED_COUNT = "book-rented-count";
 
-  @AfterEach
+  // 롤백될 때 실행되는 redis 명령까지 정리할 수 있도록 테스트 트랜잭션이 끝난 뒤 정리한다.
+  @AfterTransaction
   void tearDown() {
     bookRentalRepository.deleteAllInBatch();
     managementRequestRepository.deleteAllInBatch();
@@ -80,10 +85,10 @@ class MemberTotalInfoServiceTest extends AbstractContainerBaseTest {
     bookRepository.deleteAllInBatch();
     memberRepository.deleteAllInBatch();
 
-    redisRequestService.deleteCache(NEW_BOOK_CACHE_KEY);
-    redisRequestService.deleteCache(MANAGEMENT_REQUEST_CACHE_KEY);
-    redisTemplate.delete(RENTAL_REDIS_KEY);
+    redisRequestService.deleteRequestCounts(YearMonth.now());
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
     redisTemplate.delete(BOOK_RENTED_COUNT);
+    redisTemplate.delete(redisTemplate.keys(BOOK_RENTED_COUNT + ":*"));
 
     for (int i = 1; i < 100; i++) {
       String keyCode = String.valueOf(100000000 + i);
@@ -214,6 +219,45 @@ class MemberTotalInfoServiceTest extends AbstractContainerBaseTest {
         );
   }
 
+  @DisplayName("여러 회원의 요청 가능 횟수, 대여 가능 권수, 대여 가능 상태를 한 번에 가져올 수 있다.")
+  @Test
+  public void getMemberStates() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member1 = memberService.createMember(
+        createMemberRequest("kim", "980101", "경남", "김해", "삼계로"));
+    MemberServiceCreateDto.Response member2 = memberService.createMember(
+        createMemberRequest("park", "990101", "경남", "김해", "삼계로"));
+
+    ManagementRequestServiceDto.Request managementCreateRequest = createManagementRequest("title1",
+        "content1");
+    managementService.createManagementRequest(managementCreateRequest, member1.getMemberCode());
+
+    Request bookRequest = createBookRequest("book1", "park", "publisher", 2015, "location", 130);
+    Response newBook = bookService.createNewBook(bookRequest);
+    rentalService.createBookRental(member1.getMemberCode(), createRentalData(newBook),
+        LocalDate.now());
+
+    redisTemplate.opsForValue().set(PENALTY_MEMBER_KEY + member2.getMemberCode(),
+        LocalDate.now().plusDays(3).toString());
+
+    List<MemberServiceReadDto> members = List.of(
+        memberService.getMemberData(member1.getMemberCode()),
+        memberService.getMemberData(member2.getMemberCode()));
+
+    // when
+    Map<String, MemberRedisStateDto> memberStates = memberTotalInfoService.getMemberStates(
+        members);
+
+    // then
+    assertThat(memberStates.values()).hasSize(2)
+        .extracting("memberCode", "remainManagementRequestCount", "remainNewBookRequestCount",
+            "remainRentalCount", "rentalStatus")
+        .containsExactly(
+            tuple(member1.getMemberCode(), "4", "5", "1", "available"),
+            tuple(member2.getMemberCode(), "5", "5", "2", "unavailable")
+        );
+  }
+
   private MemberServiceCreateDto.Request createMemberRequest(String name, String birthdayCode,
       String legion, String city, String street) {
     return MemberServiceCreateDto.Request.builder()
@@ -23,6 +23,7 @@ import com.management.library.service.request.newbook.dto.NewBookRequestServiceD
 import com.management.library.service.result.newbook.NewBookResultService;
 import com.management.library.service.result.newbook.dto.NewBookResultCreateDto;
 import com.management.library.service.result.newbook.dto.NewBookResultCreateDto.Request;
+import java.time.YearMonth;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -56,7 +57,6 @@ class NewBookTotalResponseServiceTest extends AbstractContainerBaseTest {
   private NewBookTotalResponseService newBookTotalResponseService;
 
   private static final String NEW_BOOK_REQUEST_PREFIX = "book-request-id:";
-  private static final String NEW_BOOK_CACHE_KEY = "book-request-count:";
 
   @AfterEach
   void tearDown() {
@@ -65,7 +65,7 @@ class NewBookTotalResponseServiceTest extends AbstractContainerBaseTest {
     memberRepository.deleteAllInBatch();
     administratorRepository.deleteAllInBatch();
 
-    redisRequestService.deleteCache(NEW_BOOK_CACHE_KEY);
+    redisRequestService.deleteRequestCounts(YearMonth.now());
 
     for (int i = 1; i < 100; i++) {
       redisRequestService.deleteCache(NEW_BOOK_REQUEST_PREFIX + i);
@@ -0,0 +1,195 @@
+package com.management.library.service.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.domain.checkpoint.RedisCheckpoint;
+import com.management.library.repository.checkpoint.RedisCheckpointRepository;
+import com.management.library.service.rental.RentalRedisService;
+import com.management.library.service.review.BookReviewRedisService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+@SpringBootTest
+class RedisCheckpointServiceTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private RedisCheckpointService redisCheckpointService;
+  @Autowired
+  private RentalRedisService rentalRedisService;
+  @Autowired
+  private BookReviewRedisService bookReviewRedisService;
+  @Autowired
+  private RedisCheckpointRepository redisCheckpointRepository;
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+
+  private static final String BOOK_RENTED_COUNT = "book-rented-count";
+  private static final String BOOK_REVIEW_RATE = "book-review-rate";
+  private static final String BOOK_REVIEW_STAT_PREFIX = "book-review-stat:";
+  private static final String MONTHLY_RENTED_COUNT = "monthly-rented-count";
+  private static final String CHECKPOINT_DIRTY_PREFIX = "checkpoint-dirty:";
+  private static final String CHECKPOINT_SYNCED_PREFIX = "checkpoint-synced:";
+  private static final String CHECKPOINT_RESTORING_PREFIX = "checkpoint-restoring:";
+  private static final String EVENT_APPLIED_PATTERN = "*:applied:*";
+
+  @AfterEach
+  void tearDown() {
+    redisCheckpointRepository.deleteAllInBatch();
+
+    redisTemplate.delete(BOOK_RENTED_COUNT);
+    redisTemplate.delete(redisTemplate.keys(BOOK_RENTED_COUNT + ":*"));
+    redisTemplate.delete(BOOK_REVIEW_RATE);
+    redisTemplate.delete(redisTemplate.keys(BOOK_REVIEW_STAT_PREFIX + "*"));
+    redisTemplate.delete(MONTHLY_RENTED_COUNT);
+    redisTemplate.delete(redisTemplate.keys(CHECKPOINT_DIRTY_PREFIX + "*"));
+    redisTemplate.delete(redisTemplate.keys(EVENT_APPLIED_PATTERN));
+    redisTemplate.delete(redisTemplate.keys(CHECKPOINT_RESTORING_PREFIX + "*"));
+  }
+
+  @DisplayName("값이 바뀐 field 만 체크포인트에 반영하고 dirty set 을 비운다.")
+  @Test
+  public void checkpointDirty() throws Exception {
+    // given
+    redisTemplate.delete(redisTemplate.keys(CHECKPOINT_DIRTY_PREFIX + "*"));
+
+    rentalRedisService.addBookRentedCount("jpa", 130, "event:1");
+    rentalRedisService.addBookRentedCount("jpa", 130, "event:2");
+    bookReviewRedisService.addReviewRate(1L, "jpa", 4, "event:10");
+    redisTemplate.opsForHash().put(MONTHLY_RENTED_COUNT, "2023-1", "10");
+    redisTemplate.opsForHash().put(MONTHLY_RENTED_COUNT, "2023-2", "20");
+    redisCheckpointService.markDirty(RedisCheckpointTarget.MONTHLY_RENTED_COUNT, "2023-1");
+
+    // when
+    int count = redisCheckpointService.checkpointDirty();
+
+    // then
+    assertThat(count).isEqualTo(3);
+    assertThat(redisCheckpointRepository.findAll())
+        .extracting("redisKey", "fieldName", "fieldValue")
+        .containsExactlyInAnyOrder(
+            tuple(BOOK_RENTED_COUNT, "jpa", "2.0"),
+            tuple(BOOK_REVIEW_RATE, "1", "4.0"),
+            tuple(MONTHLY_RENTED_COUNT, "2023-1", "10")
+        );
+    assertThat(redisTemplate.hasKey(CHECKPOINT_DIRTY_PREFIX + "{" + BOOK_RENTED_COUNT + "}")).isFalse();
+  }
+
+  @DisplayName("이미 체크포인트가 있는 field 는 값을 갱신하고, redis 에서 지워진 field 는 체크포인트에서도 지운다.")
+  @Test
+  public void checkpointDirtyWithExistingCheckpoint() throws Exception {
+    // given
+    rentalRedisService.addBookRentedCount("jpa", 130, "event:3");
+    rentalRedisService.addBookRentedCount("spring", 130, "event:4");
+    redisCheckpointService.checkpointDirty();
+
+    rentalRedisService.addBookRentedCount("jpa", 130, "event:5");
+    redisTemplate.opsForZSet().remove(BOOK_RENTED_COUNT, "spring");
+    redisCheckpointService.markDirty(RedisCheckpointTarget.BOOK_RENTED_COUNT, "spring");
+
+    // when
+    redisCheckpointService.checkpointDirty();
+
+    // then
+    assertThat(redisCheckpointRepository.findAll())
+        .extracting("redisKey", "fieldName", "fieldValue")
+        .containsExactly(tuple(BOOK_RENTED_COUNT, "jpa", "2.0"));
+  }
+
+  @DisplayName("dirty set 과 관계없이 체크포인트 대상 키 전체를 반영한다.")
+  @Test
+  public void checkpointAll() throws Exception {
+    // given
+    rentalRedisService.addBookRentedCount("jpa", 130, "event:6");
+    redisTemplate.opsForHash().put(MONTHLY_RENTED_COUNT, "2023-1", "10");
+    redisTemplate.delete(redisTemplate.keys(CHECKPOINT_DIRTY_PREFIX + "*"));
+
+    // when
+    redisCheckpointService.checkpointAll();
+
+    // then
+    assertThat(redisCheckpointRepository.findAll())
+        .extracting("redisKey", "fieldName", "fieldValue")
+        .contains(
+            tuple(BOOK_RENTED_COUNT, "jpa", "1.0"),
+            tuple(MONTHLY_RENTED_COUNT, "2023-1", "10")
+        );
+  }
+
+  @DisplayName("redis 를 잃은 뒤 증가한 counter 에 체크포인트 값을 더하여 되돌리고, 다시 실행해도 두 번 더하지 않는다.")
+  @Test
+  public void restoreMissing() throws Exception {
+    // given
+    rentalRedisService.addBookRentedCount("jpa", 130, "event:7");
+    rentalRedisService.addBookRentedCount("jpa", 130, "event:8");
+    redisTemplate.opsForHash().put(MONTHLY_RENTED_COUNT, "2023-1", "10");
+    redisTemplate.opsForHash().put(MONTHLY_RENTED_COUNT, "2023-2", "20");
+    redisCheckpointService.checkpointAll();
+
+    // redis 를 잃은 뒤 복원 전에 대여가 반영된 상황
+    loseRedis();
+    rentalRedisService.addBookRentedCount("jpa", 130, "event:11");
+    redisTemplate.opsForHash().increment(MONTHLY_RENTED_COUNT, "2023-1", 1);
+
+    // when
+    redisCheckpointService.restoreMissing();
+    redisCheckpointService.restoreMissing();
+
+    // then
+    assertThat(redisTemplate.opsForZSet().score(BOOK_RENTED_COUNT, "jpa")).isEqualTo(3.0);
+    assertThat(redisTemplate.opsForHash().get(MONTHLY_RENTED_COUNT, "2023-1")).isEqualTo("11");
+    assertThat(redisTemplate.opsForHash().get(MONTHLY_RENTED_COUNT, "2023-2")).isEqualTo("20");
+  }
+
+  @DisplayName("redis 를 잃은 뒤에는 체크포인트를 남기기 전에 먼저 되돌려, 잃은 뒤 증가한 값으로 체크포인트를 덮어쓰지 않는다.")
+  @Test
+  public void checkpointDirtyAfterRedisLoss() throws Exception {
+    // given
+    rentalRedisService.addBookRentedCount("jpa", 130, "event:12");
+    rentalRedisService.addBookRentedCount("jpa", 130, "event:13");
+    redisCheckpointService.checkpointDirty();
+
+    loseRedis();
+    rentalRedisService.addBookRentedCount("jpa", 130, "event:14");
+
+    // when
+    redisCheckpointService.checkpointDirty();
+
+    // then
+    assertThat(redisCheckpointRepository.findAll())
+        .extracting("redisKey", "fieldName", "fieldValue")
+        .containsExactly(tuple(BOOK_RENTED_COUNT, "jpa", "3.0"));
+  }
+
+  @DisplayName("초기화한 키의 체크포인트를 지운다.")
+  @Test
+  public void deleteCheckpoint() throws Exception {
+    // given
+    rentalRedisService.addBookRentedCount("jpa", 130, "event:9");
+    redisTemplate.opsForHash().put(MONTHLY_RENTED_COUNT, "2023-1", "10");
+    redisCheckpointService.checkpointAll();
+
+    // when
+    redisCheckpointService.deleteCheckpoint(RedisCheckpointTarget.BOOK_RENTED_COUNT);
+
+    // then
+    assertThat(redisCheckpointRepository.findAll())
+        .extracting("redisKey")
+        .doesNotContain(BOOK_RENTED_COUNT)
+        .contains(MONTHLY_RENTED_COUNT);
+  }
+
+  private void loseRedis() {
+    redisTemplate.delete(BOOK_RENTED_COUNT);
+    redisTemplate.delete(redisTemplate.keys(BOOK_RENTED_COUNT + ":*"));
+    redisTemplate.delete(MONTHLY_RENTED_COUNT);
+    redisTemplate.delete(redisTemplate.keys(CHECKPOINT_DIRTY_PREFIX + "*"));
+    redisTemplate.delete(redisTemplate.keys(CHECKPOINT_SYNCED_PREFIX + "*"));
+    redisTemplate.delete(redisTemplate.keys(EVENT_APPLIED_PATTERN));
+  }
+}
@@ -0,0 +1,328 @@
+package com.management.library.service.redis;
+
+import static com.management.library.exception.ErrorCode.BOOK_RENTAL_COUNT_EXCEED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static com.management.library.service.redis.MemberQuotaKey.RENTAL_COUNT;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.exception.RentalException;
+import com.management.library.repository.book.BookRepository;
+import com.management.library.repository.book.BookStatusHistoryRepository;
+import com.management.library.domain.member.MemberCodeSequence;
+import com.management.library.repository.member.MemberCodeSequenceRepository;
+import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.newbook.NewBookRequestRepository;
+import com.management.library.repository.outbox.OutboxEventRepository;
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.service.book.BookService;
+import com.management.library.service.book.dto.BookServiceCreateDto;
+import com.management.library.service.book.dto.BookServiceCreateDto.Response;
+import com.management.library.service.member.MemberService;
+import com.management.library.service.member.dto.MemberServiceCreateDto;
+import com.management.library.service.redis.RedisCircuitBreaker.State;
+import com.management.library.service.redis.dto.MemberRedisStateDto;
+import com.management.library.service.rental.RentalRedisService;
+import com.management.library.service.rental.RentalService;
+import com.management.library.service.rental.dto.RentalBookInfoDto;
+import com.management.library.service.request.RedisRequestService;
+import com.management.library.service.request.newbook.NewBookService;
+import com.management.library.service.request.newbook.dto.NewBookRequestServiceDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+
+@SpringBootTest
+class RedisCircuitBreakerTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private RedisCircuitBreakerRegistry redisCircuitBreakerRegistry;
+  @Autowired
+  private RedisReplayQueue redisReplayQueue;
+  @Autowired
+  private MemberService memberService;
+  @Autowired
+  private BookService bookService;
+  @Autowired
+  private RentalService rentalService;
+  @Autowired
+  private RentalRedisService rentalRedisService;
+  @Autowired
+  private NewBookService newBookService;
+  @Autowired
+  private RedisRequestService redisRequestService;
+  @Autowired
+  private MemberRedisStateService memberRedisStateService;
+  @Autowired
+  private MemberRepository memberRepository;
+  @Autowired
+  private MemberCodeSequenceRepository memberCodeSequenceRepository;
+  @Autowired
+  private BookRepository bookRepository;
+  @Autowired
+  private BookRentalRepository bookRentalRepository;
+  @Autowired
+  private BookStatusHistoryRepository bookStatusHistoryRepository;
+  @Autowired
+  private NewBookRequestRepository newBookRequestRepository;
+  @Autowired
+  private OutboxEventRepository outboxEventRepository;
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+
+  private static final String RENTAL_REDIS_KEY = "rental-count";
+  private static final String PENALTY_MEMBER_KEY = "penalty:";
+  private static final String NEW_BOOK_CACHE_KEY = "book-request-count:";
+  private static final String NEW_BOOK_REQUEST_PREFIX = "book-request-id:";
+
+  @AfterEach
+  void tearDown() {
+    redisCircuitBreakerRegistry.getAll().forEach(RedisCircuitBreaker::reset);
+    redisReplayQueue.replay();
+
+    outboxEventRepository.deleteAllInBatch();
+    bookStatusHistoryRepository.deleteAllInBatch();
+    newBookRequestRepository.deleteAllInBatch();
+    bookRentalRepository.deleteAllInBatch();
+    bookRepository.deleteAllInBatch();
+    memberRepository.deleteAllInBatch();
+    memberCodeSequenceRepository.deleteAllInBatch();
+
+    redisTemplate.delete("memberCode");
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
+    redisTemplate.delete(redisTemplate.keys(PENALTY_MEMBER_KEY + "*"));
+    redisTemplate.delete(redisTemplate.keys(NEW_BOOK_CACHE_KEY + "*"));
+    redisTemplate.delete(redisTemplate.keys(NEW_BOOK_REQUEST_PREFIX + "*"));
+  }
+
+  @DisplayName("최근 호출의 절반 이상이 redis 예외로 실패하면 breaker 가 열리고, 열려 있는 동안에는 redis 를 호출하지 않는다.")
+  @Test
+  public void openAfterFailures() throws Exception {
+    // given
+    RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker("test", new SimpleMeterRegistry());
+
+    for (int i = 0; i < 5; i++) {
+      circuitBreaker.execute(() -> "redis", () -> "fallback");
+    }
+    for (int i = 0; i < 5; i++) {
+      circuitBreaker.execute(() -> {
+        throw new RedisConnectionFailureException("connection refused");
+      }, () -> "fallback");
+    }
+
+    // when
+    String result = circuitBreaker.execute(() -> "redis", () -> "fallback");
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+    assertThat(result).isEqualTo("fallback");
+  }
+
+  @DisplayName("업무 예외는 redis 호출 실패로 기록하지 않고 그대로 던진다.")
+  @Test
+  public void businessExceptionIsNotFailure() throws Exception {
+    // given
+    RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker("test", new SimpleMeterRegistry());
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      assertThatThrownBy(() -> circuitBreaker.run(() -> {
+        throw new RentalException(BOOK_RENTAL_COUNT_EXCEED);
+      }, () -> {
+      })).isInstanceOf(RentalException.class);
+    }
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+  }
+
+  @DisplayName("breaker 가 열려 있으면 대여 가능 권수를 DB 로 확인하고, redis 가 회복되면 쌓인 변경을 반영한다.")
+  @Test
+  public void rentalWithOpenCircuitBreaker() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = createMember();
+    Response book1 = createBook("jpa");
+    Response book2 = createBook("spring");
+    Response book3 = createBook("redis");
+
+    redisCircuitBreakerRegistry.get(RedisCircuitBreakerRegistry.RENTAL).forceOpen();
+    redisCircuitBreakerRegistry.get(RedisCircuitBreakerRegistry.COMMAND_BUFFER).forceOpen();
+
+    // when
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(book1),
+        LocalDate.now());
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(book2),
+        LocalDate.now());
+
+    // then
+    assertThatThrownBy(() -> rentalService.createBookRental(member.getMemberCode(),
+        createRentalData(book3), LocalDate.now()))
+        .isInstanceOf(RentalException.class)
+        .extracting("errorCode")
+        .isEqualTo(BOOK_RENTAL_COUNT_EXCEED);
+    assertThat(rentalRedisService.getMemberRemainRentalCount(member.getMemberCode()))
+        .isEqualTo("0");
+    assertThat(redisTemplate.opsForHash()
+        .get(RENTAL_COUNT.getKey(member.getMemberCode()), member.getMemberCode()))
+        .isNull();
+
+    redisCircuitBreakerRegistry.getAll().forEach(RedisCircuitBreaker::reset);
+    redisReplayQueue.replay();
+
+    assertThat(redisReplayQueue.size()).isZero();
+    assertThat(redisTemplate.opsForHash()
+        .get(RENTAL_COUNT.getKey(member.getMemberCode()), member.getMemberCode()))
+        .isEqualTo("0");
+  }
+
+  @DisplayName("breaker 가 열려 있으면 연체 여부를 DB 의 연체 반납 기록으로 확인한다.")
+  @Test
+  public void checkPenaltyWithOpenCircuitBreaker() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = createMember();
+    Response book = createBook("jpa");
+
+    // 반납 기한을 6일 넘겨 반납한 대여
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(book),
+        LocalDate.now().minusDays(20));
+    rentalService.returnBook(member.getMemberCode(), book.getTitle(), book.getAuthor());
+    redisTemplate.delete(PENALTY_MEMBER_KEY + member.getMemberCode());
+
+    // when
+    redisCircuitBreakerRegistry.get(RedisCircuitBreakerRegistry.RENTAL).forceOpen();
+
+    // then
+    assertThat(rentalRedisService.checkMemberRentalPenalty(member.getMemberCode())).isTrue();
+  }
+
+  @DisplayName("breaker 가 열려 있으면 이번 달 신규 도서 요청 가능 횟수를 DB 로 확인한다.")
+  @Test
+  public void newBookRequestWithOpenCircuitBreaker() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = createMember();
+    NewBookRequestServiceDto.Response request = newBookService.createNewBookRequest(
+        NewBookRequestServiceDto.Request.builder()
+            .requestBookTitle("jpa")
+            .requestContent("content")
+            .build(), member.getMemberCode());
+
+    // when
+    redisCircuitBreakerRegistry.get(RedisCircuitBreakerRegistry.REQUEST).forceOpen();
+
+    // then
+    assertThat(redisRequestService.getNewBookRequestCount(member.getMemberCode()))
+        .isEqualTo("4");
+    redisRequestService.removeBookRequestCache(request.getId());
+  }
+
+  @DisplayName("breaker 가 열려 있으면 여러 회원의 대여 가능 권수, 요청 가능 횟수, 연체 여부를 DB 로 한 번에 계산한다.")
+  @Test
+  public void getMemberStatesWithOpenCircuitBreaker() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member1 = createMember("street1");
+    MemberServiceCreateDto.Response member2 = createMember("street2");
+    Response book = createBook("jpa");
+
+    rentalService.createBookRental(member1.getMemberCode(), createRentalData(book),
+        LocalDate.now());
+    NewBookRequestServiceDto.Response request = newBookService.createNewBookRequest(
+        NewBookRequestServiceDto.Request.builder()
+            .requestBookTitle("jpa")
+            .requestContent("content")
+            .build(), member1.getMemberCode());
+
+    // when
+    redisCircuitBreakerRegistry.get(RedisCircuitBreakerRegistry.MEMBER_STATE).forceOpen();
+    Map<String, MemberRedisStateDto> memberStates = memberRedisStateService.getMemberStates(
+        List.of(member2.getMemberCode(), member1.getMemberCode()));
+
+    // then
+    assertThat(memberStates.values())
+        .extracting("memberCode", "remainManagementRequestCount", "remainNewBookRequestCount",
+            "remainRentalCount", "penalty")
+        .containsExactly(
+            tuple(member2.getMemberCode(), "5", "5", "2", false),
+            tuple(member1.getMemberCode(), "5", "4", "1", false)
+        );
+    redisRequestService.removeBookRequestCache(request.getId());
+  }
+
+  @DisplayName("breaker 가 열려 있으면 DB 의 발급 행을 잠그고 회원 번호를 발급하므로, 동시에 가입해도 같은 번호가 발급되지 않는다.")
+  @Test
+  public void issueMemberCodeWithOpenCircuitBreaker() throws Exception {
+    // given
+    createMember();
+    redisCircuitBreakerRegistry.get(RedisCircuitBreakerRegistry.MEMBER).forceOpen();
+    redisCircuitBreakerRegistry.get(RedisCircuitBreakerRegistry.COMMAND_BUFFER).forceOpen();
+
+    int memberCount = 10;
+    ExecutorService executorService = Executors.newFixedThreadPool(memberCount);
+
+    // when
+    List<Future<MemberServiceCreateDto.Response>> futures = new ArrayList<>();
+    for (int i = 0; i < memberCount; i++) {
+      String street = "street" + i;
+      futures.add(executorService.submit(() -> createMember(street)));
+    }
+
+    List<String> memberCodes = new ArrayList<>();
+    for (Future<MemberServiceCreateDto.Response> future : futures) {
+      memberCodes.add(future.get().getMemberCode());
+    }
+    executorService.shutdown();
+
+    // then
+    assertThat(memberCodes).doesNotHaveDuplicates()
+        .hasSize(memberCount)
+        .allMatch(memberCode -> Long.parseLong(memberCode) > 100000001L);
+    assertThat(memberCodeSequenceRepository.findById(MemberCodeSequence.MEMBER_CODE))
+        .get()
+        .extracting("lastMemberCode")
+        .isEqualTo(100000001L + memberCount);
+  }
+
+  private MemberServiceCreateDto.Response createMember() {
+    return createMember("street");
+  }
+
+  private MemberServiceCreateDto.Response createMember(String street) {
+    return memberService.createMember(MemberServiceCreateDto.Request.builder()
+        .name("kim")
+        .birthdayCode("980101")
+        .legion("legion")
+        .city("city")
+        .street(street)
+        .build());
+  }
+
+  private Response createBook(String title) {
+    return bookService.createNewBook(BookServiceCreateDto.Request.builder()
+        .title(title)
+        .author("park")
+        .publisher("publisher")
+        .publishedYear(2015)
+        .location("location")
+        .typeCode(130)
+        .build());
+  }
+
+  private RentalBookInfoDto createRentalData(Response createdBook) {
+    return RentalBookInfoDto.builder()
+        .bookTitle(createdBook.getTitle())
+        .author(createdBook.getAuthor())
+        .build();
+  }
+}
@@ -0,0 +1,103 @@
+package com.management.library.service.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static com.management.library.service.redis.MemberQuotaKey.RENTAL_COUNT;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.service.rental.RentalRedisService;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class RedisCommandBufferTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private RentalRedisService rentalRedisService;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+
+  private static final String RENTAL_REDIS_KEY = "rental-count";
+  private static final String PENALTY_MEMBER_KEY = "penalty:";
+  private static final String MEMBER_CODE = "100000001";
+
+  @AfterEach
+  void tearDown() {
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
+    redisTemplate.delete(PENALTY_MEMBER_KEY + MEMBER_CODE);
+  }
+
+  @DisplayName("트랜잭션 안에서 요청한 redis 명령은 커밋된 뒤에 반영된다.")
+  @Test
+  public void executeAfterCommit() throws Exception {
+    // given
+    redisTemplate.opsForHash().put(RENTAL_COUNT.getKey(MEMBER_CODE), MEMBER_CODE, "1");
+
+    // when
+    String remainCountInTransaction = transactionTemplate.execute(status -> {
+      rentalRedisService.addMemberRentalBookCount(MEMBER_CODE);
+      rentalRedisService.addMemberOverdueData(MEMBER_CODE, 3, LocalDate.now().plusDays(3));
+      return rentalRedisService.getMemberRemainRentalCount(MEMBER_CODE);
+    });
+
+    // then
+    assertThat(remainCountInTransaction).isEqualTo("1");
+    assertThat(rentalRedisService.getMemberRemainRentalCount(MEMBER_CODE)).isEqualTo("2");
+    assertThat(rentalRedisService.checkMemberRentalPenalty(MEMBER_CODE)).isTrue();
+  }
+
+  @DisplayName("트랜잭션이 롤백되면 모아 둔 redis 명령은 버려지고, 롤백 시 되돌릴 명령이 실행된다.")
+  @Test
+  public void discardOnRollback() throws Exception {
+    // given
+    redisTemplate.opsForHash().put(RENTAL_COUNT.getKey(MEMBER_CODE), MEMBER_CODE, "2");
+
+    // when
+    transactionTemplate.executeWithoutResult(status -> {
+      rentalRedisService.checkMemberRentalBookCount(MEMBER_CODE);
+      rentalRedisService.addMemberOverdueData(MEMBER_CODE, 3, LocalDate.now().plusDays(3));
+      status.setRollbackOnly();
+    });
+
+    // then
+    assertThat(rentalRedisService.getMemberRemainRentalCount(MEMBER_CODE)).isEqualTo("2");
+    assertThat(rentalRedisService.checkMemberRentalPenalty(MEMBER_CODE)).isFalse();
+  }
+
+  @DisplayName("트랜잭션 안에서 예외가 발생해도 차감된 도서 대여 가능 수가 되돌려진다.")
+  @Test
+  public void compensateOnException() throws Exception {
+    // given
+    redisTemplate.opsForHash().put(RENTAL_COUNT.getKey(MEMBER_CODE), MEMBER_CODE, "2");
+
+    // when
+    // then
+    assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+      rentalRedisService.checkMemberRentalBookCount(MEMBER_CODE);
+      throw new IllegalStateException();
+    })).isInstanceOf(IllegalStateException.class);
+
+    assertThat(rentalRedisService.getMemberRemainRentalCount(MEMBER_CODE)).isEqualTo("2");
+  }
+
+  @DisplayName("트랜잭션 밖에서 요청한 redis 명령은 바로 반영된다.")
+  @Test
+  public void executeWithoutTransaction() throws Exception {
+    // given
+    redisTemplate.opsForHash().put(RENTAL_COUNT.getKey(MEMBER_CODE), MEMBER_CODE, "1");
+
+    // when
+    rentalRedisService.addMemberRentalBookCount(MEMBER_CODE);
+
+    // then
+    assertThat(rentalRedisService.getMemberRemainRentalCount(MEMBER_CODE)).isEqualTo("2");
+  }
+}
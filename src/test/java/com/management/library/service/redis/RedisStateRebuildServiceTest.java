@@ -0,0 +1,235 @@
+package com.management.library.service.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.repository.book.BookRepository;
+import com.management.library.repository.book.BookStatusHistoryRepository;
+import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.newbook.NewBookRequestRepository;
+import com.management.library.repository.outbox.OutboxEventRepository;
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.service.book.BookService;
+import com.management.library.service.book.dto.BookServiceCreateDto;
+import com.management.library.service.book.dto.BookServiceCreateDto.Response;
+import com.management.library.service.member.MemberService;
+import com.management.library.service.member.dto.MemberServiceCreateDto;
+import com.management.library.service.rental.RentalRedisService;
+import com.management.library.service.rental.RentalService;
+import com.management.library.service.rental.dto.RentalBookInfoDto;
+import com.management.library.service.request.newbook.NewBookService;
+import com.management.library.service.request.newbook.dto.NewBookRequestServiceDto;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+@SpringBootTest
+class RedisStateRebuildServiceTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private RedisStateRebuildService redisStateRebuildService;
+  @Autowired
+  private MemberService memberService;
+  @Autowired
+  private BookService bookService;
+  @Autowired
+  private RentalService rentalService;
+  @Autowired
+  private RentalRedisService rentalRedisService;
+  @Autowired
+  private NewBookService newBookService;
+  @Autowired
+  private MemberRepository memberRepository;
+  @Autowired
+  private BookRepository bookRepository;
+  @Autowired
+  private BookRentalRepository bookRentalRepository;
+  @Autowired
+  private BookStatusHistoryRepository bookStatusHistoryRepository;
+  @Autowired
+  private NewBookRequestRepository newBookRequestRepository;
+  @Autowired
+  private OutboxEventRepository outboxEventRepository;
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+
+  private static final String RENTAL_REDIS_KEY = "rental-count";
+  private static final String PENALTY_MEMBER_KEY = "penalty:";
+  private static final String BOOK_RENTED_COUNT = "book-rented-count";
+  private static final String NEW_BOOK_CACHE_KEY = "book-request-count:";
+  private static final String NEW_BOOK_REQUEST_PREFIX = "book-request-id:";
+
+  @AfterEach
+  void tearDown() {
+    outboxEventRepository.deleteAllInBatch();
+    bookStatusHistoryRepository.deleteAllInBatch();
+    newBookRequestRepository.deleteAllInBatch();
+    bookRentalRepository.deleteAllInBatch();
+    bookRepository.deleteAllInBatch();
+    memberRepository.deleteAllInBatch();
+
+    redisTemplate.delete("memberCode");
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
+    redisTemplate.delete(BOOK_RENTED_COUNT);
+    redisTemplate.delete(redisTemplate.keys(BOOK_RENTED_COUNT + ":*"));
+    redisTemplate.delete(redisTemplate.keys(PENALTY_MEMBER_KEY + "*"));
+    redisTemplate.delete(redisTemplate.keys(NEW_BOOK_CACHE_KEY + "*"));
+    redisTemplate.delete(redisTemplate.keys(NEW_BOOK_REQUEST_PREFIX + "*"));
+  }
+
+  @DisplayName("dryRun 으로 실행하면 DB 와 다른 값의 수만 반환하고 redis 는 바꾸지 않는다.")
+  @Test
+  public void rebuildMemberStatesWithDryRun() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = createMember();
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(createBook("jpa")),
+        LocalDate.now());
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
+
+    // when
+    long mismatchCount = redisStateRebuildService.rebuildMemberStates(1L, Long.MAX_VALUE, true);
+
+    // then
+    assertThat(mismatchCount).isEqualTo(1L);
+    assertThat(redisTemplate.keys(RENTAL_REDIS_KEY + ":*")).isEmpty();
+  }
+
+  @DisplayName("회원별 대여 가능 권수와 연체 정보를 DB 의 대여 기록으로 다시 만든다.")
+  @Test
+  public void rebuildMemberStates() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = createMember();
+    Response book1 = createBook("jpa");
+    Response book2 = createBook("spring");
+
+    // 반납 기한을 6일 넘겨 반납한 대여
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(book1),
+        LocalDate.now().minusDays(20));
+    rentalService.returnBook(member.getMemberCode(), book1.getTitle(), book1.getAuthor());
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(book2),
+        LocalDate.now());
+
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
+    redisTemplate.delete(PENALTY_MEMBER_KEY + member.getMemberCode());
+
+    // when
+    long mismatchCount = redisStateRebuildService.rebuildMemberStates(1L, Long.MAX_VALUE, false);
+
+    // then
+    assertThat(mismatchCount).isEqualTo(2L);
+    assertThat(rentalRedisService.getMemberRemainRentalCount(member.getMemberCode()))
+        .isEqualTo("1");
+    assertThat(redisTemplate.opsForValue().get(PENALTY_MEMBER_KEY + member.getMemberCode()))
+        .isEqualTo(LocalDate.now().plusDays(6).toString());
+    assertThat(redisStateRebuildService.rebuildMemberStates(1L, Long.MAX_VALUE, true))
+        .isZero();
+  }
+
+  @DisplayName("도서 대여 순위와 분류 구간별 대여 순위를 DB 의 대여 기록으로 다시 만든다.")
+  @Test
+  public void rebuildBookStates() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = createMember();
+    Response book = createBook("jpa");
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(book),
+        LocalDate.now());
+
+    redisTemplate.opsForZSet().add(BOOK_RENTED_COUNT, "jpa", 10);
+
+    // when
+    long mismatchCount = redisStateRebuildService.rebuildBookStates(1L, Long.MAX_VALUE, false);
+
+    // then
+    assertThat(mismatchCount).isEqualTo(2L);
+    assertThat(redisTemplate.opsForZSet().score(BOOK_RENTED_COUNT, "jpa")).isEqualTo(1.0);
+    assertThat(redisTemplate.opsForZSet().score(BOOK_RENTED_COUNT + ":type:{13}", "jpa"))
+        .isEqualTo(1.0);
+  }
+
+  @DisplayName("저자가 다른 같은 제목의 도서가 범위 밖에 있어도 제목별 전체 대여 횟수로 대여 순위를 다시 만든다.")
+  @Test
+  public void rebuildBookStatesWithSameTitle() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = createMember();
+    Response book1 = createBook("jpa", "park");
+    Response book2 = createBook("jpa", "kim");
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(book1),
+        LocalDate.now());
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(book2),
+        LocalDate.now());
+
+    redisTemplate.delete(BOOK_RENTED_COUNT);
+    redisTemplate.delete(BOOK_RENTED_COUNT + ":type:{13}");
+
+    // when
+    redisStateRebuildService.rebuildBookStates(book1.getId(), book1.getId(), false);
+
+    // then
+    assertThat(redisTemplate.opsForZSet().score(BOOK_RENTED_COUNT, "jpa")).isEqualTo(2.0);
+    assertThat(redisTemplate.opsForZSet().score(BOOK_RENTED_COUNT + ":type:{13}", "jpa"))
+        .isEqualTo(2.0);
+    assertThat(redisStateRebuildService.rebuildBookStates(book2.getId(), book2.getId(), true))
+        .isZero();
+  }
+
+  @DisplayName("답변을 기다리는 신규 도서 요청만 답변 중복 방지 키를 가지도록 다시 만든다.")
+  @Test
+  public void rebuildNewBookRequestStates() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = createMember();
+    NewBookRequestServiceDto.Response request = newBookService.createNewBookRequest(
+        NewBookRequestServiceDto.Request.builder()
+            .requestBookTitle("jpa")
+            .requestContent("content")
+            .build(), member.getMemberCode());
+
+    Long requestId = request.getId();
+    redisTemplate.delete(NEW_BOOK_REQUEST_PREFIX + requestId);
+    redisTemplate.opsForValue().set(NEW_BOOK_REQUEST_PREFIX + (requestId + 1), "");
+
+    // when
+    long mismatchCount = redisStateRebuildService.rebuildNewBookRequestStates(requestId,
+        requestId + 1, false);
+
+    // then
+    assertThat(mismatchCount).isEqualTo(2L);
+    assertThat(redisTemplate.hasKey(NEW_BOOK_REQUEST_PREFIX + requestId)).isTrue();
+    assertThat(redisTemplate.hasKey(NEW_BOOK_REQUEST_PREFIX + (requestId + 1))).isFalse();
+  }
+
+  private MemberServiceCreateDto.Response createMember() {
+    return memberService.createMember(MemberServiceCreateDto.Request.builder()
+        .name("kim")
+        .birthdayCode("980101")
+        .legion("legion")
+        .city("city")
+        .street("street")
+        .build());
+  }
+
+  private Response createBook(String title) {
+    return createBook(title, "park");
+  }
+
+  private Response createBook(String title, String author) {
+    return bookService.createNewBook(BookServiceCreateDto.Request.builder()
+        .title(title)
+        .author(author)
+        .publisher("publisher")
+        .publishedYear(2015)
+        .location("location")
+        .typeCode(130)
+        .build());
+  }
+
+  private RentalBookInfoDto createRentalData(Response createdBook) {
+    return RentalBookInfoDto.builder()
+        .bookTitle(createdBook.getTitle())
+        .author(createdBook.getAuthor())
+        .build();
+  }
+}
@@ -0,0 +1,279 @@
+package com.management.library.service.reminder;
+
+import static com.management.library.domain.type.ExtendStatus.AVAILABLE;
+import static com.management.library.domain.type.RentalStatus.OVERDUE;
+import static com.management.library.domain.type.RentalStatus.PROCEEDING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.batch.DueReminderJobConfiguration;
+import com.management.library.domain.book.Book;
+import com.management.library.domain.book.BookInfo;
+import com.management.library.domain.member.Address;
+import com.management.library.domain.member.Member;
+import com.management.library.domain.rental.Rental;
+import com.management.library.domain.type.Authority;
+import com.management.library.domain.type.BookStatus;
+import com.management.library.domain.type.RentalStatus;
+import com.management.library.repository.book.BookRepository;
+import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.repository.reminder.DueReminderRepository;
+import com.management.library.service.reminder.dto.DueReminderDto;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// 범위 경계를 확인할 수 있도록 한 번에 3개의 대여만 읽는다.
+@SpringBootTest(properties = "due-reminder.chunk-size=3")
+class DueReminderJobTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private JobLauncher jobLauncher;
+  @Autowired
+  private JobRepository jobRepository;
+  @Autowired
+  private Job dueReminderJob;
+  @Autowired
+  private DueReminderSink dueReminderSink;
+  @Autowired
+  private DueReminderRepository dueReminderRepository;
+  @Autowired
+  private BookRentalRepository bookRentalRepository;
+  @Autowired
+  private MemberRepository memberRepository;
+  @Autowired
+  private BookRepository bookRepository;
+
+  @AfterEach
+  void tearDown() {
+    dueReminderRepository.deleteAllInBatch();
+    bookRentalRepository.deleteAllInBatch();
+    memberRepository.deleteAllInBatch();
+    bookRepository.deleteAllInBatch();
+  }
+
+  @DisplayName("반납 기한이 2일 남은 대여 중인 대여를 회원별로 묶어 알림을 기록한다.")
+  @Test
+  public void runDueReminderJob() throws Exception {
+    // given
+    Member member1 = createMember("100000001");
+    Member member2 = createMember("100000002");
+    Member member3 = createMember("100000003");
+    memberRepository.saveAll(List.of(member1, member2, member3));
+
+    Book book1 = createBook("jpa");
+    Book book2 = createBook("spring");
+    Book book3 = createBook("docker");
+    Book book4 = createBook("redis");
+    bookRepository.saveAll(List.of(book1, book2, book3, book4));
+
+    LocalDate reminderDate = LocalDate.of(2023, 7, 19);
+    LocalDate dueDate = reminderDate.plusDays(2);
+
+    bookRentalRepository.saveAll(List.of(
+        createRental(book1, member1, PROCEEDING, dueDate),
+        createRental(book2, member1, PROCEEDING, dueDate),
+        createRental(book3, member2, PROCEEDING, dueDate),
+        createRental(book4, member3, PROCEEDING, dueDate.plusDays(1)),
+        createRental(book4, member3, OVERDUE, dueDate)
+    ));
+
+    // when
+    JobExecution jobExecution = jobLauncher.run(dueReminderJob, new JobParametersBuilder()
+        .addString(DueReminderJobConfiguration.REMINDER_DATE, reminderDate.toString())
+        .toJobParameters());
+
+    // then
+    assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+    assertThat(dueReminderRepository.findByDueDateOrderByMemberIdAsc(dueDate))
+        .extracting("memberCode", "bookCount", "bookTitles")
+        .containsExactly(
+            tuple("100000001", 2, "jpa, spring"),
+            tuple("100000002", 1, "docker")
+        );
+  }
+
+  @DisplayName("한 회원의 대여가 두 범위에 나뉘어 읽혀도 회원별 알림은 모든 대여를 담아 한 번씩 기록된다.")
+  @Test
+  public void runDueReminderJobAcrossChunks() throws Exception {
+    // given
+    Member member1 = createMember("100000001");
+    Member member2 = createMember("100000002");
+    Member member3 = createMember("100000003");
+    Member member4 = createMember("100000004");
+    memberRepository.saveAll(List.of(member1, member2, member3, member4));
+
+    List<Book> books = createBooks("jpa", "spring", "docker", "redis", "kafka", "mysql", "java");
+    bookRepository.saveAll(books);
+
+    LocalDate reminderDate = LocalDate.of(2023, 7, 18);
+    LocalDate dueDate = reminderDate.plusDays(2);
+
+    // 첫 범위는 member2 의 첫 대여에서, 두 번째 범위는 member3 의 대여에서 끝난다.
+    bookRentalRepository.saveAll(List.of(
+        createRental(books.get(0), member1, PROCEEDING, dueDate),
+        createRental(books.get(1), member1, PROCEEDING, dueDate),
+        createRental(books.get(2), member2, PROCEEDING, dueDate),
+        createRental(books.get(3), member2, PROCEEDING, dueDate),
+        createRental(books.get(4), member3, PROCEEDING, dueDate),
+        createRental(books.get(5), member4, PROCEEDING, dueDate),
+        createRental(books.get(6), member4, PROCEEDING, dueDate)
+    ));
+
+    // when
+    JobExecution jobExecution = jobLauncher.run(dueReminderJob, new JobParametersBuilder()
+        .addString(DueReminderJobConfiguration.REMINDER_DATE, reminderDate.toString())
+        .toJobParameters());
+
+    // then
+    assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+    assertThat(dueReminderRepository.findByDueDateOrderByMemberIdAsc(dueDate))
+        .extracting("memberCode", "bookCount", "bookTitles")
+        .containsExactly(
+            tuple("100000001", 2, "jpa, spring"),
+            tuple("100000002", 2, "docker, redis"),
+            tuple("100000003", 1, "kafka"),
+            tuple("100000004", 2, "mysql, java")
+        );
+  }
+
+  @DisplayName("실패한 작업을 같은 reminderDate 로 다시 실행하면 기록을 마친 회원 다음부터 이어서 기록한다.")
+  @Test
+  public void resumeDueReminderJob() throws Exception {
+    // given
+    Member member1 = createMember("100000001");
+    Member member2 = createMember("100000002");
+    Member member3 = createMember("100000003");
+    Member member4 = createMember("100000004");
+    memberRepository.saveAll(List.of(member1, member2, member3, member4));
+
+    List<Book> books = createBooks("jpa", "spring", "docker", "redis");
+    bookRepository.saveAll(books);
+
+    LocalDate reminderDate = LocalDate.of(2023, 7, 20);
+    LocalDate dueDate = reminderDate.plusDays(2);
+
+    bookRentalRepository.saveAll(List.of(
+        createRental(books.get(0), member1, PROCEEDING, dueDate),
+        createRental(books.get(1), member2, PROCEEDING, dueDate),
+        createRental(books.get(2), member3, PROCEEDING, dueDate),
+        createRental(books.get(3), member4, PROCEEDING, dueDate)
+    ));
+
+    JobParameters parameters = new JobParametersBuilder()
+        .addString(DueReminderJobConfiguration.REMINDER_DATE, reminderDate.toString())
+        .toJobParameters();
+    saveFailedExecution(parameters, member2.getId());
+
+    // when
+    JobExecution jobExecution = jobLauncher.run(dueReminderJob, parameters);
+
+    // then
+    assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+    assertThat(dueReminderRepository.findByDueDateOrderByMemberIdAsc(dueDate))
+        .extracting("memberCode")
+        .containsExactly("100000003", "100000004");
+  }
+
+  @DisplayName("같은 회원과 반납 기한의 알림은 여러 번 기록해도 한 번만 저장된다.")
+  @Test
+  public void writeReminderTwice() throws Exception {
+    // given
+    LocalDate dueDate = LocalDate.of(2023, 7, 21);
+    DueReminderDto reminder = DueReminderDto.builder()
+        .memberId(1L)
+        .memberCode("100000001")
+        .dueDate(dueDate)
+        .bookTitles(List.of("jpa"))
+        .build();
+
+    // when
+    dueReminderSink.write(List.of(reminder));
+    dueReminderSink.write(List.of(reminder));
+
+    // then
+    assertThat(dueReminderRepository.findByDueDateOrderByMemberIdAsc(dueDate)).hasSize(1);
+  }
+
+  // writtenMemberId 회원까지 기록한 뒤 실패한 실행을 저장한다.
+  private void saveFailedExecution(JobParameters parameters, Long writtenMemberId)
+      throws Exception {
+    JobExecution failedExecution = jobRepository.createJobExecution("dueReminderJob",
+        parameters);
+
+    StepExecution failedStep = failedExecution.createStepExecution("dueReminderStep");
+    failedStep.getExecutionContext()
+        .putLong(DueReminderJobConfiguration.WRITTEN_MEMBER_ID, writtenMemberId);
+    failedStep.setStatus(BatchStatus.FAILED);
+    failedStep.setEndTime(new Date());
+    jobRepository.add(failedStep);
+
+    failedExecution.setStatus(BatchStatus.FAILED);
+    failedExecution.setEndTime(new Date());
+    jobRepository.update(failedExecution);
+  }
+
+  private List<Book> createBooks(String... titles) {
+    return Arrays.stream(titles)
+        .map(this::createBook)
+        .collect(Collectors.toList());
+  }
+
+  private Rental createRental(Book book, Member member, RentalStatus rentalStatus,
+      LocalDate dueDate) {
+    return Rental.builder()
+        .book(book)
+        .member(member)
+        .rentalStatus(rentalStatus)
+        .rentalStartDate(dueDate.minusDays(14))
+        .rentalEndDate(dueDate)
+        .extendStatus(AVAILABLE)
+        .build();
+  }
+
+  private Book createBook(String title) {
+    return Book.builder()
+        .bookInfo(BookInfo.builder()
+            .title(title)
+            .author("kim")
+            .publisher("publisher")
+            .location("location")
+            .publishedYear(2017)
+            .build())
+        .bookStatus(BookStatus.AVAILABLE)
+        .typeCode(130)
+        .build();
+  }
+
+  private Member createMember(String memberCode) {
+    return Member.builder()
+        .name("kim")
+        .birthdayCode("980101")
+        .memberCode(memberCode)
+        .address(Address.builder()
+            .legion("경상남도")
+            .city("김해시")
+            .street("삼계로")
+            .build())
+        .password("1234")
+        .authority(Authority.ROLE_MEMBER)
+        .build();
+  }
+}
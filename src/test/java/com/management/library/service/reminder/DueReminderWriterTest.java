@@ -0,0 +1,67 @@
+package com.management.library.service.reminder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.management.library.service.reminder.dto.DueReminderDto;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DueReminderWriterTest {
+
+  private static final LocalDate DUE_DATE = LocalDate.of(2023, 7, 21);
+
+  @DisplayName("큐에 넣은 알림 묶음을 순서대로 기록하고, 기록을 마친 마지막 회원 id 를 남긴다.")
+  @Test
+  public void writeInOrder() throws Exception {
+    // given
+    List<Long> writtenMemberIds = new CopyOnWriteArrayList<>();
+    DueReminderWriter writer = new DueReminderWriter(reminders ->
+        reminders.forEach(reminder -> writtenMemberIds.add(reminder.getMemberId())), 1, 0L);
+
+    // when
+    for (long memberId = 1L; memberId <= 5L; memberId++) {
+      writer.submit(List.of(createReminder(memberId)), memberId);
+    }
+    writer.awaitCompletion();
+
+    // then
+    assertThat(writtenMemberIds).containsExactly(1L, 2L, 3L, 4L, 5L);
+    assertThat(writer.getWrittenMemberId()).isEqualTo(5L);
+  }
+
+  @DisplayName("sink 가 실패하면 다음 묶음을 넣거나 완료를 기다릴 때 예외가 발생하고, 기록을 마친 회원 id 는 바뀌지 않는다.")
+  @Test
+  public void writeWithSinkFailure() throws Exception {
+    // given
+    DueReminderWriter writer = new DueReminderWriter(reminders -> {
+      throw new IllegalStateException("sink failed");
+    }, 1, 10L);
+
+    // when
+    writer.submit(List.of(createReminder(11L)), 11L);
+
+    // then
+    assertThatThrownBy(() -> {
+      writer.submit(List.of(createReminder(12L)), 12L);
+      writer.awaitCompletion();
+    })
+        .isInstanceOf(IllegalStateException.class)
+        .hasRootCauseMessage("sink failed");
+    assertThat(writer.getWrittenMemberId()).isEqualTo(10L);
+
+    writer.close();
+  }
+
+  private DueReminderDto createReminder(long memberId) {
+    return DueReminderDto.builder()
+        .memberId(memberId)
+        .memberCode(String.valueOf(100000000L + memberId))
+        .dueDate(DUE_DATE)
+        .bookTitles(List.of("jpa"))
+        .build();
+  }
+}
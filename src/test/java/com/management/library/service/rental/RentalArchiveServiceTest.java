@@ -0,0 +1,227 @@
+package com.management.library.service.rental;
+
+import static com.management.library.domain.type.RentalStatus.PROCEEDING;
+import static com.management.library.domain.type.RentalStatus.RETURNED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.controller.dto.BookRentalSearchCond;
+import com.management.library.repository.book.BookRepository;
+import com.management.library.repository.book.BookStatusHistoryRepository;
+import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.outbox.OutboxEventRepository;
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.repository.rental.RentalArchiveRepository;
+import com.management.library.repository.review.BookReviewRepository;
+import com.management.library.service.book.BookService;
+import com.management.library.service.book.dto.BookServiceCreateDto;
+import com.management.library.service.member.MemberService;
+import com.management.library.service.member.dto.MemberServiceCreateDto;
+import com.management.library.service.rental.dto.RentalBookInfoDto;
+import com.management.library.service.rental.dto.RentalServiceResponseDto;
+import com.management.library.service.review.BookReviewService;
+import com.management.library.service.review.dto.BookReviewServiceDto;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+@SpringBootTest
+class RentalArchiveServiceTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private RentalArchiveService rentalArchiveService;
+  @Autowired
+  private RentalService rentalService;
+  @Autowired
+  private MemberService memberService;
+  @Autowired
+  private BookService bookService;
+  @Autowired
+  private BookReviewService bookReviewService;
+  @Autowired
+  private MemberRepository memberRepository;
+  @Autowired
+  private BookRepository bookRepository;
+  @Autowired
+  private BookRentalRepository bookRentalRepository;
+  @Autowired
+  private RentalArchiveRepository rentalArchiveRepository;
+  @Autowired
+  private BookReviewRepository bookReviewRepository;
+  @Autowired
+  private BookStatusHistoryRepository bookStatusHistoryRepository;
+  @Autowired
+  private OutboxEventRepository outboxEventRepository;
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+
+  private static final int ARCHIVE_LIMIT = 1000;
+  private static final String RENTAL_REDIS_KEY = "rental-count";
+  private static final String BOOK_RENTED_COUNT = "book-rented-count";
+  private static final String BOOK_CACHE_PREFIX = "book::";
+  private static final String STATISTICS_PREFIX = "statistics:";
+
+  @AfterEach
+  void tearDown() {
+    outboxEventRepository.deleteAllInBatch();
+    bookStatusHistoryRepository.deleteAllInBatch();
+    bookReviewRepository.deleteAllInBatch();
+    bookRentalRepository.deleteAllInBatch();
+    rentalArchiveRepository.deleteAllInBatch();
+    memberRepository.deleteAllInBatch();
+    bookRepository.deleteAllInBatch();
+
+    redisTemplate.delete("memberCode");
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
+    redisTemplate.delete(BOOK_RENTED_COUNT);
+    redisTemplate.delete(redisTemplate.keys(BOOK_RENTED_COUNT + ":*"));
+    redisTemplate.delete(redisTemplate.keys(BOOK_CACHE_PREFIX + "*"));
+    redisTemplate.delete(redisTemplate.keys(STATISTICS_PREFIX + "*"));
+  }
+
+  @DisplayName("기준 시각 이전에 반납된 대여 기록만 rentals_archive 로 옮긴다.")
+  @Test
+  public void archiveReturnedRentals() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = createMember();
+    LocalDate rentedDate = LocalDate.now();
+
+    rentAndReturn(member.getMemberCode(), createBook("jpa"), rentedDate);
+    rentAndReturn(member.getMemberCode(), createBook("spring"), rentedDate);
+    rentalService.createBookRental(member.getMemberCode(),
+        createRentalData(createBook("redis")), rentedDate);
+
+    // when
+    int archivedCount = rentalArchiveService.archiveReturnedRentals(
+        LocalDateTime.now().plusMinutes(1L), ARCHIVE_LIMIT);
+    int notArchivedCount = rentalArchiveService.archiveReturnedRentals(
+        LocalDateTime.now().minusDays(1L), ARCHIVE_LIMIT);
+
+    // then
+    assertThat(archivedCount).isEqualTo(2);
+    assertThat(notArchivedCount).isZero();
+    assertThat(bookRentalRepository.findAll()).hasSize(1)
+        .extracting("rentalStatus")
+        .containsExactly(PROCEEDING);
+    assertThat(rentalArchiveRepository.findAll()).hasSize(2)
+        .extracting("rentalStatus", "rentalStartDate")
+        .containsExactly(
+            tuple(RETURNED, rentedDate),
+            tuple(RETURNED, rentedDate)
+        );
+  }
+
+  @DisplayName("옮긴 대여 기록은 rentals 의 기록 앞에 이어서 회원 대여 기록으로 조회된다.")
+  @Test
+  public void getMemberRentalDataWithArchive() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = createMember();
+    LocalDate rentedDate = LocalDate.now();
+
+    rentAndReturn(member.getMemberCode(), createBook("jpa"), rentedDate);
+    rentAndReturn(member.getMemberCode(), createBook("spring"), rentedDate);
+    rentAndReturn(member.getMemberCode(), createBook("redis"), rentedDate);
+    rentalArchiveService.archiveReturnedRentals(LocalDateTime.now().plusMinutes(1L),
+        ARCHIVE_LIMIT);
+
+    rentalService.createBookRental(member.getMemberCode(),
+        createRentalData(createBook("kafka")), rentedDate);
+
+    BookRentalSearchCond cond = new BookRentalSearchCond();
+
+    // when
+    Page<RentalServiceResponseDto> firstPage = rentalService.getMemberRentalData(cond,
+        member.getMemberCode(), PageRequest.of(0, 3));
+    Page<RentalServiceResponseDto> secondPage = rentalService.getMemberRentalData(cond,
+        member.getMemberCode(), PageRequest.of(1, 3));
+
+    cond.setRentalStatus(PROCEEDING);
+    Page<RentalServiceResponseDto> proceeding = rentalService.getMemberRentalData(cond,
+        member.getMemberCode(), PageRequest.of(0, 3));
+
+    // then
+    assertThat(firstPage.getTotalElements()).isEqualTo(4L);
+    assertThat(firstPage.getContent())
+        .extracting("bookName", "rentalStatus")
+        .containsExactly(
+            tuple("jpa", RETURNED),
+            tuple("spring", RETURNED),
+            tuple("redis", RETURNED)
+        );
+    assertThat(secondPage.getContent())
+        .extracting("bookName", "rentalStatus")
+        .containsExactly(tuple("kafka", PROCEEDING));
+    assertThat(proceeding.getContent())
+        .extracting("bookName")
+        .containsExactly("kafka");
+  }
+
+  @DisplayName("반납 기록이 rentals_archive 로 옮겨진 도서에도 리뷰를 작성할 수 있다.")
+  @Test
+  public void createReviewWithArchivedRental() throws Exception {
+    // given
+    MemberServiceCreateDto.Response member = createMember();
+    BookServiceCreateDto.Response book = createBook("jpa");
+
+    rentAndReturn(member.getMemberCode(), book, LocalDate.now());
+    rentalArchiveService.archiveReturnedRentals(LocalDateTime.now().plusMinutes(1L),
+        ARCHIVE_LIMIT);
+
+    BookReviewServiceDto.Request reviewRequest = BookReviewServiceDto.Request.builder()
+        .reviewTitle("review")
+        .reviewContent("content")
+        .reviewRate(5)
+        .build();
+
+    // when
+    BookReviewServiceDto.Response review = bookReviewService.createReview(book.getTitle(),
+        reviewRequest, member.getMemberCode());
+
+    // then
+    assertThat(review)
+        .extracting("reviewTitle", "reviewRate")
+        .containsExactly("review", 5);
+  }
+
+  private void rentAndReturn(String memberCode, BookServiceCreateDto.Response book,
+      LocalDate rentedDate) {
+    rentalService.createBookRental(memberCode, createRentalData(book), rentedDate);
+    rentalService.returnBook(memberCode, book.getTitle(), book.getAuthor());
+  }
+
+  private MemberServiceCreateDto.Response createMember() {
+    return memberService.createMember(MemberServiceCreateDto.Request.builder()
+        .name("kim")
+        .birthdayCode("980101")
+        .legion("경상남도")
+        .city("김해시")
+        .street("삼계로")
+        .build());
+  }
+
+  private BookServiceCreateDto.Response createBook(String title) {
+    return bookService.createNewBook(BookServiceCreateDto.Request.builder()
+        .title(title)
+        .author("park")
+        .publisher("publisher")
+        .publishedYear(2015)
+        .location("location")
+        .typeCode(130)
+        .build());
+  }
+
+  private RentalBookInfoDto createRentalData(BookServiceCreateDto.Response book) {
+    return RentalBookInfoDto.builder()
+        .bookTitle(book.getTitle())
+        .author(book.getAuthor())
+        .build();
+  }
+}
@@ -3,6 +3,7 @@ package com.management.library.service.rental;
 import static com.management.library.exception.ErrorCode.BOOK_RENTAL_COUNT_EXCEED;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static com.management.library.service.redis.MemberQuotaKey.RENTAL_COUNT;
 
 import com.management.library.AbstractContainerBaseTest;
 import com.management.library.exception.RentalException;
@@ -27,7 +28,7 @@ class RentalRedisServiceTest extends AbstractContainerBaseTest {
 
   @AfterEach
   void tearDown() {
-    redisTemplate.delete(RENTAL_REDIS_KEY);
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
     redisTemplate.delete(PENALTY_MEMBER_KEY + "100000001");
   }
 
@@ -40,7 +41,7 @@ class RentalRedisServiceTest extends AbstractContainerBaseTest {
     // when
     redisService.checkMemberRentalBookCount(memberCode);
     String remainCount = String.valueOf(
-        redisTemplate.opsForHash().get(RENTAL_REDIS_KEY, memberCode));
+        redisTemplate.opsForHash().get(RENTAL_COUNT.getKey(memberCode), memberCode));
 
     // then
     assertThat(remainCount).isEqualTo("1");
@@ -120,7 +121,7 @@ class RentalRedisServiceTest extends AbstractContainerBaseTest {
 
     // then
     String rentalCount = String.valueOf(
-        redisTemplate.opsForHash().get(RENTAL_REDIS_KEY, memberCode));
+        redisTemplate.opsForHash().get(RENTAL_COUNT.getKey(memberCode), memberCode));
 
     assertThat(rentalCount).isEqualTo("1");
   }
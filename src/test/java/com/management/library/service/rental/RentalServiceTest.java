@@ -14,6 +14,7 @@ import static com.management.library.exception.ErrorCode.UNABLE_TO_BOOK_RENTAL;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
+import static com.management.library.service.redis.MemberQuotaKey.RENTAL_COUNT;
 
 import com.management.library.AbstractContainerBaseTest;
 import com.management.library.domain.book.Book;
@@ -23,12 +24,16 @@ import com.management.library.domain.type.ExtendStatus;
 import com.management.library.controller.dto.BookRentalSearchCond;
 import com.management.library.exception.RentalException;
 import com.management.library.repository.book.BookRepository;
+import com.management.library.repository.book.BookStatusHistoryRepository;
 import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.outbox.OutboxEventRepository;
 import com.management.library.repository.rental.BookRentalRepository;
 import com.management.library.service.book.BookService;
 import com.management.library.service.book.dto.BookServiceCreateDto;
 import com.management.library.service.book.dto.BookServiceCreateDto.Request;
 import com.management.library.service.book.dto.BookServiceCreateDto.Response;
+import com.management.library.service.event.LibraryEventConsumer;
+import com.management.library.service.event.OutboxRelayService;
 import com.management.library.service.member.MemberService;
 import com.management.library.service.member.dto.MemberServiceCreateDto;
 import com.management.library.service.rental.dto.RentalBookInfoDto;
@@ -38,7 +43,6 @@ import com.management.library.service.rental.dto.ReturnBookResponseDto;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,6 +50,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 
 @SpringBootTest
@@ -59,6 +65,10 @@ class RentalServiceTest extends AbstractContainerBaseTest {
   @Autowired
   private BookRentalRepository bookRentalRepository;
   @Autowired
+  private OutboxEventRepository outboxEventRepository;
+  @Autowired
+  private BookStatusHistoryRepository bookStatusHistoryRepository;
+  @Autowired
   private MemberService memberService;
   @Autowired
   private BookService bookService;
@@ -67,25 +77,47 @@ class RentalServiceTest extends AbstractContainerBaseTest {
   @Autowired
   private RedisTemplate<String, String> redisTemplate;
   @Autowired
+  private OutboxRelayService outboxRelayService;
+  @Autowired
+  private LibraryEventConsumer libraryEventConsumer;
+  @Autowired
   private RentalRedisService redisService;
 
   private static final String RENTAL_REDIS_KEY = "rental-count";
   private static final String PENALTY_MEMBER_KEY = "penalty:";
   private static final String BOOK_RENTED_COUNT = "book-rented-count";
-
-  @AfterEach
+  private static final String STATISTICS_PREFIX = "statistics:";
+  private static final String MONTHLY_RENTED_COUNT = "monthly-rented-count";
+  private static final String MONTHLY_REVIEW_COUNT = "monthly-review-count";
+  private static final String YEARLY_RENTED_COUNT = "yearly-rented-count";
+  private static final String YEARLY_REVIEW_COUNT = "yearly-review-count";
+  private static final String EVENT_STREAM_KEY = "library-events";
+  private static final String EVENT_APPLIED_PATTERN = "*:applied:*";
+
+  // 롤백될 때 실행되는 redis 명령까지 정리할 수 있도록 테스트 트랜잭션이 끝난 뒤 정리한다.
+  @AfterTransaction
   void tearDown() {
+    outboxEventRepository.deleteAllInBatch();
+    bookStatusHistoryRepository.deleteAllInBatch();
     bookRentalRepository.deleteAllInBatch();
     memberRepository.deleteAllInBatch();
     bookRepository.deleteAllInBatch();
 
-    redisTemplate.delete(RENTAL_REDIS_KEY);
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
     redisTemplate.delete(BOOK_RENTED_COUNT);
+    redisTemplate.delete(redisTemplate.keys(BOOK_RENTED_COUNT + ":*"));
 
     for (int i = 1; i < 100; i++) {
       String keyCode = String.valueOf(100000000 + i);
       redisTemplate.delete(PENALTY_MEMBER_KEY + keyCode);
     }
+    redisTemplate.delete(redisTemplate.keys(STATISTICS_PREFIX + "*"));
+    redisTemplate.delete(MONTHLY_RENTED_COUNT);
+    redisTemplate.delete(MONTHLY_REVIEW_COUNT);
+    redisTemplate.delete(YEARLY_RENTED_COUNT);
+    redisTemplate.delete(YEARLY_REVIEW_COUNT);
+    redisTemplate.delete(EVENT_STREAM_KEY);
+    redisTemplate.delete(redisTemplate.keys(EVENT_APPLIED_PATTERN));
   }
 
   @DisplayName("도서에 대한 대여를 등록할 수 있다.")
@@ -106,10 +138,12 @@ class RentalServiceTest extends AbstractContainerBaseTest {
     LocalDate rentedDate = LocalDate.now();
     RentalServiceResponseDto rental = rentalService.createBookRental(
         createdMember.getMemberCode(), bookInfo, rentedDate);
+    publishAndConsumeEvents();
 
     // then
     String memberRentalCount = String.valueOf(
-        redisTemplate.opsForHash().get(RENTAL_REDIS_KEY, createdMember.getMemberCode()));
+        redisTemplate.opsForHash().get(RENTAL_COUNT.getKey(createdMember.getMemberCode()),
+            createdMember.getMemberCode()));
 
     Double score = redisTemplate.opsForZSet().score(BOOK_RENTED_COUNT, bookInfo.getBookTitle());
 
@@ -414,11 +448,13 @@ class RentalServiceTest extends AbstractContainerBaseTest {
     // when
     ReturnBookResponseDto returnResult = rentalService.returnBook(
         createdMember.getMemberCode(), bookInfo.getBookTitle(), bookInfo.getAuthor());
+    commitTransaction();
 
     // then
     Book book = bookRepository.findByTitleAndAuthor("jpa", "park").get();
     String memberRentalCount = String.valueOf(
-        redisTemplate.opsForHash().get(RENTAL_REDIS_KEY, createdMember.getMemberCode()));
+        redisTemplate.opsForHash().get(RENTAL_COUNT.getKey(createdMember.getMemberCode()),
+            createdMember.getMemberCode()));
 
     assertThat(book.getBookStatus()).isEqualTo(BookStatus.AVAILABLE);
     assertThat(memberRentalCount).isEqualTo("2");
@@ -453,11 +489,13 @@ class RentalServiceTest extends AbstractContainerBaseTest {
     // when
     ReturnBookResponseDto returnResult = rentalService.returnBook(
         createdMember.getMemberCode(), bookInfo.getBookTitle(), bookInfo.getAuthor());
+    commitTransaction();
 
     // then
     Book book = bookRepository.findByTitleAndAuthor("jpa", "park").get();
     String memberRentalCount = String.valueOf(
-        redisTemplate.opsForHash().get(RENTAL_REDIS_KEY, createdMember.getMemberCode()));
+        redisTemplate.opsForHash().get(RENTAL_COUNT.getKey(createdMember.getMemberCode()),
+            createdMember.getMemberCode()));
 
     boolean penalty = redisService.checkMemberRentalPenalty(createdMember.getMemberCode());
 
@@ -506,15 +544,18 @@ class RentalServiceTest extends AbstractContainerBaseTest {
     // when
     rentalService.returnBook(createdMember.getMemberCode(), bookInfo1.getBookTitle(),
         bookInfo1.getAuthor());
+    commitTransaction();
 
     ReturnBookResponseDto returnResult = rentalService.returnBook(
         createdMember.getMemberCode(), bookInfo2.getBookTitle(), bookInfo2.getAuthor());
+    commitTransaction();
 
     // then
     Book book1 = bookRepository.findByTitleAndAuthor("jpa", "park").get();
     Book book2 = bookRepository.findByTitleAndAuthor("jpa2", "park").get();
     String memberRentalCount = String.valueOf(
-        redisTemplate.opsForHash().get(RENTAL_REDIS_KEY, createdMember.getMemberCode()));
+        redisTemplate.opsForHash().get(RENTAL_COUNT.getKey(createdMember.getMemberCode()),
+            createdMember.getMemberCode()));
 
     boolean penalty = redisService.checkMemberRentalPenalty(createdMember.getMemberCode());
 
@@ -753,6 +794,7 @@ class RentalServiceTest extends AbstractContainerBaseTest {
     rentalService.createBookRental(member.getMemberCode(), rentalData2, rentedDate);
 
     rentalService.returnBook(member.getMemberCode(), rentalData2.getBookTitle(), rentalData2.getAuthor());
+    commitTransaction();
 
     rentalService.createBookRental(member.getMemberCode(), rentalData3, rentedDate);
 
@@ -802,6 +844,7 @@ class RentalServiceTest extends AbstractContainerBaseTest {
     rentalService.createBookRental(member.getMemberCode(), rentalData2, rentedDate);
 
     rentalService.returnBook(member.getMemberCode(), rentalData2.getBookTitle(), rentalData2.getAuthor());
+    commitTransaction();
 
     rentalService.createBookRental(member.getMemberCode(), rentalData3, rentedDate);
 
@@ -851,6 +894,7 @@ class RentalServiceTest extends AbstractContainerBaseTest {
     rentalService.createBookRental(member.getMemberCode(), rentalData2, rentedDate);
 
     rentalService.returnBook(member.getMemberCode(), rentalData2.getBookTitle(), rentalData2.getAuthor());
+    commitTransaction();
 
     rentalService.createBookRental(member.getMemberCode(), rentalData3, rentedDate);
 
@@ -902,4 +946,16 @@ class RentalServiceTest extends AbstractContainerBaseTest {
         .build();
   }
 
-}
\ No newline at end of file
+  // outbox 에 쌓인 이벤트를 Stream 으로 발행하고 모든 소비자 그룹에서 처리한다.
+  // 반납이 커밋된 뒤 반영되는 redis 명령을 확인할 수 있도록 테스트 트랜잭션을 커밋하고 새로 시작한다.
+  private void commitTransaction() {
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+    TestTransaction.start();
+  }
+
+  private void publishAndConsumeEvents() {
+    outboxRelayService.relay();
+    libraryEventConsumer.consumeAll();
+  }
+}
@@ -1,16 +1,23 @@
 package com.management.library.service.request;
 
+import static com.management.library.config.SchedulerConfiguration.SCHEDULE_ZONE;
 import static com.management.library.exception.ErrorCode.MANAGEMENT_REQUEST_COUNT_EXCEEDED;
 import static com.management.library.exception.ErrorCode.NEW_BOOK_REQUEST_COUNT_EXCEEDED;
 import static com.management.library.exception.ErrorCode.REPLY_ALREADY_EXISTS;
+import static com.management.library.service.redis.MemberQuotaKey.MANAGEMENT_REQUEST_COUNT;
+import static com.management.library.service.redis.MemberQuotaKey.NEW_BOOK_REQUEST_COUNT;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.assertj.core.api.Assertions.entry;
 
 import com.management.library.AbstractContainerBaseTest;
 import com.management.library.exception.InvalidAccessException;
 import com.management.library.exception.RequestLimitExceededException;
-import java.util.Map;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -26,15 +33,12 @@ class RedisRequestServiceTest extends AbstractContainerBaseTest {
   private RedisTemplate<String, String> redisTemplate;
   @Autowired
   private RedisRequestService redisManagementRequestService;
-  private static final String MANAGEMENT_CACHE_KEY = "management-request-count:";
-  private static final String NEW_BOOK_CACHE_KEY = "book-request-count:";
   private static final String NEW_BOOK_REQUEST_PREFIX = "book-request-id:";
   private static final String MANAGEMENT_REQUEST_PREFIX = "management-request-id:";
 
   @AfterEach
   void tearDown() {
-    redisManagementRequestService.deleteCache(MANAGEMENT_CACHE_KEY);
-    redisManagementRequestService.deleteCache(NEW_BOOK_CACHE_KEY);
+    redisManagementRequestService.deleteRequestCounts(YearMonth.now(SCHEDULE_ZONE));
     redisManagementRequestService.deleteCache(NEW_BOOK_REQUEST_PREFIX + 1L);
     redisManagementRequestService.deleteCache(MANAGEMENT_REQUEST_PREFIX + 1L);
   }
@@ -45,7 +49,8 @@ class RedisRequestServiceTest extends AbstractContainerBaseTest {
     // given
     // when
     redisManagementRequestService.checkManagementRequestCount("1000001");
-    String result = (String) redisTemplate.opsForHash().get(MANAGEMENT_CACHE_KEY, "1000001");
+    String result = (String) redisTemplate.opsForHash()
+        .get(MANAGEMENT_REQUEST_COUNT.getKey("1000001"), "1000001");
 
     // then
     assertThat(result).isEqualTo("4");
@@ -60,15 +65,12 @@ class RedisRequestServiceTest extends AbstractContainerBaseTest {
     redisManagementRequestService.checkManagementRequestCount("1000002");
     redisManagementRequestService.checkManagementRequestCount("1000003");
 
-    Map<Object, Object> entries = redisTemplate.opsForHash().entries(MANAGEMENT_CACHE_KEY);
+    List<Object> counts = Stream.of("1000001", "1000002", "1000003")
+        .map(memberCode -> redisTemplate.opsForHash().get(MANAGEMENT_REQUEST_COUNT.getKey(memberCode), memberCode))
+        .collect(Collectors.toList());
 
     // then
-    assertThat(entries).hasSize(3);
-    assertThat(entries).contains(
-        entry("1000001", "4"),
-        entry("1000002", "4"),
-        entry("1000003", "4")
-    );
+    assertThat(counts).containsExactly("4", "4", "4");
   }
 
   @DisplayName("하나의 key에 대해 5번 카운트를 내린 상태에서 다시 카운트를 내리려고 하면 예외가 발생한다.")
@@ -95,7 +97,8 @@ class RedisRequestServiceTest extends AbstractContainerBaseTest {
     // given
     // when
     redisManagementRequestService.checkNewBookRequestCount("1000001");
-    String result = (String) redisTemplate.opsForHash().get(NEW_BOOK_CACHE_KEY, "1000001");
+    String result = (String) redisTemplate.opsForHash()
+        .get(NEW_BOOK_REQUEST_COUNT.getKey("1000001"), "1000001");
 
     // then
     assertThat(result).isEqualTo("4");
@@ -110,15 +113,12 @@ class RedisRequestServiceTest extends AbstractContainerBaseTest {
     redisManagementRequestService.checkNewBookRequestCount("1000002");
     redisManagementRequestService.checkNewBookRequestCount("1000003");
 
-    Map<Object, Object> entries = redisTemplate.opsForHash().entries(NEW_BOOK_CACHE_KEY);
+    List<Object> counts = Stream.of("1000001", "1000002", "1000003")
+        .map(memberCode -> redisTemplate.opsForHash().get(NEW_BOOK_REQUEST_COUNT.getKey(memberCode), memberCode))
+        .collect(Collectors.toList());
 
     // then
-    assertThat(entries).hasSize(3);
-    assertThat(entries).contains(
-        entry("1000001", "4"),
-        entry("1000002", "4"),
-        entry("1000003", "4")
-    );
+    assertThat(counts).containsExactly("4", "4", "4");
   }
 
   @DisplayName("하나의 key에 대해 5번 카운트를 내린 상태에서 다시 카운트를 내리려고 하면 예외가 발생한다.")
@@ -139,6 +139,39 @@ class RedisRequestServiceTest extends AbstractContainerBaseTest {
         );
   }
 
+  @DisplayName("요청 가능 횟수는 이번 달의 bucket 키에 저장되며 다음 달이 시작된 뒤 만료된다.")
+  @Test
+  public void requestCountKeyExpiresNextMonth() {
+    // given
+    YearMonth thisMonth = YearMonth.now(SCHEDULE_ZONE);
+    String key = MANAGEMENT_REQUEST_COUNT.getKey("1000001");
+
+    // when
+    redisManagementRequestService.checkManagementRequestCount("1000001");
+
+    // then
+    assertThat(key).startsWith("management-request-count:" + thisMonth.format(
+        DateTimeFormatter.ofPattern("yyyyMM")) + ":{");
+    assertThat(MANAGEMENT_REQUEST_COUNT.getKeys(thisMonth)).contains(key);
+    assertThat(redisTemplate.getExpire(key, TimeUnit.DAYS))
+        .isBetween(0L, (long) thisMonth.lengthOfMonth() + 1);
+  }
+
+  @DisplayName("해당 달의 요청 가능 횟수 키를 모두 지울 수 있다.")
+  @Test
+  public void deleteRequestCounts() {
+    // given
+    redisManagementRequestService.checkManagementRequestCount("1000001");
+    redisManagementRequestService.checkNewBookRequestCount("1000002");
+
+    // when
+    redisManagementRequestService.deleteRequestCounts(YearMonth.now(SCHEDULE_ZONE));
+
+    // then
+    assertThat(redisTemplate.keys("management-request-count:*")).isEmpty();
+    assertThat(redisTemplate.keys("book-request-count:*")).isEmpty();
+  }
+
   @DisplayName("신간 도서 요청 id로 캐시를 만들 수 있다.")
   @Test
   public void addBookRequestCache() {
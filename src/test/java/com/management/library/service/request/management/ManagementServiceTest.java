@@ -1,5 +1,6 @@
 package com.management.library.service.request.management;
 
+import static com.management.library.config.SchedulerConfiguration.SCHEDULE_ZONE;
 import static com.management.library.domain.type.RequestStatus.ACCEPTED;
 import static com.management.library.domain.type.RequestStatus.AWAIT;
 import static com.management.library.domain.type.RequestStatus.REFUSED;
@@ -20,6 +21,7 @@ import com.management.library.service.member.dto.MemberServiceCreateDto;
 import com.management.library.service.request.RedisRequestService;
 import com.management.library.service.request.management.dto.ManagementRequestServiceDto.Request;
 import com.management.library.service.request.management.dto.ManagementRequestServiceDto.Response;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
@@ -45,12 +47,11 @@ class ManagementServiceTest extends AbstractContainerBaseTest {
   private ManagementRequestRepository managementRequestRepository;
   @Autowired
   private RedisRequestService redisRequestService;
-  private static final String KEY = "management-request-count:";
   private static final String MANAGEMENT_REQUEST_PREFIX = "management-request-id:";
 
   @AfterEach
   void tearDown() {
-    redisRequestService.deleteCache(KEY);
+    redisRequestService.deleteRequestCounts(YearMonth.now(SCHEDULE_ZONE));
 
     for (int i = 0; i < 100; i++){
       redisRequestService.deleteCache(MANAGEMENT_REQUEST_PREFIX + i);
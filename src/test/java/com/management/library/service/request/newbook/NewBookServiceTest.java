@@ -1,5 +1,6 @@
 package com.management.library.service.request.newbook;
 
+import static com.management.library.config.SchedulerConfiguration.SCHEDULE_ZONE;
 import static com.management.library.domain.type.RequestStatus.ACCEPTED;
 import static com.management.library.domain.type.RequestStatus.AWAIT;
 import static com.management.library.domain.type.RequestStatus.REFUSED;
@@ -20,6 +21,7 @@ import com.management.library.repository.newbook.NewBookRequestRepository;
 import com.management.library.service.member.MemberService;
 import com.management.library.service.member.dto.MemberServiceCreateDto;
 import com.management.library.service.request.RedisRequestService;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
@@ -45,12 +47,11 @@ class NewBookServiceTest extends AbstractContainerBaseTest {
   private NewBookRequestRepository newBookRequestRepository;
   @Autowired
   private RedisRequestService redisRequestService;
-  private static final String NEW_BOOK_CACHE_KEY = "book-request-count:";
   private static final String NEW_BOOK_REQUEST_PREFIX = "book-request-id:";
 
   @AfterEach
   void tearDown() {
-    redisRequestService.deleteCache(NEW_BOOK_CACHE_KEY);
+    redisRequestService.deleteRequestCounts(YearMonth.now(SCHEDULE_ZONE));
 
     for (int i = 1; i < 100; i++){
       redisRequestService.deleteCache(NEW_BOOK_REQUEST_PREFIX + i);
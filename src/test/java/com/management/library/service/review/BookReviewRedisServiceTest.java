@@ -1,8 +1,13 @@
 package com.management.library.service.review;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import com.management.library.AbstractContainerBaseTest;
+import com.management.library.service.review.dto.BookReviewRateCountDto;
+import com.management.library.service.review.dto.BookReviewRateDto;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,86 +25,143 @@ class BookReviewRedisServiceTest extends AbstractContainerBaseTest {
 
   private static final String REVIEW_CACHE_PREFIX = "review-member:";
   private static final String BOOK_REVIEW_RATE = "book-review-rate";
-  private static final String BOOK_REVIEW_COUNT = "book-review-count";
+  private static final String BOOK_REVIEW_STAT_PREFIX = "book-review-stat:";
+  private static final String EVENT_APPLIED_PATTERN = "*:applied:*";
 
   @AfterEach
   void tearDown(){
     redisTemplate.delete(BOOK_REVIEW_RATE);
-    redisTemplate.delete(BOOK_REVIEW_COUNT);
-    redisTemplate.delete(REVIEW_CACHE_PREFIX + "1000001");
+    redisTemplate.delete(redisTemplate.keys(BOOK_REVIEW_STAT_PREFIX + "*"));
+    redisTemplate.delete(redisTemplate.keys(REVIEW_CACHE_PREFIX + "*"));
+    redisTemplate.delete(redisTemplate.keys(EVENT_APPLIED_PATTERN));
   }
 
-  @DisplayName("회원이 리뷰한 어떤 도서에 대해 캐싱을 할 수 있다.")
+  @DisplayName("리뷰 중복 확인용으로 사용하던 회원별 리뷰 캐시를 모두 삭제할 수 있다.")
   @Test
-  public void addReviewCache() throws Exception {
+  public void deleteLegacyReviewCaches() throws Exception {
     // given
-    String memberCode = "1000001";
-    String bookName = "book";
+    for (int i = 1; i <= 5; i++) {
+      redisTemplate.opsForHash().put(REVIEW_CACHE_PREFIX + (1000000 + i), "book" + i, "1");
+    }
 
     // when
-    bookReviewRedisService.addReviewCache(memberCode, bookName);
+    long result = bookReviewRedisService.deleteLegacyReviewCaches(2);
 
     // then
-    String result = String.valueOf(
-        redisTemplate.opsForHash().get(REVIEW_CACHE_PREFIX + memberCode, bookName));
-
-    assertThat(result).isNotNull();
-    assertThat(result).isEqualTo("1");
+    assertThat(result).isEqualTo(5L);
+    assertThat(redisTemplate.keys(REVIEW_CACHE_PREFIX + "*")).isEmpty();
   }
 
-  @DisplayName("회원이 특정 도서에 리뷰를 남겼는지 확인할 수 있다.")
+  @DisplayName("도서에 대한 평점을 도서 id 기준으로 저장할 수 있다.")
   @Test
-  public void checkReviewCache() throws Exception {
+  public void addReviewRate() throws Exception {
     // given
-    String memberCode = "1000001";
-    String bookName = "book";
-
-    bookReviewRedisService.addReviewCache(memberCode, bookName);
+    Long bookId = 1L;
+    String bookTitle = "book1";
+    int rate = 5;
 
     // when
+    bookReviewRedisService.addReviewRate(bookId, bookTitle, rate, "event:1");
+
     // then
-    assertThat(bookReviewRedisService.getReviewCache(memberCode, bookName)).isTrue();
+    Map<Object, Object> stat = redisTemplate.opsForHash()
+        .entries(BOOK_REVIEW_STAT_PREFIX + "{" + bookId + "}");
+    Double score = redisTemplate.opsForZSet().score(BOOK_REVIEW_RATE, String.valueOf(bookId));
+
+    assertThat(stat)
+        .containsEntry("title", bookTitle)
+        .containsEntry("sum", "5")
+        .containsEntry("count", "1")
+        .containsEntry("rate-5", "1");
+    assertThat(score).isEqualTo(5.0);
   }
 
-  @DisplayName("도서에 대한 평점을 계산하여 저장할 수 있다.")
+  @DisplayName("도서에 대한 여러 개의 평점을 반올림 없이 누적하고, 평균은 조회 시점에 계산한다.")
   @Test
-  public void addReviewRate() throws Exception {
+  public void addReviewRateWithMultipleRate() throws Exception {
     // given
+    Long bookId = 1L;
     String bookTitle = "book1";
-    int rate = 5;
 
     // when
-    bookReviewRedisService.addReviewRate(bookTitle, rate);
+    bookReviewRedisService.addReviewRate(bookId, bookTitle, 5, "event:2");
+    bookReviewRedisService.addReviewRate(bookId, bookTitle, 4, "event:3");
+    bookReviewRedisService.addReviewRate(bookId, bookTitle, 2, "event:4");
 
     // then
-    String count = String.valueOf(redisTemplate.opsForHash().get(BOOK_REVIEW_COUNT, bookTitle));
-    Double score = redisTemplate.opsForZSet().score(BOOK_REVIEW_RATE, bookTitle);
-
-    assertThat(count).isNotNull()
-        .isEqualTo("1");
-    assertThat(score).isEqualTo(5.0);
+    List<BookReviewRateDto> result = bookReviewRedisService.getReviewRates(List.of(bookId));
+
+    assertThat(result).hasSize(1);
+    assertThat(result.get(0))
+        .extracting("bookId", "bookTitle", "rateSum", "reviewCount")
+        .contains(1L, "book1", 11L, 3L);
+    assertThat(result.get(0).getRateHistogram()).containsExactly(0L, 1L, 0L, 1L, 1L);
+    assertThat(result.get(0).calculateAverageRate()).isEqualTo(3.67);
   }
 
-  @DisplayName("도서에 대한 여러 개의 평점을 계산하여 저장할 수 있다.")
+  @DisplayName("같은 이름의 도서라도 도서 id 가 다르면 평점이 따로 저장된다.")
   @Test
-  public void addReviewRateWithMultipleRate() throws Exception {
+  public void addReviewRateWithSameTitle() throws Exception {
     // given
     String bookTitle = "book1";
-    int rate1 = 5;
-    int rate2 = 4;
-    int rate3 = 2;
 
     // when
-    bookReviewRedisService.addReviewRate(bookTitle, rate1);
-    bookReviewRedisService.addReviewRate(bookTitle, rate2);
-    bookReviewRedisService.addReviewRate(bookTitle, rate3);
+    bookReviewRedisService.addReviewRate(1L, bookTitle, 5, "event:5");
+    bookReviewRedisService.addReviewRate(2L, bookTitle, 1, "event:6");
 
     // then
-    String count = String.valueOf(redisTemplate.opsForHash().get(BOOK_REVIEW_COUNT, bookTitle));
-    Double score = redisTemplate.opsForZSet().score(BOOK_REVIEW_RATE, bookTitle);
+    List<BookReviewRateDto> result = bookReviewRedisService.getReviewRates(List.of(1L, 2L));
+
+    assertThat(result).hasSize(2)
+        .extracting("bookId", "rateSum", "reviewCount")
+        .containsExactly(
+            tuple(1L, 5L, 1L),
+            tuple(2L, 1L, 1L)
+        );
+  }
 
-    assertThat(count).isNotNull()
-        .isEqualTo("3");
-    assertThat(score).isEqualTo(3.67);
+  @DisplayName("평점 통계만 반영된 채 순위 반영이 실패한 리뷰 등록 이벤트를 다시 처리하면 평점은 더하지 않고 순위만 다시 쓴다.")
+  @Test
+  public void addReviewRateWithSameEvent() throws Exception {
+    // given
+    bookReviewRedisService.addReviewRate(1L, "book1", 4, "event:8");
+    redisTemplate.delete(BOOK_REVIEW_RATE);
+
+    // when
+    bookReviewRedisService.addReviewRate(1L, "book1", 4, "event:8");
+
+    // then
+    Map<Object, Object> stat = redisTemplate.opsForHash()
+        .entries(BOOK_REVIEW_STAT_PREFIX + "{1}");
+
+    assertThat(stat)
+        .containsEntry("sum", "4")
+        .containsEntry("count", "1");
+    assertThat(redisTemplate.opsForZSet().score(BOOK_REVIEW_RATE, "1")).isEqualTo(4.0);
+  }
+
+  @DisplayName("DB 에서 집계한 평점 통계로 redis 의 평점 통계를 덮어쓸 수 있다.")
+  @Test
+  public void rebuildReviewRates() throws Exception {
+    // given
+    bookReviewRedisService.addReviewRate(1L, "book1", 1, "event:7");
+
+    BookReviewRateDto reviewRate = BookReviewRateDto.of(List.of(
+        new BookReviewRateCountDto(1L, "book1", 5, 2L),
+        new BookReviewRateCountDto(1L, "book1", 4, 1L)
+    ));
+
+    // when
+    bookReviewRedisService.rebuildReviewRates(List.of(reviewRate));
+
+    // then
+    List<BookReviewRateDto> result = bookReviewRedisService.getReviewRates(List.of(1L));
+    Double score = redisTemplate.opsForZSet().score(BOOK_REVIEW_RATE, "1");
+
+    assertThat(result.get(0))
+        .extracting("rateSum", "reviewCount")
+        .contains(14L, 3L);
+    assertThat(result.get(0).getRateHistogram()).containsExactly(0L, 0L, 0L, 1L, 2L);
+    assertThat(score).isEqualTo(14.0 / 3);
   }
-}
\ No newline at end of file
+}
@@ -7,15 +7,23 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
 
 import com.management.library.AbstractContainerBaseTest;
+import com.management.library.domain.book.Book;
+import com.management.library.domain.book.BookReview;
+import com.management.library.domain.member.Member;
 import com.management.library.exception.DuplicateException;
 import com.management.library.exception.NoSuchElementExistsException;
 import com.management.library.repository.book.BookRepository;
+import com.management.library.repository.book.BookStatusHistoryRepository;
 import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.outbox.OutboxEventRepository;
 import com.management.library.repository.rental.BookRentalRepository;
 import com.management.library.repository.review.BookReviewRepository;
 import com.management.library.service.book.BookService;
 import com.management.library.service.book.dto.BookServiceCreateDto;
 import com.management.library.service.book.dto.BookServiceCreateDto.Response;
+import com.management.library.service.book.dto.BookServiceResponseDto;
+import com.management.library.service.event.LibraryEventConsumer;
+import com.management.library.service.event.OutboxRelayService;
 import com.management.library.service.member.MemberService;
 import com.management.library.service.member.dto.MemberServiceCreateDto;
 import com.management.library.service.member.dto.MemberServiceCreateDto.Request;
@@ -25,18 +33,29 @@ import com.management.library.service.rental.dto.RentalServiceResponseDto;
 import com.management.library.service.review.dto.BookReviewDetailDto;
 import com.management.library.service.review.dto.BookReviewOverviewDto;
 import com.management.library.service.review.dto.BookReviewServiceDto;
+import com.management.library.service.review.dto.BookReviewSummaryDto;
 import com.management.library.service.review.dto.BookReviewUpdateDto;
 import java.time.LocalDate;
 import java.util.List;
-import org.junit.jupiter.api.AfterEach;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @SpringBootTest
 @Transactional
@@ -59,18 +78,42 @@ class BookReviewServiceTest extends AbstractContainerBaseTest {
   private BookRepository bookRepository;
   @Autowired
   private BookRentalRepository bookRentalRepository;
+  @Autowired
+  private OutboxEventRepository outboxEventRepository;
+  @Autowired
+  private BookStatusHistoryRepository bookStatusHistoryRepository;
 
   @Autowired
   private RedisTemplate<String, String> redisTemplate;
+  @Autowired
+  private OutboxRelayService outboxRelayService;
+  @Autowired
+  private LibraryEventConsumer libraryEventConsumer;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+  @Autowired
+  private CacheManager cacheManager;
 
   private static final String RENTAL_REDIS_KEY = "rental-count";
   private static final String BOOK_RENTED_COUNT = "book-rented-count";
-  private static final String REVIEW_CACHE_PREFIX = "review-member:";
   private static final String BOOK_REVIEW_RATE = "book-review-rate";
-  private static final String BOOK_REVIEW_COUNT = "book-review-count";
-
-  @AfterEach
+  private static final String BOOK_REVIEW_STAT_PREFIX = "book-review-stat:";
+  private static final String BOOK_CACHE = "book";
+  private static final String BOOK_CACHE_PREFIX = "book::";
+  private static final String STATISTICS_PREFIX = "statistics:";
+  private static final String MONTHLY_RENTED_COUNT = "monthly-rented-count";
+  private static final String MONTHLY_REVIEW_COUNT = "monthly-review-count";
+  private static final String YEARLY_RENTED_COUNT = "yearly-rented-count";
+  private static final String YEARLY_REVIEW_COUNT = "yearly-review-count";
+  private static final String EVENT_STREAM_KEY = "library-events";
+  private static final String EVENT_APPLIED_PATTERN = "*:applied:*";
+  private static final long CONCURRENT_COMMIT_DELAY_MILLIS = 500L;
+
+  // 롤백될 때 실행되는 redis 명령까지 정리할 수 있도록 테스트 트랜잭션이 끝난 뒤 정리한다.
+  @AfterTransaction
   void tearDown() {
+    outboxEventRepository.deleteAllInBatch();
+    bookStatusHistoryRepository.deleteAllInBatch();
     bookReviewRepository.deleteAllInBatch();
     bookRentalRepository.deleteAllInBatch();
     memberRepository.deleteAllInBatch();
@@ -78,14 +121,18 @@ class BookReviewServiceTest extends AbstractContainerBaseTest {
 
     redisTemplate.delete("memberCode");
     redisTemplate.delete(BOOK_REVIEW_RATE);
-    redisTemplate.delete(RENTAL_REDIS_KEY);
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
     redisTemplate.delete(BOOK_RENTED_COUNT);
-    redisTemplate.delete(BOOK_REVIEW_COUNT);
-
-    for (int i = 1; i < 100; i++) {
-      String keyCode = String.valueOf(100000000 + i);
-      redisTemplate.delete(REVIEW_CACHE_PREFIX + keyCode);
-    }
+    redisTemplate.delete(redisTemplate.keys(BOOK_RENTED_COUNT + ":*"));
+    redisTemplate.delete(redisTemplate.keys(BOOK_REVIEW_STAT_PREFIX + "*"));
+    redisTemplate.delete(redisTemplate.keys(BOOK_CACHE_PREFIX + "*"));
+    redisTemplate.delete(redisTemplate.keys(STATISTICS_PREFIX + "*"));
+    redisTemplate.delete(MONTHLY_RENTED_COUNT);
+    redisTemplate.delete(MONTHLY_REVIEW_COUNT);
+    redisTemplate.delete(YEARLY_RENTED_COUNT);
+    redisTemplate.delete(YEARLY_REVIEW_COUNT);
+    redisTemplate.delete(EVENT_STREAM_KEY);
+    redisTemplate.delete(redisTemplate.keys(EVENT_APPLIED_PATTERN));
   }
 
   @DisplayName("도서에 대한 리뷰를 등록할 수 있다.")
@@ -106,6 +153,7 @@ class BookReviewServiceTest extends AbstractContainerBaseTest {
 
     rentalService.returnBook(member.getMemberCode(), bookRequest.getTitle(),
         bookRequest.getAuthor());
+    commitTransaction();
 
     BookReviewServiceDto.Request reviewRequest = createReviewRequest("review", "reviewContent", 5);
 
@@ -121,6 +169,48 @@ class BookReviewServiceTest extends AbstractContainerBaseTest {
         );
   }
 
+  @DisplayName("리뷰를 등록하면 캐시된 도서 상세 정보의 리뷰 요약 정보가 갱신된다.")
+  @Test
+  public void createReviewWithCachedBookData() throws Exception {
+    // given
+    Request memberRequest = createMemberRequest("kim", "980101", "legion", "city", "street");
+    MemberServiceCreateDto.Response member = memberService.createMember(memberRequest);
+
+    BookServiceCreateDto.Request bookRequest = createBookRequest("book1", "park", "publisher", 2015,
+        "location", 130);
+    Response newBook = bookService.createNewBook(bookRequest);
+
+    RentalBookInfoDto rentalData = createRentalData(newBook);
+    LocalDate rentedDate = LocalDate.now().minusDays(2);
+    rentalService.createBookRental(member.getMemberCode(), rentalData, rentedDate);
+
+    rentalService.returnBook(member.getMemberCode(), bookRequest.getTitle(),
+        bookRequest.getAuthor());
+    commitTransaction();
+
+    BookServiceResponseDto cachedBookData = bookService.getBookData(newBook.getId());
+    BookReviewServiceDto.Request reviewRequest = createReviewRequest("review", "reviewContent", 4);
+
+    // when
+    BookReviewServiceDto.Response review = bookReviewService.createReview("book1", reviewRequest,
+        member.getMemberCode());
+    publishAndConsumeEvents();
+    BookServiceResponseDto bookData = bookService.getBookData(newBook.getId());
+
+    // then
+    assertThat(cachedBookData.getReviewSummary().getReviewCount()).isZero();
+
+    BookReviewSummaryDto reviewSummary = bookData.getReviewSummary();
+    assertThat(reviewSummary)
+        .extracting("reviewCount", "rateSum", "averageRate", "rateHistogram")
+        .contains(1L, 4L, 4.0, List.of(0L, 0L, 0L, 1L, 0L));
+    assertThat(reviewSummary.getRecentReviews()).hasSize(1)
+        .extracting("id", "bookTitle", "reviewTitle", "rate")
+        .contains(
+            tuple(review.getId(), "book1", "review", 4)
+        );
+  }
+
   @DisplayName("리뷰할 도서에 대한 반납 기록이 없다면 리뷰를 등록할 수 없다.")
   @Test
   public void createReviewWithoutRental() throws Exception {
@@ -168,6 +258,7 @@ class BookReviewServiceTest extends AbstractContainerBaseTest {
 
     rentalService.returnBook(member.getMemberCode(), bookRequest.getTitle(),
         bookRequest.getAuthor());
+    commitTransaction();
 
     BookReviewServiceDto.Request reviewRequest = createReviewRequest("review", "reviewContent", 5);
     BookReviewServiceDto.Request reviewRequest2 = createReviewRequest("review2", "reviewContent2",
@@ -186,6 +277,56 @@ class BookReviewServiceTest extends AbstractContainerBaseTest {
         );
   }
 
+  @DisplayName("중복 확인 후 다른 트랜잭션이 같은 리뷰를 먼저 등록하면 유니크 제약 조건 위반을 DuplicateException 으로 바꾼다.")
+  @Test
+  public void createReviewWithConcurrentInsert() throws Exception {
+    // given
+    Request memberRequest = createMemberRequest("kim", "980101", "legion", "city", "street");
+    MemberServiceCreateDto.Response member = memberService.createMember(memberRequest);
+
+    BookServiceCreateDto.Request bookRequest = createBookRequest("book1", "park", "publisher", 2015,
+        "location", 130);
+    Response newBook = bookService.createNewBook(bookRequest);
+
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(newBook),
+        LocalDate.now().minusDays(2));
+    rentalService.returnBook(member.getMemberCode(), bookRequest.getTitle(),
+        bookRequest.getAuthor());
+    commitTransaction();
+
+    BookReviewServiceDto.Request reviewRequest = createReviewRequest("review", "reviewContent", 5);
+
+    // 다른 트랜잭션이 리뷰를 등록하고 커밋하기 전에 리뷰를 등록한다. 중복 확인에는 커밋되지 않은 리뷰가 보이지 않으므로
+    // insert 가 상대 트랜잭션의 커밋을 기다린 뒤 유니크 제약 조건 위반으로 실패한다.
+    CountDownLatch inserted = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    Future<?> concurrentReview = executor.submit(() ->
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+          Member reviewer = memberRepository.findByMemberCode(member.getMemberCode()).get();
+          Book book = bookRepository.findById(newBook.getId()).get();
+          bookReviewRepository.save(BookReview.of(reviewRequest, reviewer, book));
+
+          inserted.countDown();
+          sleep(CONCURRENT_COMMIT_DELAY_MILLIS);
+        }));
+    inserted.await();
+
+    // when
+    // then
+    assertThatThrownBy(() -> bookReviewService.createReview("book1", reviewRequest,
+        member.getMemberCode()))
+        .isInstanceOf(DuplicateException.class)
+        .extracting("errorCode")
+        .isEqualTo(REVIEW_ALREADY_EXISTS);
+
+    concurrentReview.get();
+    executor.shutdown();
+
+    // 실패한 insert 가 남은 영속성 컨텍스트는 flush 할 수 없으므로 트랜잭션을 끝낸 뒤 확인한다.
+    TestTransaction.end();
+    assertThat(bookReviewRepository.findAll()).hasSize(1);
+  }
+
   @DisplayName("리뷰의 재목과 내용을 변경할 수 있다.")
   @Test
   public void updateReview() throws Exception {
@@ -204,6 +345,7 @@ class BookReviewServiceTest extends AbstractContainerBaseTest {
 
     rentalService.returnBook(member.getMemberCode(), bookRequest.getTitle(),
         bookRequest.getAuthor());
+    commitTransaction();
 
     BookReviewServiceDto.Request reviewRequest = createReviewRequest("review", "reviewContent", 5);
     BookReviewServiceDto.Response review = bookReviewService.createReview("book1",
@@ -226,6 +368,51 @@ class BookReviewServiceTest extends AbstractContainerBaseTest {
         );
   }
 
+  @DisplayName("리뷰를 수정하면 커밋된 뒤 캐시된 도서 정보를 삭제하고, 롤백되면 캐시를 그대로 둔다.")
+  @Test
+  public void updateReviewWithCachedBookData() throws Exception {
+    // given
+    Request memberRequest = createMemberRequest("kim", "980101", "legion", "city", "street");
+    MemberServiceCreateDto.Response member = memberService.createMember(memberRequest);
+
+    BookServiceCreateDto.Request bookRequest = createBookRequest("book1", "park", "publisher", 2015,
+        "location", 130);
+    Response newBook = bookService.createNewBook(bookRequest);
+
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(newBook),
+        LocalDate.now().minusDays(2));
+    rentalService.returnBook(member.getMemberCode(), bookRequest.getTitle(),
+        bookRequest.getAuthor());
+    commitTransaction();
+
+    BookReviewServiceDto.Response review = bookReviewService.createReview("book1",
+        createReviewRequest("review", "reviewContent", 5), member.getMemberCode());
+    commitTransaction();
+    publishAndConsumeEvents();
+
+    bookService.getBookData(newBook.getId());
+    Cache bookCache = cacheManager.getCache(BOOK_CACHE);
+
+    // when
+    bookReviewService.updateReview(createUpdateRequest("rolled back"), review.getId());
+    TestTransaction.end();
+    TestTransaction.start();
+    ValueWrapper afterRollback = bookCache.get(newBook.getId());
+
+    bookReviewService.updateReview(createUpdateRequest("review2"), review.getId());
+    ValueWrapper beforeCommit = bookCache.get(newBook.getId());
+    commitTransaction();
+    ValueWrapper afterCommit = bookCache.get(newBook.getId());
+
+    // then
+    assertThat(afterRollback).isNotNull();
+    assertThat(beforeCommit).isNotNull();
+    assertThat(afterCommit).isNull();
+    assertThat(bookService.getBookData(newBook.getId()).getReviewSummary().getRecentReviews())
+        .extracting("reviewTitle")
+        .containsExactly("review2");
+  }
+
   @DisplayName("특정 회원이 등록한 모든 리뷰 기록 리스트를 반환할 수 있다.")
   @Test
   public void getReviewListByMemberCode() throws Exception {
@@ -256,9 +443,11 @@ class BookReviewServiceTest extends AbstractContainerBaseTest {
 
     rentalService.returnBook(member.getMemberCode(), bookRequest1.getTitle(),
         bookRequest1.getAuthor());
+    commitTransaction();
 
     rentalService.returnBook(member.getMemberCode(), bookRequest2.getTitle(),
         bookRequest2.getAuthor());
+    commitTransaction();
 
     RentalBookInfoDto rentalData3 = createRentalData(newBook3);
     RentalServiceResponseDto bookRental3 = rentalService.createBookRental(member.getMemberCode(),
@@ -266,6 +455,7 @@ class BookReviewServiceTest extends AbstractContainerBaseTest {
 
     rentalService.returnBook(member.getMemberCode(), bookRequest3.getTitle(),
         bookRequest3.getAuthor());
+    commitTransaction();
 
     BookReviewServiceDto.Request reviewRequest1 = createReviewRequest("review1", "reviewContent1",
         5);
@@ -313,6 +503,7 @@ class BookReviewServiceTest extends AbstractContainerBaseTest {
 
     rentalService.returnBook(member.getMemberCode(), bookRequest.getTitle(),
         bookRequest.getAuthor());
+    commitTransaction();
 
     BookReviewServiceDto.Request reviewRequest = createReviewRequest("review", "reviewContent", 5);
     BookReviewServiceDto.Response review = bookReviewService.createReview("book1",
@@ -359,20 +550,24 @@ class BookReviewServiceTest extends AbstractContainerBaseTest {
 
     rentalService.returnBook(member.getMemberCode(), bookRequest1.getTitle(),
         bookRequest1.getAuthor());
+    commitTransaction();
 
     rentalService.returnBook(member.getMemberCode(), bookRequest2.getTitle(),
         bookRequest2.getAuthor());
+    commitTransaction();
 
     RentalBookInfoDto rentalData3 = createRentalData(newBook3);
     rentalService.createBookRental(member.getMemberCode(), rentalData3, rentedDate2);
 
     rentalService.returnBook(member.getMemberCode(), bookRequest3.getTitle(),
         bookRequest3.getAuthor());
+    commitTransaction();
 
     // 회원 2의 대여
     rentalService.createBookRental(member2.getMemberCode(), rentalData1, rentedDate);
     rentalService.returnBook(member2.getMemberCode(), rentalData1.getBookTitle(),
         rentalData1.getAuthor());
+    commitTransaction();
 
     BookReviewServiceDto.Request reviewRequest1 = createReviewRequest("review1", "reviewContent1",
         5);
@@ -433,6 +628,13 @@ class BookReviewServiceTest extends AbstractContainerBaseTest {
         .build();
   }
 
+  private static BookReviewUpdateDto.Request createUpdateRequest(String reviewTitle) {
+    return BookReviewUpdateDto.Request.builder()
+        .updateReviewTitle(reviewTitle)
+        .updateReviewContent("reviewContent")
+        .build();
+  }
+
   private static BookReviewServiceDto.Request createReviewRequest(String reviewTitle,
       String reviewContent, int reviewRate) {
     return BookReviewServiceDto.Request.builder()
@@ -441,4 +643,25 @@ class BookReviewServiceTest extends AbstractContainerBaseTest {
         .reviewRate(reviewRate)
         .build();
   }
-}
\ No newline at end of file
+
+  // outbox 에 쌓인 이벤트를 Stream 으로 발행하고 모든 소비자 그룹에서 처리한다.
+  // 반납이 커밋된 뒤 반영되는 redis 명령을 확인할 수 있도록 테스트 트랜잭션을 커밋하고 새로 시작한다.
+  private void commitTransaction() {
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+    TestTransaction.start();
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void publishAndConsumeEvents() {
+    outboxRelayService.relay();
+    libraryEventConsumer.consumeAll();
+  }
+}
@@ -0,0 +1,144 @@
+package com.management.library.service.review;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.domain.book.Book;
+import com.management.library.domain.book.BookInfo;
+import com.management.library.domain.book.BookReview;
+import com.management.library.domain.member.Address;
+import com.management.library.domain.member.Member;
+import com.management.library.domain.type.Authority;
+import com.management.library.domain.type.BookStatus;
+import com.management.library.repository.book.BookRepository;
+import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.review.BookReviewRepository;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest
+class ReviewCacheMigrationJobTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private JobLauncher jobLauncher;
+  @Autowired
+  private Job reviewCacheMigrationJob;
+  @Autowired
+  private BookReviewRepository bookReviewRepository;
+  @Autowired
+  private MemberRepository memberRepository;
+  @Autowired
+  private BookRepository bookRepository;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+
+  private static final String LEGACY_REVIEW_CACHE_PREFIX = "review-member:";
+
+  // 유니크 제약 조건을 추가하기 전의 중복 리뷰를 만들 수 있도록 제약 조건을 잠시 제거한다.
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate.execute("alter table book_reviews drop constraint uk_book_reviews_member_book");
+  }
+
+  @AfterEach
+  void tearDown() {
+    bookReviewRepository.deleteAllInBatch();
+    memberRepository.deleteAllInBatch();
+    bookRepository.deleteAllInBatch();
+
+    jdbcTemplate.execute("alter table book_reviews add constraint uk_book_reviews_member_book "
+        + "unique (member_id, book_id)");
+    redisTemplate.delete(redisTemplate.keys(LEGACY_REVIEW_CACHE_PREFIX + "*"));
+  }
+
+  @DisplayName("같은 회원이 같은 도서에 남긴 중복 리뷰 중 가장 먼저 등록된 리뷰만 남기고, review-member 키를 삭제한다.")
+  @Test
+  public void runReviewCacheMigrationJob() throws Exception {
+    // given
+    Member member1 = createMember("100000001");
+    Member member2 = createMember("100000002");
+    memberRepository.saveAll(List.of(member1, member2));
+
+    Book book1 = createBook("jpa");
+    Book book2 = createBook("spring");
+    bookRepository.saveAll(List.of(book1, book2));
+
+    bookReviewRepository.saveAll(List.of(
+        createBookReview(member1, book1, "first"),
+        createBookReview(member1, book1, "second"),
+        createBookReview(member2, book1, "other member"),
+        createBookReview(member1, book2, "other book"),
+        createBookReview(member1, book1, "third"),
+        createBookReview(member1, book2, "other book again")
+    ));
+
+    redisTemplate.opsForHash().put(LEGACY_REVIEW_CACHE_PREFIX + "100000001", "jpa", "1");
+    redisTemplate.opsForHash().put(LEGACY_REVIEW_CACHE_PREFIX + "100000002", "jpa", "1");
+
+    // when
+    JobExecution jobExecution = jobLauncher.run(reviewCacheMigrationJob, new JobParametersBuilder()
+        .addLong("requestTime", System.currentTimeMillis())
+        .toJobParameters());
+
+    // then
+    assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+    assertThat(bookReviewRepository.findAll())
+        .extracting("reviewTitle")
+        .containsExactlyInAnyOrder("first", "other member", "other book");
+    assertThat(bookReviewRepository.findDuplicateReviewIds()).isEmpty();
+    assertThat(redisTemplate.keys(LEGACY_REVIEW_CACHE_PREFIX + "*")).isEmpty();
+  }
+
+  private BookReview createBookReview(Member member, Book book, String title) {
+    return BookReview.builder()
+        .member(member)
+        .book(book)
+        .reviewTitle(title)
+        .reviewContent("content")
+        .rate(5)
+        .build();
+  }
+
+  private Book createBook(String title) {
+    return Book.builder()
+        .bookInfo(BookInfo.builder()
+            .title(title)
+            .author("kim")
+            .publisher("publisher")
+            .location("location")
+            .publishedYear(2017)
+            .build())
+        .bookStatus(BookStatus.AVAILABLE)
+        .typeCode(130)
+        .build();
+  }
+
+  private Member createMember(String memberCode) {
+    return Member.builder()
+        .name("kim")
+        .birthdayCode("980101")
+        .memberCode(memberCode)
+        .address(Address.builder()
+            .legion("경상남도")
+            .city("김해시")
+            .street("삼계로")
+            .build())
+        .password("1234")
+        .authority(Authority.ROLE_MEMBER)
+        .build();
+  }
+}
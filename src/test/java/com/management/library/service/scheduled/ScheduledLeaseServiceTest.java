@@ -0,0 +1,171 @@
+package com.management.library.service.scheduled;
+
+import static com.management.library.domain.type.ScheduledJobRunStatus.FAILED;
+import static com.management.library.domain.type.ScheduledJobRunStatus.LEASE_LOST;
+import static com.management.library.domain.type.ScheduledJobRunStatus.SUCCEEDED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.repository.scheduled.ScheduledJobRunRepository;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+@SpringBootTest
+class ScheduledLeaseServiceTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private ScheduledLeaseService scheduledLeaseService;
+  @Autowired
+  private ScheduledJobRunRepository scheduledJobRunRepository;
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+
+  private static final String JOB_NAME = "testJob";
+  private static final String LEASE_KEY = "scheduled-lease:" + JOB_NAME;
+  private static final String FENCING_TOKEN_KEY = "scheduled-fencing-token:" + JOB_NAME;
+
+  @AfterEach
+  void tearDown() {
+    scheduledJobRunRepository.deleteAllInBatch();
+    redisTemplate.delete(LEASE_KEY);
+    redisTemplate.delete(FENCING_TOKEN_KEY);
+  }
+
+  @DisplayName("lease 를 얻으면 작업을 수행하고 fencing token 과 함께 실행 기록을 남긴다.")
+  @Test
+  public void runExclusively() throws Exception {
+    // given
+    AtomicInteger runCount = new AtomicInteger();
+
+    // when
+    boolean result1 = scheduledLeaseService.runExclusively(JOB_NAME, 60L, 0L,
+        runCount::incrementAndGet);
+    boolean result2 = scheduledLeaseService.runExclusively(JOB_NAME, 60L, 0L,
+        runCount::incrementAndGet);
+
+    // then
+    assertThat(result1).isTrue();
+    assertThat(result2).isTrue();
+    assertThat(runCount.get()).isEqualTo(2);
+    assertThat(redisTemplate.hasKey(LEASE_KEY)).isFalse();
+    assertThat(scheduledJobRunRepository.findAllByJobNameOrderByFencingTokenAsc(JOB_NAME))
+        .extracting("fencingToken", "status")
+        .containsExactly(
+            tuple(1L, SUCCEEDED),
+            tuple(2L, SUCCEEDED)
+        );
+  }
+
+  @DisplayName("여러 스레드가 동시에 같은 작업을 수행하면 lease 를 얻은 한 스레드만 작업을 수행한다.")
+  @Test
+  public void runExclusivelyConcurrently() throws Exception {
+    // given
+    int threadCount = 5;
+    ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    CountDownLatch doneLatch = new CountDownLatch(threadCount);
+    AtomicInteger runCount = new AtomicInteger();
+
+    // when
+    for (int i = 0; i < threadCount; i++) {
+      executorService.submit(() -> {
+        try {
+          startLatch.await();
+          scheduledLeaseService.runExclusively(JOB_NAME, 60L, 30L, runCount::incrementAndGet);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          doneLatch.countDown();
+        }
+      });
+    }
+    startLatch.countDown();
+    doneLatch.await(10, TimeUnit.SECONDS);
+    executorService.shutdown();
+
+    // then
+    assertThat(runCount.get()).isEqualTo(1);
+    assertThat(scheduledJobRunRepository.findAllByJobNameOrderByFencingTokenAsc(JOB_NAME))
+        .hasSize(1);
+  }
+
+  @DisplayName("작업이 일찍 끝나도 최소 유지 시간 동안은 lease 가 남아 있어 같은 작업이 다시 수행되지 않는다.")
+  @Test
+  public void runExclusivelyWithinMinHold() throws Exception {
+    // given
+    AtomicInteger runCount = new AtomicInteger();
+    scheduledLeaseService.runExclusively(JOB_NAME, 60L, 30L, runCount::incrementAndGet);
+
+    // when
+    boolean result = scheduledLeaseService.runExclusively(JOB_NAME, 60L, 30L,
+        runCount::incrementAndGet);
+
+    // then
+    assertThat(result).isFalse();
+    assertThat(runCount.get()).isEqualTo(1);
+    assertThat(redisTemplate.getExpire(LEASE_KEY)).isBetween(1L, 30L);
+  }
+
+  @DisplayName("작업이 실패하면 예외를 다시 던지고 실패 기록을 남긴다.")
+  @Test
+  public void runExclusivelyFail() throws Exception {
+    // given
+    Runnable task = () -> {
+      throw new IllegalStateException("job failed");
+    };
+
+    // when
+    // then
+    assertThatThrownBy(() -> scheduledLeaseService.runExclusively(JOB_NAME, 60L, 0L, task))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(scheduledJobRunRepository.findAllByJobNameOrderByFencingTokenAsc(JOB_NAME))
+        .extracting("status", "errorMessage")
+        .containsExactly(tuple(FAILED, "job failed"));
+    assertThat(redisTemplate.hasKey(LEASE_KEY)).isFalse();
+  }
+
+  @DisplayName("작업 중 lease 가 만료되어 다른 인스턴스가 lease 를 얻었다면 실행 기록을 LEASE_LOST 로 남기고 새 lease 를 지우지 않는다.")
+  @Test
+  public void runExclusivelyLostLease() throws Exception {
+    // given
+    String otherLease = "other-instance:2";
+    Runnable task = () -> redisTemplate.opsForValue().set(LEASE_KEY, otherLease);
+
+    // when
+    scheduledLeaseService.runExclusively(JOB_NAME, 60L, 0L, task);
+
+    // then
+    assertThat(scheduledJobRunRepository.findAllByJobNameOrderByFencingTokenAsc(JOB_NAME))
+        .extracting("fencingToken", "status")
+        .containsExactly(tuple(1L, LEASE_LOST));
+    assertThat(redisTemplate.opsForValue().get(LEASE_KEY)).isEqualTo(otherLease);
+  }
+
+  @DisplayName("최소 유지 시간 안에 lease 를 잃었다면 다른 인스턴스가 얻은 lease 의 만료 시간을 바꾸지 않는다.")
+  @Test
+  public void runExclusivelyLostLeaseWithinMinHold() throws Exception {
+    // given
+    String otherLease = "other-instance:2";
+    Runnable task = () -> redisTemplate.opsForValue()
+        .set(LEASE_KEY, otherLease, 300L, TimeUnit.SECONDS);
+
+    // when
+    scheduledLeaseService.runExclusively(JOB_NAME, 60L, 30L, task);
+
+    // then
+    assertThat(redisTemplate.opsForValue().get(LEASE_KEY)).isEqualTo(otherLease);
+    assertThat(redisTemplate.getExpire(LEASE_KEY)).isGreaterThan(30L);
+  }
+}
@@ -1,11 +1,12 @@
 package com.management.library.service.scheduled;
 
+import static com.management.library.config.SchedulerConfiguration.SCHEDULE_ZONE;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.management.library.AbstractContainerBaseTest;
-import com.management.library.domain.book.Book;
 import com.management.library.domain.type.BookStatus;
 import com.management.library.repository.book.BookRepository;
+import com.management.library.repository.book.BookStatusHistoryRepository;
 import com.management.library.repository.member.MemberRepository;
 import com.management.library.repository.rental.BookRentalRepository;
 import com.management.library.repository.review.BookReviewRepository;
@@ -23,12 +24,13 @@ import com.management.library.service.review.dto.BookReviewServiceDto;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import lombok.extern.slf4j.Slf4j;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 
 @SpringBootTest
@@ -57,6 +59,8 @@ class ScheduledServiceTest extends AbstractContainerBaseTest {
   private BookReviewRepository bookReviewRepository;
   @Autowired
   private BookRepository bookRepository;
+  @Autowired
+  private BookStatusHistoryRepository bookStatusHistoryRepository;
 
   private static final String MANAGEMENT_CACHE_KEY = "management-request-count:";
   private static final String NEW_BOOK_CACHE_KEY = "book-request-count:";
@@ -67,38 +71,37 @@ class ScheduledServiceTest extends AbstractContainerBaseTest {
   private static final String YEARLY_RENTED_COUNT = "yearly-rented-count";
   private static final String YEARLY_REVIEW_COUNT = "yearly-review-count";
   private static final String YEARLY_BOOK_UNAVAILABLE_COUNT = "yearly-book-unavailable-count";
-  private static final String REVIEW_CACHE_PREFIX = "review-member:";
   private static final String BOOK_REVIEW_RATE = "book-review-rate";
-  private static final String BOOK_REVIEW_COUNT = "book-review-count";
+  private static final String CHECKPOINT_DIRTY_PREFIX = "checkpoint-dirty:";
+  private static final String BOOK_REVIEW_STAT_PREFIX = "book-review-stat:";
   private static final String RENTAL_REDIS_KEY = "rental-count";
   private static final String PENALTY_MEMBER_KEY = "penalty:";
 
-  @AfterEach
+  // 롤백될 때 실행되는 redis 명령까지 정리할 수 있도록 테스트 트랜잭션이 끝난 뒤 정리한다.
+  @AfterTransaction
   void tearDown(){
     bookReviewRepository.deleteAllInBatch();
     bookRentalRepository.deleteAllInBatch();
     bookRepository.deleteAllInBatch();
+    bookStatusHistoryRepository.deleteAllInBatch();
     memberRepository.deleteAllInBatch();
 
     redisTemplate.delete("memberCode");
-    redisTemplate.delete(MANAGEMENT_CACHE_KEY);
-    redisTemplate.delete(NEW_BOOK_CACHE_KEY);
+    redisTemplate.delete(redisTemplate.keys(MANAGEMENT_CACHE_KEY + "*"));
+    redisTemplate.delete(redisTemplate.keys(NEW_BOOK_CACHE_KEY + "*"));
     redisTemplate.delete(BOOK_RENTED_COUNT);
+    redisTemplate.delete(redisTemplate.keys(BOOK_RENTED_COUNT + ":*"));
     redisTemplate.delete(MONTHLY_RENTED_COUNT);
     redisTemplate.delete(MONTHLY_REVIEW_COUNT);
     redisTemplate.delete(MONTHLY_BOOK_UNAVAILABLE_COUNT);
     redisTemplate.delete(YEARLY_RENTED_COUNT);
     redisTemplate.delete(YEARLY_REVIEW_COUNT);
     redisTemplate.delete(YEARLY_BOOK_UNAVAILABLE_COUNT);
-    redisTemplate.delete(RENTAL_REDIS_KEY);
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
     redisTemplate.delete(BOOK_REVIEW_RATE);
-    redisTemplate.delete(BOOK_REVIEW_COUNT);
+    redisTemplate.delete(redisTemplate.keys(BOOK_REVIEW_STAT_PREFIX + "*"));
     redisTemplate.delete(PENALTY_MEMBER_KEY);
-
-    for (int i = 1; i < 100; i++) {
-      String keyCode = String.valueOf(100000000 + i);
-      redisTemplate.delete(REVIEW_CACHE_PREFIX + keyCode);
-    }
+    redisTemplate.delete(redisTemplate.keys(CHECKPOINT_DIRTY_PREFIX + "*"));
   }
 
   @DisplayName("월간 대여 정산을 수행할 수 있다.")
@@ -128,17 +131,8 @@ class ScheduledServiceTest extends AbstractContainerBaseTest {
     scheduledService.monthlyRentalSettle();
 
     // then
-    LocalDate startDate = YearMonth.now().minusMonths(2).atEndOfMonth();
-    LocalDate endDate = YearMonth.now().atDay(1);
-
-    int monthValue = endDate.getMonthValue() - 1;
-    int year = startDate.getYear();
-
-    if (monthValue == 0) {
-      monthValue = 12;
-    }
-
-    String hashKey = year + "-" + monthValue;
+    YearMonth settledMonth = YearMonth.now(SCHEDULE_ZONE).minusMonths(1);
+    String hashKey = settledMonth.getYear() + "-" + settledMonth.getMonthValue();
 
     Object o = redisTemplate.opsForHash().get(MONTHLY_RENTED_COUNT, hashKey);
     assertThat(o).isNotNull();
@@ -172,68 +166,47 @@ class ScheduledServiceTest extends AbstractContainerBaseTest {
     scheduledService.monthlyReviewSettle();
 
     // then
-    LocalDate startDate = YearMonth.now().minusMonths(2).atEndOfMonth();
-    LocalDate endDate = YearMonth.now().atDay(1);
-
-    int monthValue = endDate.getMonthValue() - 1;
-    int year = startDate.getYear();
-
-    if (monthValue == 0) {
-      monthValue = 12;
-    }
-
-    String hashKey = year + "-" + monthValue;
+    YearMonth settledMonth = YearMonth.now(SCHEDULE_ZONE).minusMonths(1);
+    String hashKey = settledMonth.getYear() + "-" + settledMonth.getMonthValue();
 
     Object o = redisTemplate.opsForHash().get(MONTHLY_REVIEW_COUNT, hashKey);
     assertThat(o).isNotNull();
     assertThat(String.valueOf(o)).isEqualTo("0");
   }
 
-  @DisplayName("월간 대여 정산을 수행할 수 있다.")
+  @DisplayName("관리자가 도서를 손/망실 처리한 횟수로 월간 손/망실 정산을 수행할 수 있다.")
   @Test
   public void monthlyBookUnavailableSettle() throws Exception {
     // given
-    Request memberRequest = createMemberRequest("kim", "980101", "legion", "city", "street");
-    MemberServiceCreateDto.Response member = memberService.createMember(memberRequest);
-
     BookServiceCreateDto.Request bookRequest = createBookRequest("book1", "park", "publisher", 2015,
         "location", 130);
     Response newBook = bookService.createNewBook(bookRequest);
 
-    RentalBookInfoDto rentalData = createRentalData(newBook);
-    LocalDate rentedDate = LocalDate.now().minusDays(2);
-    RentalServiceResponseDto bookRental = rentalService.createBookRental(member.getMemberCode(),
-        rentalData, rentedDate);
+    // 손/망실 처리된 뒤 복구되고 다시 손/망실 처리된 경우 2번으로 집계된다.
+    bookService.changeBookStatus(newBook.getId(), BookStatus.UNAVAILABLE);
+    bookService.changeBookStatus(newBook.getId(), BookStatus.AVAILABLE);
+    bookService.changeBookStatus(newBook.getId(), BookStatus.UNAVAILABLE);
 
-    rentalService.returnBook(member.getMemberCode(), bookRequest.getTitle(),
-        bookRequest.getAuthor());
+    // 상태 변경과 이력을 커밋한다.
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
 
-    BookReviewServiceDto.Request reviewRequest = createReviewRequest("review", "reviewContent", 5);
-    BookReviewServiceDto.Response review = bookReviewService.createReview("book1", reviewRequest,
-        member.getMemberCode());
-
-    Book book = bookRepository.findById(newBook.getId()).get();
-    book.changeBookStatus(BookStatus.UNAVAILABLE);
+    YearMonth settledMonth = YearMonth.now(SCHEDULE_ZONE);
 
     // when
-    scheduledService.monthlyUnavailableBookSettle();
+    scheduledService.settleUnavailableBooks(settledMonth);
+    scheduledService.settleUnavailableBooks(settledMonth.minusMonths(1));
 
     // then
-    LocalDate startDate = YearMonth.now().minusMonths(2).atEndOfMonth();
-    LocalDate endDate = YearMonth.now().atDay(1);
-
-    int monthValue = endDate.getMonthValue() - 1;
-    int year = startDate.getYear();
-
-    if (monthValue == 0) {
-      monthValue = 12;
-    }
-
-    String hashKey = year + "-" + monthValue;
-
-    Object o = redisTemplate.opsForHash().get(MONTHLY_BOOK_UNAVAILABLE_COUNT, hashKey);
+    Object o = redisTemplate.opsForHash().get(MONTHLY_BOOK_UNAVAILABLE_COUNT,
+        settledMonth.getYear() + "-" + settledMonth.getMonthValue());
     assertThat(o).isNotNull();
-    assertThat(String.valueOf(o)).isEqualTo("1");
+    assertThat(String.valueOf(o)).isEqualTo("2");
+
+    YearMonth lastMonth = settledMonth.minusMonths(1);
+    Object lastMonthCount = redisTemplate.opsForHash().get(MONTHLY_BOOK_UNAVAILABLE_COUNT,
+        lastMonth.getYear() + "-" + lastMonth.getMonthValue());
+    assertThat(String.valueOf(lastMonthCount)).isEqualTo("0");
   }
 
   @DisplayName("연 대여 정산을 수행할 수 있다.")
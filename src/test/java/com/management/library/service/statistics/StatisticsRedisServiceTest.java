@@ -0,0 +1,100 @@
+package com.management.library.service.statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.service.redis.RedisCheckpointTarget;
+import com.management.library.service.statistics.dto.LiveStatisticsResultDto;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+@SpringBootTest
+class StatisticsRedisServiceTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private StatisticsRedisService statisticsRedisService;
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+
+  private static final String STATISTICS_PREFIX = "statistics:";
+  private static final String MONTHLY_RENTED_COUNT = "monthly-rented-count";
+  private static final String MONTHLY_REVIEW_COUNT = "monthly-review-count";
+  private static final String YEARLY_RENTED_COUNT = "yearly-rented-count";
+  private static final String YEARLY_REVIEW_COUNT = "yearly-review-count";
+  private static final String EVENT_APPLIED_PATTERN = "*:applied:*";
+  private static final String CHECKPOINT_DIRTY_PREFIX = "checkpoint-dirty:";
+
+  @BeforeEach
+  void setUp() {
+    tearDown();
+  }
+
+  @AfterEach
+  void tearDown() {
+    redisTemplate.delete(redisTemplate.keys(STATISTICS_PREFIX + "*"));
+    redisTemplate.delete(MONTHLY_RENTED_COUNT);
+    redisTemplate.delete(MONTHLY_REVIEW_COUNT);
+    redisTemplate.delete(YEARLY_RENTED_COUNT);
+    redisTemplate.delete(YEARLY_REVIEW_COUNT);
+    redisTemplate.delete(redisTemplate.keys(EVENT_APPLIED_PATTERN));
+    redisTemplate.delete(redisTemplate.keys(CHECKPOINT_DIRTY_PREFIX + "*"));
+  }
+
+  @DisplayName("대여가 발생하면 시간별, 일별, 월간, 연간 카운터와 대여 회원 수가 함께 증가한다.")
+  @Test
+  public void incrementRental() throws Exception {
+    // given
+    LocalDateTime now = LocalDateTime.now();
+    YearMonth yearMonth = YearMonth.from(now);
+
+    // when
+    statisticsRedisService.incrementRental("100000001", now, "event:1");
+    statisticsRedisService.incrementRental("100000001", now, "event:2");
+    statisticsRedisService.incrementRental("100000002", now, "event:3");
+    statisticsRedisService.increment(StatisticsType.RETURN, now, "event:4");
+    statisticsRedisService.increment(StatisticsType.REVIEW, now, "event:5");
+
+    // then
+    LiveStatisticsResultDto result = statisticsRedisService.getMonthlyStatistics(yearMonth);
+    assertThat(result)
+        .extracting("year", "month", "rentalCount", "returnCount", "reviewCount", "borrowerCount")
+        .containsExactly(yearMonth.getYear(), yearMonth.getMonthValue(), 3L, 1L, 1L, 2L);
+
+    String monthField = yearMonth.getYear() + "-" + yearMonth.getMonthValue();
+    assertThat(redisTemplate.opsForHash().get(MONTHLY_RENTED_COUNT, monthField)).isEqualTo("3");
+    assertThat(redisTemplate.opsForHash().get(MONTHLY_REVIEW_COUNT, monthField)).isEqualTo("1");
+    assertThat(redisTemplate.opsForHash()
+        .get(YEARLY_RENTED_COUNT, String.valueOf(yearMonth.getYear()))).isEqualTo("3");
+    assertThat(redisTemplate.keys(STATISTICS_PREFIX + "hourly:*")).hasSize(1);
+    assertThat(redisTemplate.opsForSet()
+        .members(RedisCheckpointTarget.MONTHLY_RENTED_COUNT.getDirtyKey())).contains(monthField);
+    assertThat(redisTemplate.opsForSet()
+        .members(RedisCheckpointTarget.YEARLY_REVIEW_COUNT.getDirtyKey()))
+        .contains(String.valueOf(yearMonth.getYear()));
+  }
+
+  @DisplayName("같은 이벤트로 카운터를 여러 번 증가시켜도 한 번만 반영된다.")
+  @Test
+  public void incrementRentalWithSameEvent() throws Exception {
+    // given
+    LocalDateTime now = LocalDateTime.now();
+    YearMonth yearMonth = YearMonth.from(now);
+
+    // when
+    statisticsRedisService.incrementRental("100000001", now, "event:1");
+    statisticsRedisService.incrementRental("100000001", now, "event:1");
+
+    // then
+    assertThat(statisticsRedisService.getMonthlyStatistics(yearMonth).getRentalCount())
+        .isEqualTo(1L);
+    assertThat(redisTemplate.opsForHash()
+        .get(YEARLY_RENTED_COUNT, String.valueOf(yearMonth.getYear()))).isEqualTo("1");
+  }
+}
@@ -0,0 +1,326 @@
+package com.management.library.service.statistics;
+
+import static com.management.library.domain.type.StatisticsGranularity.DAILY;
+import static com.management.library.domain.type.StatisticsGranularity.MONTHLY;
+import static com.management.library.domain.type.StatisticsGranularity.YEARLY;
+import static com.management.library.exception.ErrorCode.INVALID_DATE_RANGE;
+import static com.management.library.batch.StatisticsRollupJobConfiguration.END_DATE;
+import static com.management.library.batch.StatisticsRollupJobConfiguration.RUN_ID;
+import static com.management.library.batch.StatisticsRollupJobConfiguration.START_DATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.management.library.AbstractContainerBaseTest;
+import com.management.library.domain.book.BookStatusHistory;
+import com.management.library.domain.type.BookStatus;
+import com.management.library.exception.InvalidArgumentException;
+import com.management.library.repository.book.BookRepository;
+import com.management.library.repository.book.BookStatusHistoryRepository;
+import com.management.library.repository.member.MemberRepository;
+import com.management.library.repository.outbox.OutboxEventRepository;
+import com.management.library.repository.rental.BookRentalRepository;
+import com.management.library.repository.review.BookReviewRepository;
+import com.management.library.repository.statistics.StatisticsRollupRepository;
+import com.management.library.service.book.BookService;
+import com.management.library.service.book.dto.BookServiceCreateDto;
+import com.management.library.service.book.dto.BookServiceCreateDto.Response;
+import com.management.library.service.member.MemberService;
+import com.management.library.service.member.dto.MemberServiceCreateDto;
+import com.management.library.service.rental.RentalService;
+import com.management.library.service.rental.dto.RentalBookInfoDto;
+import com.management.library.service.review.BookReviewService;
+import com.management.library.service.review.dto.BookReviewServiceDto;
+import com.management.library.service.statistics.dto.StatisticsRollupDto;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+@SpringBootTest
+class StatisticsRollupServiceTest extends AbstractContainerBaseTest {
+
+  @Autowired
+  private StatisticsRollupService statisticsRollupService;
+  @Autowired
+  private StatisticsService statisticsService;
+  @Autowired
+  private MemberService memberService;
+  @Autowired
+  private BookService bookService;
+  @Autowired
+  private RentalService rentalService;
+  @Autowired
+  private BookReviewService bookReviewService;
+  @Autowired
+  private StatisticsRollupRepository statisticsRollupRepository;
+  @Autowired
+  private BookReviewRepository bookReviewRepository;
+  @Autowired
+  private BookRentalRepository bookRentalRepository;
+  @Autowired
+  private BookRepository bookRepository;
+  @Autowired
+  private MemberRepository memberRepository;
+  @Autowired
+  private OutboxEventRepository outboxEventRepository;
+  @Autowired
+  private BookStatusHistoryRepository bookStatusHistoryRepository;
+  @Autowired
+  private JobLauncher jobLauncher;
+  @Autowired
+  private Job statisticsRollupJob;
+  @Autowired
+  private RedisTemplate<String, String> redisTemplate;
+
+  private static final String BOOK_RENTED_COUNT = "book-rented-count";
+  private static final String BOOK_REVIEW_RATE = "book-review-rate";
+  private static final String BOOK_REVIEW_STAT_PREFIX = "book-review-stat:";
+  private static final String RENTAL_REDIS_KEY = "rental-count";
+  private static final String STATISTICS_PREFIX = "statistics:";
+  private static final String MONTHLY_RENTED_COUNT = "monthly-rented-count";
+  private static final String MONTHLY_REVIEW_COUNT = "monthly-review-count";
+  private static final String YEARLY_RENTED_COUNT = "yearly-rented-count";
+  private static final String YEARLY_REVIEW_COUNT = "yearly-review-count";
+
+  @AfterEach
+  void tearDown() {
+    statisticsRollupRepository.deleteAllInBatch();
+    outboxEventRepository.deleteAllInBatch();
+    bookReviewRepository.deleteAllInBatch();
+    bookRentalRepository.deleteAllInBatch();
+    bookRepository.deleteAllInBatch();
+    bookStatusHistoryRepository.deleteAllInBatch();
+    memberRepository.deleteAllInBatch();
+
+    redisTemplate.delete("memberCode");
+    redisTemplate.delete(BOOK_RENTED_COUNT);
+    redisTemplate.delete(redisTemplate.keys(BOOK_RENTED_COUNT + ":*"));
+    redisTemplate.delete(BOOK_REVIEW_RATE);
+    redisTemplate.delete(redisTemplate.keys(BOOK_REVIEW_STAT_PREFIX + "*"));
+    redisTemplate.delete(redisTemplate.keys(RENTAL_REDIS_KEY + ":*"));
+    redisTemplate.delete(redisTemplate.keys(STATISTICS_PREFIX + "*"));
+    redisTemplate.delete(MONTHLY_RENTED_COUNT);
+    redisTemplate.delete(MONTHLY_REVIEW_COUNT);
+    redisTemplate.delete(YEARLY_RENTED_COUNT);
+    redisTemplate.delete(YEARLY_REVIEW_COUNT);
+  }
+
+  @DisplayName("기간의 일별 통계를 집계하고, 기간이 걸쳐 있는 달과 연도의 통계를 일별 통계의 합으로 집계할 수 있다.")
+  @Test
+  public void rollupDailyAndPeriods() throws Exception {
+    // given
+    createRentalsAndReview();
+    LocalDate today = LocalDate.now();
+
+    // when
+    int rollupCount = statisticsRollupService.rollupDaily(today.minusDays(2), today);
+    statisticsRollupService.rollupPeriods(today.minusDays(2), today);
+
+    // then
+    assertThat(rollupCount).isEqualTo(3);
+
+    List<StatisticsRollupDto> dailyRollups = statisticsRollupService.getRollups(DAILY,
+        today.minusDays(2), today);
+    assertThat(dailyRollups).hasSize(3)
+        .extracting("bucketDate", "rentalCount", "returnCount", "reviewCount")
+        .contains(
+            tuple(today.minusDays(1), 0L, 0L, 0L),
+            tuple(today, 2L, 1L, 1L)
+        );
+
+    List<StatisticsRollupDto> monthlyRollups = statisticsRollupService.getRollups(MONTHLY, today,
+        today);
+    assertThat(monthlyRollups).hasSize(1)
+        .extracting("bucketDate", "rentalCount", "returnCount", "reviewCount")
+        .containsExactly(tuple(today.withDayOfMonth(1), 2L, 1L, 1L));
+
+    List<StatisticsRollupDto> yearlyRollups = statisticsRollupService.getRollups(YEARLY, today,
+        today);
+    assertThat(yearlyRollups).hasSize(1)
+        .extracting("bucketDate", "rentalCount")
+        .containsExactly(tuple(today.withDayOfYear(1), 2L));
+  }
+
+  @DisplayName("같은 기간을 다시 집계하면 기존 통계를 새로 집계한 값으로 교체한다.")
+  @Test
+  public void rollupDailyTwice() throws Exception {
+    // given
+    createRentalsAndReview();
+    LocalDate today = LocalDate.now();
+
+    // when
+    statisticsRollupService.rollupDaily(today, today);
+    statisticsRollupService.rollupDaily(today, today);
+
+    // then
+    assertThat(statisticsRollupRepository.findAll()).hasSize(1)
+        .extracting("rentalCount")
+        .containsExactly(2L);
+  }
+
+  @DisplayName("월말 정산된 값이 없는 달은 DB 에 집계된 월별 통계로 조회한다.")
+  @Test
+  public void getMonthlyRentedCountFromRollup() throws Exception {
+    // given
+    createRentalsAndReview();
+    LocalDate today = LocalDate.now();
+    statisticsRollupService.rollupDaily(today, today);
+    statisticsRollupService.rollupPeriods(today, today);
+    redisTemplate.delete(MONTHLY_RENTED_COUNT);
+
+    // when
+    String resultCount = statisticsService.getMonthlyRentedCount(today.getYear(),
+        today.getMonthValue()).getResultCount();
+
+    // then
+    assertThat(resultCount).isEqualTo("2");
+  }
+
+  @DisplayName("반납과 손/망실은 도서 상태 변경 이력의 변경일로 집계하므로, 대여 행이 나중에 수정되어도 반납일이 바뀌지 않는다.")
+  @Test
+  public void rollupDailyWithStatusHistory() throws Exception {
+    // given
+    createRentalsAndReview();
+    LocalDate today = LocalDate.now();
+    Long bookId = bookRepository.findAll().get(0).getId();
+
+    // 반납 이력이 어제로 기록된 반납은 대여 행의 마지막 수정 시각과 관계없이 어제 집계된다.
+    bookStatusHistoryRepository.saveAll(List.of(
+        BookStatusHistory.of(bookId, BookStatus.RENTAL, BookStatus.AVAILABLE,
+            today.minusDays(1).atTime(12, 0)),
+        BookStatusHistory.of(bookId, BookStatus.AVAILABLE, BookStatus.UNAVAILABLE,
+            today.minusDays(1).atTime(13, 0))
+    ));
+
+    // when
+    statisticsRollupService.rollupDaily(today.minusDays(1), today);
+
+    // then
+    assertThat(statisticsRollupService.getRollups(DAILY, today.minusDays(1), today))
+        .extracting("bucketDate", "returnCount", "unavailableCount")
+        .containsExactly(
+            tuple(today.minusDays(1), 1L, 1L),
+            tuple(today, 1L, 0L)
+        );
+  }
+
+  @DisplayName("이미 완료된 기간의 집계 작업은 runId 파라미터를 새로 넘겨야 다시 실행할 수 있다.")
+  @Test
+  public void rerunStatisticsRollupJob() throws Exception {
+    // given
+    String today = LocalDate.now().toString();
+    JobParameters parameters = new JobParametersBuilder()
+        .addString(START_DATE, today)
+        .addString(END_DATE, today)
+        .toJobParameters();
+    jobLauncher.run(statisticsRollupJob, parameters);
+
+    createRentalsAndReview();
+
+    // when
+    // then
+    assertThatThrownBy(() -> jobLauncher.run(statisticsRollupJob, parameters))
+        .isInstanceOf(JobInstanceAlreadyCompleteException.class);
+
+    JobParameters rerunParameters = new JobParametersBuilder(parameters)
+        .addLong(RUN_ID, System.currentTimeMillis())
+        .toJobParameters();
+    assertThat(jobLauncher.run(statisticsRollupJob, rerunParameters).getStatus())
+        .isEqualTo(BatchStatus.COMPLETED);
+    assertThat(statisticsRollupRepository.findAll())
+        .extracting("granularity", "rentalCount")
+        .containsExactlyInAnyOrder(
+            tuple(DAILY, 2L),
+            tuple(MONTHLY, 2L),
+            tuple(YEARLY, 2L)
+        );
+  }
+
+  @DisplayName("조회 시작일이 종료일 이후라면 예외가 발생한다.")
+  @Test
+  public void getRollupsWithInvalidRange() throws Exception {
+    // given
+    LocalDate today = LocalDate.now();
+
+    // when
+    // then
+    assertThatThrownBy(() -> statisticsRollupService.getRollups(DAILY, today, today.minusDays(1)))
+        .isInstanceOf(InvalidArgumentException.class)
+        .extracting("errorCode", "description")
+        .contains(INVALID_DATE_RANGE, INVALID_DATE_RANGE.getDescription());
+  }
+
+  // 오늘 대여 2건, 반납 1건, 리뷰 1건을 만든다.
+  private void createRentalsAndReview() {
+    MemberServiceCreateDto.Response member = memberService.createMember(
+        createMemberRequest("kim", "980101", "legion", "city", "street"));
+
+    BookServiceCreateDto.Request bookRequest1 = createBookRequest("book1", "park", "publisher",
+        2015, "location", 130);
+    BookServiceCreateDto.Request bookRequest2 = createBookRequest("book2", "lee", "publisher",
+        2016, "location", 140);
+    Response book1 = bookService.createNewBook(bookRequest1);
+    Response book2 = bookService.createNewBook(bookRequest2);
+
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(book1),
+        LocalDate.now());
+    rentalService.createBookRental(member.getMemberCode(), createRentalData(book2),
+        LocalDate.now());
+
+    rentalService.returnBook(member.getMemberCode(), bookRequest1.getTitle(),
+        bookRequest1.getAuthor());
+
+    bookReviewService.createReview("book1", createReviewRequest("review", "reviewContent", 5),
+        member.getMemberCode());
+  }
+
+  private RentalBookInfoDto createRentalData(Response createdBook) {
+    return RentalBookInfoDto.builder()
+        .bookTitle(createdBook.getTitle())
+        .author(createdBook.getAuthor())
+        .build();
+  }
+
+  private MemberServiceCreateDto.Request createMemberRequest(String name,
+      String birthdayCode, String legion, String city, String street) {
+    return MemberServiceCreateDto.Request.builder()
+        .name(name)
+        .birthdayCode(birthdayCode)
+        .legion(legion)
+        .city(city)
+        .street(street)
+        .build();
+  }
+
+  private BookServiceCreateDto.Request createBookRequest(String title, String author,
+      String publisher, int publishedYear, String location, int typeCode) {
+    return BookServiceCreateDto.Request.builder()
+        .title(title)
+        .author(author)
+        .publisher(publisher)
+        .publishedYear(publishedYear)
+        .location(location)
+        .typeCode(typeCode)
+        .build();
+  }
+
+  private static BookReviewServiceDto.Request createReviewRequest(String reviewTitle,
+      String reviewContent, int reviewRate) {
+    return BookReviewServiceDto.Request.builder()
+        .reviewTitle(reviewTitle)
+        .reviewContent(reviewContent)
+        .reviewRate(reviewRate)
+        .build();
+  }
+}
@@ -1,11 +1,18 @@
 package com.management.library.service.statistics;
 
+import static com.management.library.exception.ErrorCode.INVALID_DATE_RANGE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
 
 import com.management.library.AbstractContainerBaseTest;
+import com.management.library.exception.InvalidArgumentException;
+import com.management.library.service.scheduled.ScheduledService;
+import com.management.library.service.statistics.dto.StatisticsDashboardDto;
+import com.management.library.service.statistics.dto.StatisticsDashboardDto.YearStatistics;
 import com.management.library.service.statistics.dto.MonthlyResultDto;
 import com.management.library.service.statistics.dto.YearResultDto;
+import java.time.YearMonth;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,6 +27,10 @@ class StatisticsServiceTest extends AbstractContainerBaseTest {
   private RedisTemplate<String, String> redisTemplate;
   @Autowired
   private StatisticsService statisticsService;
+  @Autowired
+  private StatisticsDashboardCacheService statisticsDashboardCacheService;
+  @Autowired
+  private ScheduledService scheduledService;
 
   private static final String MONTHLY_RENTED_COUNT = "monthly-rented-count";
   private static final String MONTHLY_REVIEW_COUNT = "monthly-review-count";
@@ -30,6 +41,11 @@ class StatisticsServiceTest extends AbstractContainerBaseTest {
 
   @AfterEach
   void tearDown() {
+    deleteStatistics();
+    statisticsDashboardCacheService.evictAll();
+  }
+
+  private void deleteStatistics() {
     redisTemplate.delete(MONTHLY_RENTED_COUNT);
     redisTemplate.delete(MONTHLY_REVIEW_COUNT);
     redisTemplate.delete(MONTHLY_BOOK_UNAVAILABLE_COUNT);
@@ -212,4 +228,102 @@ class StatisticsServiceTest extends AbstractContainerBaseTest {
             tuple(2023, 12, "3")
         );
   }
-}
\ No newline at end of file
+
+  @DisplayName("연도 범위의 대시보드 통계를 조회할 수 있고, 정산되지 않은 값은 null 로 반환된다.")
+  @Test
+  public void getDashboard() throws Exception {
+    // given
+    redisTemplate.opsForHash().put(MONTHLY_RENTED_COUNT, "2019-1", "3");
+    redisTemplate.opsForHash().put(MONTHLY_REVIEW_COUNT, "2019-1", "2");
+    redisTemplate.opsForHash().put(YEARLY_RENTED_COUNT, "2019", "3");
+    redisTemplate.opsForHash().put(YEARLY_RENTED_COUNT, "2020", "7");
+
+    // when
+    StatisticsDashboardDto dashboard = statisticsService.getDashboard(2019, 2020);
+
+    // then
+    assertThat(dashboard.getYears()).hasSize(2)
+        .extracting("year", "rentalCount", "reviewCount", "bookUnavailableCount")
+        .containsExactly(
+            tuple(2019, 3L, null, null),
+            tuple(2020, 7L, null, null)
+        );
+
+    assertThat(dashboard.getYears().get(0).getMonths()).hasSize(12)
+        .extracting("month", "rentalCount", "reviewCount", "bookUnavailableCount")
+        .contains(
+            tuple(1, 3L, 2L, null),
+            tuple(2, null, null, null)
+        );
+  }
+
+  @DisplayName("지난 연도 중 모든 값이 정산된 연도는 캐시되어 redis 의 값이 지워져도 같은 결과를 반환한다.")
+  @Test
+  public void getDashboardWithClosedYear() throws Exception {
+    // given
+    int year = 2018;
+
+    for (int i = 1; i <= 12; i++) {
+      redisTemplate.opsForHash().put(MONTHLY_RENTED_COUNT, year + "-" + i, "3");
+      redisTemplate.opsForHash().put(MONTHLY_REVIEW_COUNT, year + "-" + i, "2");
+      redisTemplate.opsForHash().put(MONTHLY_BOOK_UNAVAILABLE_COUNT, year + "-" + i, "1");
+    }
+    redisTemplate.opsForHash().put(YEARLY_RENTED_COUNT, "2018", "36");
+    redisTemplate.opsForHash().put(YEARLY_REVIEW_COUNT, "2018", "24");
+    redisTemplate.opsForHash().put(YEARLY_BOOK_UNAVAILABLE_COUNT, "2018", "12");
+
+    StatisticsDashboardDto firstDashboard = statisticsService.getDashboard(year, year);
+    deleteStatistics();
+
+    // when
+    StatisticsDashboardDto dashboard = statisticsService.getDashboard(year, year);
+
+    // then
+    YearStatistics yearStatistics = dashboard.getYears().get(0);
+    assertThat(yearStatistics)
+        .extracting("year", "rentalCount", "reviewCount", "bookUnavailableCount")
+        .containsExactly(2018, 36L, 24L, 12L);
+    assertThat(yearStatistics.isComplete()).isTrue();
+    assertThat(dashboard.getVersion()).isEqualTo(firstDashboard.getVersion());
+  }
+
+  @DisplayName("캐시된 지난 연도의 통계가 정산 작업으로 바뀌면 캐시가 삭제되어 바뀐 값을 반환한다.")
+  @Test
+  public void getDashboardAfterClosedYearSettle() throws Exception {
+    // given
+    int year = 2018;
+
+    for (int i = 1; i <= 12; i++) {
+      redisTemplate.opsForHash().put(MONTHLY_RENTED_COUNT, year + "-" + i, "3");
+      redisTemplate.opsForHash().put(MONTHLY_REVIEW_COUNT, year + "-" + i, "2");
+      redisTemplate.opsForHash().put(MONTHLY_BOOK_UNAVAILABLE_COUNT, year + "-" + i, "1");
+    }
+    redisTemplate.opsForHash().put(YEARLY_RENTED_COUNT, "2018", "36");
+    redisTemplate.opsForHash().put(YEARLY_REVIEW_COUNT, "2018", "24");
+    redisTemplate.opsForHash().put(YEARLY_BOOK_UNAVAILABLE_COUNT, "2018", "12");
+
+    StatisticsDashboardDto firstDashboard = statisticsService.getDashboard(year, year);
+
+    // when
+    scheduledService.settleUnavailableBooks(YearMonth.of(year, 12));
+    StatisticsDashboardDto dashboard = statisticsService.getDashboard(year, year);
+
+    // then
+    assertThat(statisticsDashboardCacheService.get(year)).isNotNull();
+    assertThat(dashboard.getYears().get(0).getMonths().get(11).getBookUnavailableCount())
+        .isZero();
+    assertThat(dashboard.getVersion()).isNotEqualTo(firstDashboard.getVersion());
+  }
+
+  @DisplayName("대시보드 조회 시 시작 연도가 종료 연도보다 크다면 예외가 발생한다.")
+  @Test
+  public void getDashboardWithInvalidRange() throws Exception {
+    // given
+    // when
+    // then
+    assertThatThrownBy(() -> statisticsService.getDashboard(2023, 2022))
+        .isInstanceOf(InvalidArgumentException.class)
+        .extracting("errorCode", "description")
+        .contains(INVALID_DATE_RANGE, INVALID_DATE_RANGE.getDescription());
+  }
+}